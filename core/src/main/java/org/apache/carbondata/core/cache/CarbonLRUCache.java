@@ -17,38 +17,62 @@
 
 package org.apache.carbondata.core.cache;
 
-import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.TreeSet;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.util.CarbonProperties;
 
-import net.jodah.expiringmap.ExpirationPolicy;
-import net.jodah.expiringmap.ExpiringMap;
 import org.apache.log4j.Logger;
 
 /**
- * class which manages the lru cache
+ * class which manages the lru cache.
+ * Entries are distributed to a fixed number of segments based on the key hash and each
+ * segment is guarded by its own lock, so operations on keys of different segments do not
+ * block each other. Each segment keeps its entries in access order and every entry records
+ * its position in the global access order, so eviction removes the oldest of the segment
+ * heads, one entry at a time. Entries with expiration time are also kept ordered by their
+ * expiry in the segment, so expired entries are removed without scanning the segment. Size
+ * of the cache is accounted globally across all the segments.
  */
 public final class CarbonLRUCache {
   /**
    * constant for converting MB into bytes
    */
   private static final int BYTE_CONVERSION_CONSTANT = 1024 * 1024;
+  /**
+   * number of segments, must be power of 2
+   */
+  private static final int SEGMENT_COUNT = 16;
   /**
    * Attribute for Carbon LOGGER
    */
   private static final Logger LOGGER =
       LogServiceFactory.getLogService(CarbonLRUCache.class.getName());
   /**
-   * Map that will contain key as table unique name and value as cache Holder
-   * object
+   * orders the entries by expiry time, access order is unique so entries expiring at the
+   * same time are also kept
    */
-  private ExpiringMap<String, Cacheable> expiringMap;
+  private static final Comparator<CacheEntry> EXPIRY_COMPARATOR = new Comparator<CacheEntry>() {
+    @Override
+    public int compare(CacheEntry o1, CacheEntry o2) {
+      int result = Long.compare(o1.lastAccessTime + o1.expirationMillis,
+          o2.lastAccessTime + o2.expirationMillis);
+      return result != 0 ? result : Long.compare(o1.accessOrder, o2.accessOrder);
+    }
+  };
+  /**
+   * segments holding the cache entries
+   */
+  private Segment[] segments;
   /**
    * lruCacheSize
    */
@@ -56,7 +80,23 @@ public final class CarbonLRUCache {
   /**
    * totalSize size of the cache
    */
-  private long currentSize;
+  private AtomicLong currentSize = new AtomicLong();
+  /**
+   * global access order, incremented on every put and get of an entry
+   */
+  private AtomicLong accessClock = new AtomicLong();
+  /**
+   * number of get calls which found the entry
+   */
+  private AtomicLong hitCount = new AtomicLong();
+  /**
+   * number of get calls which did not find the entry
+   */
+  private AtomicLong missCount = new AtomicLong();
+  /**
+   * number of entries removed to make space for new entries or due to expiry
+   */
+  private AtomicLong evictionCount = new AtomicLong();
 
   /**
    * @param propertyName        property name to take the size configured
@@ -64,7 +104,6 @@ public final class CarbonLRUCache {
    */
   public CarbonLRUCache(String propertyName, String defaultPropertyName) {
     try {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-3305
       lruCacheMemorySize = Long
           .parseLong(CarbonProperties.getInstance().getProperty(propertyName, defaultPropertyName));
     } catch (NumberFormatException e) {
@@ -75,7 +114,6 @@ public final class CarbonLRUCache {
     }
 
     // if lru cache is bigger than jvm max heap then set part size of max heap (60% default)
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-3281
     if (isBeyondMaxMemory()) {
       double changeSize = getPartOfXmx();
       LOGGER.warn("Configured LRU size " + lruCacheMemorySize +
@@ -86,7 +124,6 @@ public final class CarbonLRUCache {
 
     initCache();
     if (lruCacheMemorySize > 0) {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-484
       LOGGER.info("Configured LRU cache size is " + lruCacheMemorySize + " MB");
       // convert in bytes
       lruCacheMemorySize = lruCacheMemorySize * BYTE_CONVERSION_CONSTANT;
@@ -100,62 +137,69 @@ public final class CarbonLRUCache {
    * initialize lru cache
    */
   private void initCache() {
-    // Cache entries can have individual variable expiration times and policies by adding
-    // variableExpiration to the map. ExpirationPolicy.ACCESSED means the expiration can occur based
-    // on last access time
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-3665
-    expiringMap =
-        ExpiringMap.builder().expirationPolicy(ExpirationPolicy.ACCESSED).variableExpiration()
-            .build();
+    segments = new Segment[SEGMENT_COUNT];
+    for (int i = 0; i < SEGMENT_COUNT; i++) {
+      segments[i] = new Segment();
+    }
+  }
+
+  private Segment segmentFor(String key) {
+    int hash = key.hashCode();
+    // spread the higher bits so that keys with common suffix are also distributed
+    hash ^= (hash >>> 16);
+    return segments[hash & (SEGMENT_COUNT - 1)];
   }
 
   /**
-   * This method will give the list of all the keys that can be deleted from
-   * the level LRU cache
-   */
-  private List<String> getKeysToBeRemoved(long size) {
-    List<String> toBeDeletedKeys =
-        new ArrayList<String>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
-    long removedSize = 0;
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-3665
-    for (Entry<String, Cacheable> entry : expiringMap.entrySet()) {
-      String key = entry.getKey();
-      Cacheable cacheInfo = entry.getValue();
-      long memorySize = cacheInfo.getMemorySize();
-      if (canBeRemoved(cacheInfo)) {
-        removedSize = removedSize + memorySize;
-        toBeDeletedKeys.add(key);
-        // check if after removing the current file size, required
-        // size when added to current size is sufficient to load a
-        // level or not
-        if (lruCacheMemorySize >= (currentSize - memorySize + size)) {
-          toBeDeletedKeys.clear();
-          toBeDeletedKeys.add(key);
-          removedSize = memorySize;
-          break;
+   * This method will remove the least recently used entries of the whole cache till the
+   * required size is freed or no more entry can be removed. Entries which are in use (access
+   * count greater than 0) are skipped. The least recently used entry of the cache is the
+   * oldest of the least recently used entries of the segments, so each removal only looks at
+   * the head of each segment.
+   *
+   * @param size size to be freed
+   */
+  private void evict(long size) {
+    long freedSize = 0;
+    while (freedSize < size) {
+      Segment oldestSegment = null;
+      CacheEntry oldestEntry = null;
+      long oldestAccessOrder = Long.MAX_VALUE;
+      for (Segment segment : segments) {
+        synchronized (segment) {
+          CacheEntry cacheEntry = segment.getFirstRemovableEntry();
+          if (null != cacheEntry && cacheEntry.accessOrder < oldestAccessOrder) {
+            oldestSegment = segment;
+            oldestEntry = cacheEntry;
+            oldestAccessOrder = cacheEntry.accessOrder;
+          }
         }
-        // check if after removing the added size/removed size,
-        // required size when added to current size is sufficient to
-        // load a level or not
-        else if (lruCacheMemorySize >= (currentSize - removedSize + size)) {
-          break;
+      }
+      if (null == oldestEntry) {
+        // all the entries are in use
+        return;
+      }
+      synchronized (oldestSegment) {
+        // entry may be accessed or removed by other thread after it is selected, in that case
+        // the oldest entry is selected again
+        if (canBeRemoved(oldestEntry.value) && oldestEntry.accessOrder == oldestAccessOrder
+            && oldestSegment.entries.remove(oldestEntry.key, oldestEntry)) {
+          freedSize = freedSize + oldestEntry.value.getMemorySize();
+          releaseEntry(oldestSegment, oldestEntry);
+          evictionCount.incrementAndGet();
+          if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Evicted entry from InMemory lru cache :: " + oldestEntry.key);
+          }
         }
       }
     }
-    // this case will come when iteration is complete over the keys but
-    // still size is not sufficient for level file to be loaded, then we
-    // will not delete any of the keys
-    if ((currentSize - removedSize + size) > lruCacheMemorySize) {
-      toBeDeletedKeys.clear();
-    }
-    return toBeDeletedKeys;
   }
 
   /**
    * @param cacheInfo
    * @return
    */
-  private boolean canBeRemoved(Cacheable cacheInfo) {
+  private static boolean canBeRemoved(Cacheable cacheInfo) {
     if (cacheInfo.getAccessCount() > 0) {
       return false;
     }
@@ -166,22 +210,15 @@ public final class CarbonLRUCache {
    * @param key
    */
   public void remove(String key) {
-    synchronized (expiringMap) {
-      removeKey(key);
-    }
+    removeKey(key);
   }
 
   /**
    * @param keys
    */
   public void removeAll(List<String> keys) {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-3665
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-3665
-    synchronized (expiringMap) {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-3305
-      for (String key : keys) {
-        removeKey(key);
-      }
+    for (String key : keys) {
+      removeKey(key);
     }
   }
 
@@ -191,17 +228,29 @@ public final class CarbonLRUCache {
    * @param key
    */
   private void removeKey(String key) {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-3665
-    Cacheable cacheable = expiringMap.get(key);
-    if (null != cacheable) {
-      long memorySize = cacheable.getMemorySize();
-      cacheable.invalidate();
-      expiringMap.remove(key);
-      currentSize = currentSize - memorySize;
-      LOGGER.info("Removed entry from InMemory lru cache :: " + key);
+    Segment segment = segmentFor(key);
+    synchronized (segment) {
+      CacheEntry cacheEntry = segment.entries.remove(key);
+      if (null != cacheEntry) {
+        releaseEntry(segment, cacheEntry);
+        LOGGER.info("Removed entry from InMemory lru cache :: " + key);
+      }
     }
   }
 
+  /**
+   * invalidate the cacheable object removed from the segment and reduce its size from
+   * the cache size, caller should hold the segment lock
+   */
+  private void releaseEntry(Segment segment, CacheEntry cacheEntry) {
+    if (cacheEntry.expirationMillis > 0) {
+      segment.expiringEntries.remove(cacheEntry);
+    }
+    long memorySize = cacheEntry.value.getMemorySize();
+    cacheEntry.value.invalidate();
+    currentSize.addAndGet(-memorySize);
+  }
+
   /**
    * This method will check if required size is available in the memory and then add
    * the given cacheable to object to lru cache
@@ -210,60 +259,70 @@ public final class CarbonLRUCache {
    * @param cacheInfo
    */
   public boolean put(String columnIdentifier, Cacheable cacheInfo, long requiredSize,
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-3665
       long expiration_time) {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-1049
     if (LOGGER.isDebugEnabled()) {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-484
       LOGGER.debug("Required size for entry " + columnIdentifier + " :: " + requiredSize
-          + " Current cache size :: " + currentSize);
+          + " Current cache size :: " + currentSize.get());
     }
-    boolean columnKeyAddedSuccessfully = false;
-    if (isLRUCacheSizeConfigured()) {
-      synchronized (expiringMap) {
-        if (freeMemorySizeForAddingCache(requiredSize)) {
-          currentSize = currentSize + requiredSize;
-          addEntryToLRUCacheMap(columnIdentifier, cacheInfo, expiration_time);
-          columnKeyAddedSuccessfully = true;
-        } else {
-          LOGGER.error(
-              "Size not available. Entry cannot be added to lru cache :: " + columnIdentifier
-                  + " .Required Size = " + requiredSize + " Size available " + (lruCacheMemorySize
-                  - currentSize));
-        }
-      }
-    } else {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-3665
-      synchronized (expiringMap) {
-        addEntryToLRUCacheMap(columnIdentifier, cacheInfo, expiration_time);
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-3337
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-3306
-        currentSize = currentSize + requiredSize;
-      }
-      columnKeyAddedSuccessfully = true;
+    if (isLRUCacheSizeConfigured() && !reserveSize(requiredSize)) {
+      LOGGER.error(
+          "Size not available. Entry cannot be added to lru cache :: " + columnIdentifier
+              + " .Required Size = " + requiredSize + " Size available " + (lruCacheMemorySize
+              - currentSize.get()));
+      return false;
+    }
+    if (!isLRUCacheSizeConfigured()) {
+      currentSize.addAndGet(requiredSize);
     }
-    return columnKeyAddedSuccessfully;
+    addEntryToLRUCacheMap(columnIdentifier, cacheInfo, requiredSize, expiration_time);
+    return true;
   }
 
   /**
-   * The method will add the cache entry to LRU cache map
+   * The method will add the cache entry to LRU cache map, if the entry is already present
+   * then existing entry is retained and the reserved size is released
    *
    * @param columnIdentifier
    * @param cacheInfo
    */
   private void addEntryToLRUCacheMap(String columnIdentifier, Cacheable cacheInfo,
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-3665
-      long expirationTimeSeconds) {
-    if (null == expiringMap.get(columnIdentifier) && expirationTimeSeconds != 0L) {
-      expiringMap.put(columnIdentifier, cacheInfo, ExpirationPolicy.ACCESSED, expirationTimeSeconds,
-          TimeUnit.SECONDS);
-    } else expiringMap.putIfAbsent(columnIdentifier, cacheInfo);
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-1049
+      long requiredSize, long expirationTimeSeconds) {
+    Segment segment = segmentFor(columnIdentifier);
+    synchronized (segment) {
+      removeExpiredEntries(segment);
+      if (segment.entries.containsKey(columnIdentifier)) {
+        currentSize.addAndGet(-requiredSize);
+        return;
+      }
+      CacheEntry cacheEntry = new CacheEntry(columnIdentifier, cacheInfo, expirationTimeSeconds);
+      cacheEntry.accessOrder = accessClock.incrementAndGet();
+      if (cacheEntry.expirationMillis > 0) {
+        segment.expiringEntries.add(cacheEntry);
+      }
+      segment.entries.put(columnIdentifier, cacheEntry);
+    }
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug("Added entry to InMemory lru cache :: " + columnIdentifier);
     }
   }
 
+  /**
+   * remove the entries of the segment which are not accessed within their expiration time,
+   * entries are taken in the order of expiry till an entry which is not expired
+   */
+  private void removeExpiredEntries(Segment segment) {
+    long currentTime = System.currentTimeMillis();
+    while (!segment.expiringEntries.isEmpty()) {
+      CacheEntry cacheEntry = segment.expiringEntries.first();
+      if (!cacheEntry.isExpired(currentTime)) {
+        return;
+      }
+      segment.entries.remove(cacheEntry.key);
+      releaseEntry(segment, cacheEntry);
+      evictionCount.incrementAndGet();
+    }
+  }
+
   /**
    * this will check whether the LRU cache size is configured
    *
@@ -274,39 +333,31 @@ public final class CarbonLRUCache {
   }
 
   /**
-   * This method will check a required column can be loaded into memory or not. If required
+   * This method will reserve the required size in the cache. If required
    * this method will call for eviction of existing data from memory
    *
    * @param requiredSize
-   * @return
+   * @return true if size is reserved
    */
-  private boolean freeMemorySizeForAddingCache(long requiredSize) {
-    boolean memoryAvailable = false;
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-484
-    if (isSizeAvailableToLoadColumnDictionary(requiredSize)) {
-      memoryAvailable = true;
-    } else {
-      // get the keys that can be removed from memory
-      List<String> keysToBeRemoved = getKeysToBeRemoved(requiredSize);
-      for (String cacheKey : keysToBeRemoved) {
-        removeKey(cacheKey);
-      }
-      // after removing the keys check again if required size is available
-      if (isSizeAvailableToLoadColumnDictionary(requiredSize)) {
-        memoryAvailable = true;
-      }
+  private boolean reserveSize(long requiredSize) {
+    if (tryReserveSize(requiredSize)) {
+      return true;
     }
-    return memoryAvailable;
+    evict(currentSize.get() + requiredSize - lruCacheMemorySize);
+    // after removing the keys check again if required size is available
+    return tryReserveSize(requiredSize);
   }
 
-  /**
-   * This method will check if size is available to laod dictionary into memory
-   *
-   * @param requiredSize
-   * @return
-   */
-  private boolean isSizeAvailableToLoadColumnDictionary(long requiredSize) {
-    return lruCacheMemorySize >= (currentSize + requiredSize);
+  private boolean tryReserveSize(long requiredSize) {
+    while (true) {
+      long size = currentSize.get();
+      if (lruCacheMemorySize < size + requiredSize) {
+        return false;
+      }
+      if (currentSize.compareAndSet(size, size + requiredSize)) {
+        return true;
+      }
+    }
   }
 
   /**
@@ -314,27 +365,64 @@ public final class CarbonLRUCache {
    * @return
    */
   public Cacheable get(String key) {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-3665
-    synchronized (expiringMap) {
-      return expiringMap.get(key);
+    Segment segment = segmentFor(key);
+    CacheEntry cacheEntry;
+    synchronized (segment) {
+      cacheEntry = segment.entries.get(key);
+      if (null != cacheEntry && cacheEntry.expirationMillis > 0) {
+        long currentTime = System.currentTimeMillis();
+        if (cacheEntry.isExpired(currentTime)) {
+          segment.entries.remove(key);
+          releaseEntry(segment, cacheEntry);
+          evictionCount.incrementAndGet();
+          cacheEntry = null;
+        } else {
+          // expiry order depends on the access time, so the entry is added again after update
+          segment.expiringEntries.remove(cacheEntry);
+          cacheEntry.lastAccessTime = currentTime;
+          cacheEntry.accessOrder = accessClock.incrementAndGet();
+          segment.expiringEntries.add(cacheEntry);
+        }
+      } else if (null != cacheEntry) {
+        cacheEntry.accessOrder = accessClock.incrementAndGet();
+      }
+    }
+    if (null == cacheEntry) {
+      missCount.incrementAndGet();
+      return null;
     }
+    hitCount.incrementAndGet();
+    return cacheEntry.value;
   }
 
   /**
    * This method will empty the level cache
    */
   public void clear() {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-3665
-    synchronized (expiringMap) {
-      for (Cacheable cachebleObj : expiringMap.values()) {
-        cachebleObj.invalidate();
+    for (Segment segment : segments) {
+      synchronized (segment) {
+        for (CacheEntry cacheEntry : segment.entries.values()) {
+          releaseEntry(segment, cacheEntry);
+        }
+        segment.entries.clear();
+        segment.expiringEntries.clear();
       }
-      expiringMap.clear();
     }
   }
 
+  /**
+   * @return snapshot of all the entries present in the cache
+   */
   public Map<String, Cacheable> getCacheMap() {
-    return expiringMap;
+    Map<String, Cacheable> cacheMap = new HashMap<>();
+    for (Segment segment : segments) {
+      synchronized (segment) {
+        for (Entry<String, CacheEntry> entry : segment.entries.entrySet()) {
+          cacheMap.put(entry.getKey(), entry.getValue().value);
+        }
+      }
+    }
+    return cacheMap;
   }
 
   /**
@@ -344,7 +432,6 @@ public final class CarbonLRUCache {
    * @return true LRU cache is bigger than max memory of jvm, false otherwise
    */
   private boolean isBeyondMaxMemory() {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-3281
     long mSize = Runtime.getRuntime().maxMemory();
     long lruSize = lruCacheMemorySize * BYTE_CONVERSION_CONSTANT;
     return lruSize >= mSize;
@@ -364,8 +451,85 @@ public final class CarbonLRUCache {
    * @return current size of the cache in memory.
    */
   public long getCurrentSize() {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-3337
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-3306
-    return currentSize;
+    return currentSize.get();
+  }
+
+  /**
+   * @return number of get calls which found the entry in cache
+   */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * @return number of get calls which did not find the entry in cache
+   */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * @return number of entries removed from cache to make space for new entries or on expiry
+   */
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  /**
+   * part of the cache guarded by its own lock, entries are kept in access order
+   */
+  private static final class Segment {
+    private final LinkedHashMap<String, CacheEntry> entries =
+        new LinkedHashMap<>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE, 0.75f, true);
+
+    /**
+     * entries added with expiration time, ordered by the time they expire
+     */
+    private final TreeSet<CacheEntry> expiringEntries = new TreeSet<>(EXPIRY_COMPARATOR);
+
+    /**
+     * @return least recently used entry of the segment which is not in use
+     */
+    private CacheEntry getFirstRemovableEntry() {
+      for (CacheEntry cacheEntry : entries.values()) {
+        if (canBeRemoved(cacheEntry.value)) {
+          return cacheEntry;
+        }
+      }
+      return null;
+    }
+  }
+
+  /**
+   * cacheable object along with its expiration details
+   */
+  private static final class CacheEntry {
+    private final String key;
+
+    private final Cacheable value;
+
+    private final long expirationMillis;
+
+    /**
+     * time of the last access, guarded by the segment lock
+     */
+    private long lastAccessTime;
+
+    /**
+     * position of the last access of this entry in the global access order, guarded by the
+     * segment lock
+     */
+    private long accessOrder;
+
+    private CacheEntry(String key, Cacheable value, long expirationTimeSeconds) {
+      this.key = key;
+      this.value = value;
+      this.expirationMillis = TimeUnit.SECONDS.toMillis(expirationTimeSeconds);
+      this.lastAccessTime = System.currentTimeMillis();
+    }
+
+    private boolean isExpired(long currentTime) {
+      return expirationMillis > 0 && currentTime - lastAccessTime > expirationMillis;
+    }
   }
 }
@@ -146,6 +146,26 @@ public final class CarbonCommonConstants {
    */
   public static final String DEFAULT_COMPRESSOR = "snappy";
 
+  /**
+   * Whether to bit pack the integer measure pages using the minimum number of bits required for
+   * the range of the page. Files written with bit packed pages cannot be read by the older
+   * versions, so it is disabled by default.
+   */
+  @CarbonProperty
+  public static final String ENABLE_BIT_PACKED_ENCODING = "carbon.enable.bitpacked.encoding";
+
+  public static final String ENABLE_BIT_PACKED_ENCODING_DEFAULT = "false";
+
+  /**
+   * Whether to use delta-of-delta encoding for integer and timestamp pages and XOR encoding for
+   * float and double pages, when it takes less space than the adaptive encoding. Files written
+   * with these encodings cannot be read by the older versions, so it is disabled by default.
+   */
+  @CarbonProperty
+  public static final String ENABLE_TIMESERIES_ENCODING = "carbon.enable.timeseries.encoding";
+
+  public static final String ENABLE_TIMESERIES_ENCODING_DEFAULT = "false";
+
   /**
    * the level 1 complex delimiter
    */
@@ -796,6 +816,17 @@ public final class CarbonCommonConstants {
 
   public static final String CARBON_MERGE_SORT_PREFETCH_DEFAULT = "true";
 
+  /**
+   * number of threads used to merge the sort temp files and in memory pages in the final
+   * merge of unsafe sort. Sorted inputs are split into groups which are merged in parallel
+   * and the merged streams are merged again by the thread feeding the data writer.
+   */
+  @CarbonProperty
+  public static final String CARBON_LOAD_SORT_FINAL_MERGE_THREADS =
+      "carbon.load.sort.final.merge.threads";
+
+  public static final String CARBON_LOAD_SORT_FINAL_MERGE_THREADS_DEFAULT = "1";
+
   /**
    * Number of unmerged segments to be merged.
    */
@@ -845,6 +876,17 @@ public final class CarbonCommonConstants {
    */
   public static final String DEFAULT_DELETE_DELTAFILE_COUNT_THRESHOLD_IUD_COMPACTION = "1";
 
+  /**
+   * Whether to write the delete delta files in binary format, where the deleted rows of each
+   * page are stored as a compressed bitmap. Delete delta files of both formats can be read,
+   * but older versions can read only the json format.
+   */
+  @CarbonProperty
+  public static final String CARBON_DELETE_DELTA_BINARY_FORMAT_ENABLE =
+      "carbon.delete.delta.binary.format.enable";
+
+  public static final String CARBON_DELETE_DELTA_BINARY_FORMAT_ENABLE_DEFAULT = "false";
+
   /**
    * @Deprecated : This property has been deprecated.
    * Property for enabling system level compaction lock.1 compaction can run at once.
@@ -869,6 +911,18 @@ public final class CarbonCommonConstants {
    */
   public static final String DATA_LOAD_BATCH_SIZE_DEFAULT = "1000";
 
+  /**
+   * Whether the no sort load sends the rows between the load steps in columnar batches, so
+   * that the columns are converted one at a time and added to the column pages without
+   * creating a row object for each row. It is not used for tables with complex or spatial
+   * columns, or with table page size configured.
+   */
+  @CarbonProperty
+  public static final String CARBON_LOAD_COLUMNAR_BATCH_ENABLE =
+      "carbon.load.columnar.batch.enable";
+
+  public static final String CARBON_LOAD_COLUMNAR_BATCH_ENABLE_DEFAULT = "false";
+
   /**
    * to determine to use the rdd persist or not.
    */
@@ -956,6 +1010,15 @@ public final class CarbonCommonConstants {
    */
   public static final String ENABLE_UNSAFE_SORT_DEFAULT = "true";
 
+  /**
+   * Whether to sort the in-memory pages of unsafe sort by a normalized 8 byte prefix of the sort
+   * columns with radix sort. Rows with equal prefix are compared by the row comparator.
+   */
+  @CarbonProperty
+  public static final String CARBON_UNSAFE_SORT_PREFIX_ENABLE = "carbon.unsafe.sort.prefix.enable";
+
+  public static final String CARBON_UNSAFE_SORT_PREFIX_ENABLE_DEFAULT = "false";
+
   /**
    * to enable offheap sort
    */
@@ -1132,6 +1195,19 @@ public final class CarbonCommonConstants {
    */
   public static final String CARBON_ENABLE_PAGE_LEVEL_READER_IN_COMPACTION_DEFAULT = "false";
 
+  /**
+   * Whether compaction can copy the encoded blocklets of the segments to the merged segment
+   * without decoding the rows, when the merged data is same as the copied data. It is used only
+   * for tables without index, update or delete, and the segments of a sort table should not
+   * overlap on the first sort column. Merged segment will have the blocklets of the segments
+   * as they are, so it is disabled by default.
+   */
+  @CarbonProperty
+  public static final String CARBON_ENABLE_BLOCKLET_COPY_IN_COMPACTION =
+      "carbon.enable.blocklet.copy.in.compaction";
+
+  public static final String CARBON_ENABLE_BLOCKLET_COPY_IN_COMPACTION_DEFAULT = "false";
+
   @CarbonProperty
   public static final String CARBON_SORT_STORAGE_INMEMORY_IN_MB =
       "carbon.sort.storage.inmemory.size.inmb";
@@ -1330,6 +1406,17 @@ public final class CarbonCommonConstants {
 
   public static final String ENABLE_TABLE_STATUS_BACKUP_DEFAULT = "false";
 
+  /**
+   * Whether to cache the parsed table status in memory. Cached details are reused as long as
+   * the last modified time and size of the table status file are not changed, so that the file
+   * is not read and parsed again on every query. Enable it only when the file system records the
+   * last modified time with millisecond precision.
+   */
+  @CarbonProperty
+  public static final String ENABLE_TABLE_STATUS_CACHE = "carbon.enable.tablestatus.cache";
+
+  public static final String ENABLE_TABLE_STATUS_CACHE_DEFAULT = "false";
+
   /**
    * property to set is IS_DRIVER_INSTANCE
    */
@@ -1507,6 +1594,16 @@ public final class CarbonCommonConstants {
 
   public static final String CARBON_PUSH_ROW_FILTERS_FOR_VECTOR_DEFAULT = "false";
 
+  /**
+   * Whether to compile the row level filter expression into filters specialized for the data
+   * types of the filter columns, once for each block. Expressions which cannot be compiled are
+   * evaluated as before.
+   */
+  @CarbonProperty(dynamicConfigurable = true)
+  public static final String ENABLE_FILTER_COMPILATION = "carbon.enable.filter.compilation";
+
+  public static final String ENABLE_FILTER_COMPILATION_DEFAULT = "false";
+
   /**
    * max driver threads used for block pruning [1 to 4 threads]
    */
@@ -1545,6 +1642,46 @@ public final class CarbonCommonConstants {
 
   public static final String CARBON_QUERY_PREFETCH_ENABLE_DEFAULT = "true";
 
+  /**
+   * number of blocks after the block being scanned whose first blocklet is read ahead in query,
+   * so that reads from remote storage overlap with the processing of the current block. The same
+   * number of block footers are read ahead while preparing the query. 0 disables it
+   */
+  @CarbonProperty
+  public static final String CARBON_QUERY_PREFETCH_BLOCK_DEPTH =
+      "carbon.query.prefetch.block.depth";
+
+  public static final String CARBON_QUERY_PREFETCH_BLOCK_DEPTH_DEFAULT = "1";
+
+  public static final int CARBON_QUERY_PREFETCH_BLOCK_DEPTH_MAX = 16;
+
+  /**
+   * number of threads of the thread pool shared by all the queries in the process to read and
+   * scan blocklets, by default it is 4 times the number of available processors
+   */
+  @CarbonProperty
+  public static final String CARBON_QUERY_THREAD_POOL_SIZE = "carbon.query.thread.pool.size";
+
+  /**
+   * maximum number of tasks of one query running in the query thread pool at a time, other
+   * tasks of the query wait in the queue of the query, so that a query does not delay the others
+   */
+  @CarbonProperty
+  public static final String CARBON_QUERY_THREAD_POOL_MAX_TASKS_PER_QUERY =
+      "carbon.query.thread.pool.max.tasks.per.query";
+
+  public static final String CARBON_QUERY_THREAD_POOL_MAX_TASKS_PER_QUERY_DEFAULT = "8";
+
+  /**
+   * whether to run the tasks of the query thread pool in virtual threads, it is used only when
+   * the JVM supports virtual threads
+   */
+  @CarbonProperty
+  public static final String CARBON_QUERY_THREAD_POOL_VIRTUAL_THREADS =
+      "carbon.query.thread.pool.virtual.threads";
+
+  public static final String CARBON_QUERY_THREAD_POOL_VIRTUAL_THREADS_DEFAULT = "false";
+
   @CarbonProperty(dynamicConfigurable = true)
   public static final String CARBON_QUERY_STAGE_INPUT =
       "carbon.query.stage.input.enable";
@@ -1552,6 +1689,29 @@ public final class CarbonCommonConstants {
 
   public static final String CARBON_QUERY_STAGE_INPUT_DEFAULT = "false";
 
+  /**
+   * whether to memory map local carbondata files while reading column chunks. When enabled,
+   * each local file is mapped once and column chunks are read from the mapping instead of
+   * issuing a positioned channel read per chunk
+   */
+  @CarbonProperty
+  public static final String CARBON_QUERY_LOCAL_FILE_MMAP_ENABLE =
+      "carbon.query.local.file.mmap.enable";
+
+  public static final String CARBON_QUERY_LOCAL_FILE_MMAP_ENABLE_DEFAULT = "false";
+
+  /**
+   * size in MB of the executor level cache which keeps the column chunks read from carbondata
+   * files, so that repeated scans of the same blocklet columns do not read the file again
+   */
+  @CarbonProperty
+  public static final String CARBON_COLUMN_CHUNK_CACHE_SIZE = "carbon.column.chunk.cache.size";
+
+  /**
+   * column chunk cache is disabled by default
+   */
+  public static final String CARBON_COLUMN_CHUNK_CACHE_SIZE_DEFAULT = "0";
+
   //////////////////////////////////////////////////////////////////////////////////////////
   // Index parameter start here
   //////////////////////////////////////////////////////////////////////////////////////////
@@ -61,6 +61,24 @@ public interface CarbonV3DataFormatConstants {
    */
   short NUMBER_OF_COLUMN_TO_READ_IN_IO_MIN = 1;
 
+  /**
+   * maximum gap in bytes between two column groups of a blocklet for them to be read
+   * in one IO in query, data of the unselected columns inside the gap is read and ignored
+   */
+  @CarbonProperty
+  String COLUMN_READ_MERGE_GAP_IN_BYTES = "carbon.column.read.merge.gap.bytes";
+
+  /**
+   * column read merge gap default value for object store files, 1 MB
+   */
+  String COLUMN_READ_MERGE_GAP_IN_BYTES_DEFAULTVALUE = "1048576";
+
+  /**
+   * column read merge gap default value for local and HDFS files, only the selected
+   * columns are read
+   */
+  String COLUMN_READ_MERGE_GAP_IN_BYTES_LOCAL_DEFAULTVALUE = "0";
+
   /**
    * number of rows per blocklet column page default value
    */
@@ -35,6 +35,20 @@ public interface FileReader {
   ByteBuffer readByteBuffer(String filePath, long offset, int length)
       throws IOException;
 
+  /**
+   * This method will be used to read multiple ranges of the same file in one call.
+   * Implementation can issue the reads together to reduce the number of round trips
+   * to the file system
+   *
+   * @param filePath fully qualified file path
+   * @param offsets  reading start position of each range
+   * @param lengths  number of bytes to be read for each range
+   * @return ByteBuffer for each range, in same order as offsets
+   * @throws IOException
+   */
+  ByteBuffer[] readByteBuffers(String filePath, long[] offsets, int[] lengths)
+      throws IOException;
+
   /**
    * This method will be used to read the byte array from file based on offset
    * and length(number of bytes) need to read
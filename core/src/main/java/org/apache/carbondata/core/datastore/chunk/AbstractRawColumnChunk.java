@@ -48,6 +48,8 @@ public abstract class AbstractRawColumnChunk {
 
   private DataChunk3 dataChunkV3;
 
+  private boolean readFromCache;
+
   public AbstractRawColumnChunk(int columnIndex, ByteBuffer rawData, long offSet, int length) {
     this.columnIndex = columnIndex;
     this.rawData = rawData;
@@ -133,4 +135,12 @@ public abstract class AbstractRawColumnChunk {
   public void setMinMaxFlagArray(boolean[] minMaxFlagArray) {
     this.minMaxFlagArray = minMaxFlagArray;
   }
+
+  public boolean isReadFromCache() {
+    return readFromCache;
+  }
+
+  public void setReadFromCache(boolean readFromCache) {
+    this.readFromCache = readFromCache;
+  }
 }
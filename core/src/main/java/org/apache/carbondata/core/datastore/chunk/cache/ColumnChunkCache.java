@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.chunk.cache;
+
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.cache.Cacheable;
+import org.apache.carbondata.core.cache.CarbonLRUCache;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.util.CarbonProperties;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Executor level cache of the column chunks read from carbondata files.
+ * Key of the cache is the file path and the offset of the column chunk in the file.
+ * Carbondata files are never modified after they are written and compaction or update
+ * writes new files, so a cached chunk never becomes stale, chunks of deleted files are
+ * evicted by LRU as they are not accessed anymore.
+ * Cache is enabled only when carbon.column.chunk.cache.size is configured.
+ */
+public final class ColumnChunkCache {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(ColumnChunkCache.class.getName());
+
+  private static final ColumnChunkCache INSTANCE = new ColumnChunkCache();
+
+  /**
+   * lru cache holding the column chunks, null if cache is disabled
+   */
+  private CarbonLRUCache lruCache;
+
+  private ColumnChunkCache() {
+    long cacheSize;
+    try {
+      cacheSize = Long.parseLong(CarbonProperties.getInstance()
+          .getProperty(CarbonCommonConstants.CARBON_COLUMN_CHUNK_CACHE_SIZE,
+              CarbonCommonConstants.CARBON_COLUMN_CHUNK_CACHE_SIZE_DEFAULT));
+    } catch (NumberFormatException e) {
+      LOGGER.warn(CarbonCommonConstants.CARBON_COLUMN_CHUNK_CACHE_SIZE
+          + " is not in a valid format, column chunk cache is disabled");
+      cacheSize = 0;
+    }
+    // LRU cache without size is unbounded, so enable only when size is configured
+    if (cacheSize > 0) {
+      lruCache = new CarbonLRUCache(CarbonCommonConstants.CARBON_COLUMN_CHUNK_CACHE_SIZE,
+          CarbonCommonConstants.CARBON_COLUMN_CHUNK_CACHE_SIZE_DEFAULT);
+    }
+  }
+
+  public static ColumnChunkCache getInstance() {
+    return INSTANCE;
+  }
+
+  public boolean isEnabled() {
+    return null != lruCache;
+  }
+
+  /**
+   * Get the column chunk data from the cache
+   *
+   * @param filePath file path of the carbondata file
+   * @param offset   offset of the column chunk in the file
+   * @return column chunk data or null if not present in cache
+   */
+  public byte[] get(String filePath, long offset) {
+    if (null == lruCache) {
+      return null;
+    }
+    CacheableColumnChunk columnChunk =
+        (CacheableColumnChunk) lruCache.get(getCacheKey(filePath, offset));
+    return null == columnChunk ? null : columnChunk.data;
+  }
+
+  /**
+   * Add the column chunk data to the cache, if there is no space in cache even after
+   * evicting the old entries then it is not added
+   *
+   * @param filePath file path of the carbondata file
+   * @param offset   offset of the column chunk in the file
+   * @param data     column chunk data, should not be modified after adding
+   */
+  public void put(String filePath, long offset, byte[] data) {
+    if (null == lruCache) {
+      return;
+    }
+    lruCache.put(getCacheKey(filePath, offset), new CacheableColumnChunk(data), data.length, 0L);
+  }
+
+  /**
+   * remove all the entries from the cache
+   */
+  public void clear() {
+    if (null != lruCache) {
+      lruCache.clear();
+    }
+  }
+
+  private static String getCacheKey(String filePath, long offset) {
+    return filePath + CarbonCommonConstants.UNDERSCORE + offset;
+  }
+
+  /**
+   * column chunk data held in lru cache
+   */
+  private static class CacheableColumnChunk implements Cacheable {
+
+    private byte[] data;
+
+    CacheableColumnChunk(byte[] data) {
+      this.data = data;
+    }
+
+    @Override
+    public int getAccessCount() {
+      // data is copied by reference to the reader, so entry can always be evicted
+      return 0;
+    }
+
+    @Override
+    public long getMemorySize() {
+      return data.length;
+    }
+
+    @Override
+    public void invalidate() {
+      // nothing to release, data is on heap
+    }
+  }
+}
@@ -90,6 +90,20 @@ public abstract class AbstractDimensionChunkReader implements DimensionColumnChu
   public DimensionRawColumnChunk[] readRawDimensionChunks(final FileReader fileReader,
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2099
       final int[][] columnIndexRange) throws IOException {
+    return readRawDimensionChunksGroupWise(fileReader, columnIndexRange);
+  }
+
+  /**
+   * Below method will be used to read the dimension chunks by issuing one read for
+   * each column group
+   *
+   * @param fileReader       file reader to read the data
+   * @param columnIndexRange column index range to be read
+   * @return dimension raw chunk array
+   * @throws IOException
+   */
+  protected DimensionRawColumnChunk[] readRawDimensionChunksGroupWise(final FileReader fileReader,
+      final int[][] columnIndexRange) throws IOException {
     // read the column chunk based on block index and add
     DimensionRawColumnChunk[] dataChunks =
         new DimensionRawColumnChunk[dimensionChunksOffset.size()];
@@ -103,6 +103,16 @@ public class DimensionChunkPageReaderV3 extends DimensionChunkReaderV3 {
     return rawColumnChunk;
   }
 
+  /**
+   * In page by page read only the data chunk metadata is read for each column,
+   * so columns are read group wise without merging the ranges
+   */
+  @Override
+  public DimensionRawColumnChunk[] readRawDimensionChunks(FileReader fileReader,
+      int[][] columnIndexRange) throws IOException {
+    return readRawDimensionChunksGroupWise(fileReader, columnIndexRange);
+  }
+
   /**
    * Below method will be used to read the multiple dimension column data in group
    * and divide into dimension raw chunk object
@@ -19,6 +19,7 @@ package org.apache.carbondata.core.datastore.chunk.reader.dimension.v3;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
@@ -27,6 +28,7 @@ import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.FileReader;
 import org.apache.carbondata.core.datastore.ReusableDataBuffer;
 import org.apache.carbondata.core.datastore.chunk.DimensionColumnPage;
+import org.apache.carbondata.core.datastore.chunk.cache.ColumnChunkCache;
 import org.apache.carbondata.core.datastore.chunk.impl.DimensionRawColumnChunk;
 import org.apache.carbondata.core.datastore.chunk.impl.FixedLengthDimensionColumnPage;
 import org.apache.carbondata.core.datastore.chunk.impl.VariableLengthDimensionColumnPage;
@@ -43,6 +45,7 @@ import org.apache.carbondata.core.metadata.blocklet.BlockletInfo;
 import org.apache.carbondata.core.scan.executor.util.QueryUtil;
 import org.apache.carbondata.core.scan.result.vector.ColumnVectorInfo;
 import org.apache.carbondata.core.util.CarbonMetadataUtil;
+import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.format.DataChunk2;
 import org.apache.carbondata.format.DataChunk3;
@@ -106,11 +109,17 @@ public class DimensionChunkReaderV3 extends AbstractDimensionChunkReader {
     } else {
       length = (int) (dimensionChunksOffset.get(columnIndex + 1) - currentDimensionOffset);
     }
+    ColumnChunkCache chunkCache = ColumnChunkCache.getInstance();
+    byte[] cachedData = chunkCache.get(filePath, currentDimensionOffset);
+    if (null != cachedData) {
+      return getDimensionRawColumnChunkFromCache(fileReader, columnIndex, cachedData);
+    }
     ByteBuffer buffer = null;
     // read the data from carbon data file
     synchronized (fileReader) {
       buffer = fileReader.readByteBuffer(filePath, currentDimensionOffset, length);
     }
+    chunkCache.put(filePath, currentDimensionOffset, buffer.array());
     // get the data chunk which will have all the details about the data pages
     DataChunk3 dataChunk = CarbonUtil.readDataChunk3(buffer, 0, length);
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2099
@@ -118,6 +127,127 @@ public class DimensionChunkReaderV3 extends AbstractDimensionChunkReader {
         dataChunk);
   }
 
+  /**
+   * Below method will be used to read the dimension chunks of all the column groups.
+   * Column groups which are near to each other in the file (gap is within
+   * carbon.column.read.merge.gap.bytes) are merged and read in one IO, and all the
+   * merged ranges are submitted to the file reader in one call.
+   *
+   * @param fileReader       file reader to read the data
+   * @param columnIndexRange column index range to be read
+   * @return dimension raw chunk array
+   * @throws IOException
+   */
+  @Override
+  public DimensionRawColumnChunk[] readRawDimensionChunks(FileReader fileReader,
+      int[][] columnIndexRange) throws IOException {
+    DimensionRawColumnChunk[] dataChunks =
+        new DimensionRawColumnChunk[dimensionChunksOffset.size()];
+    ColumnChunkCache chunkCache = ColumnChunkCache.getInstance();
+    if (chunkCache.isEnabled()) {
+      // only the columns which are not present in cache need to be read from file
+      columnIndexRange = fillDimensionChunksFromCache(fileReader, columnIndexRange, dataChunks);
+    }
+    if (columnIndexRange.length == 0) {
+      return dataChunks;
+    }
+    long[] groupStartOffsets = new long[columnIndexRange.length];
+    long[] groupEndOffsets = new long[columnIndexRange.length];
+    for (int i = 0; i < columnIndexRange.length; i++) {
+      groupStartOffsets[i] = dimensionChunksOffset.get(columnIndexRange[i][0]);
+      groupEndOffsets[i] = getDimensionChunkEndOffset(columnIndexRange[i][1]);
+    }
+    int[][] mergedGroups = CarbonUtil.mergeReadRanges(groupStartOffsets, groupEndOffsets,
+        CarbonProperties.getColumnReadMergeGapInBytes(filePath));
+    long[] readOffsets = new long[mergedGroups.length];
+    int[] readLengths = new int[mergedGroups.length];
+    for (int i = 0; i < mergedGroups.length; i++) {
+      readOffsets[i] = groupStartOffsets[mergedGroups[i][0]];
+      readLengths[i] = (int) (groupEndOffsets[mergedGroups[i][1]] - readOffsets[i]);
+    }
+    ByteBuffer[] buffers;
+    // read the data from carbon data file
+    synchronized (fileReader) {
+      buffers = fileReader.readByteBuffers(filePath, readOffsets, readLengths);
+    }
+    // create raw chunk for each dimension column, offset of the raw chunk is the
+    // position of the column inside the merged buffer
+    for (int i = 0; i < mergedGroups.length; i++) {
+      for (int group = mergedGroups[i][0]; group <= mergedGroups[i][1]; group++) {
+        for (int j = columnIndexRange[group][0]; j <= columnIndexRange[group][1]; j++) {
+          int offsetInBuffer = (int) (dimensionChunksOffset.get(j) - readOffsets[i]);
+          int currentLength = (int) (getDimensionChunkEndOffset(j) - dimensionChunksOffset.get(j));
+          DataChunk3 dataChunk = CarbonUtil
+              .readDataChunk3(buffers[i], offsetInBuffer, dimensionChunksLength.get(j));
+          dataChunks[j] = getDimensionRawColumnChunk(fileReader, j, offsetInBuffer,
+              currentLength, buffers[i], dataChunk);
+          if (chunkCache.isEnabled()) {
+            chunkCache.put(filePath, dimensionChunksOffset.get(j), Arrays
+                .copyOfRange(buffers[i].array(), offsetInBuffer, offsetInBuffer + currentLength));
+          }
+        }
+      }
+    }
+    return dataChunks;
+  }
+
+  /**
+   * Below method will be used to fill the dimension chunks which are present in the
+   * column chunk cache
+   *
+   * @param fileReader       file reader
+   * @param columnIndexRange column index range to be read
+   * @param dataChunks       dimension chunks to be filled
+   * @return column index range of the columns which are not present in cache
+   */
+  private int[][] fillDimensionChunksFromCache(FileReader fileReader, int[][] columnIndexRange,
+      DimensionRawColumnChunk[] dataChunks) throws IOException {
+    ColumnChunkCache chunkCache = ColumnChunkCache.getInstance();
+    List<int[]> rangesToRead = new ArrayList<>(columnIndexRange.length);
+    for (int[] range : columnIndexRange) {
+      int rangeStart = -1;
+      for (int j = range[0]; j <= range[1]; j++) {
+        byte[] cachedData = chunkCache.get(filePath, dimensionChunksOffset.get(j));
+        if (null == cachedData) {
+          if (rangeStart == -1) {
+            rangeStart = j;
+          }
+          continue;
+        }
+        dataChunks[j] = getDimensionRawColumnChunkFromCache(fileReader, j, cachedData);
+        if (rangeStart != -1) {
+          rangesToRead.add(new int[] { rangeStart, j - 1 });
+          rangeStart = -1;
+        }
+      }
+      if (rangeStart != -1) {
+        rangesToRead.add(new int[] { rangeStart, range[1] });
+      }
+    }
+    return rangesToRead.toArray(new int[rangesToRead.size()][]);
+  }
+
+  private DimensionRawColumnChunk getDimensionRawColumnChunkFromCache(FileReader fileReader,
+      int columnIndex, byte[] cachedData) throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(cachedData);
+    DataChunk3 dataChunk =
+        CarbonUtil.readDataChunk3(buffer, 0, dimensionChunksLength.get(columnIndex));
+    DimensionRawColumnChunk rawColumnChunk = getDimensionRawColumnChunk(fileReader, columnIndex,
+        0, cachedData.length, buffer, dataChunk);
+    rawColumnChunk.setReadFromCache(true);
+    return rawColumnChunk;
+  }
+
+  /**
+   * end position of the column chunk in the file
+   */
+  private long getDimensionChunkEndOffset(int columnIndex) {
+    if (dimensionChunksOffset.size() - 1 == columnIndex) {
+      return lastDimensionOffsets;
+    }
+    return dimensionChunksOffset.get(columnIndex + 1);
+  }
+
   protected DimensionRawColumnChunk getDimensionRawColumnChunk(FileReader fileReader,
       int columnIndex, long offset, int length, ByteBuffer buffer, DataChunk3 dataChunk) {
     // creating a raw chunks instance and filling all the details
@@ -332,6 +462,8 @@ public class DimensionChunkReaderV3 extends AbstractDimensionChunkReader {
         case ADAPTIVE_DELTA_INTEGRAL:
         case ADAPTIVE_FLOATING:
         case ADAPTIVE_DELTA_FLOATING:
+        case DELTA_OF_DELTA_INTEGRAL:
+        case XOR_FLOATING:
           return true;
       }
     }
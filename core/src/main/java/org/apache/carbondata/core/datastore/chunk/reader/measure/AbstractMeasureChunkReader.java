@@ -77,6 +77,20 @@ public abstract class AbstractMeasureChunkReader implements MeasureColumnChunkRe
    */
   public MeasureRawColumnChunk[] readRawMeasureChunks(FileReader fileReader,
       int[][] columnIndexRange) throws IOException {
+    return readRawMeasureChunksGroupWise(fileReader, columnIndexRange);
+  }
+
+  /**
+   * Below method will be used to read the measure chunks by issuing one read for
+   * each column group
+   *
+   * @param fileReader       file reader to read the data
+   * @param columnIndexRange column index range to be read
+   * @return measure raw chunk array
+   * @throws IOException
+   */
+  protected MeasureRawColumnChunk[] readRawMeasureChunksGroupWise(FileReader fileReader,
+      int[][] columnIndexRange) throws IOException {
     // read the column chunk based on block index and add
     MeasureRawColumnChunk[] dataChunks =
         new MeasureRawColumnChunk[measureColumnChunkOffsets.size()];
@@ -58,6 +58,16 @@ public class MeasureChunkPageReaderV3 extends MeasureChunkReaderV3 {
     measureOffsets = blockletInfo.getMeasureOffsets();
   }
 
+  /**
+   * In page by page read only the data chunk metadata is read for each column,
+   * so columns are read group wise without merging the ranges
+   */
+  @Override
+  public MeasureRawColumnChunk[] readRawMeasureChunks(FileReader fileReader,
+      int[][] columnIndexRange) throws IOException {
+    return readRawMeasureChunksGroupWise(fileReader, columnIndexRange);
+  }
+
   /**
    * Below method will be used to read the measure column data form carbon data file
    * 1. Get the length of the data to be read
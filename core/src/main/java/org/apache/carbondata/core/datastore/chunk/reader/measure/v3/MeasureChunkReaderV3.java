@@ -19,11 +19,14 @@ package org.apache.carbondata.core.datastore.chunk.reader.measure.v3;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.List;
 
 import org.apache.carbondata.core.datastore.FileReader;
 import org.apache.carbondata.core.datastore.ReusableDataBuffer;
+import org.apache.carbondata.core.datastore.chunk.cache.ColumnChunkCache;
 import org.apache.carbondata.core.datastore.chunk.impl.MeasureRawColumnChunk;
 import org.apache.carbondata.core.datastore.chunk.reader.measure.AbstractMeasureChunkReader;
 import org.apache.carbondata.core.datastore.compression.CompressorFactory;
@@ -33,6 +36,7 @@ import org.apache.carbondata.core.metadata.blocklet.BlockletInfo;
 import org.apache.carbondata.core.scan.executor.util.QueryUtil;
 import org.apache.carbondata.core.scan.result.vector.ColumnVectorInfo;
 import org.apache.carbondata.core.util.CarbonMetadataUtil;
+import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.format.DataChunk2;
 import org.apache.carbondata.format.DataChunk3;
@@ -93,12 +97,18 @@ public class MeasureChunkReaderV3 extends AbstractMeasureChunkReader {
           (int) (measureColumnChunkOffsets.get(columnIndex + 1) - measureColumnChunkOffsets
               .get(columnIndex));
     }
+    ColumnChunkCache chunkCache = ColumnChunkCache.getInstance();
+    byte[] cachedData = chunkCache.get(filePath, measureColumnChunkOffsets.get(columnIndex));
+    if (null != cachedData) {
+      return getMeasureRawColumnChunkFromCache(fileReader, columnIndex, cachedData);
+    }
     ByteBuffer buffer = null;
     // read the data from carbon data file
     synchronized (fileReader) {
       buffer = fileReader
           .readByteBuffer(filePath, measureColumnChunkOffsets.get(columnIndex), dataLength);
     }
+    chunkCache.put(filePath, measureColumnChunkOffsets.get(columnIndex), buffer.array());
     // get the data chunk which will have all the details about the data pages
     DataChunk3 dataChunk =
         CarbonUtil.readDataChunk3(buffer, 0, measureColumnChunkLength.get(columnIndex));
@@ -107,6 +117,128 @@ public class MeasureChunkReaderV3 extends AbstractMeasureChunkReader {
         dataChunk);
   }
 
+  /**
+   * Below method will be used to read the measure chunks of all the column groups.
+   * Column groups which are near to each other in the file (gap is within
+   * carbon.column.read.merge.gap.bytes) are merged and read in one IO, and all the
+   * merged ranges are submitted to the file reader in one call.
+   *
+   * @param fileReader       file reader to read the data
+   * @param columnIndexRange column index range to be read
+   * @return measure raw chunk array
+   * @throws IOException
+   */
+  @Override
+  public MeasureRawColumnChunk[] readRawMeasureChunks(FileReader fileReader,
+      int[][] columnIndexRange) throws IOException {
+    MeasureRawColumnChunk[] dataChunks =
+        new MeasureRawColumnChunk[measureColumnChunkOffsets.size()];
+    ColumnChunkCache chunkCache = ColumnChunkCache.getInstance();
+    if (chunkCache.isEnabled()) {
+      // only the columns which are not present in cache need to be read from file
+      columnIndexRange = fillMeasureChunksFromCache(fileReader, columnIndexRange, dataChunks);
+    }
+    if (columnIndexRange.length == 0) {
+      return dataChunks;
+    }
+    long[] groupStartOffsets = new long[columnIndexRange.length];
+    long[] groupEndOffsets = new long[columnIndexRange.length];
+    for (int i = 0; i < columnIndexRange.length; i++) {
+      groupStartOffsets[i] = measureColumnChunkOffsets.get(columnIndexRange[i][0]);
+      groupEndOffsets[i] = getMeasureChunkEndOffset(columnIndexRange[i][1]);
+    }
+    int[][] mergedGroups = CarbonUtil.mergeReadRanges(groupStartOffsets, groupEndOffsets,
+        CarbonProperties.getColumnReadMergeGapInBytes(filePath));
+    long[] readOffsets = new long[mergedGroups.length];
+    int[] readLengths = new int[mergedGroups.length];
+    for (int i = 0; i < mergedGroups.length; i++) {
+      readOffsets[i] = groupStartOffsets[mergedGroups[i][0]];
+      readLengths[i] = (int) (groupEndOffsets[mergedGroups[i][1]] - readOffsets[i]);
+    }
+    ByteBuffer[] buffers;
+    // read the data from carbon data file
+    synchronized (fileReader) {
+      buffers = fileReader.readByteBuffers(filePath, readOffsets, readLengths);
+    }
+    // create raw chunk for each measure column, offset of the raw chunk is the
+    // position of the column inside the merged buffer
+    for (int i = 0; i < mergedGroups.length; i++) {
+      for (int group = mergedGroups[i][0]; group <= mergedGroups[i][1]; group++) {
+        for (int j = columnIndexRange[group][0]; j <= columnIndexRange[group][1]; j++) {
+          int offsetInBuffer = (int) (measureColumnChunkOffsets.get(j) - readOffsets[i]);
+          int currentLength =
+              (int) (getMeasureChunkEndOffset(j) - measureColumnChunkOffsets.get(j));
+          DataChunk3 dataChunk = CarbonUtil
+              .readDataChunk3(buffers[i], offsetInBuffer, measureColumnChunkLength.get(j));
+          dataChunks[j] = getMeasureRawColumnChunk(fileReader, j, offsetInBuffer, currentLength,
+              buffers[i], dataChunk);
+          if (chunkCache.isEnabled()) {
+            chunkCache.put(filePath, measureColumnChunkOffsets.get(j), Arrays
+                .copyOfRange(buffers[i].array(), offsetInBuffer, offsetInBuffer + currentLength));
+          }
+        }
+      }
+    }
+    return dataChunks;
+  }
+
+  /**
+   * Below method will be used to fill the measure chunks which are present in the
+   * column chunk cache
+   *
+   * @param fileReader       file reader
+   * @param columnIndexRange column index range to be read
+   * @param dataChunks       measure chunks to be filled
+   * @return column index range of the columns which are not present in cache
+   */
+  private int[][] fillMeasureChunksFromCache(FileReader fileReader, int[][] columnIndexRange,
+      MeasureRawColumnChunk[] dataChunks) throws IOException {
+    ColumnChunkCache chunkCache = ColumnChunkCache.getInstance();
+    List<int[]> rangesToRead = new ArrayList<>(columnIndexRange.length);
+    for (int[] range : columnIndexRange) {
+      int rangeStart = -1;
+      for (int j = range[0]; j <= range[1]; j++) {
+        byte[] cachedData = chunkCache.get(filePath, measureColumnChunkOffsets.get(j));
+        if (null == cachedData) {
+          if (rangeStart == -1) {
+            rangeStart = j;
+          }
+          continue;
+        }
+        dataChunks[j] = getMeasureRawColumnChunkFromCache(fileReader, j, cachedData);
+        if (rangeStart != -1) {
+          rangesToRead.add(new int[] { rangeStart, j - 1 });
+          rangeStart = -1;
+        }
+      }
+      if (rangeStart != -1) {
+        rangesToRead.add(new int[] { rangeStart, range[1] });
+      }
+    }
+    return rangesToRead.toArray(new int[rangesToRead.size()][]);
+  }
+
+  private MeasureRawColumnChunk getMeasureRawColumnChunkFromCache(FileReader fileReader,
+      int columnIndex, byte[] cachedData) throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(cachedData);
+    DataChunk3 dataChunk =
+        CarbonUtil.readDataChunk3(buffer, 0, measureColumnChunkLength.get(columnIndex));
+    MeasureRawColumnChunk rawColumnChunk =
+        getMeasureRawColumnChunk(fileReader, columnIndex, 0, cachedData.length, buffer, dataChunk);
+    rawColumnChunk.setReadFromCache(true);
+    return rawColumnChunk;
+  }
+
+  /**
+   * end position of the column chunk in the file
+   */
+  private long getMeasureChunkEndOffset(int columnIndex) {
+    if (measureColumnChunkOffsets.size() - 1 == columnIndex) {
+      return measureOffsets;
+    }
+    return measureColumnChunkOffsets.get(columnIndex + 1);
+  }
+
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2099
   MeasureRawColumnChunk getMeasureRawColumnChunk(FileReader fileReader, int columnIndex,
       long offset, int dataLength, ByteBuffer buffer, DataChunk3 dataChunk) {
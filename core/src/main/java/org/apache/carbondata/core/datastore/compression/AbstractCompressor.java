@@ -157,6 +157,12 @@ public abstract class AbstractCompressor implements Compressor {
     throw new RuntimeException("Not implemented rawCompress for " + this.getName());
   }
 
+  @Override
+  public long rawUncompress(long inputAddress, long inputSize, long outputAddress)
+      throws IOException {
+    throw new RuntimeException("Not implemented rawUncompress for " + this.getName());
+  }
+
   @Override
   public boolean supportReusableBuffer() {
     return false;
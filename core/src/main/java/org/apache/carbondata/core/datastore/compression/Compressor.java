@@ -63,6 +63,13 @@ public interface Compressor {
   long rawCompress(long inputAddress, int inputSize, long outputAddress) throws IOException;
 
   long rawUncompress(byte[] input, byte[] output) throws IOException;
+
+  /**
+   * Uncompress the data at inputAddress into the memory at outputAddress, which should be big
+   * enough for the uncompressed length. It is supported only if supportUnsafe returns true.
+   * @return the uncompressed length
+   */
+  long rawUncompress(long inputAddress, long inputSize, long outputAddress) throws IOException;
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-1572
 
   long maxCompressedLength(long inputSize);
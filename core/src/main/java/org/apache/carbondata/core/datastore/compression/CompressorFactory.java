@@ -39,7 +39,9 @@ public class CompressorFactory {
     SNAPPY("snappy", SnappyCompressor.class),
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3005
     ZSTD("zstd", ZstdCompressor.class),
-    GZIP("gzip", GzipCompressor.class);
+    GZIP("gzip", GzipCompressor.class),
+    LZ4("lz4", Lz4Compressor.class),
+    LZ4HC("lz4hc", Lz4HCCompressor.class);
 
     private String name;
     private Class<Compressor> compressorClass;
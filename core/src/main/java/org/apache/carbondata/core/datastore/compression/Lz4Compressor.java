@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.compression;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+/**
+ * Codec Class for performing LZ4 block compression.
+ * LZ4 block does not store the uncompressed length, so every compressed block is
+ * prefixed with the uncompressed length as a 4 bytes little endian int.
+ */
+public class Lz4Compressor extends AbstractCompressor {
+
+  private static final int LENGTH_HEADER_SIZE = 4;
+
+  private final LZ4Compressor compressor;
+
+  private final LZ4FastDecompressor decompressor;
+
+  public Lz4Compressor() {
+    this(LZ4Factory.fastestInstance().fastCompressor());
+  }
+
+  protected Lz4Compressor(LZ4Compressor compressor) {
+    this.compressor = compressor;
+    this.decompressor = LZ4Factory.fastestInstance().fastDecompressor();
+  }
+
+  @Override
+  public String getName() {
+    return "lz4";
+  }
+
+  @Override
+  public ByteBuffer compressByte(ByteBuffer compInput) {
+    compInput.flip();
+    int inputLength = compInput.remaining();
+    if (!compInput.isDirect()) {
+      return ByteBuffer.wrap(compressByte(compInput.array(), inputLength));
+    }
+    // compress off-heap input directly to off-heap output
+    int maxOutputLength = (int) maxCompressedLength(inputLength);
+    ByteBuffer output = ByteBuffer.allocateDirect(maxOutputLength);
+    output.order(ByteOrder.LITTLE_ENDIAN).putInt(0, inputLength);
+    int compressedLength = compressor.compress(compInput, compInput.position(), inputLength,
+        output, LENGTH_HEADER_SIZE, maxOutputLength - LENGTH_HEADER_SIZE);
+    output.limit(LENGTH_HEADER_SIZE + compressedLength);
+    return output;
+  }
+
+  @Override
+  public ByteBuffer compressByte(byte[] unCompInput) {
+    return ByteBuffer.wrap(compressByte(unCompInput, unCompInput.length));
+  }
+
+  @Override
+  public byte[] compressByte(byte[] unCompInput, int byteSize) {
+    int maxOutputLength = (int) maxCompressedLength(byteSize);
+    byte[] output = new byte[maxOutputLength];
+    writeLength(output, byteSize);
+    int compressedLength = compressor.compress(unCompInput, 0, byteSize, output,
+        LENGTH_HEADER_SIZE, maxOutputLength - LENGTH_HEADER_SIZE);
+    byte[] result = new byte[LENGTH_HEADER_SIZE + compressedLength];
+    System.arraycopy(output, 0, result, 0, result.length);
+    return result;
+  }
+
+  @Override
+  public byte[] unCompressByte(byte[] compInput) {
+    return unCompressByte(compInput, 0, compInput.length);
+  }
+
+  @Override
+  public byte[] unCompressByte(byte[] compInput, int offset, int length) {
+    byte[] output = new byte[unCompressedLength(compInput, offset, length)];
+    rawUncompress(compInput, offset, length, output);
+    return output;
+  }
+
+  @Override
+  public long rawUncompress(byte[] input, byte[] output) {
+    return rawUncompress(input, 0, input.length, output);
+  }
+
+  @Override
+  public long maxCompressedLength(long inputSize) {
+    if (inputSize > Integer.MAX_VALUE - LENGTH_HEADER_SIZE) {
+      throw new RuntimeException("compress input oversize for lz4");
+    }
+    return LENGTH_HEADER_SIZE + compressor.maxCompressedLength((int) inputSize);
+  }
+
+  @Override
+  public int unCompressedLength(byte[] data, int offset, int length) {
+    return (data[offset] & 0xFF) | (data[offset + 1] & 0xFF) << 8
+        | (data[offset + 2] & 0xFF) << 16 | (data[offset + 3] & 0xFF) << 24;
+  }
+
+  @Override
+  public int rawUncompress(byte[] data, int offset, int length, byte[] output) {
+    int uncompressedLength = unCompressedLength(data, offset, length);
+    decompressor.decompress(data, offset + LENGTH_HEADER_SIZE, output, 0, uncompressedLength);
+    return uncompressedLength;
+  }
+
+  @Override
+  public boolean supportReusableBuffer() {
+    return true;
+  }
+
+  private static void writeLength(byte[] output, int length) {
+    output[0] = (byte) length;
+    output[1] = (byte) (length >>> 8);
+    output[2] = (byte) (length >>> 16);
+    output[3] = (byte) (length >>> 24);
+  }
+}
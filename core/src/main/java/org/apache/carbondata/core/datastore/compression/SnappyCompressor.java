@@ -205,6 +205,12 @@ public class SnappyCompressor extends AbstractCompressor {
     return snappyNative.rawUncompress(input, 0, input.length, output, 0);
   }
 
+  @Override
+  public long rawUncompress(long inputAddress, long inputSize, long outputAddress)
+      throws IOException {
+    return snappyNative.rawUncompress(inputAddress, inputSize, outputAddress);
+  }
+
   @Override
   public long maxCompressedLength(long inputSize) {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2851
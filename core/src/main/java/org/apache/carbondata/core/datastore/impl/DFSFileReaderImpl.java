@@ -159,6 +159,23 @@ public class DFSFileReaderImpl implements FileReader {
     return byteBuffer;
   }
 
+  /**
+   * Reads all the ranges using positioned read on the same stream, so stream position
+   * is not moved between the ranges and no extra seek call is issued for each range
+   */
+  @Override
+  public ByteBuffer[] readByteBuffers(String filePath, long[] offsets, int[] lengths)
+      throws IOException {
+    FSDataInputStream fileChannel = updateCache(filePath);
+    ByteBuffer[] byteBuffers = new ByteBuffer[offsets.length];
+    for (int i = 0; i < offsets.length; i++) {
+      byte[] data = new byte[lengths[i]];
+      fileChannel.readFully(offsets[i], data);
+      byteBuffers[i] = ByteBuffer.wrap(data);
+    }
+    return byteBuffers;
+  }
+
   @Override
   public void setReadPageByPage(boolean isReadPageByPage) {
     this.readPageByPage = isReadPageByPage;
@@ -21,6 +21,7 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.HashMap;
 import java.util.Map;
@@ -28,6 +29,7 @@ import java.util.Map.Entry;
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.FileReader;
+import org.apache.carbondata.core.util.CarbonProperties;
 
 public class FileReaderImpl implements FileReader {
   /**
@@ -35,19 +37,34 @@ public class FileReaderImpl implements FileReader {
    */
   private Map<String, FileChannel> fileNameAndStreamCache;
 
+  /**
+   * cache to hold filename and its memory mapped content, used only when mmap is enabled
+   */
+  private Map<String, MappedByteBuffer> fileNameAndMappedBufferCache;
+
   private boolean readPageByPage;
 
+  /**
+   * whether to read from memory mapped file instead of positioned channel read
+   */
+  private boolean mmapEnabled;
+
   /**
    * FileReaderImpl Constructor
    * It will create the cache
    */
   public FileReaderImpl() {
-    this.fileNameAndStreamCache =
-        new HashMap<String, FileChannel>(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
+    this(CarbonCommonConstants.DEFAULT_COLLECTION_SIZE);
   }
 
   public FileReaderImpl(int capacity) {
+    this(capacity, CarbonProperties.isLocalFileMmapEnabled());
+  }
+
+  public FileReaderImpl(int capacity, boolean mmapEnabled) {
     this.fileNameAndStreamCache = new HashMap<String, FileChannel>(capacity);
+    this.fileNameAndMappedBufferCache = new HashMap<String, MappedByteBuffer>(capacity);
+    this.mmapEnabled = mmapEnabled;
   }
 
   /**
@@ -62,6 +79,10 @@ public class FileReaderImpl implements FileReader {
   @Override
   public byte[] readByteArray(String filePath, long offset, int length)
       throws IOException {
+    MappedByteBuffer mappedBuffer = getMappedBuffer(filePath);
+    if (null != mappedBuffer) {
+      return readFromMappedBuffer(mappedBuffer, offset, length).array();
+    }
     FileChannel fileChannel = updateCache(filePath);
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3002
     ByteBuffer byteBuffer = read(fileChannel, length, offset);
@@ -81,6 +102,8 @@ public class FileReaderImpl implements FileReader {
     }
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3012
     fileNameAndStreamCache.clear();
+    // mapping is released when the buffer is garbage collected
+    fileNameAndMappedBufferCache.clear();
   }
 
   /**
@@ -148,6 +171,54 @@ public class FileReaderImpl implements FileReader {
     return fileChannel;
   }
 
+  /**
+   * This method will be used to get the memory mapped content of the file, the file is mapped
+   * only once and cached. Returns null if mmap is disabled or file is too large to be mapped
+   * in a single buffer, in which case caller should fall back to channel read
+   *
+   * @param filePath fully qualified file path
+   * @return mapped buffer or null
+   */
+  private MappedByteBuffer getMappedBuffer(String filePath) throws IOException {
+    if (!mmapEnabled) {
+      return null;
+    }
+    MappedByteBuffer mappedBuffer = fileNameAndMappedBufferCache.get(filePath);
+    if (null == mappedBuffer) {
+      FileChannel fileChannel = updateCache(filePath);
+      long size = fileChannel.size();
+      if (size > Integer.MAX_VALUE) {
+        return null;
+      }
+      mappedBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      fileNameAndMappedBufferCache.put(filePath, mappedBuffer);
+    }
+    return mappedBuffer;
+  }
+
+  /**
+   * This method will be used to copy the requested range from the mapped file to a heap buffer.
+   * Decoders work on the backing array, so content is copied once from page cache without
+   * any seek or read system call
+   *
+   * @param mappedBuffer mapped file content
+   * @param offset       position
+   * @param size         number of bytes
+   * @return byte buffer
+   */
+  private ByteBuffer readFromMappedBuffer(MappedByteBuffer mappedBuffer, long offset, int size) {
+    ByteBuffer byteBuffer = ByteBuffer.allocate(size);
+    // duplicate so that position of the cached buffer is not shared between reads
+    ByteBuffer source = mappedBuffer.duplicate();
+    if (offset < source.capacity()) {
+      source.position((int) offset);
+      source.limit((int) Math.min(offset + size, source.capacity()));
+      byteBuffer.put(source);
+    }
+    byteBuffer.rewind();
+    return byteBuffer;
+  }
+
   /**
    * This method will be used to read from file based on number of bytes to be read and position
    *
@@ -215,6 +286,10 @@ public class FileReaderImpl implements FileReader {
   @Override
   public ByteBuffer readByteBuffer(String filePath, long offset, int length)
       throws IOException {
+    MappedByteBuffer mappedBuffer = getMappedBuffer(filePath);
+    if (null != mappedBuffer) {
+      return readFromMappedBuffer(mappedBuffer, offset, length);
+    }
     ByteBuffer byteBuffer = ByteBuffer.allocate(length);
     FileChannel fileChannel = updateCache(filePath);
     fileChannel.position(offset);
@@ -223,6 +298,16 @@ public class FileReaderImpl implements FileReader {
     return byteBuffer;
   }
 
+  @Override
+  public ByteBuffer[] readByteBuffers(String filePath, long[] offsets, int[] lengths)
+      throws IOException {
+    ByteBuffer[] byteBuffers = new ByteBuffer[offsets.length];
+    for (int i = 0; i < offsets.length; i++) {
+      byteBuffers[i] = readByteBuffer(filePath, offsets[i], lengths[i]);
+    }
+    return byteBuffers;
+  }
+
   @Override
   public void setReadPageByPage(boolean isReadPageByPage) {
     this.readPageByPage = isReadPageByPage;
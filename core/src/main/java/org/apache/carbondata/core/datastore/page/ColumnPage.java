@@ -849,6 +849,14 @@ public abstract class ColumnPage {
   public static ColumnPage decompress(ColumnPageEncoderMeta meta, byte[] compressedData, int offset,
       int length, boolean isLVEncoded, boolean isComplexPrimitiveIntLengthEncoding) {
     Compressor compressor = CompressorFactory.getInstance().getCompressor(meta.getCompressorName());
+    if (isUnsafeEnabled(meta) && compressor.supportUnsafe()) {
+      // decompress into the off-heap memory of the page without the on-heap copies
+      ColumnPage columnPage = UnsafeFixLengthColumnPage
+          .newDecompressedPage(meta, compressor, compressedData, offset, length);
+      if (null != columnPage) {
+        return columnPage;
+      }
+    }
     TableSpec.ColumnSpec columnSpec = meta.getColumnSpec();
     DataType storeDataType = meta.getStoreDataType();
     if (storeDataType == DataTypes.BOOLEAN || storeDataType == BYTE) {
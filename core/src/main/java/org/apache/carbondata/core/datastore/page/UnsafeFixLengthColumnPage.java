@@ -17,12 +17,16 @@
 
 package org.apache.carbondata.core.datastore.page;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
+import org.apache.carbondata.core.datastore.compression.Compressor;
 import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
 import org.apache.carbondata.core.memory.CarbonUnsafe;
 import org.apache.carbondata.core.memory.MemoryBlock;
+import org.apache.carbondata.core.memory.MemoryType;
 import org.apache.carbondata.core.memory.UnsafeMemoryManager;
 import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
@@ -60,6 +64,8 @@ public class UnsafeFixLengthColumnPage extends ColumnPage {
   private static final int floatBits = DataTypes.FLOAT.getSizeBits();
   private static final int doubleBits = DataTypes.DOUBLE.getSizeBits();
 
+  private static final ThreadLocal<ByteBuffer> DECOMPRESS_INPUT_BUFFER = new ThreadLocal<>();
+
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3575
   UnsafeFixLengthColumnPage(ColumnPageEncoderMeta columnPageEncoderMeta, int pageSize) {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2851
@@ -108,6 +114,91 @@ public class UnsafeFixLengthColumnPage extends ColumnPage {
     }
   }
 
+  /**
+   * Direct buffer of the thread to stage the compressed data for native decompression. It is
+   * reused for all the pages decompressed by the thread and grows with the biggest page.
+   */
+  private static ByteBuffer getDecompressInputBuffer(int length) {
+    ByteBuffer buffer = DECOMPRESS_INPUT_BUFFER.get();
+    if (null == buffer || buffer.capacity() < length) {
+      int capacity = length;
+      if (null != buffer) {
+        capacity = Math.max(length, buffer.capacity() * 2);
+        UnsafeMemoryManager.destroyDirectByteBuffer(buffer);
+      }
+      buffer = ByteBuffer.allocateDirect(capacity);
+      DECOMPRESS_INPUT_BUFFER.set(buffer);
+    }
+    buffer.clear();
+    return buffer;
+  }
+
+  /**
+   * Create a page of fixed length primitive type by decompressing the data directly into the
+   * off-heap memory of the page. It returns null if the type is not supported or the memory
+   * of the page is not off-heap, then caller should decompress on heap.
+   */
+  static ColumnPage newDecompressedPage(ColumnPageEncoderMeta meta, Compressor compressor,
+      byte[] compressedData, int offset, int length) {
+    DataType storeDataType = meta.getStoreDataType();
+    ColumnPageEncoderMeta pageMeta = meta;
+    if (storeDataType == DataTypes.BOOLEAN) {
+      storeDataType = DataTypes.BYTE;
+      pageMeta = new ColumnPageEncoderMeta(meta.getColumnSpec(), DataTypes.BYTE,
+          meta.getCompressorName());
+      pageMeta.setFillCompleteVector(meta.isFillCompleteVector());
+    }
+    if (storeDataType != DataTypes.BYTE && storeDataType != DataTypes.SHORT &&
+        storeDataType != DataTypes.SHORT_INT && storeDataType != DataTypes.INT &&
+        storeDataType != DataTypes.LONG && storeDataType != DataTypes.FLOAT &&
+        storeDataType != DataTypes.DOUBLE) {
+      return null;
+    }
+    int uncompressedLength = compressor.unCompressedLength(compressedData, offset, length);
+    UnsafeFixLengthColumnPage page = new UnsafeFixLengthColumnPage(pageMeta,
+        uncompressedLength / storeDataType.getSizeInBytes());
+    if (!canCompressDirectly(page.memoryBlock, compressor)) {
+      page.freeMemory();
+      return null;
+    }
+    // native decompression needs the compressed data in native memory as well
+    ByteBuffer input = getDecompressInputBuffer(length);
+    try {
+      input.put(compressedData, offset, length);
+      compressor.rawUncompress(((DirectBuffer) input).address(), length, page.baseOffset);
+    } catch (IOException | RuntimeException e) {
+      page.freeMemory();
+      throw new RuntimeException(e);
+    }
+    page.totalLength = uncompressedLength;
+    return page;
+  }
+
+  /**
+   * Whether the data in native memory can be compressed directly with the compressor. Multi-byte
+   * values are compressed in little endian order on heap, so native order must be little endian.
+   */
+  static boolean canCompressDirectly(MemoryBlock memoryBlock, Compressor compressor) {
+    return memoryBlock != null && memoryBlock.getMemoryType() == MemoryType.OFFHEAP
+        && compressor.supportUnsafe() && ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+  }
+
+  /**
+   * Compress the data in native memory into a direct buffer without copying it on heap
+   */
+  static ByteBuffer compressDirectly(Compressor compressor, long address, int size)
+      throws IOException {
+    ByteBuffer output = ByteBuffer.allocateDirect((int) compressor.maxCompressedLength(size));
+    try {
+      long outputSize = compressor.rawCompress(address, size, ((DirectBuffer) output).address());
+      output.limit((int) outputSize);
+    } catch (IOException | RuntimeException e) {
+      UnsafeMemoryManager.destroyDirectByteBuffer(output);
+      throw e;
+    }
+    return output;
+  }
+
   private void checkDataFileSize() {
     // 16 is a Watermark in order to stop from overflowing.
     if (totalLength > (Integer.MAX_VALUE - 16)) {
@@ -573,6 +664,16 @@ public class UnsafeFixLengthColumnPage extends ColumnPage {
     }
   }
 
+  @Override
+  public ByteBuffer compress(Compressor compressor) throws IOException {
+    DataType storeDataType = columnPageEncoderMeta.getStoreDataType();
+    if (canCompressDirectly(memoryBlock, compressor) && storeDataType != DataTypes.BYTE_ARRAY) {
+      // page data is laid out in memory the same as the on-heap array of the data type
+      return compressDirectly(compressor, baseOffset, totalLength);
+    }
+    return super.compress(compressor);
+  }
+
   @Override
   public long getPageLengthInBytes() {
     // For unsafe column page, we are always tracking the total length
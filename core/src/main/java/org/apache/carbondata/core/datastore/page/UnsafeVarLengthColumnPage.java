@@ -17,8 +17,12 @@
 
 package org.apache.carbondata.core.datastore.page;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 
+import org.apache.carbondata.core.datastore.ColumnType;
+import org.apache.carbondata.core.datastore.compression.Compressor;
 import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
 import org.apache.carbondata.core.memory.CarbonUnsafe;
 import org.apache.carbondata.core.memory.UnsafeMemoryManager;
@@ -121,6 +125,19 @@ public class UnsafeVarLengthColumnPage extends UnsafeVarLengthColumnPageBase {
     return bytes;
   }
 
+  @Override
+  public ByteBuffer compress(Compressor compressor) throws IOException {
+    ColumnType columnType = columnPageEncoderMeta.getColumnSpec().getColumnType();
+    if (UnsafeFixLengthColumnPage.canCompressDirectly(memoryBlock, compressor)
+        && columnPageEncoderMeta.getStoreDataType() == DataTypes.BYTE_ARRAY
+        && (columnType == ColumnType.COMPLEX_STRUCT || columnType == ColumnType.COMPLEX_ARRAY
+        || columnType == ColumnType.PLAIN_LONG_VALUE || columnType == ColumnType.PLAIN_VALUE)) {
+      // rows are stored one after another, same as the flattened page
+      return UnsafeFixLengthColumnPage.compressDirectly(compressor, baseOffset, totalLength);
+    }
+    return super.compress(compressor);
+  }
+
   @Override
   void copyBytes(int rowId, byte[] dest, int destOffset, int length) {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2735
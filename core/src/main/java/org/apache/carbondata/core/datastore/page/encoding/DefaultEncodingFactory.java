@@ -23,10 +23,14 @@ import org.apache.carbondata.core.datastore.ColumnType;
 import org.apache.carbondata.core.datastore.TableSpec;
 import org.apache.carbondata.core.datastore.page.ColumnPage;
 import org.apache.carbondata.core.datastore.page.DecimalColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveCodec;
 import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveDeltaFloatingCodec;
 import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveDeltaIntegralCodec;
 import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveFloatingCodec;
 import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveIntegralCodec;
+import org.apache.carbondata.core.datastore.page.encoding.adaptive.BitPackedIntegralCodec;
+import org.apache.carbondata.core.datastore.page.encoding.adaptive.DeltaOfDeltaIntegralCodec;
+import org.apache.carbondata.core.datastore.page.encoding.adaptive.XorFloatingCodec;
 import org.apache.carbondata.core.datastore.page.encoding.compress.DirectCompressCodec;
 import org.apache.carbondata.core.datastore.page.encoding.dimension.legacy.ComplexDimensionIndexCodec;
 import org.apache.carbondata.core.datastore.page.encoding.dimension.legacy.DirectDictDimensionIndexCodec;
@@ -36,6 +40,7 @@ import org.apache.carbondata.core.datastore.page.statistics.SimpleStatsResult;
 import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
 import org.apache.carbondata.core.metadata.datatype.DecimalConverterFactory;
+import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.DataTypeUtil;
 
 /**
@@ -128,17 +133,49 @@ public class DefaultEncodingFactory extends EncodingFactory {
         dataType == DataTypes.LONG ||
         dataType == DataTypes.TIMESTAMP) {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2896
-      return selectCodecByAlgorithmForIntegral(stats, false, columnSpec).createEncoder(null);
+      ColumnPageCodec codec = selectCodecByAlgorithmForIntegral(stats, false, columnSpec);
+      return selectTimeSeriesCodecIfSmaller(columnPage, columnSpec, codec).createEncoder(null);
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-1594
     } else if (DataTypes.isDecimal(dataType)) {
       return createEncoderForDecimalDataTypeMeasure(columnPage, columnSpec);
     } else if (dataType == DataTypes.FLOAT || dataType == DataTypes.DOUBLE) {
-      return selectCodecByAlgorithmForFloating(stats, false, columnSpec).createEncoder(null);
+      ColumnPageCodec codec = selectCodecByAlgorithmForFloating(stats, false, columnSpec);
+      return selectTimeSeriesCodecIfSmaller(columnPage, columnSpec, codec).createEncoder(null);
     } else {
       throw new RuntimeException("unsupported data type: " + stats.getDataType());
     }
   }
 
+  /**
+   * Page statistics cannot tell whether the values change regularly from row to row, so the
+   * delta-of-delta or XOR encoded size is found by a pass over the page, and it is used if it
+   * takes less bits than the codec selected by the page range
+   */
+  private static ColumnPageCodec selectTimeSeriesCodecIfSmaller(ColumnPage columnPage,
+      TableSpec.ColumnSpec columnSpec, ColumnPageCodec codec) {
+    if (!CarbonProperties.isEnableTimeSeriesEncoding() || isInvertedIndex(false, columnSpec)) {
+      return codec;
+    }
+    DataType srcDataType = columnPage.getStatistics().getDataType();
+    long pageSize = columnPage.getPageSize();
+    long sizeInBits;
+    if (codec instanceof BitPackedIntegralCodec) {
+      sizeInBits = ((BitPackedIntegralCodec) codec).getBitWidth() * pageSize;
+    } else if (codec instanceof AdaptiveCodec) {
+      sizeInBits = ((AdaptiveCodec) codec).getTargetDataType().getSizeInBytes() * 8 * pageSize;
+    } else {
+      sizeInBits = srcDataType.getSizeInBytes() * 8 * pageSize;
+    }
+    if (DeltaOfDeltaIntegralCodec.isSupported(srcDataType)
+        && DeltaOfDeltaIntegralCodec.getEncodedSizeInBits(columnPage) < sizeInBits) {
+      return new DeltaOfDeltaIntegralCodec(srcDataType);
+    } else if (XorFloatingCodec.isSupported(srcDataType)
+        && XorFloatingCodec.getEncodedSizeInBits(columnPage) < sizeInBits) {
+      return new XorFloatingCodec(srcDataType);
+    }
+    return codec;
+  }
+
   private ColumnPageEncoder createEncoderForDecimalDataTypeMeasure(ColumnPage columnPage,
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2896
       TableSpec.ColumnSpec columnSpec) {
@@ -278,6 +315,14 @@ public class DefaultEncodingFactory extends EncodingFactory {
     // for complex primitive, if source and destination data type is same, use adaptive encoding.
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2607
     if (!isComplexPrimitive) {
+      if (columnSpec != null && columnSpec.getColumnType() == ColumnType.MEASURE
+          && CarbonProperties.isEnableBitPackedEncoding()) {
+        ColumnPageCodec bitPackedCodec =
+            selectBitPackedCodec(stats, adaptiveDataType, deltaDataType);
+        if (bitPackedCodec != null) {
+          return bitPackedCodec;
+        }
+      }
       // in case of decimal datatype, check if the decimal converter type is Int or Long and based
       // on that get size in bytes
       if (Math.min(adaptiveDataType.getSizeInBytes(), deltaDataType.getSizeInBytes()) == srcDataType
@@ -299,6 +344,37 @@ public class DefaultEncodingFactory extends EncodingFactory {
     }
   }
 
+  /**
+   * @return bit packed codec if the page range takes less bits than the adaptive and delta
+   * encoding, otherwise null
+   */
+  private static ColumnPageCodec selectBitPackedCodec(SimpleStatsResult stats,
+      DataType adaptiveDataType, DataType deltaDataType) {
+    DataType srcDataType = stats.getDataType();
+    long max;
+    long min;
+    if (srcDataType == DataTypes.SHORT) {
+      max = (short) stats.getMax();
+      min = (short) stats.getMin();
+    } else if (srcDataType == DataTypes.INT) {
+      max = (int) stats.getMax();
+      min = (int) stats.getMin();
+    } else if (srcDataType == DataTypes.LONG) {
+      max = (long) stats.getMax();
+      min = (long) stats.getMin();
+    } else {
+      return null;
+    }
+    int bitWidth = BitPackedIntegralCodec.getBitWidth(max, min);
+    int minSizeInBytes = Math.min(srcDataType.getSizeInBytes(),
+        Math.min(adaptiveDataType.getSizeInBytes(), deltaDataType.getSizeInBytes()));
+    if (bitWidth == 0 || bitWidth > BitPackedIntegralCodec.MAX_BIT_WIDTH
+        || bitWidth >= minSizeInBytes * 8) {
+      return null;
+    }
+    return new BitPackedIntegralCodec(srcDataType, stats, bitWidth);
+  }
+
   /**
    * Check whether the column is sort column and inverted index column
    *
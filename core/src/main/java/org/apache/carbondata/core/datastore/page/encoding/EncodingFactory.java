@@ -30,6 +30,11 @@ import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveDelta
 import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveDeltaIntegralCodec;
 import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveFloatingCodec;
 import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveIntegralCodec;
+import org.apache.carbondata.core.datastore.page.encoding.adaptive.BitPackedEncoderMeta;
+import org.apache.carbondata.core.datastore.page.encoding.adaptive.BitPackedIntegralCodec;
+import org.apache.carbondata.core.datastore.page.encoding.adaptive.DeltaOfDeltaIntegralCodec;
+import org.apache.carbondata.core.datastore.page.encoding.adaptive.TimeSeriesEncoderMeta;
+import org.apache.carbondata.core.datastore.page.encoding.adaptive.XorFloatingCodec;
 import org.apache.carbondata.core.datastore.page.encoding.compress.DirectCompressCodec;
 import org.apache.carbondata.core.datastore.page.encoding.rle.RLECodec;
 import org.apache.carbondata.core.datastore.page.encoding.rle.RLEEncoderMeta;
@@ -45,10 +50,13 @@ import static org.apache.carbondata.format.Encoding.ADAPTIVE_DELTA_FLOATING;
 import static org.apache.carbondata.format.Encoding.ADAPTIVE_DELTA_INTEGRAL;
 import static org.apache.carbondata.format.Encoding.ADAPTIVE_FLOATING;
 import static org.apache.carbondata.format.Encoding.ADAPTIVE_INTEGRAL;
+import static org.apache.carbondata.format.Encoding.BIT_PACKED;
 import static org.apache.carbondata.format.Encoding.BOOL_BYTE;
+import static org.apache.carbondata.format.Encoding.DELTA_OF_DELTA_INTEGRAL;
 import static org.apache.carbondata.format.Encoding.DIRECT_COMPRESS;
 import static org.apache.carbondata.format.Encoding.DIRECT_COMPRESS_VARCHAR;
 import static org.apache.carbondata.format.Encoding.RLE_INTEGRAL;
+import static org.apache.carbondata.format.Encoding.XOR_FLOATING;
 
 /**
  * Base class for encoding factory implementation.
@@ -139,6 +147,23 @@ public abstract class EncodingFactory {
       return new AdaptiveDeltaFloatingCodec(metadata.getSchemaDataType(),
           metadata.getStoreDataType(), stats, encodings.contains(Encoding.INVERTED_INDEX))
           .createDecoder(metadata);
+    } else if (encoding == BIT_PACKED) {
+      BitPackedEncoderMeta metadata = new BitPackedEncoderMeta();
+      metadata.setFillCompleteVector(fullVectorFill);
+      metadata.readFields(in);
+      SimpleStatsResult stats = PrimitivePageStatsCollector.newInstance(metadata);
+      return new BitPackedIntegralCodec(metadata.getSchemaDataType(), stats,
+          metadata.getBitWidth()).createDecoder(metadata);
+    } else if (encoding == DELTA_OF_DELTA_INTEGRAL) {
+      TimeSeriesEncoderMeta metadata = new TimeSeriesEncoderMeta();
+      metadata.setFillCompleteVector(fullVectorFill);
+      metadata.readFields(in);
+      return new DeltaOfDeltaIntegralCodec(metadata.getStoreDataType()).createDecoder(metadata);
+    } else if (encoding == XOR_FLOATING) {
+      TimeSeriesEncoderMeta metadata = new TimeSeriesEncoderMeta();
+      metadata.setFillCompleteVector(fullVectorFill);
+      metadata.readFields(in);
+      return new XorFloatingCodec(metadata.getStoreDataType()).createDecoder(metadata);
     } else if (encoding == RLE_INTEGRAL) {
       RLEEncoderMeta metadata = new RLEEncoderMeta();
       metadata.readFields(in);
@@ -190,6 +190,13 @@ public class AdaptiveDeltaIntegralCodec extends AdaptiveCodec {
     };
   }
 
+  /**
+   * converter between the page value and the difference of page max and the value
+   */
+  ColumnPageValueConverter getConverter() {
+    return converter;
+  }
+
   private ColumnPageValueConverter converter = new ColumnPageValueConverter() {
     @Override
     public void encode(int rowId, byte value) {
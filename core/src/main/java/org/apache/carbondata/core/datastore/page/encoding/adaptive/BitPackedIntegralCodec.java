@@ -0,0 +1,289 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.encoding.adaptive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.carbondata.core.datastore.ReusableDataBuffer;
+import org.apache.carbondata.core.datastore.compression.Compressor;
+import org.apache.carbondata.core.datastore.compression.CompressorFactory;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.LazyColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageDecoder;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoder;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
+import org.apache.carbondata.core.datastore.page.statistics.SimpleStatsResult;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.ColumnVectorInfo;
+import org.apache.carbondata.core.scan.result.vector.impl.directread.ColumnarVectorWrapperDirectFactory;
+import org.apache.carbondata.core.scan.result.vector.impl.directread.ConvertableVector;
+import org.apache.carbondata.core.scan.result.vector.impl.directread.SequentialFill;
+import org.apache.carbondata.format.DataChunk2;
+import org.apache.carbondata.format.Encoding;
+
+/**
+ * Frame of reference and bit packing codec for integer (short, int, long) measure pages.
+ *
+ * Like AdaptiveDeltaIntegralCodec, each value is stored as the difference of page max and the
+ * value, but the difference is stored with the minimum number of bits required for the page
+ * range instead of rounding up to byte, short, short int or int. For example, page with values
+ * 0 to 1000 takes 10 bits per value instead of 16. Packed values are then compressed by the
+ * compressor of the page.
+ *
+ * Values are packed into little endian 64 bit words starting from the lowest bit, a value can
+ * span two words.
+ */
+public class BitPackedIntegralCodec extends AdaptiveCodec {
+
+  /**
+   * maximum bit width supported, so that the difference can be decoded as int
+   */
+  public static final int MAX_BIT_WIDTH = 31;
+
+  private final int bitWidth;
+
+  private final long max;
+
+  /**
+   * codec having same representation of values, used to decode into a column page and to fill
+   * the vector types which are not filled directly
+   */
+  private final AdaptiveDeltaIntegralCodec deltaCodec;
+
+  public BitPackedIntegralCodec(DataType srcDataType, SimpleStatsResult stats, int bitWidth) {
+    super(srcDataType, DataTypes.INT, stats, false);
+    if (bitWidth <= 0 || bitWidth > MAX_BIT_WIDTH) {
+      throw new IllegalArgumentException("unsupported bit width for bit packing: " + bitWidth);
+    }
+    this.bitWidth = bitWidth;
+    if (srcDataType == DataTypes.SHORT) {
+      this.max = (short) stats.getMax();
+    } else if (srcDataType == DataTypes.INT) {
+      this.max = (int) stats.getMax();
+    } else if (srcDataType == DataTypes.LONG) {
+      this.max = (long) stats.getMax();
+    } else {
+      // this codec is for integer type only
+      throw new UnsupportedOperationException(
+          "unsupported data type for bit packing: " + srcDataType);
+    }
+    this.deltaCodec = new AdaptiveDeltaIntegralCodec(srcDataType, DataTypes.INT, stats, false);
+  }
+
+  /**
+   * @return number of bits required to store the difference of max and min, 0 if all the values
+   * are same, or more than MAX_BIT_WIDTH if it cannot be bit packed by this codec
+   */
+  public static int getBitWidth(long max, long min) {
+    long range = max - min;
+    if (range < 0) {
+      // overflow
+      return Long.SIZE;
+    }
+    return Long.SIZE - Long.numberOfLeadingZeros(range);
+  }
+
+  public int getBitWidth() {
+    return bitWidth;
+  }
+
+  @Override
+  public String getName() {
+    return "BitPackedIntegralCodec";
+  }
+
+  @Override
+  public ColumnPageEncoder createEncoder(Map<String, String> parameter) {
+    return new ColumnPageEncoder() {
+      @Override
+      protected ByteBuffer encodeData(ColumnPage input) throws IOException {
+        Compressor compressor =
+            CompressorFactory.getInstance().getCompressor(input.getColumnCompressorName());
+        return compressor.compressByte(pack(input));
+      }
+
+      @Override
+      protected ColumnPageEncoderMeta getEncoderMeta(ColumnPage inputPage) {
+        return new BitPackedEncoderMeta(inputPage.getColumnSpec(), targetDataType,
+            inputPage.getPageSize(), bitWidth, inputPage.getStatistics(),
+            inputPage.getColumnCompressorName());
+      }
+
+      @Override
+      protected List<Encoding> getEncodingList() {
+        List<Encoding> encodings = new ArrayList<>();
+        encodings.add(Encoding.BIT_PACKED);
+        return encodings;
+      }
+
+      @Override
+      protected void fillLegacyFields(DataChunk2 dataChunk) {
+        dataChunk.setRowid_page_length(0);
+      }
+    };
+  }
+
+  @Override
+  public ColumnPageDecoder createDecoder(final ColumnPageEncoderMeta meta) {
+    return new ColumnPageDecoder() {
+      @Override
+      public ColumnPage decode(byte[] input, int offset, int length) {
+        int pageSize = ((BitPackedEncoderMeta) meta).getPageSize();
+        long[] words = uncompressWords(meta, input, offset, length);
+        ColumnPage page = ColumnPage.newPage(
+            new ColumnPageEncoderMeta(meta.getColumnSpec(), targetDataType,
+                meta.getCompressorName()), pageSize);
+        for (int i = 0; i < pageSize; i++) {
+          page.putInt(i, (int) unpack(words, i));
+        }
+        return LazyColumnPage.newPage(page, deltaCodec.getConverter());
+      }
+
+      @Override
+      public void decodeAndFillVector(byte[] input, int offset, int length,
+          ColumnVectorInfo vectorInfo, BitSet nullBits, boolean isLVEncoded, int pageSize,
+          ReusableDataBuffer reusableDataBuffer) {
+        long[] words = uncompressWords(meta, input, offset, length);
+        DataType vectorDataType = vectorInfo.vector.getType();
+        if (vectorDataType == DataTypes.SHORT || vectorDataType == DataTypes.INT
+            || vectorDataType == DataTypes.LONG) {
+          fillVector(words, vectorInfo, nullBits, pageSize);
+        } else {
+          // rare vector types, unpack to int page data and fill as delta codec
+          byte[] pageData = new byte[pageSize * DataTypes.INT.getSizeInBytes()];
+          ByteBuffer buffer = ByteBuffer.wrap(pageData).order(ByteOrder.LITTLE_ENDIAN);
+          for (int i = 0; i < pageSize; i++) {
+            buffer.putInt((int) unpack(words, i));
+          }
+          deltaCodec.getConverter()
+              .decodeAndFillVector(pageData, vectorInfo, nullBits, targetDataType, pageSize);
+        }
+      }
+
+      @Override
+      public ColumnPage decode(byte[] input, int offset, int length, boolean isLVEncoded) {
+        return decode(input, offset, length);
+      }
+    };
+  }
+
+  /**
+   * pack the difference of page max and the value of each row
+   */
+  private byte[] pack(ColumnPage input) {
+    int pageSize = input.getPageSize();
+    long mask = (1L << bitWidth) - 1;
+    long[] words = new long[getNumberOfWords(pageSize)];
+    DataType dataType = input.getDataType();
+    for (int i = 0; i < pageSize; i++) {
+      long value;
+      if (dataType == DataTypes.SHORT) {
+        value = input.getShort(i);
+      } else if (dataType == DataTypes.INT) {
+        value = input.getInt(i);
+      } else if (dataType == DataTypes.LONG) {
+        value = input.getLong(i);
+      } else {
+        throw new RuntimeException("internal error: " + debugInfo());
+      }
+      long delta = (max - value) & mask;
+      long bitOffset = (long) i * bitWidth;
+      int wordIndex = (int) (bitOffset >>> 6);
+      int shift = (int) (bitOffset & 63);
+      words[wordIndex] |= delta << shift;
+      if (shift + bitWidth > Long.SIZE) {
+        words[wordIndex + 1] |= delta >>> (Long.SIZE - shift);
+      }
+    }
+    ByteBuffer buffer =
+        ByteBuffer.allocate(words.length * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.asLongBuffer().put(words);
+    return buffer.array();
+  }
+
+  private long[] uncompressWords(ColumnPageEncoderMeta meta, byte[] input, int offset,
+      int length) {
+    Compressor compressor =
+        CompressorFactory.getInstance().getCompressor(meta.getCompressorName());
+    byte[] packed = compressor.unCompressByte(input, offset, length);
+    long[] words = new long[packed.length / Long.BYTES];
+    ByteBuffer.wrap(packed).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().get(words);
+    return words;
+  }
+
+  private int getNumberOfWords(int pageSize) {
+    return (int) (((long) pageSize * bitWidth + Long.SIZE - 1) >>> 6);
+  }
+
+  /**
+   * @return the difference of page max and the value of the row
+   */
+  private long unpack(long[] words, int rowId) {
+    long bitOffset = (long) rowId * bitWidth;
+    int wordIndex = (int) (bitOffset >>> 6);
+    int shift = (int) (bitOffset & 63);
+    long value = words[wordIndex] >>> shift;
+    if (shift + bitWidth > Long.SIZE) {
+      value |= words[wordIndex + 1] << (Long.SIZE - shift);
+    }
+    return value & ((1L << bitWidth) - 1);
+  }
+
+  /**
+   * unpack the values and fill the vector directly, without decoding into a column page
+   */
+  private void fillVector(long[] words, ColumnVectorInfo vectorInfo, BitSet nullBits,
+      int pageSize) {
+    CarbonColumnVector vector = vectorInfo.vector;
+    DataType vectorDataType = vector.getType();
+    BitSet deletedRows = vectorInfo.deletedRows;
+    vector = ColumnarVectorWrapperDirectFactory
+        .getDirectVectorWrapperFactory(vector, vectorInfo.invertedIndex, nullBits, deletedRows,
+            true, false);
+    if (vectorDataType == DataTypes.SHORT) {
+      for (int i = 0; i < pageSize; i++) {
+        vector.putShort(i, (short) (max - unpack(words, i)));
+      }
+    } else if (vectorDataType == DataTypes.INT) {
+      for (int i = 0; i < pageSize; i++) {
+        vector.putInt(i, (int) (max - unpack(words, i)));
+      }
+    } else {
+      for (int i = 0; i < pageSize; i++) {
+        vector.putLong(i, max - unpack(words, i));
+      }
+    }
+    if ((deletedRows == null || deletedRows.isEmpty())
+        && !(vectorInfo.vector instanceof SequentialFill)) {
+      for (int i = nullBits.nextSetBit(0); i >= 0; i = nullBits.nextSetBit(i + 1)) {
+        vector.putNull(i);
+      }
+    }
+    if (vector instanceof ConvertableVector) {
+      ((ConvertableVector) vector).convert();
+    }
+  }
+}
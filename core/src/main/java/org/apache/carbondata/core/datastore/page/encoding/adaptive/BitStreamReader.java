@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.encoding.adaptive;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads the values written by BitStreamWriter
+ */
+class BitStreamReader {
+
+  private final long[] words;
+
+  private long position;
+
+  BitStreamReader(byte[] bytes) {
+    // one more word, so that reading a value never checks for the end of the words
+    words = new long[((bytes.length + Long.BYTES - 1) >>> 3) + 1];
+    ByteBuffer buffer = ByteBuffer.allocate(words.length * Long.BYTES);
+    buffer.put(bytes).rewind();
+    buffer.asLongBuffer().get(words);
+  }
+
+  boolean readBit() {
+    long word = words[(int) (position >>> 6)];
+    boolean bit = (word << (position & 63)) < 0;
+    position++;
+    return bit;
+  }
+
+  /**
+   * @return value of the next numberOfBits bits, not sign extended
+   */
+  long read(int numberOfBits) {
+    if (numberOfBits == 0) {
+      return 0;
+    }
+    int wordIndex = (int) (position >>> 6);
+    int shift = (int) (position & 63);
+    long value = (words[wordIndex] << shift) >>> (Long.SIZE - numberOfBits);
+    int remainingBits = numberOfBits - (Long.SIZE - shift);
+    if (remainingBits > 0) {
+      value |= words[wordIndex + 1] >>> (Long.SIZE - remainingBits);
+    }
+    position += numberOfBits;
+    return value;
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.encoding.adaptive;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Writes values of variable number of bits, starting from the highest bit of big endian 64 bit
+ * words. Used by the delta-of-delta and XOR codecs, see BitStreamReader for reading it back.
+ *
+ * A writer created without words only counts the bits, to find the encoded size of a page
+ * without encoding it.
+ */
+class BitStreamWriter {
+
+  private long[] words;
+
+  private long numberOfBits;
+
+  private BitStreamWriter(long[] words) {
+    this.words = words;
+  }
+
+  /**
+   * @param expectedNumberOfBits initial capacity, the writer grows if more bits are written
+   */
+  static BitStreamWriter newWriter(long expectedNumberOfBits) {
+    return new BitStreamWriter(new long[(int) ((expectedNumberOfBits + Long.SIZE - 1) >>> 6) + 1]);
+  }
+
+  static BitStreamWriter newCounter() {
+    return new BitStreamWriter(null);
+  }
+
+  /**
+   * write the lowest numberOfBits bits of the value
+   */
+  void write(long value, int numberOfBits) {
+    if (numberOfBits == 0) {
+      return;
+    }
+    if (words != null) {
+      if (numberOfBits < Long.SIZE) {
+        value &= (1L << numberOfBits) - 1;
+      }
+      int wordIndex = (int) (this.numberOfBits >>> 6);
+      if (wordIndex + 1 >= words.length) {
+        words = Arrays.copyOf(words, words.length * 2);
+      }
+      int freeBits = Long.SIZE - (int) (this.numberOfBits & 63);
+      if (numberOfBits <= freeBits) {
+        words[wordIndex] |= value << (freeBits - numberOfBits);
+      } else {
+        words[wordIndex] |= value >>> (numberOfBits - freeBits);
+        words[wordIndex + 1] |= value << (Long.SIZE - numberOfBits + freeBits);
+      }
+    }
+    this.numberOfBits += numberOfBits;
+  }
+
+  long getNumberOfBits() {
+    return numberOfBits;
+  }
+
+  /**
+   * @return the written bits, the last byte is padded with 0 bits
+   */
+  byte[] toByteArray() {
+    int numberOfBytes = (int) ((numberOfBits + Byte.SIZE - 1) >>> 3);
+    ByteBuffer buffer = ByteBuffer.allocate(((numberOfBytes + Long.BYTES - 1) >>> 3) * Long.BYTES);
+    buffer.asLongBuffer().put(words, 0, buffer.capacity() / Long.BYTES);
+    return Arrays.copyOf(buffer.array(), numberOfBytes);
+  }
+}
@@ -0,0 +1,249 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.encoding.adaptive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.carbondata.core.datastore.ReusableDataBuffer;
+import org.apache.carbondata.core.datastore.compression.Compressor;
+import org.apache.carbondata.core.datastore.compression.CompressorFactory;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageCodec;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageDecoder;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoder;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.ColumnVectorInfo;
+import org.apache.carbondata.core.scan.result.vector.impl.directread.ColumnarVectorWrapperDirectFactory;
+import org.apache.carbondata.core.scan.result.vector.impl.directread.ConvertableVector;
+import org.apache.carbondata.core.scan.result.vector.impl.directread.SequentialFill;
+import org.apache.carbondata.format.DataChunk2;
+import org.apache.carbondata.format.Encoding;
+
+/**
+ * Delta-of-delta codec for long and timestamp pages, as used for the timestamps in the Gorilla
+ * time series database.
+ *
+ * Each value is stored as the difference of its delta from the previous delta, zigzag encoded
+ * so that small negative differences also take few bits. The difference is written after a
+ * prefix which tells the number of bits used for it:
+ *   0     : difference is 0, no bits follow
+ *   10    : 7 bits follow
+ *   110   : 9 bits follow
+ *   1110  : 12 bits follow
+ *   11110 : 32 bits follow
+ *   11111 : 64 bits follow
+ * Values coming at a regular interval, like event timestamps, take 1 bit each. The first two
+ * values are stored as difference from 0, so they take the 64 bits bucket. The bit stream is
+ * then compressed by the compressor of the page.
+ */
+public class DeltaOfDeltaIntegralCodec implements ColumnPageCodec {
+
+  /**
+   * number of bits stored after the prefix of each bucket, prefix of bucket i is i 1 bits
+   * followed by a 0 bit, except the last bucket which has no 0 bit
+   */
+  private static final int[] BUCKET_BITS = { 0, 7, 9, 12, 32, 64 };
+
+  private static final int LAST_BUCKET = BUCKET_BITS.length - 1;
+
+  private final DataType srcDataType;
+
+  public DeltaOfDeltaIntegralCodec(DataType srcDataType) {
+    if (!isSupported(srcDataType)) {
+      throw new UnsupportedOperationException(
+          "unsupported data type for delta-of-delta encoding: " + srcDataType);
+    }
+    this.srcDataType = srcDataType;
+  }
+
+  public static boolean isSupported(DataType dataType) {
+    return dataType == DataTypes.LONG || dataType == DataTypes.TIMESTAMP;
+  }
+
+  /**
+   * @return number of bits the page takes when encoded by this codec, before compression
+   */
+  public static long getEncodedSizeInBits(ColumnPage input) {
+    BitStreamWriter counter = BitStreamWriter.newCounter();
+    writeValues(input, counter);
+    return counter.getNumberOfBits();
+  }
+
+  @Override
+  public String getName() {
+    return "DeltaOfDeltaIntegralCodec";
+  }
+
+  @Override
+  public ColumnPageEncoder createEncoder(Map<String, String> parameter) {
+    return new ColumnPageEncoder() {
+      @Override
+      protected ByteBuffer encodeData(ColumnPage input) throws IOException {
+        BitStreamWriter writer = BitStreamWriter.newWriter(input.getPageSize());
+        writeValues(input, writer);
+        Compressor compressor =
+            CompressorFactory.getInstance().getCompressor(input.getColumnCompressorName());
+        return compressor.compressByte(writer.toByteArray());
+      }
+
+      @Override
+      protected ColumnPageEncoderMeta getEncoderMeta(ColumnPage inputPage) {
+        return new TimeSeriesEncoderMeta(inputPage.getColumnSpec(), srcDataType,
+            inputPage.getPageSize(), inputPage.getStatistics(),
+            inputPage.getColumnCompressorName());
+      }
+
+      @Override
+      protected List<Encoding> getEncodingList() {
+        List<Encoding> encodings = new ArrayList<>();
+        encodings.add(Encoding.DELTA_OF_DELTA_INTEGRAL);
+        return encodings;
+      }
+
+      @Override
+      protected void fillLegacyFields(DataChunk2 dataChunk) {
+        dataChunk.setRowid_page_length(0);
+      }
+    };
+  }
+
+  @Override
+  public ColumnPageDecoder createDecoder(final ColumnPageEncoderMeta meta) {
+    return new ColumnPageDecoder() {
+      @Override
+      public ColumnPage decode(byte[] input, int offset, int length) {
+        int pageSize = ((TimeSeriesEncoderMeta) meta).getPageSize();
+        long[] values = decodeValues(meta, input, offset, length, pageSize);
+        ColumnPage page = ColumnPage.newPage(
+            new ColumnPageEncoderMeta(meta.getColumnSpec(), srcDataType,
+                meta.getCompressorName()), pageSize);
+        for (int i = 0; i < pageSize; i++) {
+          page.putLong(i, values[i]);
+        }
+        return page;
+      }
+
+      @Override
+      public void decodeAndFillVector(byte[] input, int offset, int length,
+          ColumnVectorInfo vectorInfo, BitSet nullBits, boolean isLVEncoded, int pageSize,
+          ReusableDataBuffer reusableDataBuffer) {
+        long[] values = decodeValues(meta, input, offset, length, pageSize);
+        fillVector(values, vectorInfo, nullBits, pageSize);
+      }
+
+      @Override
+      public ColumnPage decode(byte[] input, int offset, int length, boolean isLVEncoded) {
+        return decode(input, offset, length);
+      }
+    };
+  }
+
+  private static void writeValues(ColumnPage input, BitStreamWriter writer) {
+    int pageSize = input.getPageSize();
+    long previousValue = 0;
+    long previousDelta = 0;
+    for (int i = 0; i < pageSize; i++) {
+      long value = input.getLong(i);
+      long delta = value - previousValue;
+      long deltaOfDelta = delta - previousDelta;
+      long zigzag = (deltaOfDelta << 1) ^ (deltaOfDelta >> 63);
+      int requiredBits = Long.SIZE - Long.numberOfLeadingZeros(zigzag);
+      int bucket = 0;
+      while (BUCKET_BITS[bucket] < requiredBits) {
+        bucket++;
+      }
+      if (bucket == LAST_BUCKET) {
+        writer.write((1L << bucket) - 1, bucket);
+      } else {
+        writer.write(((1L << bucket) - 1) << 1, bucket + 1);
+      }
+      writer.write(zigzag, BUCKET_BITS[bucket]);
+      previousValue = value;
+      previousDelta = delta;
+    }
+  }
+
+  private static long[] decodeValues(ColumnPageEncoderMeta meta, byte[] input, int offset,
+      int length, int pageSize) {
+    Compressor compressor =
+        CompressorFactory.getInstance().getCompressor(meta.getCompressorName());
+    BitStreamReader reader = new BitStreamReader(compressor.unCompressByte(input, offset, length));
+    long[] values = new long[pageSize];
+    long previousValue = 0;
+    long previousDelta = 0;
+    for (int i = 0; i < pageSize; i++) {
+      int bucket = 0;
+      while (bucket < LAST_BUCKET && reader.readBit()) {
+        bucket++;
+      }
+      long zigzag = reader.read(BUCKET_BITS[bucket]);
+      long delta = previousDelta + ((zigzag >>> 1) ^ -(zigzag & 1));
+      previousValue += delta;
+      previousDelta = delta;
+      values[i] = previousValue;
+    }
+    return values;
+  }
+
+  /**
+   * fill the decoded values to the vector directly, without decoding into a column page
+   */
+  private static void fillVector(long[] values, ColumnVectorInfo vectorInfo, BitSet nullBits,
+      int pageSize) {
+    CarbonColumnVector vector = vectorInfo.vector;
+    DataType vectorDataType = vector.getType();
+    BitSet deletedRows = vectorInfo.deletedRows;
+    vector = ColumnarVectorWrapperDirectFactory
+        .getDirectVectorWrapperFactory(vector, vectorInfo.invertedIndex, nullBits, deletedRows,
+            true, false);
+    if (vectorDataType == DataTypes.TIMESTAMP) {
+      for (int i = 0; i < pageSize; i++) {
+        vector.putLong(i, values[i] * 1000);
+      }
+    } else if (vectorDataType == DataTypes.INT) {
+      for (int i = 0; i < pageSize; i++) {
+        vector.putInt(i, (int) values[i]);
+      }
+    } else if (vectorDataType == DataTypes.DOUBLE) {
+      for (int i = 0; i < pageSize; i++) {
+        vector.putDouble(i, values[i]);
+      }
+    } else {
+      for (int i = 0; i < pageSize; i++) {
+        vector.putLong(i, values[i]);
+      }
+    }
+    if ((deletedRows == null || deletedRows.isEmpty())
+        && !(vectorInfo.vector instanceof SequentialFill)) {
+      for (int i = nullBits.nextSetBit(0); i >= 0; i = nullBits.nextSetBit(i + 1)) {
+        vector.putNull(i);
+      }
+    }
+    if (vector instanceof ConvertableVector) {
+      ((ConvertableVector) vector).convert();
+    }
+  }
+}
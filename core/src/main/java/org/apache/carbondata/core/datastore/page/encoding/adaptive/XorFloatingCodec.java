@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.encoding.adaptive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.carbondata.core.datastore.ReusableDataBuffer;
+import org.apache.carbondata.core.datastore.compression.Compressor;
+import org.apache.carbondata.core.datastore.compression.CompressorFactory;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageCodec;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageDecoder;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoder;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.ColumnVectorInfo;
+import org.apache.carbondata.core.scan.result.vector.impl.directread.ColumnarVectorWrapperDirectFactory;
+import org.apache.carbondata.core.scan.result.vector.impl.directread.ConvertableVector;
+import org.apache.carbondata.core.scan.result.vector.impl.directread.SequentialFill;
+import org.apache.carbondata.format.DataChunk2;
+import org.apache.carbondata.format.Encoding;
+
+/**
+ * XOR codec for float and double pages, as used for the values in the Gorilla time series
+ * database.
+ *
+ * Bits of each value are XOR-ed with the bits of the previous value. Slowly changing values
+ * share the sign, exponent and the high bits of mantissa, so the result has many leading and
+ * trailing zero bits, and only the bits between them (meaningful bits) are stored:
+ *   0  : same as the previous value
+ *   10 : meaningful bits fit in the leading and trailing zeros of the previous value, they are
+ *        stored in the same number of bits as the previous value
+ *   11 : 5 bits number of leading zeros, 6 bits number of meaningful bits minus 1, then the
+ *        meaningful bits
+ * The first value is XOR-ed with 0. The bit stream is then compressed by the compressor of the
+ * page.
+ */
+public class XorFloatingCodec implements ColumnPageCodec {
+
+  private static final int LEADING_ZEROS_BITS = 5;
+
+  private static final int MAX_LEADING_ZEROS = (1 << LEADING_ZEROS_BITS) - 1;
+
+  private static final int MEANINGFUL_BITS_BITS = 6;
+
+  private final DataType srcDataType;
+
+  public XorFloatingCodec(DataType srcDataType) {
+    if (!isSupported(srcDataType)) {
+      throw new UnsupportedOperationException(
+          "unsupported data type for XOR encoding: " + srcDataType);
+    }
+    this.srcDataType = srcDataType;
+  }
+
+  public static boolean isSupported(DataType dataType) {
+    return dataType == DataTypes.FLOAT || dataType == DataTypes.DOUBLE;
+  }
+
+  /**
+   * @return number of bits the page takes when encoded by this codec, before compression
+   */
+  public static long getEncodedSizeInBits(ColumnPage input) {
+    BitStreamWriter counter = BitStreamWriter.newCounter();
+    writeValues(input, counter);
+    return counter.getNumberOfBits();
+  }
+
+  @Override
+  public String getName() {
+    return "XorFloatingCodec";
+  }
+
+  @Override
+  public ColumnPageEncoder createEncoder(Map<String, String> parameter) {
+    return new ColumnPageEncoder() {
+      @Override
+      protected ByteBuffer encodeData(ColumnPage input) throws IOException {
+        BitStreamWriter writer = BitStreamWriter.newWriter((long) input.getPageSize() * 16);
+        writeValues(input, writer);
+        Compressor compressor =
+            CompressorFactory.getInstance().getCompressor(input.getColumnCompressorName());
+        return compressor.compressByte(writer.toByteArray());
+      }
+
+      @Override
+      protected ColumnPageEncoderMeta getEncoderMeta(ColumnPage inputPage) {
+        return new TimeSeriesEncoderMeta(inputPage.getColumnSpec(), srcDataType,
+            inputPage.getPageSize(), inputPage.getStatistics(),
+            inputPage.getColumnCompressorName());
+      }
+
+      @Override
+      protected List<Encoding> getEncodingList() {
+        List<Encoding> encodings = new ArrayList<>();
+        encodings.add(Encoding.XOR_FLOATING);
+        return encodings;
+      }
+
+      @Override
+      protected void fillLegacyFields(DataChunk2 dataChunk) {
+        dataChunk.setRowid_page_length(0);
+      }
+    };
+  }
+
+  @Override
+  public ColumnPageDecoder createDecoder(final ColumnPageEncoderMeta meta) {
+    return new ColumnPageDecoder() {
+      @Override
+      public ColumnPage decode(byte[] input, int offset, int length) {
+        int pageSize = ((TimeSeriesEncoderMeta) meta).getPageSize();
+        long[] values = decodeValues(meta, input, offset, length, pageSize);
+        ColumnPage page = ColumnPage.newPage(
+            new ColumnPageEncoderMeta(meta.getColumnSpec(), srcDataType,
+                meta.getCompressorName()), pageSize);
+        if (srcDataType == DataTypes.FLOAT) {
+          for (int i = 0; i < pageSize; i++) {
+            page.putFloat(i, Float.intBitsToFloat((int) values[i]));
+          }
+        } else {
+          for (int i = 0; i < pageSize; i++) {
+            page.putDouble(i, Double.longBitsToDouble(values[i]));
+          }
+        }
+        return page;
+      }
+
+      @Override
+      public void decodeAndFillVector(byte[] input, int offset, int length,
+          ColumnVectorInfo vectorInfo, BitSet nullBits, boolean isLVEncoded, int pageSize,
+          ReusableDataBuffer reusableDataBuffer) {
+        long[] values = decodeValues(meta, input, offset, length, pageSize);
+        fillVector(values, vectorInfo, nullBits, pageSize);
+      }
+
+      @Override
+      public ColumnPage decode(byte[] input, int offset, int length, boolean isLVEncoded) {
+        return decode(input, offset, length);
+      }
+    };
+  }
+
+  private static int getValueBits(DataType dataType) {
+    return dataType == DataTypes.FLOAT ? Integer.SIZE : Long.SIZE;
+  }
+
+  private static void writeValues(ColumnPage input, BitStreamWriter writer) {
+    int pageSize = input.getPageSize();
+    boolean isFloat = input.getDataType() == DataTypes.FLOAT;
+    int valueBits = getValueBits(input.getDataType());
+    long previousBits = 0;
+    // leading and trailing zeros of the meaningful bits last written with their length
+    int previousLeadingZeros = -1;
+    int previousTrailingZeros = 0;
+    for (int i = 0; i < pageSize; i++) {
+      long bits;
+      if (isFloat) {
+        bits = Float.floatToIntBits(input.getFloat(i)) & 0xFFFFFFFFL;
+      } else {
+        bits = Double.doubleToLongBits(input.getDouble(i));
+      }
+      long xor = bits ^ previousBits;
+      previousBits = bits;
+      if (xor == 0) {
+        writer.write(0, 1);
+        continue;
+      }
+      int leadingZeros = Math.min(MAX_LEADING_ZEROS,
+          Long.numberOfLeadingZeros(xor) - (Long.SIZE - valueBits));
+      int trailingZeros = Long.numberOfTrailingZeros(xor);
+      if (previousLeadingZeros >= 0 && leadingZeros >= previousLeadingZeros
+          && trailingZeros >= previousTrailingZeros) {
+        writer.write(2, 2);
+        writer.write(xor >>> previousTrailingZeros,
+            valueBits - previousLeadingZeros - previousTrailingZeros);
+      } else {
+        int meaningfulBits = valueBits - leadingZeros - trailingZeros;
+        writer.write(3, 2);
+        writer.write(leadingZeros, LEADING_ZEROS_BITS);
+        writer.write(meaningfulBits - 1, MEANINGFUL_BITS_BITS);
+        writer.write(xor >>> trailingZeros, meaningfulBits);
+        previousLeadingZeros = leadingZeros;
+        previousTrailingZeros = trailingZeros;
+      }
+    }
+  }
+
+  /**
+   * @return bits of the float or double values
+   */
+  private long[] decodeValues(ColumnPageEncoderMeta meta, byte[] input, int offset, int length,
+      int pageSize) {
+    Compressor compressor =
+        CompressorFactory.getInstance().getCompressor(meta.getCompressorName());
+    BitStreamReader reader = new BitStreamReader(compressor.unCompressByte(input, offset, length));
+    int valueBits = getValueBits(srcDataType);
+    long[] values = new long[pageSize];
+    long previousBits = 0;
+    int trailingZeros = 0;
+    int meaningfulBits = 0;
+    for (int i = 0; i < pageSize; i++) {
+      if (reader.readBit()) {
+        if (reader.readBit()) {
+          int leadingZeros = (int) reader.read(LEADING_ZEROS_BITS);
+          meaningfulBits = (int) reader.read(MEANINGFUL_BITS_BITS) + 1;
+          trailingZeros = valueBits - leadingZeros - meaningfulBits;
+        }
+        previousBits ^= reader.read(meaningfulBits) << trailingZeros;
+      }
+      values[i] = previousBits;
+    }
+    return values;
+  }
+
+  /**
+   * fill the decoded values to the vector directly, without decoding into a column page
+   */
+  private void fillVector(long[] values, ColumnVectorInfo vectorInfo, BitSet nullBits,
+      int pageSize) {
+    CarbonColumnVector vector = vectorInfo.vector;
+    DataType vectorDataType = vector.getType();
+    BitSet deletedRows = vectorInfo.deletedRows;
+    vector = ColumnarVectorWrapperDirectFactory
+        .getDirectVectorWrapperFactory(vector, vectorInfo.invertedIndex, nullBits, deletedRows,
+            true, false);
+    if (srcDataType == DataTypes.FLOAT) {
+      if (vectorDataType == DataTypes.FLOAT) {
+        for (int i = 0; i < pageSize; i++) {
+          vector.putFloat(i, Float.intBitsToFloat((int) values[i]));
+        }
+      } else {
+        for (int i = 0; i < pageSize; i++) {
+          vector.putDouble(i, Float.intBitsToFloat((int) values[i]));
+        }
+      }
+    } else {
+      if (vectorDataType == DataTypes.FLOAT) {
+        for (int i = 0; i < pageSize; i++) {
+          vector.putFloat(i, (float) Double.longBitsToDouble(values[i]));
+        }
+      } else {
+        for (int i = 0; i < pageSize; i++) {
+          vector.putDouble(i, Double.longBitsToDouble(values[i]));
+        }
+      }
+    }
+    if ((deletedRows == null || deletedRows.isEmpty())
+        && !(vectorInfo.vector instanceof SequentialFill)) {
+      for (int i = nullBits.nextSetBit(0); i >= 0; i = nullBits.nextSetBit(i + 1)) {
+        vector.putNull(i);
+      }
+    }
+    if (vector instanceof ConvertableVector) {
+      ((ConvertableVector) vector).convert();
+    }
+  }
+}
@@ -20,11 +20,13 @@ package org.apache.carbondata.core.memory;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
@@ -44,7 +46,7 @@ public class UnsafeMemoryManager {
   private static boolean offHeap = Boolean.parseBoolean(CarbonProperties.getInstance()
       .getProperty(CarbonCommonConstants.ENABLE_OFFHEAP_SORT,
           CarbonCommonConstants.ENABLE_OFFHEAP_SORT_DEFAULT));
-  private static Map<String, Set<MemoryBlock>> taskIdToOffheapMemoryBlockMap;
+  private static Map<String, TaskMemory> taskIdToOffheapMemoryMap;
   static {
     long size = 0L;
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3035
@@ -99,14 +101,18 @@ public class UnsafeMemoryManager {
       memoryType = MemoryType.ONHEAP;
     }
     INSTANCE = new UnsafeMemoryManager(takenSize, memoryType);
-    taskIdToOffheapMemoryBlockMap = new HashMap<>();
+    taskIdToOffheapMemoryMap = new ConcurrentHashMap<>();
   }
 
   public static final UnsafeMemoryManager INSTANCE;
 
   private long totalMemory;
 
-  private long memoryUsed;
+  /**
+   * offheap memory reserved by all the tasks, updated with CAS so that allocation and free of
+   * different tasks do not need a common lock
+   */
+  private final AtomicLong memoryUsed = new AtomicLong();
 
   private MemoryType memoryType;
 
@@ -119,24 +125,42 @@ public class UnsafeMemoryManager {
         + memoryType);
   }
 
-  private synchronized MemoryBlock allocateMemory(MemoryType memoryType, String taskId,
+  private MemoryBlock allocateMemory(MemoryType memoryType, String taskId,
       long memoryRequested) {
-    MemoryBlock memoryBlock;
-    if (memoryUsed + memoryRequested <= totalMemory && memoryType == MemoryType.OFFHEAP) {
-      memoryBlock = MemoryAllocator.UNSAFE.allocate(memoryRequested);
-      memoryUsed += memoryBlock.size();
-      Set<MemoryBlock> listOfMemoryBlock = taskIdToOffheapMemoryBlockMap.get(taskId);
-      if (null == listOfMemoryBlock) {
-        listOfMemoryBlock = new HashSet<>();
-        taskIdToOffheapMemoryBlockMap.put(taskId, listOfMemoryBlock);
-      }
-      listOfMemoryBlock.add(memoryBlock);
-      if (LOGGER.isDebugEnabled()) {
-        LOGGER.debug(String.format("Creating Offheap working Memory block (%s) with size %d."
-                + " Total memory used %d Bytes, left %d Bytes.",
-            memoryBlock.toString(), memoryBlock.size(), memoryUsed, totalMemory - memoryUsed));
+    MemoryBlock memoryBlock = null;
+    if (memoryType == MemoryType.OFFHEAP) {
+      TaskMemory taskMemory = getOrCreateTaskMemory(taskId);
+      if (canTaskAcquire(taskMemory, memoryRequested) && reserveMemory(memoryRequested)) {
+        try {
+          memoryBlock = MemoryAllocator.UNSAFE.allocate(memoryRequested);
+        } catch (Throwable e) {
+          releaseMemory(memoryUsed, memoryRequested, "executor");
+          throw e;
+        }
+        boolean isTaskReleased;
+        synchronized (taskMemory) {
+          isTaskReleased = taskMemory.released;
+          if (!isTaskReleased) {
+            taskMemory.memoryBlocks.add(memoryBlock);
+            taskMemory.memoryUsed.addAndGet(memoryBlock.size());
+          }
+        }
+        if (isTaskReleased) {
+          // task memory is freed by freeMemoryAll after it was looked up, the block added to it
+          // would never be freed, so free it here and allocate on heap
+          LOGGER.warn("Offheap working memory of task " + taskId + " is already released");
+          freeMemoryBlock(memoryBlock);
+          releaseMemory(memoryUsed, memoryRequested, "executor");
+          memoryBlock = null;
+        } else if (LOGGER.isDebugEnabled()) {
+          long used = memoryUsed.get();
+          LOGGER.debug(String.format("Creating Offheap working Memory block (%s) with size %d."
+                  + " Total memory used %d Bytes, left %d Bytes.",
+              memoryBlock.toString(), memoryBlock.size(), used, totalMemory - used));
+        }
       }
-    } else {
+    }
+    if (null == memoryBlock) {
       // not adding on heap memory block to map as JVM will take care of freeing the memory
       memoryBlock = MemoryAllocator.HEAP.allocate(memoryRequested);
       if (LOGGER.isDebugEnabled()) {
@@ -148,52 +172,129 @@ public class UnsafeMemoryManager {
     return memoryBlock;
   }
 
-  public synchronized void freeMemory(String taskId, MemoryBlock memoryBlock) {
-    if (taskIdToOffheapMemoryBlockMap.containsKey(taskId)) {
-      taskIdToOffheapMemoryBlockMap.get(taskId).remove(memoryBlock);
+  private TaskMemory getOrCreateTaskMemory(String taskId) {
+    TaskMemory taskMemory = taskIdToOffheapMemoryMap.get(taskId);
+    if (null == taskMemory) {
+      TaskMemory newTaskMemory = new TaskMemory();
+      taskMemory = taskIdToOffheapMemoryMap.putIfAbsent(taskId, newTaskMemory);
+      if (null == taskMemory) {
+        taskMemory = newTaskMemory;
+      }
     }
-    if (!memoryBlock.isFreedStatus()) {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-2990
-      getMemoryAllocator(memoryBlock.getMemoryType()).free(memoryBlock);
-      memoryUsed -= memoryBlock.size();
-      memoryUsed = memoryUsed < 0 ? 0 : memoryUsed;
+    return taskMemory;
+  }
+
+  /**
+   * A task can hold at most its fair share of the working memory, that is the total memory
+   * divided by the number of tasks holding offheap memory including the requesting task.
+   * So a task loading or scanning large data cannot starve the other tasks of the executor,
+   * task which exceeds its share gets on heap memory instead.
+   */
+  private boolean canTaskAcquire(TaskMemory taskMemory, long memoryRequested) {
+    long taskMemoryUsed = taskMemory.memoryUsed.get();
+    int activeTasks = taskMemoryUsed > 0 ? 0 : 1;
+    for (TaskMemory memory : taskIdToOffheapMemoryMap.values()) {
+      if (memory.memoryUsed.get() > 0) {
+        activeTasks++;
+      }
+    }
+    return taskMemoryUsed + memoryRequested <= totalMemory / activeTasks;
+  }
+
+  private boolean reserveMemory(long memoryRequested) {
+    while (true) {
+      long used = memoryUsed.get();
+      if (used + memoryRequested > totalMemory) {
+        return false;
+      }
+      if (memoryUsed.compareAndSet(used, used + memoryRequested)) {
+        return true;
+      }
+    }
+  }
+
+  public void freeMemory(String taskId, MemoryBlock memoryBlock) {
+    TaskMemory taskMemory = taskIdToOffheapMemoryMap.get(taskId);
+    if (null != taskMemory) {
+      synchronized (taskMemory) {
+        if (taskMemory.memoryBlocks.remove(memoryBlock)) {
+          releaseMemory(taskMemory.memoryUsed, memoryBlock.size(), "task " + taskId);
+        }
+      }
+    }
+    if (freeMemoryBlock(memoryBlock)) {
+      if (memoryBlock.getMemoryType() == MemoryType.OFFHEAP) {
+        long used = releaseMemory(memoryUsed, memoryBlock.size(), "executor");
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3124
-      if (LOGGER.isDebugEnabled() && memoryBlock.getMemoryType() == MemoryType.OFFHEAP) {
-        LOGGER.debug(String.format("Freeing offheap working memory block (%s) with size: %d, "
-                + "current available memory is: %d", memoryBlock.toString(), memoryBlock.size(),
-            totalMemory - memoryUsed));
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.debug(String.format("Freeing offheap working memory block (%s) with size: %d, "
+                  + "current available memory is: %d", memoryBlock.toString(), memoryBlock.size(),
+              totalMemory - used));
+        }
       }
     }
   }
 
-  public synchronized void freeMemoryAll(String taskId) {
-    Set<MemoryBlock> memoryBlockSet;
-    memoryBlockSet = taskIdToOffheapMemoryBlockMap.remove(taskId);
+  public void freeMemoryAll(String taskId) {
+    TaskMemory taskMemory = taskIdToOffheapMemoryMap.remove(taskId);
     long occuppiedMemory = 0;
-    if (null != memoryBlockSet) {
-      Iterator<MemoryBlock> iterator = memoryBlockSet.iterator();
-      MemoryBlock memoryBlock = null;
-      while (iterator.hasNext()) {
-        memoryBlock = iterator.next();
-        if (!memoryBlock.isFreedStatus()) {
+    if (null != taskMemory) {
+      List<MemoryBlock> memoryBlocks;
+      synchronized (taskMemory) {
+        taskMemory.released = true;
+        memoryBlocks = new ArrayList<>(taskMemory.memoryBlocks);
+        taskMemory.memoryBlocks.clear();
+        taskMemory.memoryUsed.set(0);
+      }
+      for (MemoryBlock memoryBlock : memoryBlocks) {
+        if (freeMemoryBlock(memoryBlock)) {
           occuppiedMemory += memoryBlock.size();
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-2990
-          getMemoryAllocator(memoryBlock.getMemoryType()).free(memoryBlock);
         }
       }
     }
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-1386
-    memoryUsed -= occuppiedMemory;
-    memoryUsed = memoryUsed < 0 ? 0 : memoryUsed;
+    long used = releaseMemory(memoryUsed, occuppiedMemory, "executor");
     if (LOGGER.isDebugEnabled()) {
       LOGGER.debug(String.format(
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3047
           "Freeing offheap working memory of size %d. Current available memory is %d",
-          occuppiedMemory, totalMemory - memoryUsed));
+          occuppiedMemory, totalMemory - used));
     }
     LOGGER.info(String.format(
         "Total offheap working memory used after task %s is %d. Current running tasks are %s",
-        taskId, memoryUsed, StringUtils.join(taskIdToOffheapMemoryBlockMap.keySet(), ", ")));
+        taskId, used, StringUtils.join(taskIdToOffheapMemoryMap.keySet(), ", ")));
+  }
+
+  /**
+   * reduce the released size from the used memory counter. Each block is freed once, so a
+   * counter going negative is an accounting bug and it is logged as error
+   *
+   * @return used memory after release
+   */
+  private static long releaseMemory(AtomicLong memoryUsed, long releasedSize, String owner) {
+    long used = memoryUsed.addAndGet(-releasedSize);
+    if (used < 0) {
+      LOGGER.error(String.format("Offheap working memory used by %s is negative: %d after"
+          + " releasing %d", owner, used, releasedSize));
+    }
+    return used;
+  }
+
+  /**
+   * free the memory block if it is not already freed, block can be freed concurrently by the
+   * task and by the task completion listener
+   *
+   * @return true if the block is freed by this call
+   */
+  private boolean freeMemoryBlock(MemoryBlock memoryBlock) {
+    synchronized (memoryBlock) {
+      if (memoryBlock.isFreedStatus()) {
+        return false;
+      }
+//IC see: https://issues.apache.org/jira/browse/CARBONDATA-2990
+      getMemoryAllocator(memoryBlock.getMemoryType()).free(memoryBlock);
+      return true;
+    }
   }
 
   public long getUsableMemory() {
@@ -201,7 +302,23 @@ public class UnsafeMemoryManager {
   }
 
   /**
-   * It tries to allocate memory of `size` bytes, keep retry until it allocates successfully.
+   * @return offheap working memory currently held by all the tasks
+   */
+  public long getMemoryUsed() {
+    return memoryUsed.get();
+  }
+
+  /**
+   * @return offheap working memory currently held by the task
+   */
+  public long getTaskMemoryUsed(String taskId) {
+    TaskMemory taskMemory = taskIdToOffheapMemoryMap.get(taskId);
+    return null == taskMemory ? 0 : taskMemory.memoryUsed.get();
+  }
+
+  /**
+   * It tries to allocate offheap memory of `size` bytes, if offheap memory is not available
+   * or the task has already used its share of it then on heap memory is allocated.
    */
   public static MemoryBlock allocateMemoryWithRetry(String taskId, long size) {
     return allocateMemoryWithRetry(INSTANCE.memoryType, taskId, size);
@@ -253,4 +370,18 @@ public class UnsafeMemoryManager {
       throw new RuntimeException(e);
     }
   }
+
+  /**
+   * offheap memory blocks held by a task
+   */
+  private static final class TaskMemory {
+    private final Set<MemoryBlock> memoryBlocks = new HashSet<>();
+
+    private final AtomicLong memoryUsed = new AtomicLong();
+
+    /**
+     * set by freeMemoryAll when the task memory is removed, blocks should not be added after it
+     */
+    private boolean released;
+  }
 }
@@ -42,7 +42,9 @@ public enum Encoding {
   ADAPTIVE_DELTA_FLOATING,
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3653
   DIRECT_COMPRESS_VARCHAR,
-  INT_LENGTH_COMPLEX_CHILD_BYTE_ARRAY;
+  INT_LENGTH_COMPLEX_CHILD_BYTE_ARRAY,
+  DELTA_OF_DELTA_INTEGRAL,
+  XOR_FLOATING;
 
   public static Encoding valueOf(int ordinal) {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-1286
@@ -84,6 +86,10 @@ public enum Encoding {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3653
     } else if (ordinal == INT_LENGTH_COMPLEX_CHILD_BYTE_ARRAY.ordinal()) {
       return INT_LENGTH_COMPLEX_CHILD_BYTE_ARRAY;
+    } else if (ordinal == DELTA_OF_DELTA_INTEGRAL.ordinal()) {
+      return DELTA_OF_DELTA_INTEGRAL;
+    } else if (ordinal == XOR_FLOATING.ordinal()) {
+      return XOR_FLOATING;
     } else {
       throw new RuntimeException("create Encoding with invalid ordinal: " + ordinal);
     }
@@ -0,0 +1,242 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.mutate;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Binary format of the delete delta file. The file contains:
+ *   magic number (int), version (short), block name (UTF),
+ *   number of pages (int), and for each page with deleted rows:
+ *     blocklet id (UTF), page id (int), bitmap of the deleted rows
+ *
+ * The bitmap is stored like a roaring bitmap: the row ids are split in containers of 65536 rows
+ * by their high 16 bits, and each container with rows is stored as:
+ *   key (short), type (byte), and by type
+ *   ARRAY  : number of rows - 1 (short), low 16 bits of each row (short)
+ *   RUN    : number of runs - 1 (short), start and length - 1 of each run (short, short)
+ *   BITMAP : 1024 words (long) of the bits of the container
+ * whichever takes the least space. Deleted rows are mostly a few scattered rows or long ranges,
+ * which take few bytes as array or run container.
+ *
+ * The delete delta files written before this format are json, so they start with '{' and never
+ * with the magic number.
+ */
+public final class DeleteDeltaBinaryFormat {
+
+  /**
+   * "CDDB" in ASCII
+   */
+  public static final int MAGIC_NUMBER = 0x43444442;
+
+  public static final short VERSION = 1;
+
+  private static final int CONTAINER_BITS = 16;
+
+  private static final int CONTAINER_SIZE = 1 << CONTAINER_BITS;
+
+  private static final int BITMAP_CONTAINER_WORDS = CONTAINER_SIZE / Long.SIZE;
+
+  private static final byte ARRAY_CONTAINER = 0;
+
+  private static final byte RUN_CONTAINER = 1;
+
+  private static final byte BITMAP_CONTAINER = 2;
+
+  private DeleteDeltaBinaryFormat() {
+
+  }
+
+  /**
+   * Write the deleted rows of the block in binary format
+   */
+  public static void write(DeleteDeltaBlockDetails blockDetails, DataOutput out)
+      throws IOException {
+    out.writeInt(MAGIC_NUMBER);
+    out.writeShort(VERSION);
+    out.writeUTF(null == blockDetails.getBlockName() ? "" : blockDetails.getBlockName());
+    out.writeInt(blockDetails.getBlockletDetails().size());
+    for (DeleteDeltaBlockletDetails blockletDetails : blockDetails.getBlockletDetails()) {
+      out.writeUTF(blockletDetails.getId());
+      out.writeInt(blockletDetails.getPageId());
+      writeBitmap(toBitSet(blockletDetails.getDeletedRows()), out);
+    }
+  }
+
+  /**
+   * Read the deleted rows of a file written in binary format, the magic number should be already
+   * read. Deleted rows of each page are added to the bitmap of the page in deletedRowsMap, so
+   * that deleted rows of many delete delta files can be read into the same map
+   *
+   * @param deletedRowsMap blocklet id and page id (blockletId_pageId) to deleted rows
+   */
+  public static void readDeletedRows(DataInput in, Map<String, DeleteDeltaVo> deletedRowsMap)
+      throws IOException {
+    readVersion(in);
+    // block name
+    in.readUTF();
+    int numberOfPages = in.readInt();
+    for (int i = 0; i < numberOfPages; i++) {
+      String blockletKey = in.readUTF() + '_' + in.readInt();
+      DeleteDeltaVo deleteDeltaVo = deletedRowsMap.get(blockletKey);
+      if (null == deleteDeltaVo) {
+        deleteDeltaVo = new DeleteDeltaVo();
+        deletedRowsMap.put(blockletKey, deleteDeltaVo);
+      }
+      readBitmap(in, deleteDeltaVo.getBitSet());
+    }
+  }
+
+  /**
+   * Read a file written in binary format as DeleteDeltaBlockDetails, the magic number should be
+   * already read
+   */
+  public static DeleteDeltaBlockDetails readBlockDetails(DataInput in) throws IOException {
+    readVersion(in);
+    DeleteDeltaBlockDetails blockDetails = new DeleteDeltaBlockDetails(in.readUTF());
+    int numberOfPages = in.readInt();
+    BitSet rows = new BitSet();
+    for (int i = 0; i < numberOfPages; i++) {
+      DeleteDeltaBlockletDetails blockletDetails =
+          new DeleteDeltaBlockletDetails(in.readUTF(), in.readInt());
+      rows.clear();
+      readBitmap(in, rows);
+      for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+        blockletDetails.addDeletedRow(row);
+      }
+      blockDetails.addBlockletDetails(blockletDetails);
+    }
+    return blockDetails;
+  }
+
+  private static void readVersion(DataInput in) throws IOException {
+    short version = in.readShort();
+    if (version > VERSION) {
+      throw new IOException("Unsupported delete delta file version: " + version);
+    }
+  }
+
+  private static BitSet toBitSet(Set<Integer> rows) {
+    BitSet bitSet = new BitSet();
+    for (Integer row : rows) {
+      bitSet.set(row);
+    }
+    return bitSet;
+  }
+
+  static void writeBitmap(BitSet rows, DataOutput out) throws IOException {
+    int numberOfContainers = 0;
+    for (int row = rows.nextSetBit(0); row >= 0;
+         row = rows.nextSetBit(getContainerStart(row) + CONTAINER_SIZE)) {
+      numberOfContainers++;
+      if (getContainerStart(row) + CONTAINER_SIZE < 0) {
+        break;
+      }
+    }
+    out.writeInt(numberOfContainers);
+    int row = rows.nextSetBit(0);
+    while (row >= 0) {
+      int start = getContainerStart(row);
+      int end = start + CONTAINER_SIZE;
+      if (end < 0) {
+        end = Integer.MAX_VALUE;
+      }
+      // find the number of rows and runs of rows in the container
+      int cardinality = 0;
+      int numberOfRuns = 0;
+      for (int runStart = row; runStart >= 0 && runStart < end;
+           runStart = rows.nextSetBit(Math.min(rows.nextClearBit(runStart), end))) {
+        cardinality += Math.min(rows.nextClearBit(runStart), end) - runStart;
+        numberOfRuns++;
+      }
+      out.writeShort(start >>> CONTAINER_BITS);
+      long arraySize = 2L * cardinality;
+      long runSize = 4L * numberOfRuns;
+      long bitmapSize = (long) BITMAP_CONTAINER_WORDS * Long.BYTES;
+      if (runSize <= arraySize && runSize <= bitmapSize) {
+        out.writeByte(RUN_CONTAINER);
+        out.writeShort(numberOfRuns - 1);
+        for (int runStart = row; runStart >= 0 && runStart < end;
+             runStart = rows.nextSetBit(Math.min(rows.nextClearBit(runStart), end))) {
+          int runEnd = Math.min(rows.nextClearBit(runStart), end);
+          out.writeShort(runStart - start);
+          out.writeShort(runEnd - runStart - 1);
+        }
+      } else if (arraySize <= bitmapSize) {
+        out.writeByte(ARRAY_CONTAINER);
+        out.writeShort(cardinality - 1);
+        for (int i = row; i >= 0 && i < end; i = rows.nextSetBit(i + 1)) {
+          out.writeShort(i - start);
+        }
+      } else {
+        out.writeByte(BITMAP_CONTAINER);
+        long[] words = rows.get(start, end).toLongArray();
+        for (int i = 0; i < BITMAP_CONTAINER_WORDS; i++) {
+          out.writeLong(i < words.length ? words[i] : 0L);
+        }
+      }
+      row = end == Integer.MAX_VALUE ? -1 : rows.nextSetBit(end);
+    }
+  }
+
+  /**
+   * Read the bitmap and set its rows in the given bitset
+   */
+  static void readBitmap(DataInput in, BitSet rows) throws IOException {
+    int numberOfContainers = in.readInt();
+    for (int i = 0; i < numberOfContainers; i++) {
+      int start = in.readUnsignedShort() << CONTAINER_BITS;
+      byte type = in.readByte();
+      switch (type) {
+        case ARRAY_CONTAINER:
+          int cardinality = in.readUnsignedShort() + 1;
+          for (int j = 0; j < cardinality; j++) {
+            rows.set(start + in.readUnsignedShort());
+          }
+          break;
+        case RUN_CONTAINER:
+          int numberOfRuns = in.readUnsignedShort() + 1;
+          for (int j = 0; j < numberOfRuns; j++) {
+            int runStart = start + in.readUnsignedShort();
+            rows.set(runStart, runStart + in.readUnsignedShort() + 1);
+          }
+          break;
+        case BITMAP_CONTAINER:
+          for (int j = 0; j < BITMAP_CONTAINER_WORDS; j++) {
+            long word = in.readLong();
+            while (word != 0) {
+              rows.set(start + j * Long.SIZE + Long.numberOfTrailingZeros(word));
+              word &= word - 1;
+            }
+          }
+          break;
+        default:
+          throw new IOException("Unsupported delete delta bitmap container type: " + type);
+      }
+    }
+  }
+
+  private static int getContainerStart(int row) {
+    return row & ~(CONTAINER_SIZE - 1);
+  }
+}
@@ -67,6 +67,10 @@ public class DeleteDeltaBlockDetails implements Serializable {
     return blockName.hashCode();
   }
 
+  public String getBlockName() {
+    return blockName;
+  }
+
   public List<DeleteDeltaBlockletDetails> getBlockletDetails() {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2137
     List<DeleteDeltaBlockletDetails> deleteDeltaBlockletDetailsList = new ArrayList<>();
@@ -49,6 +49,15 @@ public class DeleteDeltaVo {
     }
   }
 
+  /**
+   * Below method will be used to add the deleted rows of other delete delta files
+   *
+   * @param deleteDeltaVo
+   */
+  public void merge(DeleteDeltaVo deleteDeltaVo) {
+    bitSet.or(deleteDeltaVo.bitSet);
+  }
+
   /**
    * below method will be used to check the row is deleted or not
    *
@@ -18,8 +18,10 @@
 package org.apache.carbondata.core.reader;
 
 import java.io.IOException;
+import java.util.Map;
 
 import org.apache.carbondata.core.mutate.DeleteDeltaBlockDetails;
+import org.apache.carbondata.core.mutate.DeleteDeltaVo;
 
 /**
  * CarbonDeleteDeltaFileReader contains all methods to read delete delta file data
@@ -37,7 +39,21 @@ public interface CarbonDeleteDeltaFileReader {
    */
   String read() throws IOException;
 
+  /**
+   * Reads the delete delta file, in json or binary format
+   *
+   * @return DeleteDeltaBlockDetails
+   */
   DeleteDeltaBlockDetails readJson();
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3575
 
+  /**
+   * Reads the deleted rows of the delete delta file, in json or binary format. Bitmaps of the
+   * binary format are read without creating the row ids as objects
+   *
+   * @return map of blockletid_pageid to deleted rows
+   * @throws IOException if an I/O error occurs
+   */
+  Map<String, DeleteDeltaVo> readDeletedRows() throws IOException;
+
 }
@@ -17,17 +17,24 @@
 
 package org.apache.carbondata.core.reader;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.StringWriter;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.impl.FileFactory;
 import org.apache.carbondata.core.fileoperations.AtomicFileOperationFactory;
 import org.apache.carbondata.core.fileoperations.AtomicFileOperations;
+import org.apache.carbondata.core.mutate.DeleteDeltaBinaryFormat;
 import org.apache.carbondata.core.mutate.DeleteDeltaBlockDetails;
+import org.apache.carbondata.core.mutate.DeleteDeltaBlockletDetails;
+import org.apache.carbondata.core.mutate.DeleteDeltaVo;
 import org.apache.carbondata.core.util.CarbonUtil;
 
 import com.google.gson.Gson;
@@ -79,7 +86,7 @@ public class CarbonDeleteDeltaFileReaderImpl implements CarbonDeleteDeltaFileRea
   }
 
   /**
-   * Reads delete delta file (json file) and returns DeleteDeltaBlockDetails
+   * Reads delete delta file (json or binary file) and returns DeleteDeltaBlockDetails
    * @return DeleteDeltaBlockDetails
    */
   @Override
@@ -89,17 +96,15 @@ public class CarbonDeleteDeltaFileReaderImpl implements CarbonDeleteDeltaFileRea
     BufferedReader buffReader = null;
     InputStreamReader inStream = null;
     DeleteDeltaBlockDetails deleteDeltaBlockDetails;
-    AtomicFileOperations fileOperation =
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-2745
-        AtomicFileOperationFactory.getAtomicFileOperations(filePath);
     try {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-2863
       if (!FileFactory.isFileExist(filePath)) {
         return new DeleteDeltaBlockDetails("");
       }
-      dataInputStream = fileOperation.openForRead();
+      dataInputStream = openForRead();
+      if (readMagicNumber(dataInputStream)) {
+        return DeleteDeltaBinaryFormat.readBlockDetails(dataInputStream);
+      }
       inStream = new InputStreamReader(dataInputStream,
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-1693
           CarbonCommonConstants.DEFAULT_CHARSET);
       buffReader = new BufferedReader(inStream);
       deleteDeltaBlockDetails =
@@ -112,4 +117,60 @@ public class CarbonDeleteDeltaFileReaderImpl implements CarbonDeleteDeltaFileRea
 
     return deleteDeltaBlockDetails;
   }
+
+  @Override
+  public Map<String, DeleteDeltaVo> readDeletedRows() throws IOException {
+    Map<String, DeleteDeltaVo> deletedRowsMap = new HashMap<>();
+    if (!FileFactory.isFileExist(filePath)) {
+      return deletedRowsMap;
+    }
+    DataInputStream dataInputStream = openForRead();
+    BufferedReader buffReader = null;
+    try {
+      if (readMagicNumber(dataInputStream)) {
+        DeleteDeltaBinaryFormat.readDeletedRows(dataInputStream, deletedRowsMap);
+        return deletedRowsMap;
+      }
+      buffReader = new BufferedReader(
+          new InputStreamReader(dataInputStream, CarbonCommonConstants.DEFAULT_CHARSET));
+      DeleteDeltaBlockDetails deleteDeltaBlockDetails =
+          new Gson().fromJson(buffReader, DeleteDeltaBlockDetails.class);
+      if (null != deleteDeltaBlockDetails) {
+        for (DeleteDeltaBlockletDetails blockletDetails :
+            deleteDeltaBlockDetails.getBlockletDetails()) {
+          DeleteDeltaVo deleteDeltaVo = new DeleteDeltaVo();
+          deleteDeltaVo.insertData(blockletDetails.getDeletedRows());
+          deletedRowsMap.put(blockletDetails.getBlockletKey(), deleteDeltaVo);
+        }
+      }
+      return deletedRowsMap;
+    } finally {
+      CarbonUtil.closeStreams(buffReader, dataInputStream);
+    }
+  }
+
+  private DataInputStream openForRead() throws IOException {
+    AtomicFileOperations fileOperation =
+        AtomicFileOperationFactory.getAtomicFileOperations(filePath);
+    return new DataInputStream(new BufferedInputStream(fileOperation.openForRead()));
+  }
+
+  /**
+   * Reads the magic number of the binary format. If the file is not in binary format, the stream
+   * is reset to the start of the file
+   *
+   * @return true if the file is in binary format
+   */
+  private static boolean readMagicNumber(DataInputStream dataInputStream) throws IOException {
+    dataInputStream.mark(Integer.BYTES);
+    try {
+      if (dataInputStream.readInt() == DeleteDeltaBinaryFormat.MAGIC_NUMBER) {
+        return true;
+      }
+    } catch (EOFException e) {
+      // file shorter than the magic number, it is not in binary format
+    }
+    dataInputStream.reset();
+    return false;
+  }
 }
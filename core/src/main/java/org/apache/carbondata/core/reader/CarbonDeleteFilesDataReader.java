@@ -17,6 +17,7 @@
 
 package org.apache.carbondata.core.reader;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -25,7 +26,6 @@ import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -35,6 +35,7 @@ import org.apache.carbondata.core.mutate.DeleteDeltaBlockDetails;
 import org.apache.carbondata.core.mutate.DeleteDeltaBlockletDetails;
 import org.apache.carbondata.core.mutate.DeleteDeltaVo;
 import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonQueryThreadPool;
 
 import org.apache.log4j.Logger;
 
@@ -82,7 +83,8 @@ public class CarbonDeleteFilesDataReader {
       String blockletId) throws Exception {
 
     List<Future<DeleteDeltaBlockDetails>> taskSubmitList = new ArrayList<>();
-    ExecutorService executorService = Executors.newFixedThreadPool(thread_pool_size);
+    ExecutorService executorService = CarbonQueryThreadPool.getInstance()
+        .newExecutorService("delete delta reader", thread_pool_size);
     for (final String deltaFile : deltaFiles) {
       taskSubmitList.add(executorService.submit(new DeleteDeltaFileReaderCallable(deltaFile)));
     }
@@ -126,10 +128,16 @@ public class CarbonDeleteFilesDataReader {
    * @return map of blockletid_pageid to deleted rows
    */
   public Map<String, DeleteDeltaVo> getDeletedRowsDataVo(String[] deltaFiles) {
-    List<Future<DeleteDeltaBlockDetails>> taskSubmitList = new ArrayList<>();
-    ExecutorService executorService = Executors.newFixedThreadPool(thread_pool_size);
+    List<Future<Map<String, DeleteDeltaVo>>> taskSubmitList = new ArrayList<>();
+    ExecutorService executorService = CarbonQueryThreadPool.getInstance()
+        .newExecutorService("delete delta reader", thread_pool_size);
     for (final String deltaFile : deltaFiles) {
-      taskSubmitList.add(executorService.submit(new DeleteDeltaFileReaderCallable(deltaFile)));
+      taskSubmitList.add(executorService.submit(new Callable<Map<String, DeleteDeltaVo>>() {
+        @Override
+        public Map<String, DeleteDeltaVo> call() throws IOException {
+          return new CarbonDeleteDeltaFileReaderImpl(deltaFile).readDeletedRows();
+        }
+      }));
     }
     try {
       executorService.shutdown();
@@ -139,20 +147,21 @@ public class CarbonDeleteFilesDataReader {
       LOGGER.error("Error while reading the delete delta files : " + e.getMessage(), e);
     }
     Map<String, DeleteDeltaVo> pageIdToBlockLetVo = new HashMap<>();
-    List<DeleteDeltaBlockletDetails> blockletDetails = null;
     for (int i = 0; i < taskSubmitList.size(); i++) {
+      Map<String, DeleteDeltaVo> deletedRows;
       try {
-        blockletDetails = taskSubmitList.get(i).get().getBlockletDetails();
+        deletedRows = taskSubmitList.get(i).get();
       } catch (InterruptedException | ExecutionException e) {
         throw new RuntimeException(e);
       }
-      for (DeleteDeltaBlockletDetails blockletDetail : blockletDetails) {
-        DeleteDeltaVo deleteDeltaVo = pageIdToBlockLetVo.get(blockletDetail.getBlockletKey());
+      // rows deleted in any of the delta files are deleted
+      for (Map.Entry<String, DeleteDeltaVo> entry : deletedRows.entrySet()) {
+        DeleteDeltaVo deleteDeltaVo = pageIdToBlockLetVo.get(entry.getKey());
         if (null == deleteDeltaVo) {
-          deleteDeltaVo = new DeleteDeltaVo();
-          pageIdToBlockLetVo.put(blockletDetail.getBlockletKey(), deleteDeltaVo);
+          pageIdToBlockLetVo.put(entry.getKey(), entry.getValue());
+        } else {
+          deleteDeltaVo.merge(entry.getValue());
         }
-        deleteDeltaVo.insertData(blockletDetail.getDeletedRows());
       }
     }
     return pageIdToBlockLetVo;
@@ -169,7 +178,8 @@ public class CarbonDeleteFilesDataReader {
       String blockName) throws Exception {
     // get the data.
     List<Future<DeleteDeltaBlockDetails>> taskSubmitList = new ArrayList<>(deltaFiles.size());
-    ExecutorService executorService = Executors.newFixedThreadPool(thread_pool_size);
+    ExecutorService executorService = CarbonQueryThreadPool.getInstance()
+        .newExecutorService("delete delta reader", thread_pool_size);
     for (final String deltaFile : deltaFiles) {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-1326
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-1326
@@ -177,6 +177,12 @@ public abstract class AbstractQueryExecutor<E> implements QueryExecutor<E> {
     Map<String, DataFileFooter> filePathToFileFooterMapping = new HashMap<>();
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2779
     Map<String, SegmentProperties> filePathToSegmentPropertiesMap = new HashMap<>();
+    // footers of the next blocks are read in the executor service while a footer is read, in case
+    // of failure the footers being read are stopped when the executor service is shutdown
+    DataFileFooterPrefetcher footerPrefetcher =
+        new DataFileFooterPrefetcher(queryModel.getTableBlockInfos(),
+            queryProperties.executorService,
+            queryModel.isPreFetchData() ? CarbonProperties.getQueryPrefetchBlockDepth() : 0);
     for (TableBlockInfo blockInfo : queryModel.getTableBlockInfos()) {
       List<TableBlockInfo> tableBlockInfos = listMap.get(blockInfo.getFilePath());
       if (tableBlockInfos == null) {
@@ -192,8 +198,7 @@ public abstract class AbstractQueryExecutor<E> implements QueryExecutor<E> {
       // 2. CACHE_LEVEL is set to block
       // 3. CACHE_LEVEL is BLOCKLET but filter column min/max is not cached in driver
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3447
-      if (null == blockletDetailInfo || blockletDetailInfo.getBlockletInfo() == null
-          || blockletDetailInfo.isUseMinMaxForPruning()) {
+      if (DataFileFooterPrefetcher.isFooterRequired(blockInfo)) {
         if (null != blockletDetailInfo) {
           blockInfo.setBlockOffset(blockletDetailInfo.getBlockFooterOffset());
         }
@@ -205,7 +210,7 @@ public abstract class AbstractQueryExecutor<E> implements QueryExecutor<E> {
         if (null == fileFooter) {
           blockInfo.setDetailInfo(null);
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3002
-          fileFooter = CarbonUtil.readMetadataFile(blockInfo);
+          fileFooter = footerPrefetcher.readFooter(blockInfo);
           // In case of non transactional table just set columnUniqueId as columnName to support
           // backward compatibility. non transactional tables column uniqueId is always equal to
           // columnName
@@ -239,6 +244,7 @@ public abstract class AbstractQueryExecutor<E> implements QueryExecutor<E> {
         tableBlockInfos.add(blockInfo);
       }
     }
+    footerPrefetcher.close();
     List<AbstractIndex> indexList = new ArrayList<>();
     for (List<TableBlockInfo> tableBlockInfos : listMap.values()) {
       indexList.add(new IndexWrapper(tableBlockInfos,
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.executor.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.carbondata.core.datastore.block.TableBlockInfo;
+import org.apache.carbondata.core.indexstore.BlockletDetailInfo;
+import org.apache.carbondata.core.metadata.blocklet.DataFileFooter;
+import org.apache.carbondata.core.util.CarbonUtil;
+
+/**
+ * Reads the footers of the blocks of a query. When a footer is read, the footers of the next
+ * blocks are read ahead in the executor service, so that the query waits for the read latency
+ * of the storage once instead of once for every block
+ */
+class DataFileFooterPrefetcher {
+
+  /**
+   * blocks whose footer is read, in the order they are read
+   */
+  private List<TableBlockInfo> blockInfos;
+
+  /**
+   * file path to footer being read
+   */
+  private Map<String, Future<DataFileFooter>> futures = new HashMap<>();
+
+  private int numberOfSubmittedBlocks;
+
+  private int numberOfReadBlocks;
+
+  private ExecutorService executorService;
+
+  private int prefetchDepth;
+
+  /**
+   * @param tableBlockInfos all the blocks of the query
+   * @param executorService executor to read the footers, footers are not read ahead if null
+   * @param prefetchDepth   number of footers to read ahead
+   */
+  DataFileFooterPrefetcher(List<TableBlockInfo> tableBlockInfos, ExecutorService executorService,
+      int prefetchDepth) {
+    this.executorService = executorService;
+    this.prefetchDepth = executorService == null ? 0 : prefetchDepth;
+    this.blockInfos = new ArrayList<>();
+    if (this.prefetchDepth > 0) {
+      Set<String> filePaths = new HashSet<>();
+      for (TableBlockInfo blockInfo : tableBlockInfos) {
+        if (isFooterRequired(blockInfo) && null == blockInfo.getDataFileFooter()
+            && filePaths.add(blockInfo.getFilePath())) {
+          blockInfos.add(blockInfo);
+        }
+      }
+    }
+  }
+
+  /**
+   * footer is required for old stores where blocklet information is not available, when
+   * CACHE_LEVEL is set to block, or when filter column min/max is not cached in driver
+   */
+  static boolean isFooterRequired(TableBlockInfo blockInfo) {
+    BlockletDetailInfo blockletDetailInfo = blockInfo.getDetailInfo();
+    return null == blockletDetailInfo || blockletDetailInfo.getBlockletInfo() == null
+        || blockletDetailInfo.isUseMinMaxForPruning();
+  }
+
+  /**
+   * Read the footer of the block, the block offset of the block should be the footer offset and
+   * its detail info should be null
+   */
+  DataFileFooter readFooter(TableBlockInfo blockInfo) throws IOException {
+    Future<DataFileFooter> future = null;
+    if (numberOfReadBlocks < blockInfos.size()
+        && blockInfos.get(numberOfReadBlocks) == blockInfo) {
+      numberOfReadBlocks++;
+      // this footer and the next ones are read in the executor
+      submitNextBlocks(numberOfReadBlocks + prefetchDepth);
+      future = futures.remove(blockInfo.getFilePath());
+    }
+    if (future == null) {
+      return CarbonUtil.readMetadataFile(blockInfo);
+    }
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    }
+  }
+
+  private void submitNextBlocks(int numberOfBlocks) {
+    while (numberOfSubmittedBlocks < Math.min(numberOfBlocks, blockInfos.size())) {
+      final TableBlockInfo blockInfo = blockInfos.get(numberOfSubmittedBlocks++);
+      BlockletDetailInfo blockletDetailInfo = blockInfo.getDetailInfo();
+      if (null != blockletDetailInfo) {
+        blockInfo.setBlockOffset(blockletDetailInfo.getBlockFooterOffset());
+      }
+      futures.put(blockInfo.getFilePath(), executorService.submit(new Callable<DataFileFooter>() {
+        @Override
+        public DataFileFooter call() throws Exception {
+          // detail info of the block is reset by the query thread, so read the footer forcefully
+          return CarbonUtil.readMetadataFile(blockInfo, true);
+        }
+      }));
+    }
+  }
+
+  /**
+   * cancel the footers read ahead and not used
+   */
+  void close() {
+    for (Future<DataFileFooter> future : futures.values()) {
+      future.cancel(true);
+    }
+    futures.clear();
+  }
+}
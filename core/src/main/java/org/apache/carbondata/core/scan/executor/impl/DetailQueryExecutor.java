@@ -19,13 +19,13 @@ package org.apache.carbondata.core.scan.executor.impl;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.concurrent.Executors;
 
 import org.apache.carbondata.common.CarbonIterator;
 import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
 import org.apache.carbondata.core.scan.model.QueryModel;
 import org.apache.carbondata.core.scan.result.RowBatch;
 import org.apache.carbondata.core.scan.result.iterator.DetailQueryResultIterator;
+import org.apache.carbondata.core.util.CarbonQueryThreadPool;
 
 import org.apache.hadoop.conf.Configuration;
 
@@ -47,7 +47,8 @@ public class DetailQueryExecutor extends AbstractQueryExecutor<RowBatch> {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3575
       throws IOException {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2297
-    this.setExecutorService(Executors.newCachedThreadPool());
+    this.setExecutorService(CarbonQueryThreadPool.getInstance()
+        .newExecutorService("query " + queryModel.getQueryId()));
     List<BlockExecutionInfo> blockExecutionInfoList = getBlockExecutionInfos(queryModel);
     this.queryIterator = new DetailQueryResultIterator(
         blockExecutionInfoList,
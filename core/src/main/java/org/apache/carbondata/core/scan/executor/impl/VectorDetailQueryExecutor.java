@@ -19,12 +19,12 @@ package org.apache.carbondata.core.scan.executor.impl;
 
 import java.io.IOException;
 import java.util.List;
-import java.util.concurrent.Executors;
 
 import org.apache.carbondata.common.CarbonIterator;
 import org.apache.carbondata.core.scan.executor.infos.BlockExecutionInfo;
 import org.apache.carbondata.core.scan.model.QueryModel;
 import org.apache.carbondata.core.scan.result.iterator.VectorDetailQueryResultIterator;
+import org.apache.carbondata.core.util.CarbonQueryThreadPool;
 
 import org.apache.hadoop.conf.Configuration;
 
@@ -42,7 +42,8 @@ public class VectorDetailQueryExecutor extends AbstractQueryExecutor<Object> {
   @Override
   public CarbonIterator<Object> execute(QueryModel queryModel) throws IOException {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2297
-    this.setExecutorService(Executors.newCachedThreadPool());
+    this.setExecutorService(CarbonQueryThreadPool.getInstance()
+        .newExecutorService("query " + queryModel.getQueryId()));
     List<BlockExecutionInfo> blockExecutionInfoList = getBlockExecutionInfos(queryModel);
     this.queryIterator = new VectorDetailQueryResultIterator(
         blockExecutionInfoList,
@@ -19,12 +19,15 @@ package org.apache.carbondata.core.scan.expression;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.scan.expression.exception.FilterIllegalMemberException;
 import org.apache.carbondata.core.scan.expression.exception.FilterUnsupportedException;
+import org.apache.carbondata.core.scan.filter.FilterUtil;
 import org.apache.carbondata.core.scan.filter.intf.ExpressionType;
+import org.apache.carbondata.core.scan.filter.intf.RowBatch;
 import org.apache.carbondata.core.scan.filter.intf.RowIntf;
 
 public abstract class Expression implements Serializable {
@@ -41,6 +44,33 @@ public abstract class Expression implements Serializable {
   public abstract ExpressionResult evaluate(RowIntf value)
       throws FilterUnsupportedException, FilterIllegalMemberException;
 
+  /**
+   * Evaluates the filter expression on the selected rows of the batch. By default the
+   * expression is evaluated row by row, expressions which can work on the column values of the
+   * batch directly override it.
+   *
+   * @param batch    values of the filter columns of a page
+   * @param selected rows to be evaluated, it is not modified
+   * @return rows of the selected rows for which the expression is true
+   */
+  public BitSet evaluateBatch(RowBatch batch, BitSet selected)
+      throws FilterUnsupportedException {
+    BitSet result = new BitSet(batch.getNumberOfRows());
+    for (int rowId = selected.nextSetBit(0); rowId >= 0; rowId = selected.nextSetBit(rowId + 1)) {
+      Boolean value = false;
+      try {
+        value = evaluate(batch.getRow(rowId)).getBoolean();
+      } catch (FilterIllegalMemberException e) {
+        // invalid member is ignored, the error is logged only once
+        FilterUtil.logError(e, false);
+      }
+      if (null != value && value) {
+        result.set(rowId);
+      }
+    }
+    return result;
+  }
+
   public abstract ExpressionType getFilterExpressionType();
 
   public List<Expression> getChildren() {
@@ -17,8 +17,18 @@
 
 package org.apache.carbondata.core.scan.expression.conditional;
 
+import java.util.BitSet;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.expression.ColumnExpression;
 import org.apache.carbondata.core.scan.expression.Expression;
+import org.apache.carbondata.core.scan.expression.ExpressionResult;
+import org.apache.carbondata.core.scan.expression.LiteralExpression;
+import org.apache.carbondata.core.scan.expression.exception.FilterIllegalMemberException;
+import org.apache.carbondata.core.scan.expression.exception.FilterUnsupportedException;
 import org.apache.carbondata.core.scan.expression.logical.BinaryLogicalExpression;
+import org.apache.carbondata.core.scan.filter.intf.RowBatch;
 
 public abstract class BinaryConditionalExpression extends BinaryLogicalExpression
     implements ConditionalExpression {
@@ -32,4 +42,169 @@ public abstract class BinaryConditionalExpression extends BinaryLogicalExpressio
     super(left, right);
   }
 
+  /**
+   * @return whether the expression can compare the short, int, long and double values of the
+   * batch directly, the expression should override both the compare methods if it returns true
+   */
+  public boolean isPrimitiveComparable() {
+    return false;
+  }
+
+  protected boolean compare(long left, long right) {
+    throw new UnsupportedOperationException("compare is not supported in " + getString());
+  }
+
+  protected boolean compare(double left, double right) {
+    throw new UnsupportedOperationException("compare is not supported in " + getString());
+  }
+
+  @Override
+  public BitSet evaluateBatch(RowBatch batch, BitSet selected)
+      throws FilterUnsupportedException {
+    if (isPrimitiveComparable()) {
+      BitSet result = comparePrimitives(batch, selected);
+      if (null != result) {
+        return result;
+      }
+    }
+    return super.evaluateBatch(batch, selected);
+  }
+
+  /**
+   * Compares the primitive values of a column with a literal or another column. Values are
+   * compared in the data type of higher precedence as in row by row evaluation, so it is
+   * applied only if the values can be converted to that data type without any error.
+   *
+   * @return rows for which the condition is true, null if it cannot be compared on primitives
+   */
+  private BitSet comparePrimitives(RowBatch batch, BitSet selected) {
+    DataType leftType = getPrimitiveDataType(left);
+    DataType rightType = getPrimitiveDataType(right);
+    if (null == leftType || null == rightType) {
+      return null;
+    }
+    DataType compareType =
+        leftType.getPrecedenceOrder() < rightType.getPrecedenceOrder() ? rightType : leftType;
+    Operand leftOperand = Operand.create(left, leftType, compareType, batch);
+    Operand rightOperand = Operand.create(right, rightType, compareType, batch);
+    if (null == leftOperand || null == rightOperand
+        || (leftOperand.isLiteral() && rightOperand.isLiteral())) {
+      return null;
+    }
+    BitSet leftNullBits = leftOperand.nullBits;
+    BitSet rightNullBits = rightOperand.nullBits;
+    BitSet result = new BitSet(batch.getNumberOfRows());
+    if (compareType == DataTypes.DOUBLE) {
+      for (int rowId = selected.nextSetBit(0); rowId >= 0;
+           rowId = selected.nextSetBit(rowId + 1)) {
+        if (!leftNullBits.get(rowId) && !rightNullBits.get(rowId)
+            && compare(leftOperand.getDouble(rowId), rightOperand.getDouble(rowId))) {
+          result.set(rowId);
+        }
+      }
+    } else {
+      for (int rowId = selected.nextSetBit(0); rowId >= 0;
+           rowId = selected.nextSetBit(rowId + 1)) {
+        if (!leftNullBits.get(rowId) && !rightNullBits.get(rowId)
+            && compare(leftOperand.getLong(rowId), rightOperand.getLong(rowId))) {
+          result.set(rowId);
+        }
+      }
+    }
+    return result;
+  }
+
+  private static DataType getPrimitiveDataType(Expression expression) {
+    DataType dataType;
+    if (expression instanceof ColumnExpression) {
+      dataType = ((ColumnExpression) expression).getDataType();
+    } else if (expression instanceof LiteralExpression) {
+      dataType = ((LiteralExpression) expression).getLiteralExpDataType();
+    } else {
+      return null;
+    }
+    if (dataType == DataTypes.SHORT || dataType == DataTypes.INT || dataType == DataTypes.LONG
+        || dataType == DataTypes.DOUBLE) {
+      return dataType;
+    }
+    return null;
+  }
+
+  /**
+   * Column values or literal value of a comparison, converted to the compare data type
+   */
+  private static final class Operand {
+
+    private static final BitSet NO_NULLS = new BitSet();
+
+    private long[] longValues;
+
+    private double[] doubleValues;
+
+    private long longValue;
+
+    private double doubleValue;
+
+    private BitSet nullBits = NO_NULLS;
+
+    private boolean isLiteral;
+
+    /**
+     * @return operand of the expression, null if the values cannot be converted to the compare
+     * data type same as ExpressionResult
+     */
+    private static Operand create(Expression expression, DataType dataType,
+        DataType compareType, RowBatch batch) {
+      Operand operand = new Operand();
+      if (expression instanceof LiteralExpression) {
+        ExpressionResult literal = ((LiteralExpression) expression).getExpressionResult();
+        try {
+          if (literal.isNull()) {
+            return null;
+          } else if (compareType == DataTypes.SHORT) {
+            operand.longValue = literal.getShort();
+          } else if (compareType == DataTypes.INT) {
+            operand.longValue = literal.getInt();
+          } else if (compareType == DataTypes.LONG) {
+            operand.longValue = literal.getLong();
+          } else {
+            operand.doubleValue = literal.getDouble();
+          }
+        } catch (FilterIllegalMemberException e) {
+          return null;
+        }
+        operand.isLiteral = true;
+        return operand;
+      }
+      int columnIndex = ((ColumnExpression) expression).getColIndex();
+      if (columnIndex < 0 || columnIndex >= batch.getNumberOfColumns()
+          || batch.getDataType(columnIndex) != dataType) {
+        return null;
+      }
+      // int value cannot be read as long from ExpressionResult, others are converted exactly
+      if (dataType == DataTypes.INT && compareType == DataTypes.LONG) {
+        return null;
+      }
+      operand.longValues = batch.getLongValues(columnIndex);
+      operand.doubleValues = batch.getDoubleValues(columnIndex);
+      operand.nullBits = batch.getNullBits(columnIndex);
+      return operand;
+    }
+
+    private boolean isLiteral() {
+      return isLiteral;
+    }
+
+    private long getLong(int rowId) {
+      return isLiteral ? longValue : longValues[rowId];
+    }
+
+    private double getDouble(int rowId) {
+      if (isLiteral) {
+        return doubleValue;
+      }
+      return null != doubleValues ? doubleValues[rowId] : longValues[rowId];
+    }
+  }
+
 }
@@ -99,6 +99,21 @@ public class EqualToExpression extends BinaryConditionalExpression {
     return val1;
   }
 
+  @Override
+  public boolean isPrimitiveComparable() {
+    return !isNull;
+  }
+
+  @Override
+  protected boolean compare(long left, long right) {
+    return left == right;
+  }
+
+  @Override
+  protected boolean compare(double left, double right) {
+    return left == right || (Double.isNaN(left) && Double.isNaN(right));
+  }
+
   @Override
   public ExpressionType getFilterExpressionType() {
     return ExpressionType.EQUALS;
@@ -81,6 +81,21 @@ public class GreaterThanEqualToExpression extends BinaryConditionalExpression {
     return exprResVal1;
   }
 
+  @Override
+  public boolean isPrimitiveComparable() {
+    return true;
+  }
+
+  @Override
+  protected boolean compare(long left, long right) {
+    return left >= right;
+  }
+
+  @Override
+  protected boolean compare(double left, double right) {
+    return left >= right;
+  }
+
   @Override
   public ExpressionType getFilterExpressionType() {
     return ExpressionType.GREATERTHAN_EQUALTO;
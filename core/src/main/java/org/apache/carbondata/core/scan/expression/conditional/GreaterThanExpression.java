@@ -83,6 +83,21 @@ public class GreaterThanExpression extends BinaryConditionalExpression {
     return val1;
   }
 
+  @Override
+  public boolean isPrimitiveComparable() {
+    return true;
+  }
+
+  @Override
+  protected boolean compare(long left, long right) {
+    return left > right;
+  }
+
+  @Override
+  protected boolean compare(double left, double right) {
+    return left > right;
+  }
+
   @Override
   public ExpressionType getFilterExpressionType() {
     return ExpressionType.GREATERTHAN;
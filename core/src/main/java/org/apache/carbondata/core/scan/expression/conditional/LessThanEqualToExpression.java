@@ -81,6 +81,21 @@ public class LessThanEqualToExpression extends BinaryConditionalExpression {
     return exprResValue1;
   }
 
+  @Override
+  public boolean isPrimitiveComparable() {
+    return true;
+  }
+
+  @Override
+  protected boolean compare(long left, long right) {
+    return left <= right;
+  }
+
+  @Override
+  protected boolean compare(double left, double right) {
+    return left <= right;
+  }
+
   @Override
   public ExpressionType getFilterExpressionType() {
     // TODO Auto-generated method stub
@@ -85,6 +85,21 @@ public class LessThanExpression extends BinaryConditionalExpression {
     return val1;
   }
 
+  @Override
+  public boolean isPrimitiveComparable() {
+    return true;
+  }
+
+  @Override
+  protected boolean compare(long left, long right) {
+    return left < right;
+  }
+
+  @Override
+  protected boolean compare(double left, double right) {
+    return left < right;
+  }
+
   @Override
   public ExpressionType getFilterExpressionType() {
     return ExpressionType.LESSTHAN;
@@ -95,6 +95,21 @@ public class NotEqualsExpression extends BinaryConditionalExpression {
     return val1;
   }
 
+  @Override
+  public boolean isPrimitiveComparable() {
+    return !isNotNull;
+  }
+
+  @Override
+  protected boolean compare(long left, long right) {
+    return left != right;
+  }
+
+  @Override
+  protected boolean compare(double left, double right) {
+    return left != right;
+  }
+
   @Override
   public ExpressionType getFilterExpressionType() {
     return ExpressionType.NOT_EQUALS;
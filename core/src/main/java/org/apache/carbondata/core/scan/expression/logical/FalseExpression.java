@@ -17,12 +17,15 @@
 
 package org.apache.carbondata.core.scan.expression.logical;
 
+import java.util.BitSet;
+
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
 import org.apache.carbondata.core.scan.expression.Expression;
 import org.apache.carbondata.core.scan.expression.ExpressionResult;
 import org.apache.carbondata.core.scan.expression.LiteralExpression;
 import org.apache.carbondata.core.scan.expression.conditional.BinaryConditionalExpression;
 import org.apache.carbondata.core.scan.filter.intf.ExpressionType;
+import org.apache.carbondata.core.scan.filter.intf.RowBatch;
 import org.apache.carbondata.core.scan.filter.intf.RowIntf;
 
 /**
@@ -48,6 +51,11 @@ public class FalseExpression  extends BinaryConditionalExpression {
     return new ExpressionResult(DataTypes.BOOLEAN, false);
   }
 
+  @Override
+  public BitSet evaluateBatch(RowBatch batch, BitSet selected) {
+    return new BitSet();
+  }
+
   /**
    * This method will return the expression types
    * @return
@@ -17,12 +17,15 @@
 
 package org.apache.carbondata.core.scan.expression.logical;
 
+import java.util.BitSet;
+
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
 import org.apache.carbondata.core.scan.expression.Expression;
 import org.apache.carbondata.core.scan.expression.ExpressionResult;
 import org.apache.carbondata.core.scan.expression.exception.FilterIllegalMemberException;
 import org.apache.carbondata.core.scan.expression.exception.FilterUnsupportedException;
 import org.apache.carbondata.core.scan.filter.intf.ExpressionType;
+import org.apache.carbondata.core.scan.filter.intf.RowBatch;
 import org.apache.carbondata.core.scan.filter.intf.RowIntf;
 
 public class OrExpression extends BinaryLogicalExpression {
@@ -48,6 +51,19 @@ public class OrExpression extends BinaryLogicalExpression {
     return resultLeft;
   }
 
+  @Override
+  public BitSet evaluateBatch(RowBatch batch, BitSet selected)
+      throws FilterUnsupportedException {
+    BitSet result = left.evaluateBatch(batch, selected);
+    BitSet remaining = (BitSet) selected.clone();
+    remaining.andNot(result);
+    if (!remaining.isEmpty()) {
+      // right expression is evaluated only on the rows not selected by left expression
+      result.or(right.evaluateBatch(batch, remaining));
+    }
+    return result;
+  }
+
   @Override
   public ExpressionType getFilterExpressionType() {
     return ExpressionType.OR;
@@ -0,0 +1,602 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.filter.executer;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.expression.ColumnExpression;
+import org.apache.carbondata.core.scan.expression.Expression;
+import org.apache.carbondata.core.scan.expression.ExpressionResult;
+import org.apache.carbondata.core.scan.expression.LiteralExpression;
+import org.apache.carbondata.core.scan.expression.conditional.BinaryConditionalExpression;
+import org.apache.carbondata.core.scan.expression.conditional.EqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanEqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanExpression;
+import org.apache.carbondata.core.scan.expression.conditional.InExpression;
+import org.apache.carbondata.core.scan.expression.conditional.LessThanEqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.LessThanExpression;
+import org.apache.carbondata.core.scan.expression.conditional.ListExpression;
+import org.apache.carbondata.core.scan.expression.conditional.NotEqualsExpression;
+import org.apache.carbondata.core.scan.expression.conditional.StartsWithExpression;
+import org.apache.carbondata.core.scan.expression.exception.FilterIllegalMemberException;
+import org.apache.carbondata.core.scan.expression.exception.FilterUnsupportedException;
+import org.apache.carbondata.core.scan.expression.logical.AndExpression;
+import org.apache.carbondata.core.scan.expression.logical.FalseExpression;
+import org.apache.carbondata.core.scan.expression.logical.OrExpression;
+import org.apache.carbondata.core.scan.expression.logical.TrueExpression;
+import org.apache.carbondata.core.scan.filter.intf.RowBatch;
+
+import it.unimi.dsi.fastutil.doubles.DoubleOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+/**
+ * Compiles a row level filter expression into a tree of CompiledFilter for the column layout
+ * of a RowBatch. It is done once for each block, as the data types of the filter columns in
+ * the batch are same for all the blocklets of the block.
+ *
+ * Expression.evaluateBatch finds the operator, converts the literal to the compare data type
+ * and calls the compare method of the expression for every row of every page. Compiled filter
+ * resolves all of them while compiling, and runs a loop specialized for one operator and one
+ * data type on the values of the column, so JIT can inline the whole loop without any virtual
+ * call per row. The supported expressions are comparison of a short, int, long or double
+ * column with a literal of same data type, IN of a column with literals of same data type,
+ * starts with on a string column and AND, OR, TRUE, FALSE of them. Other expressions are
+ * evaluated by Expression.evaluateBatch, which gives the same result.
+ */
+public final class FilterCompiler {
+
+  private FilterCompiler() {
+  }
+
+  public static CompiledFilter compile(Expression expression, RowBatch batch) {
+    CompiledFilter filter = null;
+    if (expression instanceof AndExpression) {
+      filter = new AndFilter(compile(expression.getChildren().get(0), batch),
+          compile(expression.getChildren().get(1), batch));
+    } else if (expression instanceof OrExpression) {
+      filter = new OrFilter(compile(expression.getChildren().get(0), batch),
+          compile(expression.getChildren().get(1), batch));
+    } else if (expression instanceof TrueExpression) {
+      filter = new TrueFilter();
+    } else if (expression instanceof FalseExpression) {
+      filter = new FalseFilter();
+    } else if (expression instanceof InExpression) {
+      filter = compileIn((InExpression) expression, batch);
+    } else if (expression instanceof StartsWithExpression) {
+      filter = compileStartsWith((StartsWithExpression) expression, batch);
+    } else if (expression instanceof BinaryConditionalExpression) {
+      filter = compileComparison((BinaryConditionalExpression) expression, batch);
+    }
+    if (null == filter) {
+      filter = new ExpressionFilter(expression);
+    }
+    return filter;
+  }
+
+  /**
+   * @return filter for comparison of a column with a literal of same data type, null if it
+   * cannot be compiled
+   */
+  private static CompiledFilter compileComparison(BinaryConditionalExpression expression,
+      RowBatch batch) {
+    Operator operator = Operator.of(expression);
+    if (null == operator || !expression.isPrimitiveComparable()) {
+      return null;
+    }
+    Expression left = expression.getLeft();
+    Expression right = expression.getRight();
+    if (left instanceof LiteralExpression && right instanceof ColumnExpression) {
+      // 10 < column is same as column > 10
+      Expression temp = left;
+      left = right;
+      right = temp;
+      operator = operator.mirror();
+    }
+    if (!(left instanceof ColumnExpression) || !(right instanceof LiteralExpression)) {
+      return null;
+    }
+    ColumnExpression column = (ColumnExpression) left;
+    LiteralExpression literal = (LiteralExpression) right;
+    DataType dataType = column.getDataType();
+    if (!isPrimitiveColumn(column, batch) || literal.getLiteralExpDataType() != dataType) {
+      return null;
+    }
+    ExpressionResult value = literal.getExpressionResult();
+    try {
+      if (value.isNull()) {
+        return null;
+      } else if (dataType == DataTypes.SHORT) {
+        return new LongComparisonFilter(operator, column.getColIndex(), value.getShort());
+      } else if (dataType == DataTypes.INT) {
+        return new LongComparisonFilter(operator, column.getColIndex(), value.getInt());
+      } else if (dataType == DataTypes.LONG) {
+        return new LongComparisonFilter(operator, column.getColIndex(), value.getLong());
+      } else {
+        return new DoubleComparisonFilter(operator, column.getColIndex(), value.getDouble());
+      }
+    } catch (FilterIllegalMemberException e) {
+      return null;
+    }
+  }
+
+  /**
+   * @return filter for IN of a column with literals of same data type, null if it cannot be
+   * compiled
+   */
+  private static CompiledFilter compileIn(InExpression expression, RowBatch batch) {
+    if (!(expression.getLeft() instanceof ColumnExpression)
+        || !(expression.getRight() instanceof ListExpression)) {
+      return null;
+    }
+    ColumnExpression column = (ColumnExpression) expression.getLeft();
+    DataType dataType = column.getDataType();
+    boolean isPrimitive = isPrimitiveColumn(column, batch);
+    if (!isPrimitive && !isStringColumn(column, batch)) {
+      return null;
+    }
+    LongOpenHashSet longValues = new LongOpenHashSet();
+    DoubleOpenHashSet doubleValues = new DoubleOpenHashSet();
+    Set<String> stringValues = new HashSet<>();
+    try {
+      for (Expression child : expression.getRight().getChildren()) {
+        if (!(child instanceof LiteralExpression)
+            || ((LiteralExpression) child).getLiteralExpDataType() != dataType) {
+          return null;
+        }
+        ExpressionResult value = ((LiteralExpression) child).getExpressionResult();
+        if (value.isNull()) {
+          // null never matches, as the row with null value is not selected
+          continue;
+        }
+        if (dataType == DataTypes.SHORT) {
+          longValues.add(value.getShort());
+        } else if (dataType == DataTypes.INT) {
+          longValues.add(value.getInt());
+        } else if (dataType == DataTypes.LONG) {
+          longValues.add(value.getLong());
+        } else if (dataType == DataTypes.DOUBLE) {
+          doubleValues.add(value.getDouble());
+        } else {
+          stringValues.add(value.getString());
+        }
+      }
+    } catch (FilterIllegalMemberException e) {
+      return null;
+    }
+    if (!isPrimitive) {
+      return new StringInFilter(column.getColIndex(), stringValues);
+    } else if (dataType == DataTypes.DOUBLE) {
+      return new DoubleInFilter(column.getColIndex(), doubleValues);
+    } else {
+      return new LongInFilter(column.getColIndex(), longValues);
+    }
+  }
+
+  /**
+   * @return filter for starts with of a string column, null if it cannot be compiled
+   */
+  private static CompiledFilter compileStartsWith(StartsWithExpression expression,
+      RowBatch batch) {
+    if (!(expression.getLeft() instanceof ColumnExpression)
+        || !(expression.getRight() instanceof LiteralExpression)) {
+      return null;
+    }
+    ColumnExpression column = (ColumnExpression) expression.getLeft();
+    LiteralExpression literal = (LiteralExpression) expression.getRight();
+    if (!isStringColumn(column, batch) || literal.getLiteralExpDataType() != DataTypes.STRING
+        || literal.getExpressionResult().isNull()) {
+      return null;
+    }
+    try {
+      return new StartsWithFilter(column.getColIndex(),
+          literal.getExpressionResult().getString());
+    } catch (FilterIllegalMemberException e) {
+      return null;
+    }
+  }
+
+  /**
+   * @return whether the values of the column are stored as primitives of the data type of the
+   * column
+   */
+  private static boolean isPrimitiveColumn(ColumnExpression column, RowBatch batch) {
+    int columnIndex = column.getColIndex();
+    return columnIndex >= 0 && columnIndex < batch.getNumberOfColumns()
+        && null != batch.getDataType(columnIndex)
+        && batch.getDataType(columnIndex) == column.getDataType();
+  }
+
+  private static boolean isStringColumn(ColumnExpression column, RowBatch batch) {
+    int columnIndex = column.getColIndex();
+    return columnIndex >= 0 && columnIndex < batch.getNumberOfColumns()
+        && null == batch.getDataType(columnIndex) && column.getDataType() == DataTypes.STRING;
+  }
+
+  private enum Operator {
+    EQUAL_TO, NOT_EQUAL_TO, GREATER_THAN, GREATER_THAN_EQUAL_TO, LESS_THAN, LESS_THAN_EQUAL_TO;
+
+    private static Operator of(Expression expression) {
+      if (expression instanceof EqualToExpression) {
+        return EQUAL_TO;
+      } else if (expression instanceof NotEqualsExpression) {
+        return NOT_EQUAL_TO;
+      } else if (expression instanceof GreaterThanExpression) {
+        return GREATER_THAN;
+      } else if (expression instanceof GreaterThanEqualToExpression) {
+        return GREATER_THAN_EQUAL_TO;
+      } else if (expression instanceof LessThanExpression) {
+        return LESS_THAN;
+      } else if (expression instanceof LessThanEqualToExpression) {
+        return LESS_THAN_EQUAL_TO;
+      }
+      return null;
+    }
+
+    /**
+     * @return operator to be applied after swapping the operands
+     */
+    private Operator mirror() {
+      switch (this) {
+        case GREATER_THAN:
+          return LESS_THAN;
+        case GREATER_THAN_EQUAL_TO:
+          return LESS_THAN_EQUAL_TO;
+        case LESS_THAN:
+          return GREATER_THAN;
+        case LESS_THAN_EQUAL_TO:
+          return GREATER_THAN_EQUAL_TO;
+        default:
+          return this;
+      }
+    }
+  }
+
+  private static final class AndFilter implements CompiledFilter {
+
+    private final CompiledFilter left;
+
+    private final CompiledFilter right;
+
+    private AndFilter(CompiledFilter left, CompiledFilter right) {
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    public BitSet apply(RowBatch batch, BitSet selected) throws FilterUnsupportedException {
+      BitSet result = left.apply(batch, selected);
+      if (result.isEmpty()) {
+        return result;
+      }
+      return right.apply(batch, result);
+    }
+  }
+
+  private static final class OrFilter implements CompiledFilter {
+
+    private final CompiledFilter left;
+
+    private final CompiledFilter right;
+
+    private OrFilter(CompiledFilter left, CompiledFilter right) {
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    public BitSet apply(RowBatch batch, BitSet selected) throws FilterUnsupportedException {
+      BitSet result = left.apply(batch, selected);
+      BitSet remaining = (BitSet) selected.clone();
+      remaining.andNot(result);
+      if (!remaining.isEmpty()) {
+        result.or(right.apply(batch, remaining));
+      }
+      return result;
+    }
+  }
+
+  private static final class TrueFilter implements CompiledFilter {
+
+    @Override
+    public BitSet apply(RowBatch batch, BitSet selected) {
+      return (BitSet) selected.clone();
+    }
+  }
+
+  private static final class FalseFilter implements CompiledFilter {
+
+    @Override
+    public BitSet apply(RowBatch batch, BitSet selected) {
+      return new BitSet();
+    }
+  }
+
+  /**
+   * expression which is not compiled
+   */
+  private static final class ExpressionFilter implements CompiledFilter {
+
+    private final Expression expression;
+
+    private ExpressionFilter(Expression expression) {
+      this.expression = expression;
+    }
+
+    @Override
+    public BitSet apply(RowBatch batch, BitSet selected) throws FilterUnsupportedException {
+      return expression.evaluateBatch(batch, selected);
+    }
+  }
+
+  /**
+   * comparison of short, int or long column with a literal
+   */
+  private static final class LongComparisonFilter implements CompiledFilter {
+
+    private final Operator operator;
+
+    private final int columnIndex;
+
+    private final long value;
+
+    private LongComparisonFilter(Operator operator, int columnIndex, long value) {
+      this.operator = operator;
+      this.columnIndex = columnIndex;
+      this.value = value;
+    }
+
+    @Override
+    public BitSet apply(RowBatch batch, BitSet selected) {
+      long[] values = batch.getLongValues(columnIndex);
+      BitSet result = new BitSet(batch.getNumberOfRows());
+      int rowId = selected.nextSetBit(0);
+      switch (operator) {
+        case EQUAL_TO:
+          for (; rowId >= 0; rowId = selected.nextSetBit(rowId + 1)) {
+            if (values[rowId] == value) {
+              result.set(rowId);
+            }
+          }
+          break;
+        case NOT_EQUAL_TO:
+          for (; rowId >= 0; rowId = selected.nextSetBit(rowId + 1)) {
+            if (values[rowId] != value) {
+              result.set(rowId);
+            }
+          }
+          break;
+        case GREATER_THAN:
+          for (; rowId >= 0; rowId = selected.nextSetBit(rowId + 1)) {
+            if (values[rowId] > value) {
+              result.set(rowId);
+            }
+          }
+          break;
+        case GREATER_THAN_EQUAL_TO:
+          for (; rowId >= 0; rowId = selected.nextSetBit(rowId + 1)) {
+            if (values[rowId] >= value) {
+              result.set(rowId);
+            }
+          }
+          break;
+        case LESS_THAN:
+          for (; rowId >= 0; rowId = selected.nextSetBit(rowId + 1)) {
+            if (values[rowId] < value) {
+              result.set(rowId);
+            }
+          }
+          break;
+        default:
+          for (; rowId >= 0; rowId = selected.nextSetBit(rowId + 1)) {
+            if (values[rowId] <= value) {
+              result.set(rowId);
+            }
+          }
+      }
+      // comparison with null is always false
+      result.andNot(batch.getNullBits(columnIndex));
+      return result;
+    }
+  }
+
+  /**
+   * comparison of double column with a literal
+   */
+  private static final class DoubleComparisonFilter implements CompiledFilter {
+
+    private final Operator operator;
+
+    private final int columnIndex;
+
+    private final double value;
+
+    private DoubleComparisonFilter(Operator operator, int columnIndex, double value) {
+      this.operator = operator;
+      this.columnIndex = columnIndex;
+      this.value = value;
+    }
+
+    @Override
+    public BitSet apply(RowBatch batch, BitSet selected) {
+      double[] values = batch.getDoubleValues(columnIndex);
+      BitSet result = new BitSet(batch.getNumberOfRows());
+      int rowId = selected.nextSetBit(0);
+      switch (operator) {
+        case EQUAL_TO:
+          if (Double.isNaN(value)) {
+            // NaN is equal to NaN as in row by row evaluation
+            for (; rowId >= 0; rowId = selected.nextSetBit(rowId + 1)) {
+              if (Double.isNaN(values[rowId])) {
+                result.set(rowId);
+              }
+            }
+          } else {
+            for (; rowId >= 0; rowId = selected.nextSetBit(rowId + 1)) {
+              if (values[rowId] == value) {
+                result.set(rowId);
+              }
+            }
+          }
+          break;
+        case NOT_EQUAL_TO:
+          for (; rowId >= 0; rowId = selected.nextSetBit(rowId + 1)) {
+            if (values[rowId] != value) {
+              result.set(rowId);
+            }
+          }
+          break;
+        case GREATER_THAN:
+          for (; rowId >= 0; rowId = selected.nextSetBit(rowId + 1)) {
+            if (values[rowId] > value) {
+              result.set(rowId);
+            }
+          }
+          break;
+        case GREATER_THAN_EQUAL_TO:
+          for (; rowId >= 0; rowId = selected.nextSetBit(rowId + 1)) {
+            if (values[rowId] >= value) {
+              result.set(rowId);
+            }
+          }
+          break;
+        case LESS_THAN:
+          for (; rowId >= 0; rowId = selected.nextSetBit(rowId + 1)) {
+            if (values[rowId] < value) {
+              result.set(rowId);
+            }
+          }
+          break;
+        default:
+          for (; rowId >= 0; rowId = selected.nextSetBit(rowId + 1)) {
+            if (values[rowId] <= value) {
+              result.set(rowId);
+            }
+          }
+      }
+      // comparison with null is always false
+      result.andNot(batch.getNullBits(columnIndex));
+      return result;
+    }
+  }
+
+  private static final class LongInFilter implements CompiledFilter {
+
+    private final int columnIndex;
+
+    private final LongOpenHashSet values;
+
+    private LongInFilter(int columnIndex, LongOpenHashSet values) {
+      this.columnIndex = columnIndex;
+      this.values = values;
+    }
+
+    @Override
+    public BitSet apply(RowBatch batch, BitSet selected) {
+      long[] columnValues = batch.getLongValues(columnIndex);
+      BitSet result = new BitSet(batch.getNumberOfRows());
+      for (int rowId = selected.nextSetBit(0); rowId >= 0;
+           rowId = selected.nextSetBit(rowId + 1)) {
+        if (values.contains(columnValues[rowId])) {
+          result.set(rowId);
+        }
+      }
+      result.andNot(batch.getNullBits(columnIndex));
+      return result;
+    }
+  }
+
+  private static final class DoubleInFilter implements CompiledFilter {
+
+    private final int columnIndex;
+
+    private final DoubleOpenHashSet values;
+
+    private DoubleInFilter(int columnIndex, DoubleOpenHashSet values) {
+      this.columnIndex = columnIndex;
+      this.values = values;
+    }
+
+    @Override
+    public BitSet apply(RowBatch batch, BitSet selected) {
+      double[] columnValues = batch.getDoubleValues(columnIndex);
+      BitSet result = new BitSet(batch.getNumberOfRows());
+      for (int rowId = selected.nextSetBit(0); rowId >= 0;
+           rowId = selected.nextSetBit(rowId + 1)) {
+        if (values.contains(columnValues[rowId])) {
+          result.set(rowId);
+        }
+      }
+      result.andNot(batch.getNullBits(columnIndex));
+      return result;
+    }
+  }
+
+  private static final class StringInFilter implements CompiledFilter {
+
+    private final int columnIndex;
+
+    private final Set<String> values;
+
+    private StringInFilter(int columnIndex, Set<String> values) {
+      this.columnIndex = columnIndex;
+      this.values = values;
+    }
+
+    @Override
+    public BitSet apply(RowBatch batch, BitSet selected) {
+      BitSet result = new BitSet(batch.getNumberOfRows());
+      for (int rowId = selected.nextSetBit(0); rowId >= 0;
+           rowId = selected.nextSetBit(rowId + 1)) {
+        Object value = batch.getObject(columnIndex, rowId);
+        if (null != value && values.contains(value.toString())) {
+          result.set(rowId);
+        }
+      }
+      return result;
+    }
+  }
+
+  private static final class StartsWithFilter implements CompiledFilter {
+
+    private final int columnIndex;
+
+    private final String prefix;
+
+    private StartsWithFilter(int columnIndex, String prefix) {
+      this.columnIndex = columnIndex;
+      this.prefix = prefix;
+    }
+
+    @Override
+    public BitSet apply(RowBatch batch, BitSet selected) {
+      BitSet result = new BitSet(batch.getNumberOfRows());
+      for (int rowId = selected.nextSetBit(0); rowId >= 0;
+           rowId = selected.nextSetBit(rowId + 1)) {
+        Object value = batch.getObject(columnIndex, rowId);
+        if (null != value && value.toString().startsWith(prefix)) {
+          result.set(rowId);
+        }
+      }
+      return result;
+    }
+  }
+}
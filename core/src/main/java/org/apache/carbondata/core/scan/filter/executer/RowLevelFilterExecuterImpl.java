@@ -46,14 +46,15 @@ import org.apache.carbondata.core.scan.expression.Expression;
 import org.apache.carbondata.core.scan.expression.MatchExpression;
 import org.apache.carbondata.core.scan.expression.exception.FilterIllegalMemberException;
 import org.apache.carbondata.core.scan.expression.exception.FilterUnsupportedException;
-import org.apache.carbondata.core.scan.filter.FilterUtil;
 import org.apache.carbondata.core.scan.filter.GenericQueryType;
+import org.apache.carbondata.core.scan.filter.intf.RowBatch;
 import org.apache.carbondata.core.scan.filter.intf.RowImpl;
 import org.apache.carbondata.core.scan.filter.intf.RowIntf;
 import org.apache.carbondata.core.scan.filter.resolver.resolverinfo.DimColumnResolvedFilterInfo;
 import org.apache.carbondata.core.scan.filter.resolver.resolverinfo.MeasureColumnResolvedFilterInfo;
 import org.apache.carbondata.core.scan.processor.RawBlockletColumnChunks;
 import org.apache.carbondata.core.util.BitSetGroup;
+import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.DataTypeUtil;
 
 import org.apache.log4j.Logger;
@@ -84,6 +85,12 @@ public class RowLevelFilterExecuterImpl implements FilterExecuter {
 
   private Map<Integer, GenericQueryType> complexDimensionInfoMap;
 
+  /**
+   * filter expression compiled for the data types of the filter columns in this block,
+   * null if filter compilation is disabled
+   */
+  private CompiledFilter compiledFilter;
+
   /**
    * flag to check whether the filter dimension is present in current block list of dimensions.
    * Applicable for restructure scenarios
@@ -231,11 +238,12 @@ public class RowLevelFilterExecuterImpl implements FilterExecuter {
       }
     }
     BitSetGroup bitSetGroup = new BitSetGroup(pageNumbers);
+    RowBatch batch = new RowBatch(getBatchDataTypes());
+    if (null == compiledFilter && CarbonProperties.isEnableFilterCompilation()) {
+      compiledFilter = FilterCompiler.compile(exp, batch);
+    }
     for (int i = 0; i < pageNumbers; i++) {
-      BitSet set = new BitSet(numberOfRows[i]);
-      RowIntf row = new RowImpl();
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-1538
-      BitSet prvBitset = null;
+      BitSet selected;
       // if bitset pipe line is enabled then use rowid from previous bitset
       // otherwise use older flow
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2099
@@ -243,40 +251,20 @@ public class RowLevelFilterExecuterImpl implements FilterExecuter {
           null == rawBlockletColumnChunks.getBitSetGroup() ||
           null == bitSetGroup.getBitSet(i) ||
           rawBlockletColumnChunks.getBitSetGroup().getBitSet(i).isEmpty()) {
-        for (int index = 0; index < numberOfRows[i]; index++) {
-          createRow(rawBlockletColumnChunks, row, i, index);
-          Boolean rslt = false;
-          try {
-            rslt = exp.evaluate(row).getBoolean();
-          }
-          // Any invalid member while evaluation shall be ignored, system will log the
-          // error only once since all rows the evaluation happens so inorder to avoid
-          // too much log inforation only once the log will be printed.
-          catch (FilterIllegalMemberException e) {
-            FilterUtil.logError(e, false);
-          }
-          if (null != rslt && rslt) {
-            set.set(index);
-          }
-        }
+        selected = new BitSet(numberOfRows[i]);
+        selected.set(0, numberOfRows[i]);
       } else {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2099
-        prvBitset = rawBlockletColumnChunks.getBitSetGroup().getBitSet(i);
-        for (int index = prvBitset.nextSetBit(0);
-             index >= 0; index = prvBitset.nextSetBit(index + 1)) {
-          createRow(rawBlockletColumnChunks, row, i, index);
-          Boolean rslt = false;
-          try {
-            rslt = exp.evaluate(row).getBoolean();
-          } catch (FilterIllegalMemberException e) {
-            FilterUtil.logError(e, false);
-          }
-          if (null != rslt && rslt) {
-            set.set(index);
-          }
-        }
+        selected = rawBlockletColumnChunks.getBitSetGroup().getBitSet(i);
+      }
+      // fill the values of the filter columns only for the selected rows and evaluate the
+      // expression on all of them at once, unsupported expressions are evaluated row by row
+      fillBatch(rawBlockletColumnChunks, batch, i, numberOfRows[i], selected);
+      if (null != compiledFilter) {
+        bitSetGroup.setBitSet(compiledFilter.apply(batch, selected), i);
+      } else {
+        bitSetGroup.setBitSet(exp.evaluateBatch(batch, selected), i);
       }
-      bitSetGroup.setBitSet(set, i);
     }
     return bitSetGroup;
   }
@@ -366,41 +354,97 @@ public class RowLevelFilterExecuterImpl implements FilterExecuter {
   }
 
   /**
-   * Method will read the members of particular dimension block and create
-   * a row instance for further processing of the filters
+   * @return data types of the filter columns to be stored as primitive values in the batch,
+   * null for the columns stored as objects
+   */
+  private DataType[] getBatchDataTypes() {
+    DataType[] dataTypes =
+        new DataType[dimColEvaluatorInfoList.size() + msrColEvalutorInfoList.size()];
+    for (int i = 0; i < dimColEvaluatorInfoList.size(); i++) {
+      DimColumnResolvedFilterInfo dimColumnEvaluatorInfo = dimColEvaluatorInfoList.get(i);
+      DataType dataType = dimColumnEvaluatorInfo.getDimension().getDataType();
+      if (isDimensionPresentInCurrentBlock[i] && isPrimitiveBatchType(dataType)) {
+        dataTypes[dimColumnEvaluatorInfo.getRowIndex()] = dataType;
+      }
+    }
+    for (int i = 0; i < msrColEvalutorInfoList.size(); i++) {
+      MeasureColumnResolvedFilterInfo msrColumnEvalutorInfo = msrColEvalutorInfoList.get(i);
+      DataType msrType = getMeasureType(msrColumnEvalutorInfo.getType());
+      if (isMeasurePresentInCurrentBlock[i] && isPrimitiveBatchType(msrType)) {
+        dataTypes[msrColumnEvalutorInfo.getRowIndex()] = msrType;
+      }
+    }
+    return dataTypes;
+  }
+
+  private static boolean isPrimitiveBatchType(DataType dataType) {
+    return dataType == DataTypes.SHORT || dataType == DataTypes.INT || dataType == DataTypes.LONG
+        || dataType == DataTypes.DOUBLE;
+  }
+
+  /**
+   * @return data type in which the measure value is read from the column page
+   */
+  private static DataType getMeasureType(DataType dataType) {
+//IC see: https://issues.apache.org/jira/browse/CARBONDATA-1444
+    if (dataType == DataTypes.BOOLEAN) {
+      return DataTypes.BOOLEAN;
+    } else if (dataType == DataTypes.SHORT) {
+      return DataTypes.SHORT;
+    } else if (dataType == DataTypes.INT) {
+      return DataTypes.INT;
+    } else if (dataType == DataTypes.LONG) {
+      return DataTypes.LONG;
+//IC see: https://issues.apache.org/jira/browse/CARBONDATA-1594
+    } else if (DataTypes.isDecimal(dataType)) {
+      return DataTypes.createDefaultDecimalType();
+    } else {
+      return DataTypes.DOUBLE;
+    }
+  }
+
+  /**
+   * Method will read the members of the filter columns of a page column by column and fill
+   * the batch for further processing of the filters
    *
    * @param blockChunkHolder
-   * @param row
-   * @param index
+   * @param batch
+   * @param pageIndex
+   * @param numberOfRows number of rows in the page
+   * @param selected rows to be filled
    */
-  private void createRow(RawBlockletColumnChunks blockChunkHolder, RowIntf row, int pageIndex,
-      int index) {
-    Object[] record = new Object[dimColEvaluatorInfoList.size() + msrColEvalutorInfoList.size()];
-    String memberString;
+  private void fillBatch(RawBlockletColumnChunks blockChunkHolder, RowBatch batch,
+      int pageIndex, int numberOfRows, BitSet selected) {
+    batch.reset(numberOfRows);
     for (int i = 0; i < dimColEvaluatorInfoList.size(); i++) {
       DimColumnResolvedFilterInfo dimColumnEvaluatorInfo = dimColEvaluatorInfoList.get(i);
+      int columnIndex = dimColumnEvaluatorInfo.getRowIndex();
       // if filter dimension is not present in the current add its default value
       if (!isDimensionPresentInCurrentBlock[i]) {
         // fill default value here
-        record[dimColumnEvaluatorInfo.getRowIndex()] =
-            getDimensionDefaultValue(dimColumnEvaluatorInfo);
+        Object defaultValue = getDimensionDefaultValue(dimColumnEvaluatorInfo);
+        for (int index = selected.nextSetBit(0); index >= 0;
+             index = selected.nextSetBit(index + 1)) {
+          batch.putObject(columnIndex, index, defaultValue);
+        }
         continue;
       }
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-1662
       if (!dimColumnEvaluatorInfo.getDimension().getDataType().isComplexType()) {
-        if (!dimColumnEvaluatorInfo.isDimensionExistsInCurrentSilce()) {
-          record[dimColumnEvaluatorInfo.getRowIndex()] =
-              dimColumnEvaluatorInfo.getDimension().getDefaultValue();
-        }
         DimensionColumnPage columnDataChunk =
             blockChunkHolder.getDimensionRawColumnChunks()[dimensionChunkIndex[i]]
                 .decodeColumnPage(pageIndex);
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3674
-        if (dimColumnEvaluatorInfo.getDimension().getDataType() != DataTypes.DATE &&
-            (columnDataChunk instanceof VariableLengthDimensionColumnPage ||
-                columnDataChunk instanceof ColumnPageWrapper)) {
-
-          byte[] memberBytes = columnDataChunk.getChunkData(index);
+        boolean isNoDictionaryPage =
+            dimColumnEvaluatorInfo.getDimension().getDataType() != DataTypes.DATE &&
+                (columnDataChunk instanceof VariableLengthDimensionColumnPage ||
+                    columnDataChunk instanceof ColumnPageWrapper);
+        boolean isPrimitive = null != batch.getDataType(columnIndex);
+        Object defaultValue = dimColumnEvaluatorInfo.isDimensionExistsInCurrentSilce() ?
+            null : dimColumnEvaluatorInfo.getDimension().getDefaultValue();
+        for (int index = selected.nextSetBit(0); index >= 0;
+             index = selected.nextSetBit(index + 1)) {
+          byte[] memberBytes = isNoDictionaryPage ? columnDataChunk.getChunkData(index) : null;
           if (null != memberBytes) {
             if (Arrays.equals(CarbonCommonConstants.MEMBER_DEFAULT_VAL_ARRAY, memberBytes)) {
               memberBytes = null;
@@ -408,93 +452,90 @@ public class RowLevelFilterExecuterImpl implements FilterExecuter {
             } else if (memberBytes.length == 0) {
               memberBytes = null;
             }
-            record[dimColumnEvaluatorInfo.getRowIndex()] = DataTypeUtil
+            batch.putObject(columnIndex, index, DataTypeUtil
                 .getDataBasedOnDataTypeForNoDictionaryColumn(memberBytes,
-                    dimColumnEvaluatorInfo.getDimension().getDataType());
+                    dimColumnEvaluatorInfo.getDimension().getDataType()));
+          } else if (isPrimitive) {
+            // default value is not a number, comparison with it never matches as null
+            batch.putNull(columnIndex, index);
+          } else {
+            batch.putObject(columnIndex, index, defaultValue);
           }
         }
       } else {
-        try {
-          GenericQueryType complexType = complexDimensionInfoMap.get(dimensionChunkIndex[i]);
-          ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
-          DataOutputStream dataOutputStream = new DataOutputStream(byteStream);
-          complexType.parseBlocksAndReturnComplexColumnByteArray(
+        GenericQueryType complexType = complexDimensionInfoMap.get(dimensionChunkIndex[i]);
+        for (int index = selected.nextSetBit(0); index >= 0;
+             index = selected.nextSetBit(index + 1)) {
+          try {
+            ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+            DataOutputStream dataOutputStream = new DataOutputStream(byteStream);
+            complexType.parseBlocksAndReturnComplexColumnByteArray(
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3145
-              blockChunkHolder.getDimensionRawColumnChunks(), null, index, pageIndex,
-              dataOutputStream);
-          record[dimColumnEvaluatorInfo.getRowIndex()] =
-              complexType.getDataBasedOnDataType(ByteBuffer.wrap(byteStream.toByteArray()));
-          byteStream.close();
-        } catch (IOException e) {
-          LOGGER.info(e.getMessage());
+                blockChunkHolder.getDimensionRawColumnChunks(), null, index, pageIndex,
+                dataOutputStream);
+            batch.putObject(columnIndex, index,
+                complexType.getDataBasedOnDataType(ByteBuffer.wrap(byteStream.toByteArray())));
+            byteStream.close();
+          } catch (IOException e) {
+            LOGGER.info(e.getMessage());
+          }
         }
       }
     }
 
-    DataType msrType;
     for (int i = 0; i < msrColEvalutorInfoList.size(); i++) {
       MeasureColumnResolvedFilterInfo msrColumnEvalutorInfo = msrColEvalutorInfoList.get(i);
-      DataType dataType = msrColumnEvalutorInfo.getType();
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-1444
-      if (dataType == DataTypes.BOOLEAN) {
-        msrType = DataTypes.BOOLEAN;
-      } else if (dataType == DataTypes.SHORT) {
-        msrType = DataTypes.SHORT;
-      } else if (dataType == DataTypes.INT) {
-        msrType = DataTypes.INT;
-      } else if (dataType == DataTypes.LONG) {
-        msrType = DataTypes.LONG;
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-1594
-      } else if (DataTypes.isDecimal(dataType)) {
-        msrType = DataTypes.createDefaultDecimalType();
-      } else {
-        msrType = DataTypes.DOUBLE;
-      }
+      int columnIndex = msrColumnEvalutorInfo.getRowIndex();
+      DataType msrType = getMeasureType(msrColumnEvalutorInfo.getType());
       // add default value for the measure in case filter measure is not present
       // in the current block measure list
       if (!isMeasurePresentInCurrentBlock[i]) {
         byte[] defaultValue = msrColumnEvalutorInfo.getCarbonColumn().getDefaultValue();
-        record[msrColumnEvalutorInfo.getRowIndex()] = RestructureUtil
+        Object value = RestructureUtil
             .getMeasureDefaultValue(msrColumnEvalutorInfo.getCarbonColumn().getColumnSchema(),
                 defaultValue);
+        for (int index = selected.nextSetBit(0); index >= 0;
+             index = selected.nextSetBit(index + 1)) {
+          batch.putObject(columnIndex, index, value);
+        }
         continue;
       }
 
-      Object msrValue;
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-1371
       ColumnPage columnPage =
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2649
           blockChunkHolder.getMeasureRawColumnChunks()[msrColEvalutorInfoList.get(0)
               .getColumnIndex()].decodeColumnPage(pageIndex);
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-1444
-      if (msrType == DataTypes.BOOLEAN) {
-        msrValue = columnPage.getBoolean(index);
-      } else if (msrType == DataTypes.SHORT) {
+      BitSet nullBits = columnPage.getNullBits();
+      for (int index = selected.nextSetBit(0); index >= 0;
+           index = selected.nextSetBit(index + 1)) {
+        if (nullBits.get(index)) {
+          batch.putNull(columnIndex, index);
+        } else if (msrType == DataTypes.SHORT) {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-1539
-        msrValue = (short) columnPage.getLong(index);
-      } else if (msrType == DataTypes.INT) {
-        msrValue = (int) columnPage.getLong(index);
-      } else if (msrType == DataTypes.LONG) {
-        msrValue = columnPage.getLong(index);
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-1594
-      } else if (DataTypes.isDecimal(msrType)) {
-        BigDecimal bigDecimalValue = columnPage.getDecimal(index);
-        if (null != bigDecimalValue
-            && msrColumnEvalutorInfo.getCarbonColumn().getColumnSchema().getScale()
-            > bigDecimalValue.scale()) {
-          bigDecimalValue = bigDecimalValue
-              .setScale(msrColumnEvalutorInfo.getCarbonColumn().getColumnSchema().getScale(),
-                  RoundingMode.HALF_UP);
-        }
-        msrValue = bigDecimalValue;
-      } else {
+          batch.putLong(columnIndex, index, (short) columnPage.getLong(index));
+        } else if (msrType == DataTypes.INT) {
+          batch.putLong(columnIndex, index, (int) columnPage.getLong(index));
+        } else if (msrType == DataTypes.LONG) {
+          batch.putLong(columnIndex, index, columnPage.getLong(index));
+        } else if (msrType == DataTypes.DOUBLE) {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-1371
-        msrValue = columnPage.getDouble(index);
+          batch.putDouble(columnIndex, index, columnPage.getDouble(index));
+        } else if (msrType == DataTypes.BOOLEAN) {
+          batch.putObject(columnIndex, index, columnPage.getBoolean(index));
+        } else {
+          BigDecimal bigDecimalValue = columnPage.getDecimal(index);
+          if (null != bigDecimalValue
+              && msrColumnEvalutorInfo.getCarbonColumn().getColumnSchema().getScale()
+              > bigDecimalValue.scale()) {
+            bigDecimalValue = bigDecimalValue
+                .setScale(msrColumnEvalutorInfo.getCarbonColumn().getColumnSchema().getScale(),
+                    RoundingMode.HALF_UP);
+          }
+          batch.putObject(columnIndex, index, bigDecimalValue);
+        }
       }
-      record[msrColumnEvalutorInfo.getRowIndex()] =
-          columnPage.getNullBits().get(index) ? null : msrValue;
     }
-    row.setValues(record);
   }
 
   /**
@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.filter.intf;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+
+/**
+ * Values of the filter columns of a page, stored column wise so that expressions can be
+ * evaluated on all the rows of a column at once. Short, int and long columns are stored in
+ * long array and double columns in double array, other columns are stored as objects.
+ * Column index is same as the index of the column in RowIntf.
+ */
+public class RowBatch {
+
+  private DataType[] dataTypes;
+
+  private long[][] longValues;
+
+  private double[][] doubleValues;
+
+  private Object[][] objectValues;
+
+  private BitSet[] nullBits;
+
+  private int numberOfRows;
+
+  private Object[] record;
+
+  private RowImpl row;
+
+  /**
+   * @param dataTypes data type of each column stored as primitive (short, int, long or double),
+   *                  null for the columns stored as object
+   */
+  public RowBatch(DataType[] dataTypes) {
+    this.dataTypes = dataTypes;
+    this.longValues = new long[dataTypes.length][];
+    this.doubleValues = new double[dataTypes.length][];
+    this.objectValues = new Object[dataTypes.length][];
+    this.nullBits = new BitSet[dataTypes.length];
+    for (int i = 0; i < dataTypes.length; i++) {
+      nullBits[i] = new BitSet();
+    }
+    this.record = new Object[dataTypes.length];
+    this.row = new RowImpl();
+    this.row.setValues(record);
+  }
+
+  /**
+   * clears the values of previous page, arrays are reused if they are big enough
+   */
+  public void reset(int numberOfRows) {
+    this.numberOfRows = numberOfRows;
+    for (int i = 0; i < dataTypes.length; i++) {
+      nullBits[i].clear();
+      if (isLongColumn(i)) {
+        if (longValues[i] == null || longValues[i].length < numberOfRows) {
+          longValues[i] = new long[numberOfRows];
+        }
+      } else if (isDoubleColumn(i)) {
+        if (doubleValues[i] == null || doubleValues[i].length < numberOfRows) {
+          doubleValues[i] = new double[numberOfRows];
+        }
+      } else if (objectValues[i] == null || objectValues[i].length < numberOfRows) {
+        objectValues[i] = new Object[numberOfRows];
+      } else {
+        Arrays.fill(objectValues[i], 0, numberOfRows, null);
+      }
+    }
+  }
+
+  public int getNumberOfRows() {
+    return numberOfRows;
+  }
+
+  public int getNumberOfColumns() {
+    return dataTypes.length;
+  }
+
+  /**
+   * @return data type of the column if it is stored as primitive, otherwise null
+   */
+  public DataType getDataType(int columnIndex) {
+    return dataTypes[columnIndex];
+  }
+
+  private boolean isLongColumn(int columnIndex) {
+    DataType dataType = dataTypes[columnIndex];
+    return dataType == DataTypes.SHORT || dataType == DataTypes.INT || dataType == DataTypes.LONG;
+  }
+
+  private boolean isDoubleColumn(int columnIndex) {
+    return dataTypes[columnIndex] == DataTypes.DOUBLE;
+  }
+
+  public void putLong(int columnIndex, int rowId, long value) {
+    longValues[columnIndex][rowId] = value;
+  }
+
+  public void putDouble(int columnIndex, int rowId, double value) {
+    doubleValues[columnIndex][rowId] = value;
+  }
+
+  public void putNull(int columnIndex, int rowId) {
+    nullBits[columnIndex].set(rowId);
+  }
+
+  /**
+   * puts the value to the column, value of a primitive column should be a number
+   */
+  public void putObject(int columnIndex, int rowId, Object value) {
+    if (value == null) {
+      putNull(columnIndex, rowId);
+    } else if (isLongColumn(columnIndex)) {
+      longValues[columnIndex][rowId] = ((Number) value).longValue();
+    } else if (isDoubleColumn(columnIndex)) {
+      doubleValues[columnIndex][rowId] = ((Number) value).doubleValue();
+    } else {
+      objectValues[columnIndex][rowId] = value;
+    }
+  }
+
+  /**
+   * @return values of short, int and long column, otherwise null
+   */
+  public long[] getLongValues(int columnIndex) {
+    return isLongColumn(columnIndex) ? longValues[columnIndex] : null;
+  }
+
+  /**
+   * @return values of double column, otherwise null
+   */
+  public double[] getDoubleValues(int columnIndex) {
+    return isDoubleColumn(columnIndex) ? doubleValues[columnIndex] : null;
+  }
+
+  public BitSet getNullBits(int columnIndex) {
+    return nullBits[columnIndex];
+  }
+
+  /**
+   * @return value of the column, primitive values are boxed to the type of the column
+   */
+  public Object getObject(int columnIndex, int rowId) {
+    if (nullBits[columnIndex].get(rowId)) {
+      return null;
+    }
+    DataType dataType = dataTypes[columnIndex];
+    if (dataType == DataTypes.SHORT) {
+      return (short) longValues[columnIndex][rowId];
+    } else if (dataType == DataTypes.INT) {
+      return (int) longValues[columnIndex][rowId];
+    } else if (dataType == DataTypes.LONG) {
+      return longValues[columnIndex][rowId];
+    } else if (dataType == DataTypes.DOUBLE) {
+      return doubleValues[columnIndex][rowId];
+    } else {
+      return objectValues[columnIndex][rowId];
+    }
+  }
+
+  /**
+   * @return the row for evaluating the expressions row by row, same instance is returned for
+   * all the rows
+   */
+  public RowIntf getRow(int rowId) {
+    for (int i = 0; i < record.length; i++) {
+      record[i] = getObject(i, rowId);
+    }
+    return row;
+  }
+}
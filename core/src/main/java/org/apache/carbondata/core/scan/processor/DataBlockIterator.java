@@ -27,6 +27,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.carbondata.common.CarbonIterator;
+import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.datastore.DataRefNode;
 import org.apache.carbondata.core.datastore.FileReader;
 import org.apache.carbondata.core.scan.collector.ResultCollectorFactory;
@@ -40,12 +41,17 @@ import org.apache.carbondata.core.scan.scanner.impl.BlockletFullScanner;
 import org.apache.carbondata.core.stats.QueryStatisticsModel;
 import org.apache.carbondata.core.util.TaskMetricsMap;
 
+import org.apache.log4j.Logger;
+
 /**
  * This abstract class provides a skeletal implementation of the
  * Block iterator.
  */
 public class DataBlockIterator extends CarbonIterator<List<Object[]>> {
 
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(DataBlockIterator.class.getName());
+
   /**
    * iterator which will be used to iterate over blocklets
    */
@@ -203,12 +209,14 @@ public class DataBlockIterator extends CarbonIterator<List<Object[]>> {
   }
 
   private Future<BlockletScannedResult> scanNextBlockletAsync() {
+    // the read is submitted before the scan waiting for it, so that the scan never waits for a
+    // task queued after it in the executor service
+    if (futureIo == null) {
+      futureIo = readNextBlockletAsync();
+    }
     return executorService.submit(new Callable<BlockletScannedResult>() {
       @Override
       public BlockletScannedResult call() throws Exception {
-        if (futureIo == null) {
-          futureIo = readNextBlockletAsync();
-        }
         RawBlockletColumnChunks rawBlockletColumnChunks = futureIo.get();
         futureIo = null;
         nextRead.set(false);
@@ -243,6 +251,23 @@ public class DataBlockIterator extends CarbonIterator<List<Object[]>> {
     });
   }
 
+  /**
+   * Start reading the column chunks of the first blocklet to scan, so that the read overlaps
+   * with the processing of the previous block. The blocklet is scanned only when this iterator
+   * is used. It is done only if blocklet prefetch is enabled for the block
+   */
+  public void readFirstBlockletAsync() {
+    if (blockExecutionInfo.isPrefetchBlocklet() && future == null && futureIo == null
+        && blockletIterator.hasNext()) {
+      nextRead.set(true);
+      futureIo = readNextBlockletAsync();
+    }
+  }
+
+  public FileReader getFileReader() {
+    return fileReader;
+  }
+
   public void processNextBatch(CarbonColumnarBatch columnarBatch) {
     if (updateScanner()) {
       this.scannerResultAggregator.collectResultInColumnarBatch(scannedResult, columnarBatch);
@@ -269,6 +294,15 @@ public class DataBlockIterator extends CarbonIterator<List<Object[]>> {
       } catch (InterruptedException | ExecutionException e) {
         throw new RuntimeException(e);
       }
+    } else if (null != futureIo) {
+      // wait for the blocklet read ahead, so that the file reader is not closed while reading.
+      // The iterator was never used, so failure of this read does not fail the query
+      try {
+        futureIo.get();
+      } catch (InterruptedException | ExecutionException e) {
+        LOGGER.warn("Failed to read blocklet ahead: " + e.getMessage());
+      }
+      futureIo = null;
     }
   }
 }
@@ -18,6 +18,7 @@
 package org.apache.carbondata.core.scan.result.iterator;
 
 import java.io.IOException;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -74,6 +75,21 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
 
   DataBlockIterator dataBlockIterator;
 
+  /**
+   * iterators of the next blocks whose first blocklet is being read ahead, each one with its own
+   * file reader
+   */
+  private LinkedList<DataBlockIterator> prefetchedDataBlockIterators = new LinkedList<>();
+
+  /**
+   * maximum number of blocks to read ahead
+   */
+  private int prefetchBlockDepth;
+
+  private FileFactory.FileType fileType;
+
+  private boolean readPageByPage;
+
   /**
    * QueryStatisticsRecorder
    */
@@ -94,17 +110,25 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
     batchSize = CarbonProperties.getQueryBatchSize();
     this.recorder = queryModel.getStatisticsRecorder();
     this.blockExecutionInfos = infos;
-    this.fileReader = FileFactory.getFileHolder(
+    this.fileType =
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-1573
-        FileFactory.getFileType(queryModel.getAbsoluteTableIdentifier().getTablePath()));
+        FileFactory.getFileType(queryModel.getAbsoluteTableIdentifier().getTablePath());
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-1224
-    this.fileReader.setReadPageByPage(queryModel.isReadPageByPage());
+    this.readPageByPage = queryModel.isReadPageByPage();
+    this.fileReader = newFileReader();
+    this.prefetchBlockDepth = CarbonProperties.getQueryPrefetchBlockDepth();
     this.execService = execService;
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3002
     initialiseInfos();
     initQueryStatiticsModel();
   }
 
+  private FileReader newFileReader() {
+    FileReader reader = FileFactory.getFileHolder(fileType);
+    reader.setReadPageByPage(readPageByPage);
+    return reader;
+  }
+
   private void initialiseInfos() {
     for (BlockExecutionInfo blockInfo : blockExecutionInfos) {
       Map<String, DeleteDeltaVo> deletedRowsMap = null;
@@ -208,7 +232,7 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
   public boolean hasNext() {
     if ((dataBlockIterator != null && dataBlockIterator.hasNext())) {
       return true;
-    } else if (blockExecutionInfos.size() > 0) {
+    } else if (blockExecutionInfos.size() > 0 || !prefetchedDataBlockIterators.isEmpty()) {
       return true;
     } else {
       return false;
@@ -233,14 +257,34 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
-    if (blockExecutionInfos.size() > 0) {
+    DataBlockIterator iterator = prefetchedDataBlockIterators.poll();
+    if (iterator != null) {
+      fileReader = iterator.getFileReader();
+    } else if (blockExecutionInfos.size() > 0) {
       BlockExecutionInfo executionInfo = blockExecutionInfos.get(0);
       blockExecutionInfos.remove(executionInfo);
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2099
-      return new DataBlockIterator(executionInfo, fileReader, batchSize, queryStatisticsModel,
+      iterator = new DataBlockIterator(executionInfo, fileReader, batchSize, queryStatisticsModel,
           execService);
     }
-    return null;
+    prefetchNextBlocks();
+    return iterator;
+  }
+
+  /**
+   * Start reading the first blocklet of the next blocks while the current block is processed,
+   * so that the query does not wait for the read latency of the storage at every block. Each
+   * prefetched block holds at most one blocklet, so memory is bounded by the prefetch depth
+   */
+  private void prefetchNextBlocks() {
+    while (prefetchedDataBlockIterators.size() < prefetchBlockDepth
+        && blockExecutionInfos.size() > 0 && blockExecutionInfos.get(0).isPrefetchBlocklet()) {
+      BlockExecutionInfo executionInfo = blockExecutionInfos.remove(0);
+      DataBlockIterator iterator = new DataBlockIterator(executionInfo, newFileReader(),
+          batchSize, queryStatisticsModel, execService);
+      iterator.readFirstBlockletAsync();
+      prefetchedDataBlockIterators.add(iterator);
+    }
   }
 
   private void initQueryStatiticsModel() {
@@ -277,6 +321,11 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
         .put(QueryStatisticsConstants.PAGE_SCANNED, scannedPages);
     queryStatisticsModel.getRecorder().recordStatistics(scannedPages);
 
+    QueryStatistic columnChunkCacheHit = new QueryStatistic();
+    queryStatisticsModel.getStatisticsTypeAndObjMap()
+        .put(QueryStatisticsConstants.COLUMN_CHUNK_CACHE_HIT, columnChunkCacheHit);
+    queryStatisticsModel.getRecorder().recordStatistics(columnChunkCacheHit);
+
     QueryStatistic scanTime = new QueryStatistic();
     queryStatisticsModel.getStatisticsTypeAndObjMap()
         .put(QueryStatisticsConstants.SCAN_BLOCKlET_TIME, scanTime);
@@ -318,6 +367,15 @@ public abstract class AbstractDetailQueryResultIterator<E> extends CarbonIterato
     if (null != dataBlockIterator) {
       dataBlockIterator.close();
     }
+    for (DataBlockIterator iterator : prefetchedDataBlockIterators) {
+      iterator.close();
+      try {
+        iterator.getFileReader().finish();
+      } catch (IOException e) {
+        LOGGER.error(e.getMessage(), e);
+      }
+    }
+    prefetchedDataBlockIterators.clear();
     try {
       fileReader.finish();
     } catch (IOException e) {
@@ -21,7 +21,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 import org.apache.carbondata.common.CarbonIterator;
@@ -30,6 +29,7 @@ import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.block.SegmentProperties;
 import org.apache.carbondata.core.scan.result.RowBatch;
 import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonQueryThreadPool;
 
 import org.apache.log4j.Logger;
 
@@ -76,7 +76,8 @@ public class RawResultIterator extends CarbonIterator<Object[]> {
     this.detailRawQueryResultIterator = detailRawQueryResultIterator;
     this.sourceSegProperties = sourceSegProperties;
     this.destinationSegProperties = destinationSegProperties;
-    this.executorService = Executors.newFixedThreadPool(1);
+    this.executorService =
+        CarbonQueryThreadPool.getInstance().newPrefetchExecutorService("raw result iterator");
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3396
     batchSize = CarbonProperties.getQueryBatchSize();
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3371
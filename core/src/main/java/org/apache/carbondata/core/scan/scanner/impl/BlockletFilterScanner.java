@@ -345,6 +345,7 @@ public class BlockletFilterScanner extends BlockletFullScanner {
     scannedResult.setPageFilteredRowCount(pageFilteredRowCount);
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2325
     scannedResult.fillDataChunks();
+    addColumnChunkCacheHitStatistics(dimensionRawColumnChunks, measureRawColumnChunks);
     // adding statistics for carbon scan time
     QueryStatistic scanTime = queryStatisticsModel.getStatisticsTypeAndObjMap()
         .get(QueryStatisticsConstants.SCAN_BLOCKlET_TIME);
@@ -155,6 +155,7 @@ public class BlockletFullScanner implements BlockletScanner {
         .readMeasureChunks(rawBlockletColumnChunks.getFileReader(),
             blockExecutionInfo.getAllSelectedMeasureIndexRange());
     rawBlockletColumnChunks.setMeasureRawColumnChunks(measureRawColumnChunks);
+    addColumnChunkCacheHitStatistics(dimensionRawColumnChunks, measureRawColumnChunks);
     // adding statistics for carbon read time
     QueryStatistic readTime = queryStatisticsModel.getStatisticsTypeAndObjMap()
         .get(QueryStatisticsConstants.READ_BLOCKlET_TIME);
@@ -162,6 +163,30 @@ public class BlockletFullScanner implements BlockletScanner {
         readTime.getCount() + (System.currentTimeMillis() - startTime));
   }
 
+  /**
+   * add the number of column chunks read from column chunk cache to statistics
+   */
+  void addColumnChunkCacheHitStatistics(DimensionRawColumnChunk[] dimensionRawColumnChunks,
+      MeasureRawColumnChunk[] measureRawColumnChunks) {
+    int cacheHitCount = 0;
+    for (DimensionRawColumnChunk dimensionRawColumnChunk : dimensionRawColumnChunks) {
+      if (null != dimensionRawColumnChunk && dimensionRawColumnChunk.isReadFromCache()) {
+        cacheHitCount++;
+      }
+    }
+    for (MeasureRawColumnChunk measureRawColumnChunk : measureRawColumnChunks) {
+      if (null != measureRawColumnChunk && measureRawColumnChunk.isReadFromCache()) {
+        cacheHitCount++;
+      }
+    }
+    if (cacheHitCount > 0) {
+      QueryStatistic cacheHit = queryStatisticsModel.getStatisticsTypeAndObjMap()
+          .get(QueryStatisticsConstants.COLUMN_CHUNK_CACHE_HIT);
+      cacheHit.addCountStatistic(QueryStatisticsConstants.COLUMN_CHUNK_CACHE_HIT,
+          cacheHit.getCount() + cacheHitCount);
+    }
+  }
+
   BlockletScannedResult createEmptyResult() {
     if (emptyResult == null) {
       emptyResult = new NonFilterQueryScannedResult(blockExecutionInfo, queryStatisticsModel);
@@ -61,6 +61,8 @@ public interface QueryStatisticsConstants {
 
   String PAGE_SCANNED = "The number of page scanned";
 
+  String COLUMN_CHUNK_CACHE_HIT = "The number of column chunk read from cache";
+
   /**
    * measure filling time includes time taken for reading all measures data from a given offset
    * and adding each column data to an array. Includes total time for 1 query result iterator.
@@ -48,6 +48,7 @@ public class TaskStatistics implements Serializable {
       new Column("total_pages", QueryStatisticsConstants.TOTAL_PAGE_SCANNED),
       new Column("scanned_pages", QueryStatisticsConstants.PAGE_SCANNED),
       new Column("valid_pages", QueryStatisticsConstants.VALID_PAGE_SCANNED),
+      new Column("chunk_cache_hits", QueryStatisticsConstants.COLUMN_CHUNK_CACHE_HIT),
       new Column("result_size", QueryStatisticsConstants.RESULT_SIZE),
       new Column("key_column_filling_time", QueryStatisticsConstants.KEY_COLUMN_FILLING_TIME),
       new Column("measure_filling_time", QueryStatisticsConstants.MEASURE_FILLING_TIME),
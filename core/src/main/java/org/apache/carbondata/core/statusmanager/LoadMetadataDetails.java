@@ -491,6 +491,31 @@ public class LoadMetadataDetails implements Serializable {
         || getFileFormat().equals(FileFormat.ROW_V1);
   }
 
+  /**
+   * Returns a copy of this details, fields are immutable so copying the references is enough
+   */
+  LoadMetadataDetails copy() {
+    LoadMetadataDetails copy = new LoadMetadataDetails();
+    copy.timestamp = timestamp;
+    copy.loadStatus = loadStatus;
+    copy.loadName = loadName;
+    copy.dataSize = dataSize;
+    copy.indexSize = indexSize;
+    copy.updateDeltaEndTimestamp = updateDeltaEndTimestamp;
+    copy.updateDeltaStartTimestamp = updateDeltaStartTimestamp;
+    copy.updateStatusFileName = updateStatusFileName;
+    copy.modificationOrdeletionTimesStamp = modificationOrdeletionTimesStamp;
+    copy.loadStartTime = loadStartTime;
+    copy.mergedLoadName = mergedLoadName;
+    copy.visibility = visibility;
+    copy.majorCompacted = majorCompacted;
+    copy.fileFormat = fileFormat;
+    copy.path = path;
+    copy.segmentFile = segmentFile;
+    copy.extraInfo = extraInfo;
+    return copy;
+  }
+
   /**
    * Before writing table status file, call this to make the metadata smaller.
    * It checks if fields are default value, then make it null so GSON does not write it
@@ -356,6 +356,9 @@ public class SegmentStatusManager {
     // throwing IOException or JsonSyntaxException
     while (retry > 0) {
       try {
+        if (CarbonProperties.isEnableTableStatusCache()) {
+          return readTableStatusFileWithCache(tableStatusPath);
+        }
         String content = readFileAsString(tableStatusPath);
         if (content == null) {
           return new LoadMetadataDetails[0];
@@ -380,6 +383,35 @@ public class SegmentStatusManager {
     return null;
   }
 
+  /**
+   * Read table status file if it is modified after it is cached, otherwise return the cached
+   * details
+   */
+  private static LoadMetadataDetails[] readTableStatusFileWithCache(String tableStatusPath)
+      throws IOException {
+    CarbonFile file = FileFactory.getCarbonFile(tableStatusPath);
+    if (!file.exists()) {
+      return new LoadMetadataDetails[0];
+    }
+    // version is taken before reading, so a concurrent overwrite is read again next time
+    long lastModifiedTime = file.getLastModifiedTime();
+    long size = file.getSize();
+    TableStatusCache cache = TableStatusCache.getInstance();
+    LoadMetadataDetails[] details = cache.get(tableStatusPath, lastModifiedTime, size);
+    if (null != details) {
+      return details;
+    }
+    String content = readFileAsString(tableStatusPath);
+    if (content == null) {
+      return new LoadMetadataDetails[0];
+    }
+    details = new Gson().fromJson(content, LoadMetadataDetails[].class);
+    if (null != details) {
+      cache.put(tableStatusPath, lastModifiedTime, size, details);
+    }
+    return details;
+  }
+
   /**
    * This method will get the max segment id
    *
@@ -656,6 +688,7 @@ public class SegmentStatusManager {
     // manually recovered.
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3744
     writeStringIntoFile(FileFactory.getUpdatedFilePath(tableStatusPath), content);
+    TableStatusCache.getInstance().invalidate(tableStatusPath);
   }
 
   // a dummy func for mocking in testcase, which simulates IOException
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.statusmanager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of the parsed table status files. Version of a cached entry is the last modified time
+ * and size of the file when it is read, entry is used only if the file still has the same
+ * version. Callers get a copy of the cached details, as the details are modified before
+ * writing the table status.
+ */
+final class TableStatusCache {
+
+  /**
+   * maximum number of table status files cached, least recently used one is removed
+   */
+  private static final int MAX_ENTRIES = 128;
+
+  private static final TableStatusCache INSTANCE = new TableStatusCache();
+
+  private final Map<String, Entry> entries =
+      new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+          return size() > MAX_ENTRIES;
+        }
+      };
+
+  private TableStatusCache() {
+  }
+
+  static TableStatusCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * @return copy of the cached details if the file is not modified, otherwise null
+   */
+  LoadMetadataDetails[] get(String tableStatusPath, long lastModifiedTime, long size) {
+    Entry entry;
+    synchronized (entries) {
+      entry = entries.get(tableStatusPath);
+    }
+    if (null == entry || entry.lastModifiedTime != lastModifiedTime || entry.size != size) {
+      return null;
+    }
+    return copyOf(entry.details);
+  }
+
+  /**
+   * caches the details read from the file of the given version
+   */
+  void put(String tableStatusPath, long lastModifiedTime, long size,
+      LoadMetadataDetails[] details) {
+    Entry entry = new Entry(lastModifiedTime, size, copyOf(details));
+    synchronized (entries) {
+      entries.put(tableStatusPath, entry);
+    }
+  }
+
+  void invalidate(String tableStatusPath) {
+    synchronized (entries) {
+      entries.remove(tableStatusPath);
+    }
+  }
+
+  private static LoadMetadataDetails[] copyOf(LoadMetadataDetails[] details) {
+    LoadMetadataDetails[] copy = new LoadMetadataDetails[details.length];
+    for (int i = 0; i < details.length; i++) {
+      copy[i] = details[i].copy();
+    }
+    return copy;
+  }
+
+  private static final class Entry {
+
+    private final long lastModifiedTime;
+
+    private final long size;
+
+    private final LoadMetadataDetails[] details;
+
+    private Entry(long lastModifiedTime, long size, LoadMetadataDetails[] details) {
+      this.lastModifiedTime = lastModifiedTime;
+      this.size = size;
+      this.details = details;
+    }
+  }
+}
@@ -1291,6 +1291,33 @@ public final class CarbonProperties {
         CarbonCommonConstants.ENABLE_TABLE_STATUS_BACKUP_DEFAULT).equalsIgnoreCase("true");
   }
 
+  public static boolean isEnableBitPackedEncoding() {
+    return getInstance().getProperty(CarbonCommonConstants.ENABLE_BIT_PACKED_ENCODING,
+        CarbonCommonConstants.ENABLE_BIT_PACKED_ENCODING_DEFAULT).equalsIgnoreCase("true");
+  }
+
+  public static boolean isEnableTimeSeriesEncoding() {
+    return getInstance().getProperty(CarbonCommonConstants.ENABLE_TIMESERIES_ENCODING,
+        CarbonCommonConstants.ENABLE_TIMESERIES_ENCODING_DEFAULT).equalsIgnoreCase("true");
+  }
+
+  public static boolean isEnableBlockletCopyInCompaction() {
+    return getInstance()
+        .getProperty(CarbonCommonConstants.CARBON_ENABLE_BLOCKLET_COPY_IN_COMPACTION,
+            CarbonCommonConstants.CARBON_ENABLE_BLOCKLET_COPY_IN_COMPACTION_DEFAULT)
+        .equalsIgnoreCase("true");
+  }
+
+  public static boolean isEnableFilterCompilation() {
+    return getInstance().getProperty(CarbonCommonConstants.ENABLE_FILTER_COMPILATION,
+        CarbonCommonConstants.ENABLE_FILTER_COMPILATION_DEFAULT).equalsIgnoreCase("true");
+  }
+
+  public static boolean isEnableTableStatusCache() {
+    return getInstance().getProperty(CarbonCommonConstants.ENABLE_TABLE_STATUS_CACHE,
+        CarbonCommonConstants.ENABLE_TABLE_STATUS_CACHE_DEFAULT).equalsIgnoreCase("true");
+  }
+
   /**
    * Validate the restrictions
    *
@@ -1498,6 +1525,36 @@ public final class CarbonProperties {
     }
   }
 
+  /**
+   * Whether the no sort load sends the rows between the load steps in columnar batches
+   */
+  public boolean isLoadColumnarBatchEnabled() {
+    String columnarBatchEnabled = getProperty(
+        CarbonCommonConstants.CARBON_LOAD_COLUMNAR_BATCH_ENABLE,
+        CarbonCommonConstants.CARBON_LOAD_COLUMNAR_BATCH_ENABLE_DEFAULT);
+    return columnarBatchEnabled.equalsIgnoreCase("true");
+  }
+
+  /**
+   * Whether to sort the in-memory pages of unsafe sort by the prefix of the sort columns
+   */
+  public boolean isUnsafeSortPrefixEnabled() {
+    String prefixEnabled = getProperty(
+        CarbonCommonConstants.CARBON_UNSAFE_SORT_PREFIX_ENABLE,
+        CarbonCommonConstants.CARBON_UNSAFE_SORT_PREFIX_ENABLE_DEFAULT);
+    return prefixEnabled.equalsIgnoreCase("true");
+  }
+
+  /**
+   * Whether to write the delete delta files in binary format
+   */
+  public boolean isDeleteDeltaBinaryFormatEnabled() {
+    String binaryFormatEnabled = getProperty(
+        CarbonCommonConstants.CARBON_DELETE_DELTA_BINARY_FORMAT_ENABLE,
+        CarbonCommonConstants.CARBON_DELETE_DELTA_BINARY_FORMAT_ENABLE_DEFAULT);
+    return binaryFormatEnabled.equalsIgnoreCase("true");
+  }
+
   /**
    * whether optimization for skewed data is enabled
    * @return true, if enabled; false for not enabled.
@@ -1726,6 +1783,29 @@ public final class CarbonProperties {
     return spillPercentage;
   }
 
+  /**
+   * Number of threads to be used for final merge of unsafe sort, returns default if the
+   * configured value is not a valid positive number
+   */
+  public int getSortFinalMergeThreads() {
+    int numberOfThreads;
+    try {
+      numberOfThreads = Integer.parseInt(
+          getProperty(CarbonCommonConstants.CARBON_LOAD_SORT_FINAL_MERGE_THREADS,
+              CarbonCommonConstants.CARBON_LOAD_SORT_FINAL_MERGE_THREADS_DEFAULT));
+    } catch (NumberFormatException e) {
+      numberOfThreads = 0;
+    }
+    if (numberOfThreads < 1) {
+      LOGGER.warn("The value configured for "
+          + CarbonCommonConstants.CARBON_LOAD_SORT_FINAL_MERGE_THREADS + " is invalid, using "
+          + CarbonCommonConstants.CARBON_LOAD_SORT_FINAL_MERGE_THREADS_DEFAULT);
+      numberOfThreads =
+          Integer.parseInt(CarbonCommonConstants.CARBON_LOAD_SORT_FINAL_MERGE_THREADS_DEFAULT);
+    }
+    return numberOfThreads;
+  }
+
   public boolean isPushRowFiltersForVector() {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3011
     String pushFilters = getProperty(CarbonCommonConstants.CARBON_PUSH_ROW_FILTERS_FOR_VECTOR,
@@ -2048,6 +2128,84 @@ public final class CarbonProperties {
     }
   }
 
+  /**
+   * Validate and get the number of blocks to prefetch in query
+   *
+   * @return number of blocks, 0 if block prefetch is disabled
+   */
+  public static int getQueryPrefetchBlockDepth() {
+    String depthString = CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.CARBON_QUERY_PREFETCH_BLOCK_DEPTH,
+            CarbonCommonConstants.CARBON_QUERY_PREFETCH_BLOCK_DEPTH_DEFAULT);
+    int depth;
+    try {
+      depth = Integer.parseInt(depthString);
+    } catch (NumberFormatException e) {
+      depth = -1;
+    }
+    if (depth < 0 || depth > CarbonCommonConstants.CARBON_QUERY_PREFETCH_BLOCK_DEPTH_MAX) {
+      LOGGER.warn(depthString + " is not a valid input for "
+          + CarbonCommonConstants.CARBON_QUERY_PREFETCH_BLOCK_DEPTH + ", taking "
+          + CarbonCommonConstants.CARBON_QUERY_PREFETCH_BLOCK_DEPTH_DEFAULT
+          + " as default value");
+      depth = Integer.parseInt(CarbonCommonConstants.CARBON_QUERY_PREFETCH_BLOCK_DEPTH_DEFAULT);
+    }
+    return depth;
+  }
+
+  /**
+   * Validate and get the number of threads of the query thread pool
+   */
+  public static int getQueryThreadPoolSize() {
+    int defaultPoolSize = Runtime.getRuntime().availableProcessors() * 4;
+    String poolSizeString = CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.CARBON_QUERY_THREAD_POOL_SIZE);
+    if (poolSizeString == null) {
+      return defaultPoolSize;
+    }
+    try {
+      int poolSize = Integer.parseInt(poolSizeString);
+      if (poolSize > 0) {
+        return poolSize;
+      }
+    } catch (NumberFormatException e) {
+      // use the default value
+    }
+    LOGGER.warn(poolSizeString + " is not a valid input for "
+        + CarbonCommonConstants.CARBON_QUERY_THREAD_POOL_SIZE + ", taking " + defaultPoolSize
+        + " as default value");
+    return defaultPoolSize;
+  }
+
+  /**
+   * Validate and get the maximum number of tasks of a query running in the query thread pool
+   */
+  public static int getQueryThreadPoolMaxTasksPerQuery() {
+    String maxTasksString = CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.CARBON_QUERY_THREAD_POOL_MAX_TASKS_PER_QUERY,
+            CarbonCommonConstants.CARBON_QUERY_THREAD_POOL_MAX_TASKS_PER_QUERY_DEFAULT);
+    try {
+      int maxTasks = Integer.parseInt(maxTasksString);
+      if (maxTasks > 0) {
+        return maxTasks;
+      }
+    } catch (NumberFormatException e) {
+      // use the default value
+    }
+    LOGGER.warn(maxTasksString + " is not a valid input for "
+        + CarbonCommonConstants.CARBON_QUERY_THREAD_POOL_MAX_TASKS_PER_QUERY + ", taking "
+        + CarbonCommonConstants.CARBON_QUERY_THREAD_POOL_MAX_TASKS_PER_QUERY_DEFAULT
+        + " as default value");
+    return Integer
+        .parseInt(CarbonCommonConstants.CARBON_QUERY_THREAD_POOL_MAX_TASKS_PER_QUERY_DEFAULT);
+  }
+
+  public static boolean isQueryThreadPoolVirtualThreads() {
+    return Boolean.parseBoolean(CarbonProperties.getInstance()
+        .getProperty(CarbonCommonConstants.CARBON_QUERY_THREAD_POOL_VIRTUAL_THREADS,
+            CarbonCommonConstants.CARBON_QUERY_THREAD_POOL_VIRTUAL_THREADS_DEFAULT));
+  }
+
   /**
    * Validate and get unique value check enabled
    *
@@ -2143,6 +2301,43 @@ public final class CarbonProperties {
         CarbonCommonConstants.CARBON_QUERY_STAGE_INPUT_DEFAULT));
   }
 
+  /**
+   * Validate and get the maximum gap in bytes allowed between two column groups
+   * to merge them into one read. When not configured, the gap is applied only to
+   * object store files, where saving a read request outweighs reading extra bytes
+   *
+   * @param filePath path of the carbondata file being read
+   * @return merge gap in bytes
+   */
+  public static long getColumnReadMergeGapInBytes(String filePath) {
+    String defaultGap = FileFactory.getFileType(filePath) == FileFactory.FileType.S3 ?
+        CarbonV3DataFormatConstants.COLUMN_READ_MERGE_GAP_IN_BYTES_DEFAULTVALUE :
+        CarbonV3DataFormatConstants.COLUMN_READ_MERGE_GAP_IN_BYTES_LOCAL_DEFAULTVALUE;
+    String gapString = getInstance()
+        .getProperty(CarbonV3DataFormatConstants.COLUMN_READ_MERGE_GAP_IN_BYTES, defaultGap);
+    try {
+      long gap = Long.parseLong(gapString);
+      if (gap >= 0) {
+        return gap;
+      }
+    } catch (NumberFormatException e) {
+      // use default value below
+    }
+    LOGGER.warn("The value \"" + gapString + "\" configured for key "
+        + CarbonV3DataFormatConstants.COLUMN_READ_MERGE_GAP_IN_BYTES
+        + " is invalid. Using the default value \"" + defaultGap + "\"");
+    return Long.parseLong(defaultGap);
+  }
+
+  /**
+   * Whether local carbondata files should be memory mapped while reading
+   */
+  public static boolean isLocalFileMmapEnabled() {
+    return Boolean.parseBoolean(getInstance().getProperty(
+        CarbonCommonConstants.CARBON_QUERY_LOCAL_FILE_MMAP_ENABLE,
+        CarbonCommonConstants.CARBON_QUERY_LOCAL_FILE_MMAP_ENABLE_DEFAULT));
+  }
+
   public static boolean isAuditEnabled() {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3726
     return Boolean.parseBoolean(getInstance().getProperty(
@@ -0,0 +1,355 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.carbondata.common.logging.LogServiceFactory;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Thread pool shared by all the queries of the process to read and scan blocklets and to read
+ * the files needed by the query, instead of a thread pool created for every query. The number
+ * of threads is bounded, and each query gets its own executor service from
+ * {@link #newExecutorService(String)}, which runs a bounded number of tasks of the query in the
+ * pool at a time and keeps the other tasks in a queue of the query, so that the tasks of the
+ * queries are run in turn. Shutting down the executor service of a query cancels only the tasks
+ * of that query.
+ *
+ * Tasks run in the pool must not wait for tasks submitted after them, as such tasks could take
+ * all the threads while the tasks they wait for are queued. Tasks which wait for the result of
+ * other tasks, like prefetching the rows of a query, should use
+ * {@link #newPrefetchExecutorService(String)}, which runs them in a separate pool of threads
+ * reused by all the queries.
+ */
+public final class CarbonQueryThreadPool {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(CarbonQueryThreadPool.class.getName());
+
+  private static volatile CarbonQueryThreadPool instance;
+
+  /**
+   * pool to run the tasks of the queries, it is never shutdown
+   */
+  private final ExecutorService pool;
+
+  /**
+   * pool to run the tasks waiting for the result of other tasks, it is never shutdown
+   */
+  private final ExecutorService prefetchPool;
+
+  private final int maxTasksPerQuery;
+
+  /**
+   * number of tasks waiting in the queues of the queries, not yet submitted to the pool
+   */
+  private final AtomicInteger queuedTaskCount = new AtomicInteger();
+
+  /**
+   * number of tasks submitted to the pool and not yet finished
+   */
+  private final AtomicInteger submittedTaskCount = new AtomicInteger();
+
+  private final AtomicLong completedTaskCount = new AtomicLong();
+
+  private CarbonQueryThreadPool() {
+    int poolSize = CarbonProperties.getQueryThreadPoolSize();
+    maxTasksPerQuery = CarbonProperties.getQueryThreadPoolMaxTasksPerQuery();
+    ExecutorService virtualThreadPool = null;
+    if (CarbonProperties.isQueryThreadPoolVirtualThreads()) {
+      virtualThreadPool = newVirtualThreadPerTaskExecutor("CarbonQueryThreadPool_");
+    }
+    if (virtualThreadPool != null) {
+      // virtual threads are cheap to create and to block, the number of tasks running is bounded
+      // only by the number of tasks each query can run at a time
+      pool = virtualThreadPool;
+      prefetchPool = newVirtualThreadPerTaskExecutor("CarbonQueryPrefetchPool_");
+      LOGGER.info("Query thread pool uses virtual threads, max tasks per query: "
+          + maxTasksPerQuery);
+    } else {
+      ThreadPoolExecutor threadPool = new ThreadPoolExecutor(poolSize, poolSize, 60,
+          TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+          newDaemonThreadFactory("CarbonQueryThreadPool"));
+      threadPool.allowCoreThreadTimeOut(true);
+      pool = threadPool;
+      prefetchPool = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+          new SynchronousQueue<Runnable>(), newDaemonThreadFactory("CarbonQueryPrefetchPool"));
+      LOGGER.info("Query thread pool size: " + poolSize + ", max tasks per query: "
+          + maxTasksPerQuery);
+    }
+  }
+
+  public static CarbonQueryThreadPool getInstance() {
+    if (instance == null) {
+      synchronized (CarbonQueryThreadPool.class) {
+        if (instance == null) {
+          instance = new CarbonQueryThreadPool();
+        }
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Create the executor service for a query, which runs the tasks of the query in the shared
+   * thread pool. It should be shutdown when the query is finished
+   *
+   * @param name name of the query, used for logging
+   */
+  public ExecutorService newExecutorService(String name) {
+    return new QueryExecutorService(name, pool, maxTasksPerQuery);
+  }
+
+  /**
+   * Create the executor service for a query running at most the given number of tasks at a time
+   */
+  public ExecutorService newExecutorService(String name, int maxTasks) {
+    return new QueryExecutorService(name, pool,
+        Math.max(1, Math.min(maxTasks, maxTasksPerQuery)));
+  }
+
+  /**
+   * Create the executor service for the tasks of a query which wait for the result of other
+   * tasks in the query thread pool
+   */
+  public ExecutorService newPrefetchExecutorService(String name) {
+    return new QueryExecutorService(name, prefetchPool, 1);
+  }
+
+  /**
+   * @return number of tasks waiting to run, in the queues of the queries and in the pool
+   */
+  public int getQueuedTaskCount() {
+    int queuedInPool = 0;
+    if (pool instanceof ThreadPoolExecutor) {
+      queuedInPool = ((ThreadPoolExecutor) pool).getQueue().size();
+    }
+    return queuedTaskCount.get() + queuedInPool;
+  }
+
+  /**
+   * @return number of tasks submitted to the pool and not yet finished
+   */
+  public int getSubmittedTaskCount() {
+    return submittedTaskCount.get();
+  }
+
+  public long getCompletedTaskCount() {
+    return completedTaskCount.get();
+  }
+
+  private static ThreadFactory newDaemonThreadFactory(String name) {
+    final ThreadFactory threadFactory = new CarbonThreadFactory(name, true);
+    return new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable runnable) {
+        Thread thread = threadFactory.newThread(runnable);
+        thread.setDaemon(true);
+        return thread;
+      }
+    };
+  }
+
+  /**
+   * Create an executor service running each task in a new virtual thread, using reflection as
+   * virtual threads are available only from JDK 21
+   *
+   * @return null if the JVM does not support virtual threads
+   */
+  private static ExecutorService newVirtualThreadPerTaskExecutor(String namePrefix) {
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      builder = builderClass.getMethod("name", String.class, long.class)
+          .invoke(builder, namePrefix, 0L);
+      ThreadFactory threadFactory =
+          (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+      return (ExecutorService) Executors.class
+          .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+          .invoke(null, threadFactory);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      LOGGER.warn("Virtual threads are not supported by the JVM, using platform threads for "
+          + "the query thread pool: " + e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Executor service of a query, it submits at most maxRunningTasks tasks to the pool at a
+   * time and keeps the other tasks in its queue in the order they are submitted
+   */
+  private final class QueryExecutorService extends AbstractExecutorService {
+
+    private final String name;
+
+    private final Executor pool;
+
+    private final int maxRunningTasks;
+
+    private final Queue<RunnableFuture<?>> queuedTasks = new ArrayDeque<>();
+
+    private final Set<RunnableFuture<?>> runningTasks = new HashSet<>();
+
+    private boolean isShutdown;
+
+    private QueryExecutorService(String name, Executor pool, int maxRunningTasks) {
+      this.name = name;
+      this.pool = pool;
+      this.maxRunningTasks = maxRunningTasks;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      RunnableFuture<?> task;
+      if (command instanceof RunnableFuture) {
+        task = (RunnableFuture<?>) command;
+      } else {
+        task = new FutureTask<>(command, null);
+      }
+      synchronized (this) {
+        if (isShutdown) {
+          throw new RejectedExecutionException("Executor service of " + name + " is shutdown");
+        }
+        if (runningTasks.size() < maxRunningTasks) {
+          submitToPool(task);
+        } else {
+          queuedTasks.add(task);
+          queuedTaskCount.incrementAndGet();
+        }
+      }
+    }
+
+    private void submitToPool(final RunnableFuture<?> task) {
+      runningTasks.add(task);
+      submittedTaskCount.incrementAndGet();
+      // the threads of the pool are shared by the queries, so the thread local session and task
+      // information of the query are set while running its task
+      final CarbonSessionInfo sessionInfo = ThreadLocalSessionInfo.threadLocal.get();
+      final CarbonTaskInfo taskInfo = ThreadLocalTaskInfo.threadLocal.get();
+      pool.execute(new Runnable() {
+        @Override
+        public void run() {
+          CarbonSessionInfo previousSessionInfo = ThreadLocalSessionInfo.threadLocal.get();
+          CarbonTaskInfo previousTaskInfo = ThreadLocalTaskInfo.threadLocal.get();
+          ThreadLocalSessionInfo.threadLocal.set(sessionInfo);
+          ThreadLocalTaskInfo.threadLocal.set(taskInfo);
+          try {
+            task.run();
+          } finally {
+            ThreadLocalSessionInfo.threadLocal.set(previousSessionInfo);
+            ThreadLocalTaskInfo.threadLocal.set(previousTaskInfo);
+            submittedTaskCount.decrementAndGet();
+            completedTaskCount.incrementAndGet();
+            onTaskFinished(task);
+          }
+        }
+      });
+    }
+
+    private synchronized void onTaskFinished(RunnableFuture<?> task) {
+      runningTasks.remove(task);
+      RunnableFuture<?> nextTask = queuedTasks.poll();
+      if (nextTask != null) {
+        queuedTaskCount.decrementAndGet();
+        submitToPool(nextTask);
+      }
+      if (isTerminated()) {
+        notifyAll();
+      }
+    }
+
+    @Override
+    public synchronized void shutdown() {
+      isShutdown = true;
+    }
+
+    /**
+     * Cancel the tasks of this query, the tasks running are interrupted
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+      List<Runnable> notStartedTasks = new ArrayList<>();
+      List<RunnableFuture<?>> tasksToCancel;
+      synchronized (this) {
+        isShutdown = true;
+        notStartedTasks.addAll(queuedTasks);
+        queuedTaskCount.addAndGet(-queuedTasks.size());
+        queuedTasks.clear();
+        tasksToCancel = new ArrayList<>(runningTasks);
+      }
+      for (RunnableFuture<?> task : tasksToCancel) {
+        task.cancel(true);
+      }
+      for (Runnable task : notStartedTasks) {
+        ((RunnableFuture<?>) task).cancel(false);
+      }
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.debug("Executor service of " + name + " is shutdown, query thread pool tasks "
+            + "queued: " + getQueuedTaskCount() + ", submitted: " + getSubmittedTaskCount()
+            + ", completed: " + getCompletedTaskCount());
+      }
+      return notStartedTasks;
+    }
+
+    @Override
+    public synchronized boolean isShutdown() {
+      return isShutdown;
+    }
+
+    @Override
+    public synchronized boolean isTerminated() {
+      return isShutdown && runningTasks.isEmpty() && queuedTasks.isEmpty();
+    }
+
+    @Override
+    public synchronized boolean awaitTermination(long timeout, TimeUnit unit)
+        throws InterruptedException {
+      long remainingNanos = unit.toNanos(timeout);
+      long deadline = System.nanoTime() + remainingNanos;
+      while (!isTerminated()) {
+        if (remainingNanos <= 0) {
+          return false;
+        }
+        TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+        remainingNanos = deadline - System.nanoTime();
+      }
+      return true;
+    }
+  }
+}
@@ -1621,6 +1621,33 @@ public final class CarbonUtil {
     return outputArray;
   }
 
+  /**
+   * Below method will be used to merge the byte ranges which can be read in one IO.
+   * Two consecutive ranges are merged if the gap between end of the first and start of the
+   * second is less than or equal to maxGap. Ranges must be sorted on start offset.
+   * For example: ranges [0, 10), [12, 20), [100, 110) with maxGap 5 will give
+   * [[0, 1], [2, 2]], i.e. first and second range are read together.
+   *
+   * @param startOffsets start offset of each range, inclusive
+   * @param endOffsets   end offset of each range, exclusive
+   * @param maxGap       maximum gap in bytes allowed between two ranges to merge them
+   * @return merged ranges, each element is start and end index of ranges merged together
+   */
+  public static int[][] mergeReadRanges(long[] startOffsets, long[] endOffsets, long maxGap) {
+    List<int[]> mergedRanges = new ArrayList<>();
+    int rangeStart = 0;
+    for (int i = 1; i < startOffsets.length; i++) {
+      if (startOffsets[i] - endOffsets[i - 1] > maxGap) {
+        mergedRanges.add(new int[] { rangeStart, i - 1 });
+        rangeStart = i;
+      }
+    }
+    if (startOffsets.length > 0) {
+      mergedRanges.add(new int[] { rangeStart, startOffsets.length - 1 });
+    }
+    return mergedRanges.toArray(new int[mergedRanges.size()][]);
+  }
+
   public static void freeMemory(DimensionRawColumnChunk[] dimensionRawColumnChunks,
       MeasureRawColumnChunk[] measureRawColumnChunks) {
     if (null != measureRawColumnChunks) {
@@ -3326,6 +3353,8 @@ public final class CarbonUtil {
         case ADAPTIVE_DELTA_FLOATING:
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3653
         case INT_LENGTH_COMPLEX_CHILD_BYTE_ARRAY:
+        case DELTA_OF_DELTA_INTEGRAL:
+        case XOR_FLOATING:
           return true;
       }
     }
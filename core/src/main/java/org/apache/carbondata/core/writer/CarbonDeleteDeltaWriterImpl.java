@@ -17,6 +17,7 @@
 
 package org.apache.carbondata.core.writer;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
 import java.io.DataOutputStream;
 import java.io.IOException;
@@ -25,7 +26,9 @@ import java.io.OutputStreamWriter;
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.mutate.DeleteDeltaBinaryFormat;
 import org.apache.carbondata.core.mutate.DeleteDeltaBlockDetails;
+import org.apache.carbondata.core.util.CarbonProperties;
 
 import com.google.gson.Gson;
 import org.apache.log4j.Logger;
@@ -54,12 +57,17 @@ public class CarbonDeleteDeltaWriterImpl implements CarbonDeleteDeltaWriter {
   }
 
   /**
-   * This method will write the deleted records data in the json format.
+   * This method will write the deleted records data in the json format, or in the binary format
+   * if it is enabled.
    * @param deleteDeltaBlockDetails
    * @throws IOException
    */
   @Override
   public void write(DeleteDeltaBlockDetails deleteDeltaBlockDetails) throws IOException {
+    if (CarbonProperties.getInstance().isDeleteDeltaBinaryFormatEnabled()) {
+      writeBinary(deleteDeltaBlockDetails);
+      return;
+    }
     BufferedWriter brWriter = null;
     try {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2863
@@ -92,4 +100,24 @@ public class CarbonDeleteDeltaWriterImpl implements CarbonDeleteDeltaWriter {
     }
 
   }
+
+  /**
+   * This method will write the deleted records data in the binary format.
+   * @see DeleteDeltaBinaryFormat
+   */
+  private void writeBinary(DeleteDeltaBlockDetails deleteDeltaBlockDetails) throws IOException {
+    try {
+      FileFactory.createNewFile(filePath);
+      dataOutStream = new DataOutputStream(
+          new BufferedOutputStream(FileFactory.getDataOutputStream(filePath)));
+      DeleteDeltaBinaryFormat.write(deleteDeltaBlockDetails, dataOutStream);
+    } catch (IOException ioe) {
+      LOGGER.error("Error message: " + ioe.getLocalizedMessage());
+      throw ioe;
+    } finally {
+      if (null != dataOutStream) {
+        dataOutStream.close();
+      }
+    }
+  }
 }
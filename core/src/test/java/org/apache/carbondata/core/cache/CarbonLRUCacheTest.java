@@ -23,7 +23,9 @@ import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
@@ -69,6 +71,102 @@ public class CarbonLRUCacheTest {
     assertFalse(carbonLRUCacheForConfig.put("Column2", cacheable, 107374182400L, 5));//100GB
   }
 
+  @Test public void testLeastRecentlyUsedEntryIsEvicted() {
+    CarbonLRUCache lruCache = new CarbonLRUCache("prop3", "1");
+    // cache can hold 64 entries, keys are spread over all the segments
+    final long entrySize = 1024 * 1024 / 64;
+    Cacheable entry = createCacheable(entrySize, 0);
+    for (int i = 0; i < 64; i++) {
+      assertTrue(lruCache.put("key" + i, entry, entrySize, 0L));
+    }
+    // access first half so that second half becomes the least recently used entries
+    for (int i = 0; i < 32; i++) {
+      assertNotNull(lruCache.get("key" + i));
+    }
+    for (int i = 64; i < 96; i++) {
+      assertTrue(lruCache.put("key" + i, entry, entrySize, 0L));
+    }
+    assertEquals(32, lruCache.getEvictionCount());
+    for (int i = 0; i < 96; i++) {
+      if (i >= 32 && i < 64) {
+        assertNull(lruCache.get("key" + i));
+      } else {
+        assertNotNull(lruCache.get("key" + i));
+      }
+    }
+    assertEquals(64 * entrySize, lruCache.getCurrentSize());
+    assertEquals(32 + 64, lruCache.getHitCount());
+    assertEquals(32, lruCache.getMissCount());
+    lruCache.clear();
+    assertEquals(0, lruCache.getCurrentSize());
+  }
+
+  @Test public void testEntriesInUseAreNotEvicted() {
+    CarbonLRUCache lruCache = new CarbonLRUCache("prop4", "1");
+    final long usedEntrySize = 512 * 1024L;
+    final long freeEntrySize = 256 * 1024L;
+    assertTrue(lruCache.put("used", createCacheable(usedEntrySize, 1), usedEntrySize, 0L));
+    assertTrue(lruCache.put("free", createCacheable(freeEntrySize, 0), freeEntrySize, 0L));
+    // only the entry which is not in use can be removed, which is not enough
+    assertFalse(lruCache.put("new", createCacheable(600 * 1024L, 0), 600 * 1024L, 0L));
+    assertEquals(1, lruCache.getEvictionCount());
+    assertNull(lruCache.get("free"));
+    assertNotNull(lruCache.get("used"));
+    assertEquals(usedEntrySize, lruCache.getCurrentSize());
+    // space freed by the failed put is enough for a smaller entry
+    assertTrue(lruCache.put("new", createCacheable(400 * 1024L, 0), 400 * 1024L, 0L));
+    assertEquals(1, lruCache.getEvictionCount());
+    assertNotNull(lruCache.get("used"));
+    assertNotNull(lruCache.get("new"));
+    lruCache.clear();
+  }
+
+  @Test public void testEvictionRemovesOldestEntryOfAllSegments() {
+    CarbonLRUCache lruCache = new CarbonLRUCache("prop5", "1");
+    final long entrySize = 1024 * 1024 / 64;
+    Cacheable entry = createCacheable(entrySize, 0);
+    for (int i = 0; i < 64; i++) {
+      assertTrue(lruCache.put("key" + i, entry, entrySize, 0L));
+    }
+    // each new entry evicts the least recently used one, in order of access
+    for (int i = 0; i < 64; i++) {
+      assertTrue(lruCache.put("new" + i, entry, entrySize, 0L));
+      assertEquals(i + 1, lruCache.getEvictionCount());
+      assertNull(lruCache.get("key" + i));
+    }
+    for (int i = 0; i < 64; i++) {
+      assertNotNull(lruCache.get("new" + i));
+    }
+    assertEquals(64 * entrySize, lruCache.getCurrentSize());
+    lruCache.clear();
+  }
+
+  @Test public void testExpiredEntryIsRemoved() throws Exception {
+    CarbonLRUCache lruCache = new CarbonLRUCache("prop6", "1");
+    Cacheable entry = createCacheable(1024, 0);
+    assertTrue(lruCache.put("expiring", entry, 1024, 1L));
+    assertTrue(lruCache.put("not_expiring", entry, 1024, 0L));
+    assertNotNull(lruCache.get("expiring"));
+    Thread.sleep(1100);
+    assertNull(lruCache.get("expiring"));
+    assertNotNull(lruCache.get("not_expiring"));
+    assertEquals(1, lruCache.getEvictionCount());
+    assertEquals(1024, lruCache.getCurrentSize());
+    lruCache.clear();
+  }
+
+  private static Cacheable createCacheable(final long memorySize, final int accessCount) {
+    return new MockUp<Cacheable>() {
+      @SuppressWarnings("unused") @Mock long getMemorySize() {
+        return memorySize;
+      }
+
+      @SuppressWarnings("unused") @Mock int getAccessCount() {
+        return accessCount;
+      }
+    }.getMockInstance();
+  }
+
   @AfterClass public static void cleanUp() {
     carbonLRUCache.clear();
     assertNull(carbonLRUCache.get("Column1"));
@@ -22,6 +22,7 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
 
 import org.apache.carbondata.core.datastore.impl.DFSFileReaderImpl;
 
@@ -95,6 +96,13 @@ public class DFSFileReaderImplUnitTest {
     assertThat(result, is(equalTo(expected_result)));
   }
 
+  @Test public void testReadByteBuffers() throws IOException  {
+    ByteBuffer[] result =
+        dfsFileHolder.readByteBuffers(fileName, new long[] { 0L, 6L }, new int[] { 5, 5 });
+    assertThat(new String(result[0].array(), "UTF-8"), is(equalTo("Hello")));
+    assertThat(new String(result[1].array(), "UTF-8"), is(equalTo("World")));
+  }
+
   @Test public void testReadLong() throws IOException  {
     long actualResult = dfsFileHolder.readLong(fileName, 1L);
     long expectedResult = 7308335519855243122L;
@@ -22,6 +22,7 @@ import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
 
 import org.apache.carbondata.core.datastore.impl.FileReaderImpl;
 
@@ -43,6 +44,7 @@ public class FileReaderImplUnitTest {
 
   private static FileReaderImpl fileHolder;
   private static FileReaderImpl fileHolderWithCapacity;
+  private static FileReaderImpl fileHolderWithMmap;
   private static String fileName;
   private static String fileNameWithEmptyContent;
   private static File file;
@@ -52,6 +54,7 @@ public class FileReaderImplUnitTest {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2099
     fileHolder = new FileReaderImpl();
     fileHolderWithCapacity = new FileReaderImpl(50);
+    fileHolderWithMmap = new FileReaderImpl(50, true);
     file = new File("Test.carbondata");
     fileWithEmptyContent = new File("TestEXception.carbondata");
 
@@ -81,6 +84,7 @@ public class FileReaderImplUnitTest {
     file.delete();
     fileWithEmptyContent.delete();
     fileHolder.finish();
+    fileHolderWithMmap.finish();
   }
 
   @Test public void testReadByteArray() throws IOException  {
@@ -95,6 +99,18 @@ public class FileReaderImplUnitTest {
     assertThat(result, is(equalTo(expected_result)));
   }
 
+  @Test public void testReadByteArrayWithMmap() throws IOException  {
+    byte[] result = fileHolderWithMmap.readByteArray(fileName, 2L, 2);
+    byte[] expected_result = { 108, 108 };
+    assertThat(result, is(equalTo(expected_result)));
+  }
+
+  @Test public void testReadByteBufferWithMmap() throws IOException  {
+    ByteBuffer result = fileHolderWithMmap.readByteBuffer(fileName, 6L, 5);
+    assertThat(new String(result.array(), "UTF-8"), is(equalTo("World")));
+    assertThat(result.position(), is(equalTo(0)));
+  }
+
   @Test public void testReadLong() throws IOException  {
     long actualResult = fileHolder.readLong(fileName, 1L);
     long expectedResult = 7308335519855243122L;
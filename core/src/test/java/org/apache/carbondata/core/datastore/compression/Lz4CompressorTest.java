@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.compression;
+
+import java.nio.ByteBuffer;
+
+import org.apache.carbondata.core.memory.UnsafeMemoryManager;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class Lz4CompressorTest {
+
+  private static byte[] getData() {
+    byte[] data = new byte[10000];
+    for (int i = 0; i < data.length; i++) {
+      data[i] = (byte) (i % 100 < 50 ? i % 7 : i);
+    }
+    return data;
+  }
+
+  private static byte[] toArray(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return bytes;
+  }
+
+  @Test public void testFactory() {
+    Assert.assertTrue(
+        CompressorFactory.getInstance().getCompressor("LZ4") instanceof Lz4Compressor);
+    Assert.assertTrue(
+        CompressorFactory.getInstance().getCompressor("lz4hc") instanceof Lz4HCCompressor);
+  }
+
+  @Test public void testByteArray() {
+    byte[] data = getData();
+    for (Compressor compressor : new Compressor[] { new Lz4Compressor(), new Lz4HCCompressor() }) {
+      byte[] compressed = compressor.compressByte(data, data.length);
+      Assert.assertTrue(compressed.length < data.length);
+      Assert.assertArrayEquals(data, compressor.unCompressByte(compressed));
+      // compressed content in the middle of a bigger array
+      byte[] page = new byte[compressed.length + 20];
+      System.arraycopy(compressed, 0, page, 10, compressed.length);
+      Assert.assertEquals(data.length, compressor.unCompressedLength(page, 10, compressed.length));
+      Assert.assertArrayEquals(data, compressor.unCompressByte(page, 10, compressed.length));
+      byte[] output = new byte[data.length];
+      Assert.assertEquals(data.length,
+          compressor.rawUncompress(page, 10, compressed.length, output));
+      Assert.assertArrayEquals(data, output);
+    }
+  }
+
+  @Test public void testByteBuffer() {
+    byte[] data = getData();
+    Compressor compressor = new Lz4Compressor();
+    ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+    try {
+      direct.put(data);
+      ByteBuffer compressed = compressor.compressByte(direct);
+      Assert.assertTrue(compressed.isDirect());
+      Assert.assertArrayEquals(data, compressor.unCompressByte(toArray(compressed)));
+      UnsafeMemoryManager.destroyDirectByteBuffer(compressed);
+    } finally {
+      UnsafeMemoryManager.destroyDirectByteBuffer(direct);
+    }
+    ByteBuffer heap = ByteBuffer.allocate(data.length + 10);
+    heap.put(data);
+    Assert.assertArrayEquals(data,
+        compressor.unCompressByte(toArray(compressor.compressByte(heap))));
+  }
+
+  @Test public void testPrimitiveArrays() {
+    Compressor compressor = new Lz4Compressor();
+    double[] doubles = new double[] { 1.5, -2.25, Double.NaN, 0, Double.MAX_VALUE };
+    byte[] compressed = toArray(compressor.compressDouble(doubles));
+    Assert.assertArrayEquals(doubles,
+        compressor.unCompressDouble(compressed, 0, compressed.length), 0);
+    long[] longs = new long[] { 1L, Long.MIN_VALUE, Long.MAX_VALUE, 0L, 1L };
+    compressed = toArray(compressor.compressLong(longs));
+    Assert.assertArrayEquals(longs, compressor.unCompressLong(compressed, 0, compressed.length));
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.apache.carbondata.core.datastore.ColumnType;
+import org.apache.carbondata.core.datastore.TableSpec;
+import org.apache.carbondata.core.datastore.compression.Compressor;
+import org.apache.carbondata.core.datastore.compression.CompressorFactory;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
+import org.apache.carbondata.core.memory.UnsafeMemoryManager;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class UnsafeColumnPageCompressionTest {
+
+  private static final int PAGE_SIZE = 1000;
+
+  private static ColumnPageEncoderMeta getMeta(DataType dataType, ColumnType columnType,
+      String compressorName) {
+    return new ColumnPageEncoderMeta(
+        TableSpec.ColumnSpec.newInstance("test", dataType, columnType), dataType, compressorName);
+  }
+
+  private static byte[] toArray(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return bytes;
+  }
+
+  @Test public void testFixLengthPage() throws IOException {
+    for (String compressorName : new String[] { "snappy", "zstd", "lz4" }) {
+      ColumnPageEncoderMeta meta = getMeta(DataTypes.LONG, ColumnType.MEASURE, compressorName);
+      ColumnPage page = ColumnPage.newPage(meta, PAGE_SIZE);
+      for (int i = 0; i < PAGE_SIZE; i++) {
+        page.putLong(i, i % 3 == 0 ? -i : i * 1000L);
+      }
+      Compressor compressor = CompressorFactory.getInstance().getCompressor(compressorName);
+      ByteBuffer compressedBuffer = page.compress(compressor);
+      byte[] compressed = toArray(compressedBuffer);
+      UnsafeMemoryManager.destroyDirectByteBuffer(compressedBuffer);
+      // compressed the same as the on heap data of the page
+      Assert.assertArrayEquals(page.getLongPage(),
+          compressor.unCompressLong(compressed, 0, compressed.length));
+      ColumnPage decompressed =
+          ColumnPage.decompress(meta, compressed, 0, compressed.length, false, false);
+      for (int i = 0; i < PAGE_SIZE; i++) {
+        Assert.assertEquals(page.getLong(i), decompressed.getLong(i));
+      }
+      if (compressor.supportUnsafe()) {
+        // decompressed directly into the page memory
+        Assert.assertEquals(PAGE_SIZE * 8L, decompressed.getPageLengthInBytes());
+      }
+      page.freeMemory();
+      decompressed.freeMemory();
+    }
+  }
+
+  @Test public void testShortIntAndDoublePage() throws IOException {
+    Compressor compressor = CompressorFactory.getInstance().getCompressor("snappy");
+    ColumnPageEncoderMeta shortIntMeta =
+        getMeta(DataTypes.SHORT_INT, ColumnType.MEASURE, compressor.getName());
+    ColumnPage shortIntPage = ColumnPage.newPage(shortIntMeta, PAGE_SIZE);
+    ColumnPageEncoderMeta doubleMeta =
+        getMeta(DataTypes.DOUBLE, ColumnType.MEASURE, compressor.getName());
+    ColumnPage doublePage = ColumnPage.newPage(doubleMeta, PAGE_SIZE);
+    for (int i = 0; i < PAGE_SIZE; i++) {
+      shortIntPage.putShortInt(i, i * 7 - 3000);
+      doublePage.putDouble(i, i / 3.0);
+    }
+    byte[] compressed = toArray(shortIntPage.compress(compressor));
+    ColumnPage decompressed =
+        ColumnPage.decompress(shortIntMeta, compressed, 0, compressed.length, false, false);
+    Assert.assertArrayEquals(shortIntPage.getShortIntPage(), decompressed.getShortIntPage());
+    decompressed.freeMemory();
+
+    compressed = toArray(doublePage.compress(compressor));
+    decompressed =
+        ColumnPage.decompress(doubleMeta, compressed, 0, compressed.length, false, false);
+    for (int i = 0; i < PAGE_SIZE; i++) {
+      Assert.assertEquals(doublePage.getDouble(i), decompressed.getDouble(i), 0);
+    }
+    decompressed.freeMemory();
+    shortIntPage.freeMemory();
+    doublePage.freeMemory();
+  }
+
+  @Test public void testPagesOfDifferentSizeAreDecompressed() throws IOException {
+    Compressor compressor = CompressorFactory.getInstance().getCompressor("snappy");
+    ColumnPageEncoderMeta meta = getMeta(DataTypes.INT, ColumnType.MEASURE, compressor.getName());
+    // staging buffer of the thread is reused for smaller pages and grows for bigger pages
+    for (int pageSize : new int[] { 10, PAGE_SIZE, 100, 4 * PAGE_SIZE }) {
+      ColumnPage page = ColumnPage.newPage(meta, pageSize);
+      for (int i = 0; i < pageSize; i++) {
+        page.putInt(i, i * 31 - pageSize);
+      }
+      byte[] compressed = toArray(page.compress(compressor));
+      ColumnPage decompressed =
+          ColumnPage.decompress(meta, compressed, 0, compressed.length, false, false);
+      for (int i = 0; i < pageSize; i++) {
+        Assert.assertEquals(page.getInt(i), decompressed.getInt(i));
+      }
+      page.freeMemory();
+      decompressed.freeMemory();
+    }
+  }
+
+  @Test public void testVarLengthPage() throws IOException {
+    Compressor compressor = CompressorFactory.getInstance().getCompressor("snappy");
+    ColumnPage page = ColumnPage.newPage(
+        getMeta(DataTypes.BYTE_ARRAY, ColumnType.PLAIN_VALUE, compressor.getName()), PAGE_SIZE);
+    for (int i = 0; i < PAGE_SIZE; i++) {
+      page.putBytes(i, ("value" + i).getBytes());
+    }
+    byte[] compressed = toArray(page.compress(compressor));
+    Assert.assertArrayEquals(page.getComplexParentFlattenedBytePage(),
+        compressor.unCompressByte(compressed));
+    page.freeMemory();
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.encoding;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.ColumnType;
+import org.apache.carbondata.core.datastore.TableSpec;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.adaptive.BitPackedIntegralCodec;
+import org.apache.carbondata.core.datastore.page.statistics.PrimitivePageStatsCollector;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.result.vector.ColumnVectorInfo;
+import org.apache.carbondata.core.scan.result.vector.impl.CarbonColumnVectorImpl;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.format.DataChunk2;
+import org.apache.carbondata.format.Encoding;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BitPackedIntegralCodecTest {
+
+  @Before public void setUp() {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.ENABLE_BIT_PACKED_ENCODING, "true");
+  }
+
+  @After public void tearDown() {
+    CarbonProperties.getInstance().addProperty(CarbonCommonConstants.ENABLE_BIT_PACKED_ENCODING,
+        CarbonCommonConstants.ENABLE_BIT_PACKED_ENCODING_DEFAULT);
+  }
+
+  @Test public void testBitWidth() {
+    Assert.assertEquals(0, BitPackedIntegralCodec.getBitWidth(5, 5));
+    Assert.assertEquals(10, BitPackedIntegralCodec.getBitWidth(1000, 0));
+    Assert.assertEquals(10, BitPackedIntegralCodec.getBitWidth(-1, -1000));
+    Assert.assertEquals(64, BitPackedIntegralCodec.getBitWidth(Long.MAX_VALUE, Long.MIN_VALUE));
+  }
+
+  @Test public void testIntPage() throws IOException {
+    // 10 bits for the range, values span two words at every 64 bits
+    Object[] values = new Object[1000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = i % 7 == 0 ? null : (i * 31) % 1001 - 500;
+    }
+    assertEncodeAndDecode(DataTypes.INT, values, 10);
+  }
+
+  @Test public void testShortPage() throws IOException {
+    Object[] values = new Object[100];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = (short) (1000 + i % 5);
+    }
+    assertEncodeAndDecode(DataTypes.SHORT, values, 3);
+  }
+
+  @Test public void testLongPage() throws IOException {
+    Object[] values = new Object[333];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = 1500000000000L + i * 1000003L;
+    }
+    assertEncodeAndDecode(DataTypes.LONG, values, 29);
+  }
+
+  @Test public void testNotSelectedForUnsupportedRange() {
+    // all values are same
+    ColumnPage page = createPage(DataTypes.INT, new Object[] { 7, 7, 7 });
+    Assert.assertFalse(DefaultEncodingFactory.selectCodecByAlgorithmForIntegral(
+        page.getStatistics(), false, page.getColumnSpec()) instanceof BitPackedIntegralCodec);
+    // range needs more than 31 bits
+    page = createPage(DataTypes.LONG, new Object[] { 0L, 1L << 40 });
+    Assert.assertFalse(DefaultEncodingFactory.selectCodecByAlgorithmForIntegral(
+        page.getStatistics(), false, page.getColumnSpec()) instanceof BitPackedIntegralCodec);
+  }
+
+  private void assertEncodeAndDecode(DataType dataType, Object[] values, int expectedBitWidth)
+      throws IOException {
+    ColumnPage page = createPage(dataType, values);
+    BitPackedIntegralCodec codec = (BitPackedIntegralCodec) DefaultEncodingFactory
+        .selectCodecByAlgorithmForIntegral(page.getStatistics(), false, page.getColumnSpec());
+    Assert.assertEquals(expectedBitWidth, codec.getBitWidth());
+    EncodedColumnPage encodedPage = codec.createEncoder(null).encode(page);
+    DataChunk2 pageMetadata = encodedPage.getPageMetadata();
+    Assert.assertEquals(Encoding.BIT_PACKED, pageMetadata.getEncoders().get(0));
+    ByteBuffer encodedData = encodedPage.getEncodedData();
+    byte[] encoded = new byte[encodedData.remaining()];
+    encodedData.duplicate().get(encoded);
+    Assert.assertTrue(encoded.length < values.length * dataType.getSizeInBytes());
+
+    ColumnPageDecoder decoder = DefaultEncodingFactory.getInstance()
+        .createDecoder(pageMetadata.getEncoders(), pageMetadata.getEncoder_meta(), "snappy");
+    ColumnPage decodedPage = decoder.decode(encoded, 0, encoded.length);
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] != null) {
+        Assert.assertEquals(((Number) values[i]).longValue(), decodedPage.getLong(i));
+      }
+    }
+
+    ColumnVectorInfo vectorInfo = new ColumnVectorInfo();
+    vectorInfo.vector = new CarbonColumnVectorImpl(values.length, dataType);
+    decoder.decodeAndFillVector(encoded, 0, encoded.length, vectorInfo, page.getNullBits(),
+        false, values.length, null);
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] == null) {
+        Assert.assertTrue(vectorInfo.vector.isNull(i));
+      } else {
+        Assert.assertEquals(values[i], ((CarbonColumnVectorImpl) vectorInfo.vector).getData(i));
+      }
+    }
+  }
+
+  private static ColumnPage createPage(DataType dataType, Object[] values) {
+    ColumnPage page = ColumnPage.newPage(new ColumnPageEncoderMeta(
+        TableSpec.ColumnSpec.newInstance("test", dataType, ColumnType.MEASURE), dataType,
+        "snappy"), values.length);
+    page.setStatsCollector(PrimitivePageStatsCollector.newInstance(dataType));
+    for (int i = 0; i < values.length; i++) {
+      page.putData(i, values[i]);
+    }
+    return page;
+  }
+}
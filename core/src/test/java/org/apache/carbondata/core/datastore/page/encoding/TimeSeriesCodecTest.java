@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.datastore.page.encoding;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.ColumnType;
+import org.apache.carbondata.core.datastore.TableSpec;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.adaptive.DeltaOfDeltaIntegralCodec;
+import org.apache.carbondata.core.datastore.page.encoding.adaptive.XorFloatingCodec;
+import org.apache.carbondata.core.datastore.page.statistics.PrimitivePageStatsCollector;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.result.vector.ColumnVectorInfo;
+import org.apache.carbondata.core.scan.result.vector.impl.CarbonColumnVectorImpl;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.format.DataChunk2;
+import org.apache.carbondata.format.Encoding;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TimeSeriesCodecTest {
+
+  @Before public void setUp() {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.ENABLE_TIMESERIES_ENCODING, "true");
+  }
+
+  @After public void tearDown() {
+    CarbonProperties.getInstance().addProperty(CarbonCommonConstants.ENABLE_TIMESERIES_ENCODING,
+        CarbonCommonConstants.ENABLE_TIMESERIES_ENCODING_DEFAULT);
+  }
+
+  @Test public void testRegularTimestamps() throws IOException {
+    // one value every second with few late values and nulls
+    Object[] values = new Object[32000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = i % 1000 == 999 ? null : 1500000000000L + i * 1000L + (i % 97 == 0 ? 13 : 0);
+    }
+    byte[] encoded = assertEncodeAndDecode(createPage(DataTypes.LONG, values), values,
+        Encoding.DELTA_OF_DELTA_INTEGRAL);
+    // adaptive delta encoding takes 4 bytes for each value
+    Assert.assertTrue(encoded.length < values.length / 8);
+  }
+
+  @Test public void testSlowlyChangingDoubles() throws IOException {
+    // a reading which changes every 10 rows
+    Object[] values = new Object[2000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = i == 5 ? null : 20.5 + (i / 10) * 0.25;
+    }
+    assertEncodeAndDecode(createPage(DataTypes.DOUBLE, values), values, Encoding.XOR_FLOATING);
+  }
+
+  @Test public void testSlowlyChangingFloats() throws IOException {
+    Object[] values = new Object[2000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = (float) Math.sqrt(i / 50);
+    }
+    assertEncodeAndDecode(createPage(DataTypes.FLOAT, values), values, Encoding.XOR_FLOATING);
+  }
+
+  @Test public void testSpecialValues() throws IOException {
+    // page statistics do not support these values, so the codecs are used without selecting
+    Object[] longs = { Long.MIN_VALUE, Long.MAX_VALUE, 0L, -1L, Long.MIN_VALUE, 1L, 1L };
+    assertEncodeAndDecode(createPageWithoutStats(DataTypes.LONG, longs), longs, null);
+    Object[] doubles = { Double.NaN, -0.0, 0.0, Double.MAX_VALUE, Double.MIN_VALUE,
+        Double.NEGATIVE_INFINITY, 1.0, 1.0 };
+    assertEncodeAndDecode(createPageWithoutStats(DataTypes.DOUBLE, doubles), doubles, null);
+    Object[] floats = { Float.NaN, -0.0f, Float.MAX_VALUE, Float.MIN_VALUE, 3.5f, 3.5f };
+    assertEncodeAndDecode(createPageWithoutStats(DataTypes.FLOAT, floats), floats, null);
+  }
+
+  @Test public void testNotSelectedForRandomValues() {
+    Random random = new Random(1);
+    Object[] longs = new Object[1000];
+    Object[] doubles = new Object[1000];
+    for (int i = 0; i < longs.length; i++) {
+      longs[i] = (long) random.nextInt(30000);
+      doubles[i] = random.nextInt(30000) / 100.0;
+    }
+    ColumnPage page = createPage(DataTypes.LONG, longs);
+    Assert.assertNotEquals(Encoding.DELTA_OF_DELTA_INTEGRAL,
+        createEncoder(page).getEncodingType());
+    page = createPage(DataTypes.DOUBLE, doubles);
+    Assert.assertNotEquals(Encoding.XOR_FLOATING, createEncoder(page).getEncodingType());
+  }
+
+  @Test public void testNotSelectedWhenDisabled() {
+    CarbonProperties.getInstance().addProperty(CarbonCommonConstants.ENABLE_TIMESERIES_ENCODING,
+        CarbonCommonConstants.ENABLE_TIMESERIES_ENCODING_DEFAULT);
+    Object[] values = new Object[1000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = 1500000000000L + i * 1000L;
+    }
+    ColumnPage page = createPage(DataTypes.LONG, values);
+    Assert.assertNotEquals(Encoding.DELTA_OF_DELTA_INTEGRAL,
+        createEncoder(page).getEncodingType());
+  }
+
+  private static ColumnPageEncoder createEncoder(ColumnPage page) {
+    return DefaultEncodingFactory.getInstance().createEncoder(page.getColumnSpec(), page);
+  }
+
+  /**
+   * @param expectedEncoding encoding selected for the page, or null to encode by the codec of
+   *                         the data type without selecting
+   */
+  private byte[] assertEncodeAndDecode(ColumnPage page, Object[] values,
+      Encoding expectedEncoding) throws IOException {
+    DataType dataType = page.getDataType();
+    ColumnPageEncoder encoder;
+    if (expectedEncoding != null) {
+      encoder = createEncoder(page);
+    } else if (dataType == DataTypes.LONG) {
+      encoder = new DeltaOfDeltaIntegralCodec(dataType).createEncoder(null);
+    } else {
+      encoder = new XorFloatingCodec(dataType).createEncoder(null);
+    }
+    EncodedColumnPage encodedPage = encoder.encode(page);
+    DataChunk2 pageMetadata = encodedPage.getPageMetadata();
+    if (expectedEncoding != null) {
+      Assert.assertEquals(expectedEncoding, pageMetadata.getEncoders().get(0));
+    }
+    ByteBuffer encodedData = encodedPage.getEncodedData();
+    byte[] encoded = new byte[encodedData.remaining()];
+    encodedData.duplicate().get(encoded);
+
+    ColumnPageDecoder decoder = DefaultEncodingFactory.getInstance()
+        .createDecoder(pageMetadata.getEncoders(), pageMetadata.getEncoder_meta(), "snappy");
+    ColumnPage decodedPage = decoder.decode(encoded, 0, encoded.length);
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] == null) {
+        continue;
+      }
+      if (dataType == DataTypes.LONG) {
+        Assert.assertEquals(values[i], decodedPage.getLong(i));
+      } else if (dataType == DataTypes.FLOAT) {
+        Assert.assertEquals(values[i], decodedPage.getFloat(i));
+      } else {
+        Assert.assertEquals(values[i], decodedPage.getDouble(i));
+      }
+    }
+
+    ColumnVectorInfo vectorInfo = new ColumnVectorInfo();
+    vectorInfo.vector = new CarbonColumnVectorImpl(values.length, dataType);
+    decoder.decodeAndFillVector(encoded, 0, encoded.length, vectorInfo, page.getNullBits(),
+        false, values.length, null);
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] == null) {
+        Assert.assertTrue(vectorInfo.vector.isNull(i));
+      } else {
+        Assert.assertEquals(values[i], ((CarbonColumnVectorImpl) vectorInfo.vector).getData(i));
+      }
+    }
+    return encoded;
+  }
+
+  private static ColumnPage createPage(DataType dataType, Object[] values) {
+    ColumnPage page = ColumnPage.newPage(new ColumnPageEncoderMeta(
+        TableSpec.ColumnSpec.newInstance("test", dataType, ColumnType.PLAIN_VALUE), dataType,
+        "snappy"), values.length);
+    page.setStatsCollector(PrimitivePageStatsCollector.newInstance(dataType));
+    for (int i = 0; i < values.length; i++) {
+      page.putData(i, values[i]);
+    }
+    return page;
+  }
+
+  private static ColumnPage createPageWithoutStats(DataType dataType, Object[] values) {
+    ColumnPage page = ColumnPage.newPage(new ColumnPageEncoderMeta(
+        TableSpec.ColumnSpec.newInstance("test", dataType, ColumnType.PLAIN_VALUE), dataType,
+        "snappy"), values.length);
+    page.setStatsCollector(PrimitivePageStatsCollector.newInstance(dataType));
+    for (int i = 0; i < values.length; i++) {
+      if (dataType == DataTypes.LONG) {
+        page.putLong(i, (long) values[i]);
+      } else if (dataType == DataTypes.FLOAT) {
+        page.putFloat(i, (float) values[i]);
+      } else {
+        page.putDouble(i, (double) values[i]);
+      }
+    }
+    return page;
+  }
+}
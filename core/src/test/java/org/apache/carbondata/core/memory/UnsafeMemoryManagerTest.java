@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.memory;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+public class UnsafeMemoryManagerTest {
+
+  @Test
+  public void testTaskMemoryIsReleasedOnFreeMemoryAll() {
+    Assume.assumeTrue(UnsafeMemoryManager.isOffHeap());
+    String taskId = "task_free_all";
+    MemoryBlock block1 = UnsafeMemoryManager.allocateMemoryWithRetry(taskId, 1024);
+    MemoryBlock block2 = UnsafeMemoryManager.allocateMemoryWithRetry(taskId, 2048);
+    Assert.assertEquals(MemoryType.OFFHEAP, block1.getMemoryType());
+    Assert.assertEquals(3072, UnsafeMemoryManager.INSTANCE.getTaskMemoryUsed(taskId));
+    UnsafeMemoryManager.INSTANCE.freeMemory(taskId, block1);
+    Assert.assertEquals(2048, UnsafeMemoryManager.INSTANCE.getTaskMemoryUsed(taskId));
+    UnsafeMemoryManager.INSTANCE.freeMemoryAll(taskId);
+    Assert.assertTrue(block2.isFreedStatus());
+    Assert.assertEquals(0, UnsafeMemoryManager.INSTANCE.getTaskMemoryUsed(taskId));
+    // freeing again after task completion should not fail
+    UnsafeMemoryManager.INSTANCE.freeMemory(taskId, block2);
+  }
+
+  @Test
+  public void testTaskBeyondFairShareGetsOnHeapMemory() {
+    Assume.assumeTrue(UnsafeMemoryManager.isOffHeap());
+    String task1 = "task_share_1";
+    String task2 = "task_share_2";
+    try {
+      MemoryBlock block1 = UnsafeMemoryManager.allocateMemoryWithRetry(task1, 1024);
+      Assert.assertEquals(MemoryType.OFFHEAP, block1.getMemoryType());
+      // with two active tasks, a task can not hold more than half of the working memory
+      MemoryBlock block2 = UnsafeMemoryManager.allocateMemoryWithRetry(task2,
+          UnsafeMemoryManager.INSTANCE.getUsableMemory() / 2 + 1);
+      Assert.assertEquals(MemoryType.ONHEAP, block2.getMemoryType());
+      Assert.assertEquals(0, UnsafeMemoryManager.INSTANCE.getTaskMemoryUsed(task2));
+      UnsafeMemoryManager.INSTANCE.freeMemory(task2, block2);
+    } finally {
+      UnsafeMemoryManager.INSTANCE.freeMemoryAll(task1);
+      UnsafeMemoryManager.INSTANCE.freeMemoryAll(task2);
+    }
+  }
+
+  @Test
+  public void testBlockIsReleasedOnceOnDoubleFree() {
+    Assume.assumeTrue(UnsafeMemoryManager.isOffHeap());
+    String taskId = "task_double_free";
+    long usedBefore = UnsafeMemoryManager.INSTANCE.getMemoryUsed();
+    MemoryBlock block = UnsafeMemoryManager.allocateMemoryWithRetry(taskId, 4096);
+    Assert.assertEquals(MemoryType.OFFHEAP, block.getMemoryType());
+    Assert.assertEquals(usedBefore + 4096, UnsafeMemoryManager.INSTANCE.getMemoryUsed());
+    UnsafeMemoryManager.INSTANCE.freeMemory(taskId, block);
+    UnsafeMemoryManager.INSTANCE.freeMemory(taskId, block);
+    UnsafeMemoryManager.INSTANCE.freeMemoryAll(taskId);
+    Assert.assertEquals(usedBefore, UnsafeMemoryManager.INSTANCE.getMemoryUsed());
+    Assert.assertEquals(0, UnsafeMemoryManager.INSTANCE.getTaskMemoryUsed(taskId));
+  }
+
+  @Test
+  public void testTaskMemoryIsCreatedAgainAfterFreeMemoryAll() {
+    Assume.assumeTrue(UnsafeMemoryManager.isOffHeap());
+    String taskId = "task_reused";
+    long usedBefore = UnsafeMemoryManager.INSTANCE.getMemoryUsed();
+    UnsafeMemoryManager.allocateMemoryWithRetry(taskId, 1024);
+    UnsafeMemoryManager.INSTANCE.freeMemoryAll(taskId);
+    // released task memory is not reused by the next allocation of the task
+    MemoryBlock block = UnsafeMemoryManager.allocateMemoryWithRetry(taskId, 2048);
+    Assert.assertEquals(MemoryType.OFFHEAP, block.getMemoryType());
+    Assert.assertEquals(2048, UnsafeMemoryManager.INSTANCE.getTaskMemoryUsed(taskId));
+    UnsafeMemoryManager.INSTANCE.freeMemoryAll(taskId);
+    Assert.assertTrue(block.isFreedStatus());
+    Assert.assertEquals(usedBefore, UnsafeMemoryManager.INSTANCE.getMemoryUsed());
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.mutate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.reader.CarbonDeleteDeltaFileReaderImpl;
+import org.apache.carbondata.core.reader.CarbonDeleteFilesDataReader;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.writer.CarbonDeleteDeltaWriterImpl;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DeleteDeltaBinaryFormatTest {
+
+  private File tempDir;
+
+  @Before public void setUp() throws IOException {
+    tempDir = Files.createTempDirectory("delete_delta").toFile();
+  }
+
+  @After public void tearDown() throws IOException {
+    CarbonProperties.getInstance().addProperty(
+        CarbonCommonConstants.CARBON_DELETE_DELTA_BINARY_FORMAT_ENABLE,
+        CarbonCommonConstants.CARBON_DELETE_DELTA_BINARY_FORMAT_ENABLE_DEFAULT);
+    FileUtils.deleteDirectory(tempDir);
+  }
+
+  @Test public void testBitmapRoundTrip() throws IOException {
+    BitSet rows = new BitSet();
+    // array container
+    rows.set(1);
+    rows.set(7);
+    rows.set(31999);
+    // run container
+    rows.set(65536 * 2, 65536 * 2 + 20000);
+    // bitmap container
+    for (int i = 65536 * 5; i < 65536 * 6; i += 3) {
+      rows.set(i);
+    }
+    // last container of the int range
+    rows.set(Integer.MAX_VALUE - 1);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DeleteDeltaBinaryFormat.writeBitmap(rows, new DataOutputStream(bytes));
+    // containers are written as array, run, bitmap and array
+    Assert.assertEquals(4 + (5 + 2 * 3) + (5 + 4) + (3 + 8192) + (5 + 2), bytes.size());
+    BitSet readRows = new BitSet();
+    readRows.set(3);
+    DeleteDeltaBinaryFormat.readBitmap(
+        new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), readRows);
+    // rows are added to the rows already in the bitmap
+    rows.set(3);
+    Assert.assertEquals(rows, readRows);
+  }
+
+  @Test public void testEmptyBitmap() throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DeleteDeltaBinaryFormat.writeBitmap(new BitSet(), new DataOutputStream(bytes));
+    Assert.assertEquals(4, bytes.size());
+    BitSet readRows = new BitSet();
+    DeleteDeltaBinaryFormat.readBitmap(
+        new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), readRows);
+    Assert.assertTrue(readRows.isEmpty());
+  }
+
+  @Test public void testBinaryAndJsonFilesAreRead() throws Exception {
+    String jsonFile = new File(tempDir, "part-0-0_batchno0-0-0-1.deletedelta").getPath();
+    new CarbonDeleteDeltaWriterImpl(jsonFile).write(newBlockDetails(0, 10));
+    CarbonProperties.getInstance().addProperty(
+        CarbonCommonConstants.CARBON_DELETE_DELTA_BINARY_FORMAT_ENABLE, "true");
+    String binaryFile = new File(tempDir, "part-0-0_batchno0-0-0-2.deletedelta").getPath();
+    new CarbonDeleteDeltaWriterImpl(binaryFile).write(newBlockDetails(5, 4000));
+
+    DeleteDeltaBlockDetails blockDetails =
+        new CarbonDeleteDeltaFileReaderImpl(binaryFile).readJson();
+    Assert.assertEquals("part-0-0", blockDetails.getBlockName());
+    List<DeleteDeltaBlockletDetails> blockletDetails = blockDetails.getBlockletDetails();
+    Assert.assertEquals(2, blockletDetails.size());
+    Assert.assertEquals(3995, blockletDetails.get(0).getDeletedRows().size());
+    Assert.assertEquals(1, blockletDetails.get(1).getDeletedRows().size());
+
+    Map<String, DeleteDeltaVo> deletedRows = new CarbonDeleteFilesDataReader(2)
+        .getDeletedRowsDataVo(new String[] { jsonFile, binaryFile });
+    Assert.assertEquals(2, deletedRows.size());
+    BitSet expected = new BitSet();
+    expected.set(0, 4000);
+    Assert.assertEquals(expected, deletedRows.get("0_0").getBitSet());
+    Assert.assertTrue(deletedRows.get("0_1").containsRow(0));
+    Assert.assertTrue(deletedRows.get("0_1").containsRow(5));
+    Assert.assertEquals(2, deletedRows.get("0_1").getBitSet().cardinality());
+
+    DeleteDeltaBlockDetails compacted = new CarbonDeleteFilesDataReader(2)
+        .getCompactedDeleteDeltaFileFromBlock(
+            Arrays.asList(jsonFile, binaryFile), "part-0-0");
+    Assert.assertEquals(4000, compacted.getBlockletDetails().get(0).getDeletedRows().size());
+  }
+
+  @Test public void testMissingFileHasNoDeletedRows() throws IOException {
+    String file = new File(tempDir, "missing.deletedelta").getPath();
+    Assert.assertTrue(new CarbonDeleteDeltaFileReaderImpl(file).readDeletedRows().isEmpty());
+  }
+
+  private static DeleteDeltaBlockDetails newBlockDetails(int fromRow, int toRow)
+      throws Exception {
+    DeleteDeltaBlockDetails blockDetails = new DeleteDeltaBlockDetails("part-0-0");
+    for (int row = fromRow; row < toRow; row++) {
+      blockDetails.addBlocklet("0", String.valueOf(row), 0);
+    }
+    blockDetails.addBlocklet("0", String.valueOf(fromRow), 1);
+    return blockDetails;
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.executor.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.carbondata.core.datastore.block.TableBlockInfo;
+import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
+import org.apache.carbondata.core.metadata.blocklet.DataFileFooter;
+import org.apache.carbondata.core.util.CarbonUtil;
+
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DataFileFooterPrefetcherTest {
+
+  private ExecutorService executorService;
+
+  private Set<String> readFilePaths;
+
+  private Set<String> readAheadFilePaths;
+
+  @Before public void setUp() {
+    executorService = Executors.newCachedThreadPool();
+    readFilePaths = ConcurrentHashMap.newKeySet();
+    readAheadFilePaths = ConcurrentHashMap.newKeySet();
+    new MockUp<CarbonUtil>() {
+      @Mock public DataFileFooter readMetadataFile(TableBlockInfo tableBlockInfo) {
+        Assert.assertTrue(readFilePaths.add(tableBlockInfo.getFilePath()));
+        return newFooter(tableBlockInfo);
+      }
+
+      @Mock public DataFileFooter readMetadataFile(TableBlockInfo tableBlockInfo,
+          boolean forceReadDataFileFooter) {
+        Assert.assertTrue(readAheadFilePaths.add(tableBlockInfo.getFilePath()));
+        return newFooter(tableBlockInfo);
+      }
+    };
+  }
+
+  @After public void tearDown() {
+    executorService.shutdownNow();
+  }
+
+  @Test public void testFootersAreReadAheadUpToDepth() throws Exception {
+    List<TableBlockInfo> blockInfos = newBlockInfos(6);
+    DataFileFooterPrefetcher prefetcher =
+        new DataFileFooterPrefetcher(blockInfos, executorService, 2);
+    DataFileFooter footer = prefetcher.readFooter(blockInfos.get(0));
+    Assert.assertEquals(blockInfos.get(0).getBlockLength(), footer.getNumberOfRows());
+    // the first footer and the next 2 footers are submitted
+    for (int i = 3; i < blockInfos.size(); i++) {
+      Assert.assertFalse(readAheadFilePaths.contains(blockInfos.get(i).getFilePath()));
+    }
+    for (TableBlockInfo blockInfo : blockInfos.subList(1, blockInfos.size())) {
+      footer = prefetcher.readFooter(blockInfo);
+      Assert.assertEquals(blockInfo.getBlockLength(), footer.getNumberOfRows());
+    }
+    prefetcher.close();
+    Assert.assertEquals(blockInfos.size(), readAheadFilePaths.size());
+    Assert.assertTrue(readFilePaths.isEmpty());
+  }
+
+  @Test public void testFooterIsReadOncePerFile() throws Exception {
+    List<TableBlockInfo> blockInfos = newBlockInfos(3);
+    // other blocklets of the first file, its footer is read only once by the query
+    blockInfos.add(1, newBlockInfo(blockInfos.get(0).getFilePath(), 0));
+    DataFileFooterPrefetcher prefetcher =
+        new DataFileFooterPrefetcher(blockInfos, executorService, 1);
+    prefetcher.readFooter(blockInfos.get(0));
+    prefetcher.readFooter(blockInfos.get(2));
+    prefetcher.readFooter(blockInfos.get(3));
+    prefetcher.close();
+    Assert.assertEquals(3, readAheadFilePaths.size());
+    Assert.assertTrue(readFilePaths.isEmpty());
+  }
+
+  @Test public void testFootersAreReadInQueryThreadWhenDisabled() throws Exception {
+    List<TableBlockInfo> blockInfos = newBlockInfos(3);
+    DataFileFooterPrefetcher prefetcher = new DataFileFooterPrefetcher(blockInfos, null, 2);
+    for (TableBlockInfo blockInfo : blockInfos) {
+      prefetcher.readFooter(blockInfo);
+    }
+    prefetcher = new DataFileFooterPrefetcher(newBlockInfos(1), executorService, 0);
+    prefetcher.readFooter(newBlockInfo("other", 1));
+    Assert.assertEquals(4, readFilePaths.size());
+    Assert.assertTrue(readAheadFilePaths.isEmpty());
+  }
+
+  private static DataFileFooter newFooter(TableBlockInfo tableBlockInfo) {
+    DataFileFooter footer = new DataFileFooter();
+    footer.setNumberOfRows(tableBlockInfo.getBlockLength());
+    return footer;
+  }
+
+  private static List<TableBlockInfo> newBlockInfos(int numberOfBlocks) {
+    List<TableBlockInfo> blockInfos = new ArrayList<>();
+    for (int i = 0; i < numberOfBlocks; i++) {
+      blockInfos.add(newBlockInfo("part-0-" + i + ".carbondata", i + 1));
+    }
+    return blockInfos;
+  }
+
+  private static TableBlockInfo newBlockInfo(String filePath, long blockLength) {
+    return new TableBlockInfo(filePath, 0, "0", new String[0], blockLength,
+        ColumnarFormatVersion.V3, null);
+  }
+}
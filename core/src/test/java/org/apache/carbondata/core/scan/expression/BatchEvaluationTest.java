@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.expression;
+
+import java.util.BitSet;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.expression.conditional.EqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanEqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanExpression;
+import org.apache.carbondata.core.scan.expression.conditional.LessThanExpression;
+import org.apache.carbondata.core.scan.expression.conditional.NotEqualsExpression;
+import org.apache.carbondata.core.scan.expression.exception.FilterIllegalMemberException;
+import org.apache.carbondata.core.scan.expression.logical.AndExpression;
+import org.apache.carbondata.core.scan.expression.logical.OrExpression;
+import org.apache.carbondata.core.scan.filter.intf.RowBatch;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BatchEvaluationTest {
+
+  private static final int NUMBER_OF_ROWS = 100;
+
+  private RowBatch batch;
+
+  private BitSet allRows;
+
+  @Before public void setUp() {
+    // int column, double column and string column
+    batch = new RowBatch(new DataType[] { DataTypes.INT, DataTypes.DOUBLE, null });
+    batch.reset(NUMBER_OF_ROWS);
+    for (int i = 0; i < NUMBER_OF_ROWS; i++) {
+      if (i % 10 == 0) {
+        batch.putNull(0, i);
+      } else {
+        batch.putLong(0, i, i);
+      }
+      batch.putDouble(1, i, i % 3 == 0 ? Double.NaN : i * 0.5);
+      batch.putObject(2, i, i % 2 == 0 ? "even" : "odd");
+    }
+    allRows = new BitSet();
+    allRows.set(0, NUMBER_OF_ROWS);
+  }
+
+  private static ColumnExpression column(int index, DataType dataType) {
+    ColumnExpression expression = new ColumnExpression("c" + index, dataType);
+    expression.setColIndex(index);
+    return expression;
+  }
+
+  @Test public void testComparisonWithLiteral() throws Exception {
+    assertSameAsRowEvaluation(new GreaterThanExpression(column(0, DataTypes.INT),
+        new LiteralExpression(50, DataTypes.INT)));
+    assertSameAsRowEvaluation(new LessThanExpression(new LiteralExpression(20, DataTypes.INT),
+        column(0, DataTypes.INT)));
+    assertSameAsRowEvaluation(new EqualToExpression(column(1, DataTypes.DOUBLE),
+        new LiteralExpression(Double.NaN, DataTypes.DOUBLE)));
+    assertSameAsRowEvaluation(new NotEqualsExpression(column(1, DataTypes.DOUBLE),
+        new LiteralExpression(10.0, DataTypes.DOUBLE)));
+    // int column compared as double
+    assertSameAsRowEvaluation(new GreaterThanEqualToExpression(column(0, DataTypes.INT),
+        new LiteralExpression(30.5, DataTypes.DOUBLE)));
+  }
+
+  @Test public void testComparisonOfColumns() throws Exception {
+    assertSameAsRowEvaluation(
+        new LessThanExpression(column(1, DataTypes.DOUBLE), column(0, DataTypes.INT)));
+  }
+
+  @Test public void testUnsupportedComparisonFallsBackToRow() throws Exception {
+    // string column is evaluated row by row
+    assertSameAsRowEvaluation(new EqualToExpression(column(2, DataTypes.STRING),
+        new LiteralExpression("odd", DataTypes.STRING)));
+    // int value cannot be read as long
+    assertSameAsRowEvaluation(new GreaterThanExpression(column(0, DataTypes.INT),
+        new LiteralExpression(50L, DataTypes.LONG)));
+    // null literal
+    assertSameAsRowEvaluation(new EqualToExpression(column(0, DataTypes.INT),
+        new LiteralExpression(null, DataTypes.INT), true));
+  }
+
+  @Test public void testLogicalExpressions() throws Exception {
+    Expression greaterThan = new GreaterThanExpression(column(0, DataTypes.INT),
+        new LiteralExpression(50, DataTypes.INT));
+    Expression equalTo = new EqualToExpression(column(2, DataTypes.STRING),
+        new LiteralExpression("odd", DataTypes.STRING));
+    Expression lessThan = new LessThanExpression(column(1, DataTypes.DOUBLE),
+        new LiteralExpression(10.0, DataTypes.DOUBLE));
+    assertSameAsRowEvaluation(new AndExpression(greaterThan, equalTo));
+    assertSameAsRowEvaluation(new OrExpression(lessThan, new AndExpression(greaterThan, equalTo)));
+  }
+
+  @Test public void testSelectedRows() throws Exception {
+    Expression expression = new GreaterThanExpression(column(0, DataTypes.INT),
+        new LiteralExpression(50, DataTypes.INT));
+    BitSet selected = new BitSet();
+    selected.set(40, 60);
+    BitSet expected = new BitSet();
+    expected.set(51, 60);
+    Assert.assertEquals(expected, expression.evaluateBatch(batch, selected));
+  }
+
+  private void assertSameAsRowEvaluation(Expression expression) throws Exception {
+    BitSet expected = new BitSet();
+    for (int i = 0; i < NUMBER_OF_ROWS; i++) {
+      Boolean result;
+      try {
+        result = expression.evaluate(batch.getRow(i)).getBoolean();
+      } catch (FilterIllegalMemberException e) {
+        result = false;
+      }
+      if (null != result && result) {
+        expected.set(i);
+      }
+    }
+    Assert.assertEquals(expression.getString(), expected,
+        expression.evaluateBatch(batch, allRows));
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.filter.executer;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.expression.ColumnExpression;
+import org.apache.carbondata.core.scan.expression.Expression;
+import org.apache.carbondata.core.scan.expression.LiteralExpression;
+import org.apache.carbondata.core.scan.expression.conditional.EqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanExpression;
+import org.apache.carbondata.core.scan.expression.conditional.InExpression;
+import org.apache.carbondata.core.scan.expression.conditional.LessThanEqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.LessThanExpression;
+import org.apache.carbondata.core.scan.expression.conditional.ListExpression;
+import org.apache.carbondata.core.scan.expression.conditional.NotEqualsExpression;
+import org.apache.carbondata.core.scan.expression.conditional.StartsWithExpression;
+import org.apache.carbondata.core.scan.expression.exception.FilterIllegalMemberException;
+import org.apache.carbondata.core.scan.expression.logical.AndExpression;
+import org.apache.carbondata.core.scan.expression.logical.OrExpression;
+import org.apache.carbondata.core.scan.filter.intf.RowBatch;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FilterCompilerTest {
+
+  private static final int NUMBER_OF_ROWS = 100;
+
+  private RowBatch batch;
+
+  private BitSet allRows;
+
+  @Before public void setUp() {
+    // long column, double column and string column
+    batch = new RowBatch(new DataType[] { DataTypes.LONG, DataTypes.DOUBLE, null });
+    batch.reset(NUMBER_OF_ROWS);
+    for (int i = 0; i < NUMBER_OF_ROWS; i++) {
+      if (i % 10 == 0) {
+        batch.putNull(0, i);
+        batch.putNull(2, i);
+      } else {
+        batch.putLong(0, i, i);
+        batch.putObject(2, i, "value" + i);
+      }
+      batch.putDouble(1, i, i % 3 == 0 ? Double.NaN : i * 0.5);
+    }
+    allRows = new BitSet();
+    allRows.set(0, NUMBER_OF_ROWS);
+  }
+
+  private static ColumnExpression column(int index, DataType dataType) {
+    ColumnExpression expression = new ColumnExpression("c" + index, dataType);
+    expression.setColIndex(index);
+    return expression;
+  }
+
+  private static Expression list(DataType dataType, Object... values) {
+    List<Expression> children = new ArrayList<>();
+    for (Object value : values) {
+      children.add(new LiteralExpression(value, dataType));
+    }
+    return new ListExpression(children);
+  }
+
+  @Test public void testComparison() throws Exception {
+    assertSameAsRowEvaluation(new GreaterThanExpression(column(0, DataTypes.LONG),
+        new LiteralExpression(50L, DataTypes.LONG)));
+    assertSameAsRowEvaluation(new LessThanEqualToExpression(
+        new LiteralExpression(20L, DataTypes.LONG), column(0, DataTypes.LONG)));
+    assertSameAsRowEvaluation(new NotEqualsExpression(column(0, DataTypes.LONG),
+        new LiteralExpression(55L, DataTypes.LONG)));
+    assertSameAsRowEvaluation(new EqualToExpression(column(1, DataTypes.DOUBLE),
+        new LiteralExpression(Double.NaN, DataTypes.DOUBLE)));
+    assertSameAsRowEvaluation(new LessThanExpression(column(1, DataTypes.DOUBLE),
+        new LiteralExpression(10.0, DataTypes.DOUBLE)));
+    // different data types are not compiled
+    assertSameAsRowEvaluation(new GreaterThanExpression(column(0, DataTypes.LONG),
+        new LiteralExpression(30.5, DataTypes.DOUBLE)));
+  }
+
+  @Test public void testIn() throws Exception {
+    assertSameAsRowEvaluation(new InExpression(column(0, DataTypes.LONG),
+        list(DataTypes.LONG, 5L, 10L, 15L, null)));
+    assertSameAsRowEvaluation(new InExpression(column(1, DataTypes.DOUBLE),
+        list(DataTypes.DOUBLE, 0.5, 1.0, Double.NaN)));
+    assertSameAsRowEvaluation(new InExpression(column(2, DataTypes.STRING),
+        list(DataTypes.STRING, "value1", "value10", "value11")));
+  }
+
+  @Test public void testStartsWith() throws Exception {
+    assertSameAsRowEvaluation(new StartsWithExpression(column(2, DataTypes.STRING),
+        new LiteralExpression("value1", DataTypes.STRING)));
+  }
+
+  @Test public void testLogicalExpressions() throws Exception {
+    Expression greaterThan = new GreaterThanExpression(column(0, DataTypes.LONG),
+        new LiteralExpression(50L, DataTypes.LONG));
+    Expression startsWith = new StartsWithExpression(column(2, DataTypes.STRING),
+        new LiteralExpression("value7", DataTypes.STRING));
+    Expression lessThan = new LessThanExpression(column(1, DataTypes.DOUBLE),
+        new LiteralExpression(10.0, DataTypes.DOUBLE));
+    assertSameAsRowEvaluation(new AndExpression(greaterThan, startsWith));
+    assertSameAsRowEvaluation(
+        new OrExpression(lessThan, new AndExpression(greaterThan, startsWith)));
+  }
+
+  @Test public void testSelectedRows() throws Exception {
+    CompiledFilter filter = FilterCompiler.compile(new GreaterThanExpression(
+        column(0, DataTypes.LONG), new LiteralExpression(50L, DataTypes.LONG)), batch);
+    BitSet selected = new BitSet();
+    selected.set(40, 60);
+    BitSet expected = new BitSet();
+    expected.set(51, 60);
+    Assert.assertEquals(expected, filter.apply(batch, selected));
+  }
+
+  private void assertSameAsRowEvaluation(Expression expression) throws Exception {
+    BitSet expected = new BitSet();
+    for (int i = 0; i < NUMBER_OF_ROWS; i++) {
+      Boolean result;
+      try {
+        result = expression.evaluate(batch.getRow(i)).getBoolean();
+      } catch (FilterIllegalMemberException e) {
+        result = false;
+      }
+      if (null != result && result) {
+        expected.set(i);
+      }
+    }
+    Assert.assertEquals(expression.getString(), expected,
+        FilterCompiler.compile(expression, batch).apply(batch, allRows));
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.statusmanager;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.path.CarbonTablePath;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TableStatusCacheTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private String tableStatusPath;
+
+  @Before public void setUp() {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.ENABLE_TABLE_STATUS_CACHE, "true");
+    tableStatusPath =
+        new File(folder.getRoot(), CarbonTablePath.TABLE_STATUS_FILE).getAbsolutePath();
+  }
+
+  @After public void tearDown() {
+    CarbonProperties.getInstance().addProperty(CarbonCommonConstants.ENABLE_TABLE_STATUS_CACHE,
+        CarbonCommonConstants.ENABLE_TABLE_STATUS_CACHE_DEFAULT);
+  }
+
+  @Test public void testCachedDetailsAreCopied() throws Exception {
+    SegmentStatusManager.writeLoadDetailsIntoFile(tableStatusPath,
+        new LoadMetadataDetails[] { createDetails("0", SegmentStatus.SUCCESS) });
+    LoadMetadataDetails[] details = SegmentStatusManager.readTableStatusFile(tableStatusPath);
+    Assert.assertEquals(SegmentStatus.SUCCESS, details[0].getSegmentStatus());
+    // modification of the returned details should not change the cached details
+    details[0].setSegmentStatus(SegmentStatus.MARKED_FOR_DELETE);
+    details = SegmentStatusManager.readTableStatusFile(tableStatusPath);
+    Assert.assertEquals(SegmentStatus.SUCCESS, details[0].getSegmentStatus());
+  }
+
+  @Test public void testModifiedFileIsReadAgain() throws Exception {
+    SegmentStatusManager.writeLoadDetailsIntoFile(tableStatusPath,
+        new LoadMetadataDetails[] { createDetails("0", SegmentStatus.SUCCESS) });
+    Assert.assertEquals(1, SegmentStatusManager.readTableStatusFile(tableStatusPath).length);
+    SegmentStatusManager.writeLoadDetailsIntoFile(tableStatusPath,
+        new LoadMetadataDetails[] { createDetails("0", SegmentStatus.SUCCESS),
+            createDetails("1", SegmentStatus.SUCCESS) });
+    Assert.assertEquals(2, SegmentStatusManager.readTableStatusFile(tableStatusPath).length);
+  }
+
+  @Test public void testUnmodifiedFileIsNotReadAgain() throws Exception {
+    SegmentStatusManager.writeLoadDetailsIntoFile(tableStatusPath,
+        new LoadMetadataDetails[] { createDetails("1", SegmentStatus.SUCCESS) });
+    Assert.assertEquals("1",
+        SegmentStatusManager.readTableStatusFile(tableStatusPath)[0].getLoadName());
+    // overwrite the file with the same size and modified time, cached details are returned
+    File file = new File(tableStatusPath);
+    long lastModifiedTime = file.lastModified();
+    String content = new String(Files.readAllBytes(file.toPath()), Charset.forName("UTF-8"));
+    Files.write(file.toPath(),
+        content.replace("\"1\"", "\"2\"").getBytes(Charset.forName("UTF-8")));
+    Assert.assertTrue(file.setLastModified(lastModifiedTime));
+    Assert.assertEquals("1",
+        SegmentStatusManager.readTableStatusFile(tableStatusPath)[0].getLoadName());
+  }
+
+  private static LoadMetadataDetails createDetails(String loadName, SegmentStatus status) {
+    LoadMetadataDetails details = new LoadMetadataDetails();
+    details.setLoadName(loadName);
+    details.setSegmentStatus(status);
+    return details;
+  }
+}
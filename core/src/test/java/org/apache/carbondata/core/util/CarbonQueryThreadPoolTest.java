@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CarbonQueryThreadPoolTest {
+
+  @Test public void testTasksOfQueryAreBounded() throws Exception {
+    ExecutorService executorService =
+        CarbonQueryThreadPool.getInstance().newExecutorService("test", 2);
+    final AtomicInteger runningTasks = new AtomicInteger();
+    final AtomicInteger maxRunningTasks = new AtomicInteger();
+    List<Future<Integer>> futures = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      final int value = i;
+      futures.add(executorService.submit(new Callable<Integer>() {
+        @Override
+        public Integer call() throws Exception {
+          int running = runningTasks.incrementAndGet();
+          maxRunningTasks.accumulateAndGet(running, Math::max);
+          Thread.sleep(5);
+          runningTasks.decrementAndGet();
+          return value;
+        }
+      }));
+    }
+    for (int i = 0; i < futures.size(); i++) {
+      Assert.assertEquals(i, futures.get(i).get().intValue());
+    }
+    Assert.assertTrue(maxRunningTasks.get() <= 2);
+    executorService.shutdown();
+    Assert.assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+    Assert.assertTrue(executorService.isTerminated());
+  }
+
+  @Test public void testShutdownNowCancelsOnlyTasksOfQuery() throws Exception {
+    ExecutorService executorService1 =
+        CarbonQueryThreadPool.getInstance().newExecutorService("test1", 1);
+    ExecutorService executorService2 =
+        CarbonQueryThreadPool.getInstance().newExecutorService("test2", 1);
+    final CountDownLatch started = new CountDownLatch(1);
+    Future<Boolean> runningTask = executorService1.submit(new Callable<Boolean>() {
+      @Override
+      public Boolean call() throws Exception {
+        started.countDown();
+        Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+        return true;
+      }
+    });
+    Future<Boolean> queuedTask = executorService1.submit(new Callable<Boolean>() {
+      @Override
+      public Boolean call() {
+        return true;
+      }
+    });
+    Future<Boolean> otherQueryTask = executorService2.submit(new Callable<Boolean>() {
+      @Override
+      public Boolean call() throws Exception {
+        started.await();
+        return true;
+      }
+    });
+    started.await();
+    Assert.assertEquals(1, executorService1.shutdownNow().size());
+    Assert.assertTrue(runningTask.isCancelled());
+    Assert.assertTrue(queuedTask.isCancelled());
+    try {
+      runningTask.get();
+      Assert.fail("task should be cancelled");
+    } catch (CancellationException e) {
+      // expected
+    }
+    Assert.assertTrue(otherQueryTask.get(10, TimeUnit.SECONDS));
+    Assert.assertTrue(executorService1.awaitTermination(10, TimeUnit.SECONDS));
+    try {
+      executorService1.submit(new Callable<Boolean>() {
+        @Override
+        public Boolean call() {
+          return true;
+        }
+      });
+      Assert.fail("task should be rejected after shutdown");
+    } catch (RejectedExecutionException e) {
+      // expected
+    }
+    executorService2.shutdown();
+  }
+
+  @Test public void testTaskInfoOfQueryIsSetInTask() throws Exception {
+    CarbonTaskInfo taskInfo = new CarbonTaskInfo();
+    taskInfo.setTaskId("query-thread-pool-test");
+    ThreadLocalTaskInfo.setCarbonTaskInfo(taskInfo);
+    ExecutorService executorService =
+        CarbonQueryThreadPool.getInstance().newExecutorService("test");
+    try {
+      Future<String> future = executorService.submit(new Callable<String>() {
+        @Override
+        public String call() {
+          return ThreadLocalTaskInfo.getCarbonTaskInfo().getTaskId();
+        }
+      });
+      Assert.assertEquals("query-thread-pool-test", future.get());
+    } finally {
+      executorService.shutdownNow();
+      ThreadLocalTaskInfo.clearCarbonTaskInfo();
+    }
+  }
+}
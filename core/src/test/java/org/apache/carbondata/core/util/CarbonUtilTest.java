@@ -31,6 +31,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.apache.carbondata.core.index.Segment;
+import org.apache.carbondata.core.constants.CarbonV3DataFormatConstants;
 import org.apache.carbondata.core.datastore.block.TableBlockInfo;
 import org.apache.carbondata.core.datastore.chunk.impl.FixedLengthDimensionColumnPage;
 import org.apache.carbondata.core.datastore.filesystem.LocalCarbonFile;
@@ -971,6 +972,33 @@ public class CarbonUtilTest {
     return builder.toString();
   }
 
+  @Test public void testMergeReadRanges() {
+    long[] startOffsets = new long[] { 0, 12, 100, 105 };
+    long[] endOffsets = new long[] { 10, 20, 105, 110 };
+    int[][] mergedRanges = CarbonUtil.mergeReadRanges(startOffsets, endOffsets, 5);
+    assertEquals(2, mergedRanges.length);
+    assertTrue(Arrays.equals(new int[] { 0, 1 }, mergedRanges[0]));
+    assertTrue(Arrays.equals(new int[] { 2, 3 }, mergedRanges[1]));
+    mergedRanges = CarbonUtil.mergeReadRanges(startOffsets, endOffsets, 0);
+    assertEquals(3, mergedRanges.length);
+    assertEquals(0, CarbonUtil.mergeReadRanges(new long[0], new long[0], 5).length);
+  }
+
+  @Test public void testColumnReadMergeGapDependsOnFileType() {
+    assertEquals(1048576L,
+        CarbonProperties.getColumnReadMergeGapInBytes("s3a://bucket/part-0.carbondata"));
+    assertEquals(0L, CarbonProperties.getColumnReadMergeGapInBytes("/tmp/part-0.carbondata"));
+    assertEquals(0L, CarbonProperties.getColumnReadMergeGapInBytes("hdfs://host/part-0.carbondata"));
+    CarbonProperties.getInstance()
+        .addProperty(CarbonV3DataFormatConstants.COLUMN_READ_MERGE_GAP_IN_BYTES, "1024");
+    try {
+      assertEquals(1024L, CarbonProperties.getColumnReadMergeGapInBytes("/tmp/part-0.carbondata"));
+    } finally {
+      CarbonProperties.getInstance()
+          .removeProperty(CarbonV3DataFormatConstants.COLUMN_READ_MERGE_GAP_IN_BYTES);
+    }
+  }
+
   private void assertRangeIndex(byte[][] dataArr, byte[] dataChunk,
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2099
       FixedLengthDimensionColumnPage fixedLengthDimensionDataChunk, byte[] keyWord, int[] expectRangeIndex) {
@@ -127,6 +127,19 @@ public class StreamBlockletReader {
     compressor.rawUncompress(b, buffer);
   }
 
+  /**
+   * read the data of the columnar blocklet, the column pages are compressed by their encoders,
+   * so the data is not compressed again
+   */
+  public byte[] readColumnarBlockletData() throws IOException {
+    int len = readIntFromStream();
+    byte[] b = new byte[len];
+    if (!readBytesFromStream(b, 0, len)) {
+      throw new EOFException("Failed to read blocklet data");
+    }
+    return b;
+  }
+
   public void skipBlockletData(boolean reset) throws IOException {
     int len = readIntFromStream();
     skip(len);
@@ -263,6 +276,14 @@ public class StreamBlockletReader {
     return rowNums;
   }
 
+  /**
+   * set the number of rows to be read in the current blocklet
+   */
+  public void setRowNums(int rowNums) {
+    this.rowNums = rowNums;
+    this.rowIndex = 0;
+  }
+
   public void close() {
     CarbonUtil.closeStreams(in);
   }
@@ -0,0 +1,329 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.hadoop.stream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.carbondata.core.datastore.ColumnType;
+import org.apache.carbondata.core.datastore.TableSpec;
+import org.apache.carbondata.core.datastore.compression.CompressorFactory;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageDecoder;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoder;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
+import org.apache.carbondata.core.datastore.page.encoding.DefaultEncodingFactory;
+import org.apache.carbondata.core.datastore.page.encoding.EncodedColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.compress.DirectCompressCodec;
+import org.apache.carbondata.core.datastore.page.statistics.ColumnPageStatsCollector;
+import org.apache.carbondata.core.datastore.page.statistics.DummyStatsCollector;
+import org.apache.carbondata.core.datastore.page.statistics.KeyPageStatsCollector;
+import org.apache.carbondata.core.datastore.page.statistics.PrimitivePageStatsCollector;
+import org.apache.carbondata.core.datastore.page.statistics.SimpleStatsResult;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.core.scan.executor.util.QueryUtil;
+import org.apache.carbondata.core.scan.filter.executer.FilterExecuter;
+import org.apache.carbondata.core.util.ByteUtil;
+import org.apache.carbondata.core.util.CarbonMetadataUtil;
+import org.apache.carbondata.core.util.CarbonUtil;
+import org.apache.carbondata.format.BlockletHeader;
+import org.apache.carbondata.format.BlockletMinMaxIndex;
+import org.apache.carbondata.format.DataChunk;
+import org.apache.carbondata.format.DataChunk2;
+import org.apache.carbondata.format.DataChunk3;
+
+/**
+ * Columnar blocklet of the stream file.
+ *
+ * The values of each column are stored in small column pages which are encoded by the same
+ * encoders as the columnar carbondata file, and the min/max of each page is stored in the page
+ * metadata in the same format as the blocklet min/max of the stream file. So the reader can skip
+ * the pages by the filter and decode only the required columns.
+ *
+ * The blocklet data is the chunk of each column in the stream storage order, a column chunk is
+ * the length of the DataChunk3, the DataChunk3 and the encoded pages. The blocklet header has the
+ * DataChunk of each column with the offset and the length of the column chunk.
+ */
+public class StreamColumnarBlocklet {
+
+  private CarbonColumn[] columns;
+
+  private String compressorName;
+
+  // data type of the column pages, dimensions are stored as byte array except date columns
+  private DataType[] pageDataTypes;
+
+  // index of the column in the blocklet min/max, -1 for complex columns
+  private int[] minMaxIndexes;
+
+  private int minMaxCount;
+
+  // the blocklet being read
+  private byte[] data;
+  private List<DataChunk> columnChunks;
+  private DataChunk3[] dataChunks;
+  private int[] dataChunkLengths;
+
+  public StreamColumnarBlocklet(CarbonColumn[] columns, String compressorName) {
+    this.columns = columns;
+    this.compressorName = compressorName;
+    pageDataTypes = new DataType[columns.length];
+    minMaxIndexes = new int[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      if (!columns[i].isDimension()) {
+        pageDataTypes[i] = columns[i].getDataType();
+        minMaxIndexes[i] = minMaxCount++;
+      } else if (columns[i].isComplex()) {
+        pageDataTypes[i] = DataTypes.BYTE_ARRAY;
+        minMaxIndexes[i] = -1;
+      } else {
+        if (columns[i].getDataType() == DataTypes.DATE) {
+          pageDataTypes[i] = DataTypes.INT;
+        } else {
+          pageDataTypes[i] = DataTypes.BYTE_ARRAY;
+        }
+        minMaxIndexes[i] = minMaxCount++;
+      }
+    }
+  }
+
+  /**
+   * whether the blocklet is stored as column pages
+   */
+  public static boolean isColumnarBlocklet(BlockletHeader header) {
+    return header.getBlocklet_info().isSetColumn_data_chunks();
+  }
+
+  /**
+   * Encode the values of each column to the column pages of at most pageRowNums rows
+   *
+   * @param values converted values of each column, as they are written to the row blocklet
+   * @param rowCount number of rows in the blocklet
+   * @param pageRowNums max number of rows of a page
+   * @param columnChunks the DataChunk of each column is added to it
+   * @return the blocklet data
+   */
+  public byte[] encode(Object[][] values, int rowCount, int pageRowNums,
+      List<DataChunk> columnChunks) throws IOException {
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(stream);
+    for (int i = 0; i < columns.length; i++) {
+      DataChunk3 dataChunk3 = new DataChunk3();
+      dataChunk3.setData_chunk_list(new ArrayList<DataChunk2>());
+      dataChunk3.setPage_offset(new ArrayList<Integer>());
+      dataChunk3.setPage_length(new ArrayList<Integer>());
+      ByteArrayOutputStream pageStream = new ByteArrayOutputStream();
+      for (int start = 0; start < rowCount; start += pageRowNums) {
+        EncodedColumnPage encodedPage =
+            encodePage(i, values[i], start, Math.min(pageRowNums, rowCount - start));
+        ByteBuffer encodedData = encodedPage.getEncodedData();
+        int length = encodedData.limit() - encodedData.position();
+        byte[] pageData = new byte[length];
+        encodedData.get(pageData);
+        encodedPage.cleanBuffer();
+        dataChunk3.getData_chunk_list().add(encodedPage.getPageMetadata());
+        dataChunk3.getPage_offset().add(pageStream.size());
+        dataChunk3.getPage_length().add(length);
+        pageStream.write(pageData);
+      }
+      int offset = out.size();
+      byte[] dataChunk3Bytes = CarbonUtil.getByteArray(dataChunk3);
+      out.writeInt(dataChunk3Bytes.length);
+      out.write(dataChunk3Bytes);
+      pageStream.writeTo(out);
+
+      DataChunk columnChunk = new DataChunk();
+      columnChunk.setChunk_meta(dataChunk3.getData_chunk_list().get(0).getChunk_meta());
+      columnChunk.setRowMajor(false);
+      columnChunk.setColumn_ids(Collections.singletonList(i));
+      columnChunk.setData_page_offset(offset);
+      columnChunk.setData_page_length(out.size() - offset);
+      columnChunks.add(columnChunk);
+    }
+    out.flush();
+    return stream.toByteArray();
+  }
+
+  private EncodedColumnPage encodePage(int column, Object[] values, int start, int pageSize)
+      throws IOException {
+    DataType dataType = pageDataTypes[column];
+    ColumnPage page;
+    ColumnPageEncoder encoder;
+    // min/max of the page, in the same way as the stats of the row blocklet
+    ColumnPageStatsCollector statsCollector;
+    if (dataType == DataTypes.BYTE_ARRAY) {
+      // the values are stored with int length, same as the varchar columns
+      TableSpec.ColumnSpec spec = TableSpec.ColumnSpec
+          .newInstance(columns[column].getColName(), dataType, ColumnType.MEASURE);
+      page = ColumnPage.newPage(new ColumnPageEncoderMeta(spec, dataType, compressorName),
+          pageSize);
+      page.setStatsCollector(new DummyStatsCollector());
+      statsCollector = KeyPageStatsCollector.newInstance(DataTypes.BYTE_ARRAY);
+      for (int rowId = 0; rowId < pageSize; rowId++) {
+        byte[] value = (byte[]) values[start + rowId];
+        if (null == value) {
+          page.putData(rowId, new byte[0]);
+          page.getNullBits().set(rowId);
+        } else {
+          page.putData(rowId, value);
+          statsCollector.update(value);
+        }
+      }
+      encoder = new DirectCompressCodec(dataType).createEncoder(null);
+    } else {
+      TableSpec.ColumnSpec spec = TableSpec.ColumnSpec
+          .newInstance(columns[column].getColName(), dataType, ColumnType.PLAIN_VALUE);
+      ColumnPageEncoderMeta meta = new ColumnPageEncoderMeta(spec, dataType, compressorName);
+      if (DataTypes.isDecimal(dataType)) {
+        page = ColumnPage.newDecimalPage(meta, pageSize);
+      } else {
+        page = ColumnPage.newPage(meta, pageSize);
+      }
+      page.setStatsCollector(PrimitivePageStatsCollector.newInstance(dataType));
+      for (int rowId = 0; rowId < pageSize; rowId++) {
+        page.putData(rowId, values[start + rowId]);
+      }
+      if (columns[column].isDimension()) {
+        // date column
+        statsCollector = KeyPageStatsCollector.newInstance(DataTypes.BYTE_ARRAY);
+        for (int rowId = 0; rowId < pageSize; rowId++) {
+          if (null != values[start + rowId]) {
+            statsCollector.update(ByteUtil.toBytes((int) values[start + rowId]));
+          }
+        }
+      } else {
+        statsCollector = null;
+      }
+      encoder = DefaultEncodingFactory.getInstance().createEncoder(spec, page);
+    }
+    try {
+      EncodedColumnPage encodedPage = encoder.encode(page);
+      if (minMaxIndexes[column] >= 0) {
+        SimpleStatsResult stats =
+            null == statsCollector ? page.getStatistics() : statsCollector.getPageStats();
+        encodedPage.getPageMetadata().setMin_max(getMinMaxIndex(stats));
+      }
+      return encodedPage;
+    } finally {
+      page.freeMemory();
+    }
+  }
+
+  private static BlockletMinMaxIndex getMinMaxIndex(SimpleStatsResult stats) {
+    BlockletMinMaxIndex minMaxIndex = new BlockletMinMaxIndex();
+    byte[] max = null;
+    byte[] min = null;
+    if (null != stats.getMax() && null != stats.getMin()) {
+      max = CarbonUtil.getValueAsBytes(stats.getDataType(), stats.getMax());
+      min = CarbonUtil.getValueAsBytes(stats.getDataType(), stats.getMin());
+    }
+    if (null == max || null == min) {
+      // all the values of the page are null
+      minMaxIndex.addToMax_values(ByteBuffer.wrap(new byte[0]));
+      minMaxIndex.addToMin_values(ByteBuffer.wrap(new byte[0]));
+      minMaxIndex.addToMin_max_presence(false);
+    } else {
+      minMaxIndex.addToMax_values(ByteBuffer.wrap(max));
+      minMaxIndex.addToMin_values(ByteBuffer.wrap(min));
+      minMaxIndex.addToMin_max_presence(true);
+    }
+    return minMaxIndex;
+  }
+
+  /**
+   * set the blocklet to be read
+   */
+  public void setBlocklet(BlockletHeader header, byte[] data) {
+    this.data = data;
+    this.columnChunks = header.getBlocklet_info().getColumn_data_chunks();
+    this.dataChunks = new DataChunk3[columns.length];
+    this.dataChunkLengths = new int[columns.length];
+  }
+
+  private DataChunk3 getDataChunk(int column) throws IOException {
+    if (null == dataChunks[column]) {
+      int offset = (int) columnChunks.get(column).getData_page_offset();
+      dataChunkLengths[column] = ((data[offset] & 255) << 24) + ((data[offset + 1] & 255) << 16)
+          + ((data[offset + 2] & 255) << 8) + (data[offset + 3] & 255);
+      dataChunks[column] =
+          CarbonUtil.readDataChunk3(ByteBuffer.wrap(data), offset + 4, dataChunkLengths[column]);
+    }
+    return dataChunks[column];
+  }
+
+  public int getPageCount() throws IOException {
+    return getDataChunk(0).getData_chunk_list().size();
+  }
+
+  public int getPageRowCount(int pageId) throws IOException {
+    return getDataChunk(0).getData_chunk_list().get(pageId).getNumberOfRowsInpage();
+  }
+
+  /**
+   * check the filter by the min/max of the page of the filter columns
+   */
+  public boolean isScanRequired(int pageId, FilterExecuter filter, boolean[] isFilterColumn)
+      throws IOException {
+    byte[][] maxValues = new byte[minMaxCount][];
+    byte[][] minValues = new byte[minMaxCount][];
+    boolean[] isMinMaxSet = new boolean[minMaxCount];
+    for (int i = 0; i < minMaxCount; i++) {
+      maxValues[i] = new byte[0];
+      minValues[i] = new byte[0];
+    }
+    for (int i = 0; i < columns.length; i++) {
+      if (isFilterColumn[i] && minMaxIndexes[i] >= 0) {
+        BlockletMinMaxIndex minMaxIndex =
+            getDataChunk(i).getData_chunk_list().get(pageId).getMin_max();
+        maxValues[minMaxIndexes[i]] = minMaxIndex.getMax_values().get(0).array();
+        minValues[minMaxIndexes[i]] = minMaxIndex.getMin_values().get(0).array();
+        isMinMaxSet[minMaxIndexes[i]] = minMaxIndex.getMin_max_presence().get(0);
+      }
+    }
+    BitSet bitSet = filter.isScanRequired(maxValues, minValues, isMinMaxSet);
+    return !bitSet.isEmpty();
+  }
+
+  /**
+   * decode the page of the column by the decoder of its encoding, the null rows are set in the
+   * null bits of the page
+   */
+  public ColumnPage decodePage(int column, int pageId) throws IOException {
+    DataChunk3 dataChunk3 = getDataChunk(column);
+    DataChunk2 pageMetadata = dataChunk3.getData_chunk_list().get(pageId);
+    String pageCompressorName =
+        CarbonMetadataUtil.getCompressorNameFromChunkMeta(pageMetadata.getChunk_meta());
+    ColumnPageDecoder decoder = DefaultEncodingFactory.getInstance()
+        .createDecoder(pageMetadata.getEncoders(), pageMetadata.getEncoder_meta(),
+            pageCompressorName);
+    int offset = (int) columnChunks.get(column).getData_page_offset() + 4
+        + dataChunkLengths[column] + dataChunk3.getPage_offset().get(pageId);
+    ColumnPage page = decoder.decode(data, offset, pageMetadata.getData_page_length());
+    page.setNullBits(QueryUtil.getNullBitSet(pageMetadata.getPresence(),
+        CompressorFactory.getInstance().getCompressor(pageCompressorName)));
+    return page;
+  }
+}
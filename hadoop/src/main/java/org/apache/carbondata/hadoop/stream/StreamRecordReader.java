@@ -20,6 +20,7 @@ package org.apache.carbondata.hadoop.stream;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
@@ -28,6 +29,7 @@ import java.util.Map;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.block.SegmentProperties;
 import org.apache.carbondata.core.datastore.compression.CompressorFactory;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
 import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionaryGenerator;
 import org.apache.carbondata.core.keygenerator.directdictionary.DirectDictionaryKeyGeneratorFactory;
 import org.apache.carbondata.core.metadata.blocklet.index.BlockletMinMaxIndex;
@@ -47,6 +49,7 @@ import org.apache.carbondata.core.scan.filter.intf.RowImpl;
 import org.apache.carbondata.core.scan.filter.intf.RowIntf;
 import org.apache.carbondata.core.scan.filter.resolver.FilterResolverIntf;
 import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.util.ByteUtil;
 import org.apache.carbondata.core.util.CarbonMetadataUtil;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.core.util.DataTypeUtil;
@@ -116,6 +119,17 @@ public class StreamRecordReader extends RecordReader<Void, Object> {
   // return raw row for handoff
   private boolean useRawRow = false;
 
+  // columnar blocklet
+  private StreamColumnarBlocklet columnarBlocklet;
+  private boolean isColumnarBlocklet;
+  private boolean[] isDecodeRequired;
+  private int[] scanPageIds;
+  private int scanPageCount;
+  private int scanPageIndex;
+  private ColumnPage[] pages;
+  private int pageRowId;
+  private int pageRowCount;
+
   public StreamRecordReader(QueryModel mdl, boolean useRawRow) {
     this.model = mdl;
     this.useRawRow = useRawRow;
@@ -269,6 +283,15 @@ public class StreamRecordReader extends RecordReader<Void, Object> {
 
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3605
     queryTypes = CarbonStreamInputFormat.getComplexDimensions(storageColumns);
+
+    columnarBlocklet = new StreamColumnarBlocklet(storageColumns, compressorName);
+    pages = new ColumnPage[storageColumns.length];
+    if (useRawRow) {
+      isDecodeRequired = new boolean[storageColumns.length];
+      Arrays.fill(isDecodeRequired, true);
+    } else {
+      isDecodeRequired = isRequired;
+    }
   }
 
   /**
@@ -305,7 +328,7 @@ public class StreamRecordReader extends RecordReader<Void, Object> {
               if (skipScanData) {
                 input.skipBlockletData(false);
               } else {
-                input.readBlockletData(header);
+                readBlockletData(header);
               }
             } else {
               input.skipBlockletData(true);
@@ -346,6 +369,65 @@ public class StreamRecordReader extends RecordReader<Void, Object> {
     return outputValues;
   }
 
+  /**
+   * read the data of the blocklet. For the columnar blocklet, only the pages which are required by
+   * the filter are scanned, and the number of rows of the blocklet is the number of rows of them
+   */
+  protected void readBlockletData(BlockletHeader header) throws IOException {
+    freePages();
+    isColumnarBlocklet = StreamColumnarBlocklet.isColumnarBlocklet(header);
+    if (!isColumnarBlocklet) {
+      input.readBlockletData(header);
+      return;
+    }
+    columnarBlocklet.setBlocklet(header, input.readColumnarBlockletData());
+    int pageCount = columnarBlocklet.getPageCount();
+    scanPageIds = new int[pageCount];
+    scanPageCount = 0;
+    int rowNums = 0;
+    for (int pageId = 0; pageId < pageCount; pageId++) {
+      if (null == filter || columnarBlocklet.isScanRequired(pageId, filter, isFilterRequired)) {
+        scanPageIds[scanPageCount++] = pageId;
+        rowNums += columnarBlocklet.getPageRowCount(pageId);
+      }
+    }
+    input.setRowNums(rowNums);
+    scanPageIndex = -1;
+    pageRowId = 0;
+    pageRowCount = 0;
+  }
+
+  /**
+   * move to the next row of the scanned pages, the required columns of the page are decoded
+   * when moving to the next page
+   */
+  private int nextPageRow() throws IOException {
+    if (pageRowId == pageRowCount) {
+      freePages();
+      int pageId = scanPageIds[++scanPageIndex];
+      for (int i = 0; i < pages.length; i++) {
+        if (isDecodeRequired[i]) {
+          pages[i] = columnarBlocklet.decodePage(i, pageId);
+        }
+      }
+      pageRowId = 0;
+      pageRowCount = columnarBlocklet.getPageRowCount(pageId);
+    }
+    return pageRowId++;
+  }
+
+  private void freePages() {
+    if (null == pages) {
+      return;
+    }
+    for (int i = 0; i < pages.length; i++) {
+      if (null != pages[i]) {
+        pages[i].freeMemory();
+        pages[i] = null;
+      }
+    }
+  }
+
   protected boolean isScanRequired(BlockletHeader header) {
     if (filter != null && header.getBlocklet_index() != null) {
       BlockletMinMaxIndex minMaxIndex = CarbonMetadataUtil
@@ -364,7 +446,11 @@ public class StreamRecordReader extends RecordReader<Void, Object> {
     return true;
   }
 
-  protected void readRowFromStream() {
+  protected void readRowFromStream() throws IOException {
+    if (isColumnarBlocklet) {
+      readRowFromPages();
+      return;
+    }
     input.nextRow();
     short nullLen = input.readShort();
     BitSet nullBitSet = allNonNull;
@@ -549,7 +635,110 @@ public class StreamRecordReader extends RecordReader<Void, Object> {
     }
   }
 
-  private void readRawRowFromStream() {
+  private void readRowFromPages() throws IOException {
+    input.nextRow();
+    int rowId = nextPageRow();
+    int colCount = 0;
+    // primitive type dimension
+    for (; colCount < isNoDictColumn.length; colCount++) {
+      if (!isRequired[colCount]) {
+        continue;
+      }
+      ColumnPage page = pages[colCount];
+      if (page.getNullBits().get(rowId)) {
+        if (isFilterRequired[colCount]) {
+          filterValues[filterMap[colCount]] = CarbonCommonConstants.MEMBER_DEFAULT_VAL_ARRAY;
+        }
+        if (isProjectionRequired[colCount]) {
+          outputValues[projectionMap[colCount]] = null;
+        }
+      } else if (isNoDictColumn[colCount]) {
+        byte[] b = page.getBytes(rowId);
+        if (isFilterRequired[colCount]) {
+          filterValues[filterMap[colCount]] = b;
+        }
+        if (isProjectionRequired[colCount]) {
+          outputValues[projectionMap[colCount]] = DataTypeUtil
+              .getDataBasedOnDataTypeForNoDictionaryColumn(b,
+                  storageColumns[colCount].getDataType());
+        }
+      } else {
+        int v = (int) page.getLong(rowId);
+        if (isFilterRequired[colCount]) {
+          filterValues[filterMap[colCount]] = ByteUtil.toBytes(v);
+        }
+        if (isProjectionRequired[colCount]) {
+          if (null != directDictionaryGenerators[colCount]) {
+            outputValues[projectionMap[colCount]] =
+                directDictionaryGenerators[colCount].getValueFromSurrogate(v);
+          } else {
+            outputValues[projectionMap[colCount]] = v;
+          }
+        }
+      }
+    }
+    // complex type dimension
+    for (; colCount < dimensionCount; colCount++) {
+      if (!isRequired[colCount]) {
+        continue;
+      }
+      byte[] b = null;
+      if (!pages[colCount].getNullBits().get(rowId)) {
+        b = pages[colCount].getBytes(rowId);
+      }
+      if (isFilterRequired[colCount]) {
+        filterValues[filterMap[colCount]] = b;
+      }
+      if (isProjectionRequired[colCount]) {
+        outputValues[projectionMap[colCount]] =
+            null == b ? null : queryTypes[colCount].getDataBasedOnDataType(ByteBuffer.wrap(b));
+      }
+    }
+    // measure
+    for (int msrCount = 0; msrCount < measureCount; msrCount++, colCount++) {
+      if (!isRequired[colCount]) {
+        continue;
+      }
+      Object v = null;
+      if (!pages[colCount].getNullBits().get(rowId)) {
+        v = getMeasureValue(pages[colCount], rowId, measureDataTypes[msrCount]);
+      }
+      if (isFilterRequired[colCount]) {
+        filterValues[filterMap[colCount]] = v;
+      }
+      if (isProjectionRequired[colCount]) {
+        if (null != v && DataTypes.isDecimal(measureDataTypes[msrCount])) {
+          outputValues[projectionMap[colCount]] =
+              DataTypeUtil.getDataTypeConverter().convertFromBigDecimalToDecimal(v);
+        } else {
+          outputValues[projectionMap[colCount]] = v;
+        }
+      }
+    }
+  }
+
+  private static Object getMeasureValue(ColumnPage page, int rowId, DataType dataType) {
+    if (dataType == DataTypes.BOOLEAN) {
+      return page.getBoolean(rowId);
+    } else if (dataType == DataTypes.SHORT) {
+      return (short) page.getLong(rowId);
+    } else if (dataType == DataTypes.INT) {
+      return (int) page.getLong(rowId);
+    } else if (dataType == DataTypes.LONG) {
+      return page.getLong(rowId);
+    } else if (dataType == DataTypes.DOUBLE) {
+      return page.getDouble(rowId);
+    } else if (DataTypes.isDecimal(dataType)) {
+      return page.getDecimal(rowId);
+    }
+    return null;
+  }
+
+  private void readRawRowFromStream() throws IOException {
+    if (isColumnarBlocklet) {
+      readRawRowFromPages();
+      return;
+    }
     input.nextRow();
     short nullLen = input.readShort();
     BitSet nullBitSet = allNonNull;
@@ -610,6 +799,39 @@ public class StreamRecordReader extends RecordReader<Void, Object> {
     }
   }
 
+  private void readRawRowFromPages() throws IOException {
+    input.nextRow();
+    int rowId = nextPageRow();
+    int colCount = 0;
+    // primitive type dimension
+    for (; colCount < isNoDictColumn.length; colCount++) {
+      if (pages[colCount].getNullBits().get(rowId)) {
+        outputValues[colCount] = CarbonCommonConstants.MEMBER_DEFAULT_VAL_ARRAY;
+      } else if (isNoDictColumn[colCount]) {
+        outputValues[colCount] = pages[colCount].getBytes(rowId);
+      } else {
+        outputValues[colCount] = (int) pages[colCount].getLong(rowId);
+      }
+    }
+    // complex type dimension
+    for (; colCount < dimensionCount; colCount++) {
+      if (pages[colCount].getNullBits().get(rowId)) {
+        outputValues[colCount] = null;
+      } else {
+        outputValues[colCount] = pages[colCount].getBytes(rowId);
+      }
+    }
+    // measure
+    for (int msrCount = 0; msrCount < measureCount; msrCount++, colCount++) {
+      if (pages[colCount].getNullBits().get(rowId)) {
+        outputValues[colCount] = null;
+      } else {
+        outputValues[colCount] =
+            getMeasureValue(pages[colCount], rowId, measureDataTypes[msrCount]);
+      }
+    }
+  }
+
   @Override
   public float getProgress() {
     return 0;
@@ -617,6 +839,7 @@ public class StreamRecordReader extends RecordReader<Void, Object> {
 
   @Override
   public void close() throws IOException {
+    freePages();
     if (null != input) {
       input.close();
     }
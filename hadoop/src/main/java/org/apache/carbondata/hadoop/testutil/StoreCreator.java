@@ -469,10 +469,16 @@ public class StoreCreator {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3163
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3164
     DataTypeUtil.clearFormatter();
-    new DataLoadExecutor().execute(loadModel,
+    DataLoadExecutor dataLoadExecutor = new DataLoadExecutor();
+    try {
+      dataLoadExecutor.execute(loadModel,
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-1573
-        new String[] {storeLocation + "/" + databaseName + "/" + tableName},
-        new CarbonIterator[]{readerIterator});
+          new String[] {storeLocation + "/" + databaseName + "/" + tableName},
+          new CarbonIterator[]{readerIterator});
+    } finally {
+      // close the steps to flush the bad records
+      dataLoadExecutor.close();
+    }
 
     writeLoadMetadata(
         loadModel.getCarbonDataLoadSchema(), loadModel.getTableName(), loadModel.getTableName(),
@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.hadoop.ft;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.FileReader;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.reader.CarbonFooterReaderV3;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonUtil;
+import org.apache.carbondata.core.util.path.CarbonTablePath;
+import org.apache.carbondata.format.BlockletInfo3;
+import org.apache.carbondata.hadoop.CarbonProjection;
+import org.apache.carbondata.hadoop.api.CarbonTableInputFormat;
+import org.apache.carbondata.hadoop.testutil.StoreCreator;
+import org.apache.carbondata.processing.loading.model.CarbonLoadModel;
+import org.apache.carbondata.processing.util.TableOptionConstant;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapreduce.InputSplit;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.RecordReader;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
+import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * No sort load with columnar batch should write the same pages and rows as the load of rows
+ */
+public class ColumnarBatchLoadTest {
+
+  private static final String STORE_PATH = new File("target/columnar_batch").getAbsolutePath();
+
+  private static final String CSV_PATH = STORE_PATH + "/data.csv";
+
+  private static final int ROW_COUNT = 5000;
+
+  // rows of the page are added from more than one batch and batches are split in two pages
+  private static final String PAGE_SIZE = "2000";
+
+  private static final String BATCH_SIZE = "768";
+
+  @BeforeClass public static void setUp() throws Exception {
+    CarbonUtil.deleteFoldersAndFiles(new File(STORE_PATH));
+    new File(STORE_PATH).mkdirs();
+    try (BufferedWriter writer = new BufferedWriter(new FileWriter(CSV_PATH))) {
+      writer.write("ID,date,country,name,phonetype,serialname,salary");
+      writer.newLine();
+      for (int i = 1; i <= ROW_COUNT; i++) {
+        String phoneType = i % 50 == 0 ? "\\N" : "phone" + i;
+        // salary which is not a number is a bad record
+        String salary = i % 97 == 0 ? "bad" + i : String.valueOf(15000 + i);
+        writer.write(i + ",2015/7/" + (i % 28 + 1) + ",country" + (i % 3) + ",aaa" + i + ","
+            + phoneType + ",ASD" + i + "," + salary);
+        writer.newLine();
+      }
+    }
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_WRITTEN_BY_APPNAME, "ColumnarBatchLoadTest")
+        .addProperty(CarbonCommonConstants.BLOCKLET_SIZE, PAGE_SIZE)
+        .addProperty(CarbonCommonConstants.DATA_LOAD_BATCH_SIZE, BATCH_SIZE);
+  }
+
+  @AfterClass public static void tearDown() throws Exception {
+    CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.BLOCKLET_SIZE,
+            CarbonCommonConstants.BLOCKLET_SIZE_DEFAULT_VAL)
+        .addProperty(CarbonCommonConstants.DATA_LOAD_BATCH_SIZE,
+            CarbonCommonConstants.DATA_LOAD_BATCH_SIZE_DEFAULT)
+        .addProperty(CarbonCommonConstants.CARBON_LOAD_COLUMNAR_BATCH_ENABLE,
+            CarbonCommonConstants.CARBON_LOAD_COLUMNAR_BATCH_ENABLE_DEFAULT);
+    CarbonUtil.deleteFoldersAndFiles(new File(STORE_PATH));
+  }
+
+  @Test public void testLoadWithBadRecordsForced() throws Exception {
+    LoadResult rowResult = load("force_row", false, "FORCE");
+    LoadResult batchResult = load("force_batch", true, "FORCE");
+    Assert.assertEquals(ROW_COUNT, rowResult.rows.size());
+    assertSameResult(rowResult, batchResult);
+  }
+
+  @Test public void testLoadWithBadRecordsRedirected() throws Exception {
+    LoadResult rowResult = load("redirect_row", false, "REDIRECT");
+    LoadResult batchResult = load("redirect_batch", true, "REDIRECT");
+    int badRecordCount = ROW_COUNT / 97;
+    Assert.assertEquals(ROW_COUNT - badRecordCount, rowResult.rows.size());
+    assertSameResult(rowResult, batchResult);
+    Assert.assertEquals(badRecordCount, rowResult.badRecords.size());
+    Assert.assertEquals(rowResult.badRecords, batchResult.badRecords);
+  }
+
+  @Test public void testLoadWithBadRecordsFailed() throws Exception {
+    assertLoadFails("fail_row", false);
+    assertLoadFails("fail_batch", true);
+  }
+
+  private static void assertLoadFails(String name, boolean isColumnarBatch) {
+    try {
+      load(name, isColumnarBatch, "FAIL");
+      Assert.fail("load should fail on bad record");
+    } catch (Exception e) {
+      Assert.assertTrue(e.getMessage(),
+          e.getMessage().contains("Data load failed due to bad record"));
+    }
+  }
+
+  private static void assertSameResult(LoadResult rowResult, LoadResult batchResult) {
+    Assert.assertEquals(rowResult.rowCountInPages, batchResult.rowCountInPages);
+    Assert.assertTrue(rowResult.rowCountInPages.size() > 1);
+    Assert.assertEquals(rowResult.rows.size(), batchResult.rows.size());
+    // no sort load keeps the order of the input rows
+    for (int i = 0; i < rowResult.rows.size(); i++) {
+      Assert.assertArrayEquals("row " + i, rowResult.rows.get(i), batchResult.rows.get(i));
+    }
+  }
+
+  private static LoadResult load(String name, boolean isColumnarBatch, String badRecordsAction)
+      throws Exception {
+    String storePath = STORE_PATH + "/" + name;
+    StoreCreator creator = new StoreCreator(storePath, CSV_PATH);
+    CarbonLoadModel loadModel = creator.createTableAndLoadModel();
+    loadModel.setSortScope("NO_SORT");
+    loadModel.setBadRecordsAction(
+        TableOptionConstant.BAD_RECORDS_ACTION.getName() + "," + badRecordsAction);
+    String badRecordsPath = storePath + "/badrecords";
+    loadModel.setBadRecordsLocation(badRecordsPath);
+    CarbonProperties.getInstance().addProperty(
+        CarbonCommonConstants.CARBON_LOAD_COLUMNAR_BATCH_ENABLE, String.valueOf(isColumnarBatch));
+    try {
+      creator.createCarbonStore(loadModel);
+      LoadResult result = new LoadResult();
+      String tablePath = creator.getAbsoluteTableIdentifier().getTablePath();
+      result.rowCountInPages = readRowCountInPages(tablePath);
+      result.rows = readRows(creator);
+      result.badRecords = readBadRecords(new File(badRecordsPath));
+      return result;
+    } finally {
+      creator.clearIndexes();
+      CarbonProperties.getInstance().addProperty(
+          CarbonCommonConstants.CARBON_LOAD_COLUMNAR_BATCH_ENABLE,
+          CarbonCommonConstants.CARBON_LOAD_COLUMNAR_BATCH_ENABLE_DEFAULT);
+    }
+  }
+
+  /**
+   * row count of each page of each blocklet, read from the footer of the data file
+   */
+  private static List<Integer> readRowCountInPages(String tablePath) throws IOException {
+    File[] dataFiles = new File(CarbonTablePath.getSegmentPath(tablePath, "0"))
+        .listFiles(new FilenameFilter() {
+          @Override
+          public boolean accept(File dir, String fileName) {
+            return fileName.endsWith(CarbonTablePath.CARBON_DATA_EXT);
+          }
+        });
+    Assert.assertNotNull(dataFiles);
+    Assert.assertEquals(1, dataFiles.length);
+    String filePath = dataFiles[0].getAbsolutePath();
+    FileReader fileReader = FileFactory.getFileHolder(FileFactory.getFileType(filePath));
+    List<Integer> rowCountInPages = new ArrayList<>();
+    try {
+      long footerOffset =
+          fileReader.readByteBuffer(filePath, dataFiles[0].length() - 8, 8).getLong();
+      for (BlockletInfo3 blockletInfo : new CarbonFooterReaderV3(filePath, footerOffset)
+          .readFooterVersion3().getBlocklet_info_list3()) {
+        rowCountInPages.addAll(blockletInfo.getRow_count_in_page());
+      }
+    } finally {
+      fileReader.finish();
+    }
+    return rowCountInPages;
+  }
+
+  private static List<Object[]> readRows(StoreCreator creator) throws Exception {
+    Job job = Job.getInstance(new Configuration());
+    Configuration configuration = job.getConfiguration();
+    configuration.set("query.id", UUID.randomUUID().toString());
+    CarbonTableInputFormat.setDatabaseName(configuration,
+        creator.getAbsoluteTableIdentifier().getDatabaseName());
+    CarbonTableInputFormat.setTableName(configuration,
+        creator.getAbsoluteTableIdentifier().getTableName());
+    CarbonProjection projection = new CarbonProjection();
+    for (String column : new String[] {
+        "ID", "date", "country", "name", "phonetype", "serialname", "salary" }) {
+      projection.addColumn(column);
+    }
+    CarbonTableInputFormat.setColumnProjection(configuration, projection);
+    FileInputFormat.addInputPath(job, new Path(creator.getAbsoluteTableIdentifier()
+        .getTablePath()));
+    CarbonTableInputFormat<Object[]> format = new CarbonTableInputFormat<>();
+    List<Object[]> rows = new ArrayList<>();
+    for (InputSplit split : format.getSplits(job)) {
+      TaskAttemptContextImpl context = new TaskAttemptContextImpl(configuration,
+          new TaskAttemptID());
+      RecordReader<Void, Object[]> reader = format.createRecordReader(split, context);
+      try {
+        reader.initialize(split, context);
+        while (reader.nextKeyValue()) {
+          rows.add(reader.getCurrentValue().clone());
+        }
+      } finally {
+        reader.close();
+      }
+    }
+    return rows;
+  }
+
+  private static List<String> readBadRecords(File folder) throws IOException {
+    List<String> badRecords = new ArrayList<>();
+    File[] files = folder.listFiles();
+    if (null != files) {
+      for (File file : files) {
+        if (file.isDirectory()) {
+          badRecords.addAll(readBadRecords(file));
+        } else if (file.getName().endsWith(".csv")) {
+          badRecords.addAll(Files.readAllLines(file.toPath(), StandardCharsets.UTF_8));
+        }
+      }
+    }
+    return badRecords;
+  }
+
+  private static class LoadResult {
+    private List<Integer> rowCountInPages;
+    private List<Object[]> rows;
+    private List<String> badRecords;
+  }
+}
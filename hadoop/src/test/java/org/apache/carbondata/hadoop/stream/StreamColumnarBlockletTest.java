@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.hadoop.stream;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonMeasure;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.scan.filter.executer.TrueFilterExecutor;
+import org.apache.carbondata.core.util.CarbonUtil;
+import org.apache.carbondata.format.BlockletHeader;
+import org.apache.carbondata.format.BlockletInfo;
+import org.apache.carbondata.format.DataChunk;
+import org.apache.carbondata.format.MutationType;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StreamColumnarBlockletTest {
+
+  private static final int ROW_COUNT = 25;
+
+  @Test public void testPagesAreEncodedAndDecoded() throws Exception {
+    StreamColumnarBlocklet blocklet = createBlocklet();
+    Assert.assertEquals(3, blocklet.getPageCount());
+    Assert.assertEquals(10, blocklet.getPageRowCount(0));
+    Assert.assertEquals(5, blocklet.getPageRowCount(2));
+    for (int pageId = 0; pageId < 3; pageId++) {
+      ColumnPage namePage = blocklet.decodePage(0, pageId);
+      ColumnPage dayPage = blocklet.decodePage(1, pageId);
+      ColumnPage salaryPage = blocklet.decodePage(2, pageId);
+      ColumnPage scorePage = blocklet.decodePage(3, pageId);
+      for (int rowId = 0; rowId < blocklet.getPageRowCount(pageId); rowId++) {
+        int i = pageId * 10 + rowId;
+        if (i % 7 == 0) {
+          Assert.assertTrue(namePage.getNullBits().get(rowId));
+        } else {
+          Assert.assertFalse(namePage.getNullBits().get(rowId));
+          Assert.assertEquals("name" + i,
+              new String(namePage.getBytes(rowId), StandardCharsets.UTF_8));
+        }
+        Assert.assertEquals(18000 + i, dayPage.getLong(rowId));
+        if (i == 3) {
+          Assert.assertTrue(salaryPage.getNullBits().get(rowId));
+        } else {
+          Assert.assertFalse(salaryPage.getNullBits().get(rowId));
+          Assert.assertEquals(i * 100L, salaryPage.getLong(rowId));
+        }
+        Assert.assertEquals(i / 2.0, scorePage.getDouble(rowId), 0);
+      }
+      namePage.freeMemory();
+      dayPage.freeMemory();
+      salaryPage.freeMemory();
+      scorePage.freeMemory();
+    }
+  }
+
+  @Test public void testPagesArePrunedByMinMax() throws Exception {
+    StreamColumnarBlocklet blocklet = createBlocklet();
+    // salary >= 2000
+    TrueFilterExecutor filter = new TrueFilterExecutor() {
+      @Override
+      public BitSet isScanRequired(byte[][] blockMaxValue, byte[][] blockMinValue,
+          boolean[] isMinMaxSet) {
+        BitSet bitSet = new BitSet(1);
+        if (!isMinMaxSet[2] || ByteBuffer.wrap(blockMaxValue[2]).getLong() >= 2000) {
+          bitSet.set(0);
+        }
+        return bitSet;
+      }
+    };
+    boolean[] isFilterColumn = new boolean[] { false, false, true, false };
+    Assert.assertFalse(blocklet.isScanRequired(0, filter, isFilterColumn));
+    Assert.assertFalse(blocklet.isScanRequired(1, filter, isFilterColumn));
+    Assert.assertTrue(blocklet.isScanRequired(2, filter, isFilterColumn));
+    // min/max of the column which is not in the filter is not set
+    Assert.assertTrue(blocklet.isScanRequired(0, filter, new boolean[4]));
+  }
+
+  private static StreamColumnarBlocklet createBlocklet() throws Exception {
+    CarbonColumn[] columns = new CarbonColumn[] {
+        new CarbonDimension(createColumnSchema("name", DataTypes.STRING, true), 0, -1),
+        new CarbonDimension(createColumnSchema("day", DataTypes.DATE, true), 1, -1),
+        new CarbonMeasure(createColumnSchema("salary", DataTypes.LONG, false), 0),
+        new CarbonMeasure(createColumnSchema("score", DataTypes.DOUBLE, false), 1) };
+    Object[][] values = new Object[columns.length][ROW_COUNT];
+    for (int i = 0; i < ROW_COUNT; i++) {
+      values[0][i] = i % 7 == 0 ? null : ("name" + i).getBytes(StandardCharsets.UTF_8);
+      values[1][i] = 18000 + i;
+      values[2][i] = i == 3 ? null : i * 100L;
+      values[3][i] = i / 2.0;
+    }
+    List<DataChunk> columnChunks = new ArrayList<>();
+    StreamColumnarBlocklet writer = new StreamColumnarBlocklet(columns, "snappy");
+    byte[] data = writer.encode(values, ROW_COUNT, 10, columnChunks);
+    Assert.assertEquals(columns.length, columnChunks.size());
+
+    BlockletInfo blockletInfo = new BlockletInfo();
+    blockletInfo.setNum_rows(ROW_COUNT);
+    blockletInfo.setColumn_data_chunks(columnChunks);
+    BlockletHeader header = new BlockletHeader();
+    header.setBlocklet_length(data.length);
+    header.setMutation(MutationType.INSERT);
+    header.setBlocklet_info(blockletInfo);
+    header = CarbonUtil.readBlockletHeader(CarbonUtil.getByteArray(header));
+    Assert.assertTrue(StreamColumnarBlocklet.isColumnarBlocklet(header));
+
+    StreamColumnarBlocklet reader = new StreamColumnarBlocklet(columns, "snappy");
+    reader.setBlocklet(header, data);
+    return reader;
+  }
+
+  private static ColumnSchema createColumnSchema(String name, DataType dataType,
+      boolean isDimension) {
+    ColumnSchema columnSchema = new ColumnSchema();
+    columnSchema.setColumnName(name);
+    columnSchema.setColumnUniqueId(name);
+    columnSchema.setDataType(dataType);
+    columnSchema.setDimensionColumn(isDimension);
+    return columnSchema;
+  }
+}
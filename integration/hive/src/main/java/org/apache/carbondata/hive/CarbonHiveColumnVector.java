@@ -0,0 +1,420 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.hive;
+
+import java.math.BigDecimal;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.CarbonDictionary;
+import org.apache.carbondata.core.scan.result.vector.impl.CarbonColumnVectorImpl;
+import org.apache.carbondata.core.scan.scanner.LazyPageLoader;
+
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DecimalColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.TimestampColumnVector;
+
+/**
+ * Carbon column vector which writes the values filled by the carbon scan directly into a
+ * column of the hive VectorizedRowBatch, so that no intermediate row or vector is created.
+ */
+class CarbonHiveColumnVector implements CarbonColumnVector {
+
+  private final ColumnVector hiveVector;
+
+  private LongColumnVector longVector;
+
+  private DoubleColumnVector doubleVector;
+
+  private DecimalColumnVector decimalVector;
+
+  private TimestampColumnVector timestampVector;
+
+  private BytesColumnVector bytesVector;
+
+  private final DataType dataType;
+
+  private DataType blockDataType;
+
+  private CarbonDictionary dictionary;
+
+  private DictionaryVector dictionaryVector;
+
+  CarbonHiveColumnVector(ColumnVector hiveVector, DataType dataType, int batchSize) {
+    this.hiveVector = hiveVector;
+    this.dataType = dataType;
+    if (hiveVector instanceof LongColumnVector) {
+      longVector = (LongColumnVector) hiveVector;
+    } else if (hiveVector instanceof DoubleColumnVector) {
+      doubleVector = (DoubleColumnVector) hiveVector;
+    } else if (hiveVector instanceof DecimalColumnVector) {
+      decimalVector = (DecimalColumnVector) hiveVector;
+    } else if (hiveVector instanceof TimestampColumnVector) {
+      timestampVector = (TimestampColumnVector) hiveVector;
+    } else if (hiveVector instanceof BytesColumnVector) {
+      bytesVector = (BytesColumnVector) hiveVector;
+      bytesVector.initBuffer();
+      dictionaryVector = new DictionaryVector(batchSize);
+    } else {
+      throw new UnsupportedOperationException(
+          "Unsupported column vector for vectorized read: " + hiveVector.getClass().getName());
+    }
+  }
+
+  /**
+   * Returns true if the hive column of the given type can be filled by this vector
+   */
+  static boolean isSupported(DataType dataType) {
+    return !(dataType.isComplexType() || dataType == DataTypes.NULL);
+  }
+
+  private void putLongValue(int rowId, long value) {
+    if (longVector != null) {
+      longVector.vector[rowId] = value;
+    } else if (timestampVector != null) {
+      // carbon fills the timestamp in microseconds, hive keeps the millis and the nanos of the
+      // second. Round down, so the timestamp before epoch keeps positive nanos
+      timestampVector.time[rowId] = Math.floorDiv(value, 1000L);
+      timestampVector.nanos[rowId] = (int) Math.floorMod(value, 1_000_000L) * 1000;
+    } else if (doubleVector != null) {
+      doubleVector.vector[rowId] = value;
+    } else if (decimalVector != null) {
+      decimalVector.set(rowId, HiveDecimal.create(value));
+    } else {
+      throw new UnsupportedOperationException(
+          "Cannot put long value in " + hiveVector.getClass().getName());
+    }
+  }
+
+  private void putDoubleValue(int rowId, double value) {
+    if (doubleVector != null) {
+      doubleVector.vector[rowId] = value;
+    } else if (longVector != null) {
+      longVector.vector[rowId] = (long) value;
+    } else {
+      throw new UnsupportedOperationException(
+          "Cannot put double value in " + hiveVector.getClass().getName());
+    }
+  }
+
+  @Override
+  public void putBoolean(int rowId, boolean value) {
+    putLongValue(rowId, value ? 1 : 0);
+  }
+
+  @Override
+  public void putFloat(int rowId, float value) {
+    putDoubleValue(rowId, value);
+  }
+
+  @Override
+  public void putFloats(int rowId, int count, float[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      putDoubleValue(rowId++, src[srcIndex++]);
+    }
+  }
+
+  @Override
+  public void putShort(int rowId, short value) {
+    putLongValue(rowId, value);
+  }
+
+  @Override
+  public void putShorts(int rowId, int count, short value) {
+    for (int i = 0; i < count; i++) {
+      putLongValue(rowId++, value);
+    }
+  }
+
+  @Override
+  public void putShorts(int rowId, int count, short[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      putLongValue(rowId++, src[srcIndex++]);
+    }
+  }
+
+  @Override
+  public void putInt(int rowId, int value) {
+    putLongValue(rowId, value);
+  }
+
+  @Override
+  public void putInts(int rowId, int count, int value) {
+    for (int i = 0; i < count; i++) {
+      putLongValue(rowId++, value);
+    }
+  }
+
+  @Override
+  public void putInts(int rowId, int count, int[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      putLongValue(rowId++, src[srcIndex++]);
+    }
+  }
+
+  @Override
+  public void putLong(int rowId, long value) {
+    putLongValue(rowId, value);
+  }
+
+  @Override
+  public void putLongs(int rowId, int count, long value) {
+    for (int i = 0; i < count; i++) {
+      putLongValue(rowId++, value);
+    }
+  }
+
+  @Override
+  public void putLongs(int rowId, int count, long[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      putLongValue(rowId++, src[srcIndex++]);
+    }
+  }
+
+  @Override
+  public void putDecimal(int rowId, BigDecimal value, int precision) {
+    if (value == null) {
+      putNull(rowId);
+    } else if (decimalVector != null) {
+      // hive decimal vector nulls the value if it does not fit in the column precision
+      decimalVector.set(rowId, HiveDecimal.create(value));
+    } else {
+      putDoubleValue(rowId, value.doubleValue());
+    }
+  }
+
+  @Override
+  public void putDecimals(int rowId, int count, BigDecimal value, int precision) {
+    for (int i = 0; i < count; i++) {
+      putDecimal(rowId++, value, precision);
+    }
+  }
+
+  @Override
+  public void putDouble(int rowId, double value) {
+    putDoubleValue(rowId, value);
+  }
+
+  @Override
+  public void putDoubles(int rowId, int count, double value) {
+    for (int i = 0; i < count; i++) {
+      putDoubleValue(rowId++, value);
+    }
+  }
+
+  @Override
+  public void putDoubles(int rowId, int count, double[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      putDoubleValue(rowId++, src[srcIndex++]);
+    }
+  }
+
+  @Override
+  public void putByteArray(int rowId, byte[] value) {
+    putByteArray(rowId, 0, value.length, value);
+  }
+
+  @Override
+  public void putByteArray(int rowId, int offset, int length, byte[] value) {
+    // copy the value, as carbon reuses the page buffers across pages
+    bytesVector.setVal(rowId, value, offset, length);
+  }
+
+  @Override
+  public void putByteArray(int rowId, int count, byte[] value) {
+    for (int i = 0; i < count; i++) {
+      bytesVector.setVal(rowId++, value, 0, value.length);
+    }
+  }
+
+  @Override
+  public void putArray(int rowId, int offset, int length) {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void putAllByteArray(byte[] data, int offset, int length) {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void putByte(int rowId, byte value) {
+    putLongValue(rowId, value);
+  }
+
+  @Override
+  public void putBytes(int rowId, int count, byte[] src, int srcIndex) {
+    for (int i = 0; i < count; i++) {
+      putLongValue(rowId++, src[srcIndex++]);
+    }
+  }
+
+  @Override
+  public void putNull(int rowId) {
+    hiveVector.noNulls = false;
+    hiveVector.isNull[rowId] = true;
+  }
+
+  @Override
+  public void putNulls(int rowId, int count) {
+    for (int i = 0; i < count; i++) {
+      putNull(rowId++);
+    }
+  }
+
+  @Override
+  public void putNotNull(int rowId) {
+    hiveVector.isNull[rowId] = false;
+  }
+
+  @Override
+  public void putNotNull(int rowId, int count) {
+    for (int i = 0; i < count; i++) {
+      hiveVector.isNull[rowId++] = false;
+    }
+  }
+
+  @Override
+  public boolean isNull(int rowId) {
+    return !hiveVector.noNulls && hiveVector.isNull[rowId];
+  }
+
+  @Override
+  public void putObject(int rowId, Object obj) {
+    if (obj == null) {
+      putNull(rowId);
+    } else if (obj instanceof Boolean) {
+      putBoolean(rowId, (Boolean) obj);
+    } else if (obj instanceof Float || obj instanceof Double) {
+      putDoubleValue(rowId, ((Number) obj).doubleValue());
+    } else if (obj instanceof BigDecimal) {
+      putDecimal(rowId, (BigDecimal) obj, 0);
+    } else if (obj instanceof Number) {
+      putLongValue(rowId, ((Number) obj).longValue());
+    } else if (obj instanceof byte[]) {
+      putByteArray(rowId, (byte[]) obj);
+    } else {
+      throw new UnsupportedOperationException(
+          "Unsupported value type for vectorized read: " + obj.getClass().getName());
+    }
+  }
+
+  @Override
+  public Object getData(int rowId) {
+    throw new UnsupportedOperationException("Operation not supported");
+  }
+
+  @Override
+  public void reset() {
+    // the hive vector is reset along with its VectorizedRowBatch
+    if (dictionaryVector != null) {
+      dictionaryVector.reset();
+    }
+  }
+
+  @Override
+  public DataType getType() {
+    return dataType;
+  }
+
+  @Override
+  public DataType getBlockDataType() {
+    return blockDataType;
+  }
+
+  @Override
+  public void setBlockDataType(DataType blockDataType) {
+    this.blockDataType = blockDataType;
+  }
+
+  @Override
+  public void setFilteredRowsExist(boolean filteredRowsExist) {
+
+  }
+
+  @Override
+  public void setDictionary(CarbonDictionary dictionary) {
+    this.dictionary = dictionary;
+  }
+
+  @Override
+  public boolean hasDictionary() {
+    return null != dictionary;
+  }
+
+  @Override
+  public CarbonColumnVector getDictionaryVector() {
+    return dictionaryVector;
+  }
+
+  @Override
+  public void setLazyPage(LazyPageLoader lazyPage) {
+    lazyPage.loadPage();
+  }
+
+  /**
+   * Receives the local dictionary surrogates of the page and puts the referred dictionary
+   * values to the hive vector. Dictionary values are not modified once the dictionary is
+   * read, so they are referred without copy.
+   */
+  private class DictionaryVector extends CarbonColumnVectorImpl {
+
+    DictionaryVector(int batchSize) {
+      super(batchSize, DataTypes.INT);
+    }
+
+    @Override
+    public void putInt(int rowId, int value) {
+      byte[] dictionaryValue = dictionary.getDictionaryValue(value);
+      if (dictionaryValue == null) {
+        CarbonHiveColumnVector.this.putNull(rowId);
+      } else {
+        bytesVector.setRef(rowId, dictionaryValue, 0, dictionaryValue.length);
+      }
+    }
+
+    @Override
+    public void putInts(int rowId, int count, int value) {
+      for (int i = 0; i < count; i++) {
+        putInt(rowId++, value);
+      }
+    }
+
+    @Override
+    public void putInts(int rowId, int count, int[] src, int srcIndex) {
+      for (int i = 0; i < count; i++) {
+        putInt(rowId++, src[srcIndex++]);
+      }
+    }
+
+    @Override
+    public void putNull(int rowId) {
+      CarbonHiveColumnVector.this.putNull(rowId);
+    }
+
+    @Override
+    public void putNulls(int rowId, int count) {
+      CarbonHiveColumnVector.this.putNulls(rowId, count);
+    }
+  }
+}
@@ -42,6 +42,8 @@ class CarbonHiveRecordReader extends CarbonRecordReader<ArrayWritable>
 
   private ArrayWritable valueObj = null;
   private long recordReaderCounter = 0;
+  // number of rows of the blocklets of the split, used to report the progress
+  private long totalRowCount = 0;
   private int[] columnIds;
 
   public CarbonHiveRecordReader(QueryModel queryModel, CarbonReadSupport<ArrayWritable> readSupport,
@@ -63,6 +65,9 @@ class CarbonHiveRecordReader extends CarbonRecordReader<ArrayWritable>
       throw new RuntimeException("unsupported input split type: " + inputSplit);
     }
     List<TableBlockInfo> tableBlockInfoList = CarbonHiveInputSplit.createBlocks(splitList);
+    for (TableBlockInfo blockInfo : tableBlockInfoList) {
+      totalRowCount += blockInfo.getDetailInfo().getRowCount();
+    }
     queryModel.setTableBlockInfos(tableBlockInfoList);
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3575
     readSupport.initialize(queryModel.getProjectionColumns(), queryModel.getTable());
@@ -140,7 +145,10 @@ class CarbonHiveRecordReader extends CarbonRecordReader<ArrayWritable>
 
   @Override
   public float getProgress() {
-    return 0;
+    if (totalRowCount == 0) {
+      return 0;
+    }
+    return Math.min(1.0f, (float) recordReaderCounter / totalRowCount);
   }
 
 }
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.hive;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.datastore.block.TableBlockInfo;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonMeasure;
+import org.apache.carbondata.core.scan.executor.QueryExecutor;
+import org.apache.carbondata.core.scan.executor.QueryExecutorFactory;
+import org.apache.carbondata.core.scan.model.ProjectionDimension;
+import org.apache.carbondata.core.scan.model.ProjectionMeasure;
+import org.apache.carbondata.core.scan.model.QueryModel;
+import org.apache.carbondata.core.scan.result.iterator.AbstractDetailQueryResultIterator;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnVector;
+import org.apache.carbondata.core.scan.result.vector.CarbonColumnarBatch;
+
+import org.apache.hadoop.hive.ql.exec.Utilities;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatchCtx;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordReader;
+import org.apache.log4j.Logger;
+
+/**
+ * Record reader used when hive runs the query in vectorized mode. The projected columns are
+ * filled by the carbon vector scan straight into the columns of the hive VectorizedRowBatch.
+ * Hive batches are smaller than a carbon page, so each batch is filled from a row range of
+ * the decoded pages instead of decoding a whole page into the batch.
+ */
+class CarbonHiveVectorizedRecordReader implements RecordReader<NullWritable, VectorizedRowBatch> {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(CarbonHiveVectorizedRecordReader.class.getName());
+
+  private QueryModel queryModel;
+
+  private QueryExecutor queryExecutor;
+
+  private AbstractDetailQueryResultIterator iterator;
+
+  private VectorizedRowBatchCtx rowBatchCtx;
+
+  /**
+   * hive batch the carbon batch is currently bound to
+   */
+  private VectorizedRowBatch boundBatch;
+
+  private CarbonColumnarBatch carbonColumnarBatch;
+
+  private long rowCount = 0;
+
+  /**
+   * number of rows of the blocklets of the split, used to report the progress
+   */
+  private long totalRowCount = 0;
+
+  CarbonHiveVectorizedRecordReader(QueryModel queryModel, InputSplit inputSplit, JobConf jobConf)
+      throws IOException {
+    this.queryModel = queryModel;
+    this.rowBatchCtx = Utilities.getVectorizedRowBatchCtx(jobConf);
+    List<CarbonHiveInputSplit> splitList;
+    if (inputSplit instanceof CarbonHiveInputSplit) {
+      splitList = new ArrayList<>(1);
+      splitList.add((CarbonHiveInputSplit) inputSplit);
+    } else {
+      throw new RuntimeException("unsupported input split type: " + inputSplit);
+    }
+    List<TableBlockInfo> tableBlockInfoList = CarbonHiveInputSplit.createBlocks(splitList);
+    for (TableBlockInfo blockInfo : tableBlockInfoList) {
+      totalRowCount += blockInfo.getDetailInfo().getRowCount();
+    }
+    queryModel.setTableBlockInfos(tableBlockInfoList);
+    queryModel.setVectorReader(true);
+    try {
+      queryExecutor = QueryExecutorFactory.getQueryExecutor(queryModel, jobConf);
+      iterator = (AbstractDetailQueryResultIterator) queryExecutor.execute(queryModel);
+    } catch (Exception e) {
+      LOGGER.error("Failed to create vectorized record reader: " + e.getMessage(), e);
+      throw new IOException(e);
+    }
+  }
+
+  /**
+   * Create the carbon batch which fills the projected columns of the given hive batch
+   */
+  private void bindBatch(VectorizedRowBatch batch) throws IOException {
+    String[] hiveColumnNames = rowBatchCtx.getRowColumnNames();
+    List<ProjectionDimension> dimensions = queryModel.getProjectionDimensions();
+    List<ProjectionMeasure> measures = queryModel.getProjectionMeasures();
+    CarbonColumnVector[] vectors = new CarbonColumnVector[dimensions.size() + measures.size()];
+    for (ProjectionDimension dimension : dimensions) {
+      vectors[dimension.getOrdinal()] = createVector(batch, hiveColumnNames,
+          dimension.getColumnName(), dimension.getDimension().getDataType());
+    }
+    for (ProjectionMeasure measure : measures) {
+      CarbonMeasure carbonMeasure = measure.getMeasure();
+      DataType dataType = carbonMeasure.getDataType();
+      if (DataTypes.isDecimal(dataType)) {
+        dataType =
+            DataTypes.createDecimalType(carbonMeasure.getPrecision(), carbonMeasure.getScale());
+      }
+      vectors[measure.getOrdinal()] =
+          createVector(batch, hiveColumnNames, measure.getColumnName(), dataType);
+    }
+    carbonColumnarBatch =
+        new CarbonColumnarBatch(vectors, batch.getMaxSize(), new boolean[batch.getMaxSize()]);
+    boundBatch = batch;
+  }
+
+  private CarbonColumnVector createVector(VectorizedRowBatch batch, String[] hiveColumnNames,
+      String columnName, DataType dataType) throws IOException {
+    if (!CarbonHiveColumnVector.isSupported(dataType)) {
+      throw new IOException("Vectorized read is not supported for column " + columnName
+          + " of type " + dataType.getName() + ", disable hive.vectorized.execution.enabled");
+    }
+    for (int i = 0; i < hiveColumnNames.length; i++) {
+      if (hiveColumnNames[i].equalsIgnoreCase(columnName)) {
+        return new CarbonHiveColumnVector(batch.cols[i], dataType, batch.getMaxSize());
+      }
+    }
+    throw new IOException("Projected column " + columnName + " not found in the hive batch");
+  }
+
+  @Override
+  public boolean next(NullWritable key, VectorizedRowBatch value) throws IOException {
+    if (value != boundBatch) {
+      bindBatch(value);
+    }
+    value.reset();
+    while (iterator.hasNext()) {
+      carbonColumnarBatch.reset();
+      iterator.processNextBatch(carbonColumnarBatch);
+      int actualSize = carbonColumnarBatch.getActualSize();
+      if (actualSize > 0) {
+        value.size = actualSize;
+        rowCount += actualSize;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public NullWritable createKey() {
+    return NullWritable.get();
+  }
+
+  @Override
+  public VectorizedRowBatch createValue() {
+    return rowBatchCtx.createVectorizedRowBatch();
+  }
+
+  @Override
+  public long getPos() {
+    return rowCount;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (iterator != null) {
+      iterator.close();
+    }
+    try {
+      queryExecutor.finish();
+    } catch (Exception e) {
+      throw new IOException(e);
+    }
+  }
+
+  @Override
+  public float getProgress() {
+    if (totalRowCount == 0) {
+      return 0;
+    }
+    return Math.min(1.0f, (float) rowCount / totalRowCount);
+  }
+}
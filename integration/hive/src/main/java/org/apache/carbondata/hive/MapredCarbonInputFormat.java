@@ -48,6 +48,9 @@ import org.apache.hadoop.fs.InvalidPathException;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.hive.metastore.api.hive_metastoreConstants;
 import org.apache.hadoop.hive.ql.exec.SerializationUtilities;
+import org.apache.hadoop.hive.ql.exec.Utilities;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedInputFormatInterface;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedSupport;
 import org.apache.hadoop.hive.ql.io.CombineHiveInputFormat;
 import org.apache.hadoop.hive.ql.plan.ExprNodeGenericFuncDesc;
 import org.apache.hadoop.hive.ql.plan.TableScanDesc;
@@ -62,7 +65,8 @@ import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
 import org.apache.log4j.Logger;
 
 public class MapredCarbonInputFormat extends CarbonTableInputFormat<ArrayWritable>
-    implements InputFormat<Void, ArrayWritable>, CombineHiveInputFormat.AvoidSplitCombination {
+    implements InputFormat<Void, ArrayWritable>, CombineHiveInputFormat.AvoidSplitCombination,
+    VectorizedInputFormatInterface {
   private static final String CARBON_TABLE = "mapreduce.input.carboninputformat.table";
 
   private static final Logger LOGGER =
@@ -191,6 +195,7 @@ public class MapredCarbonInputFormat extends CarbonTableInputFormat<ArrayWritabl
   }
 
   @Override
+  @SuppressWarnings("unchecked")
   public RecordReader<Void, ArrayWritable> getRecordReader(InputSplit inputSplit, JobConf jobConf,
       Reporter reporter) throws IOException {
     String path = null;
@@ -209,6 +214,10 @@ public class MapredCarbonInputFormat extends CarbonTableInputFormat<ArrayWritabl
       LOGGER.error("Failed to create record reader: " + e.getMessage(), e);
       return null;
     }
+    if (Utilities.getIsVectorized(jobConf)) {
+      // hive passes VectorizedRowBatch as value when the map work is vectorized
+      return (RecordReader) new CarbonHiveVectorizedRecordReader(queryModel, inputSplit, jobConf);
+    }
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3605
     CarbonReadSupport<ArrayWritable> readSupport = new WritableReadSupport<>();
     return new CarbonHiveRecordReader(queryModel, readSupport, inputSplit, jobConf);
@@ -271,4 +280,9 @@ public class MapredCarbonInputFormat extends CarbonTableInputFormat<ArrayWritabl
   public boolean shouldSkipCombine(Path path, Configuration conf) {
     return true;
   }
+
+  @Override
+  public VectorizedSupport.Support[] getSupportedFeatures() {
+    return new VectorizedSupport.Support[0];
+  }
 }
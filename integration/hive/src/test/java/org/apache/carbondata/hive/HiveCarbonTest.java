@@ -17,12 +17,16 @@
 package org.apache.carbondata.hive;
 
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
 
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
 import org.apache.carbondata.core.util.CarbonProperties;
 
+import org.apache.hadoop.hive.ql.exec.vector.TimestampColumnVector;
 import org.junit.AfterClass;
+import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
@@ -42,6 +46,12 @@ public class HiveCarbonTest extends HiveTestUtils {
   // "/complex" subdirectory name
   private static final String COMPLEX = "complex";
 
+  // "/vector" subdirectory name
+  private static final String VECTOR = "vector";
+
+  private static final String VECTOR_COLUMNS =
+      "id, name, city, salary, joinDate, loginTime, score";
+
   @BeforeClass
   public static void setup() throws Exception {
     CarbonProperties.getInstance().addProperty(CarbonCommonConstants.ENABLE_OFFHEAP_SORT_DEFAULT, "false");
@@ -55,10 +65,22 @@ public class HiveCarbonTest extends HiveTestUtils {
     statement.execute("drop table if exists hive_carbon_table5");
     statement.execute("drop table if exists hive_table");
     statement.execute("drop table if exists hive_table_complex");
+    statement.execute("drop table if exists hive_vector_table");
+    statement.execute("drop table if exists hive_carbon_vector_table");
     String csvFilePath = (resourceDirectoryPath + CSV).replace("\\", "/");
     String complexFilePath = (resourceDirectoryPath + COMPLEX).replace("\\", "/");
+    String vectorFilePath = (resourceDirectoryPath + VECTOR).replace("\\", "/");
     statement.execute(String.format("CREATE external TABLE hive_table_complex(arrayField  ARRAY<STRING>, mapField MAP<String, String>, structField STRUCT<city: String, pincode: int>) ROW FORMAT SERDE 'org.apache.hadoop.hive.contrib.serde2.MultiDelimitSerDe' WITH SERDEPROPERTIES ('field.delim'=',', 'collection.delim'='$', 'mapkey.delim'='@') location '%s' TBLPROPERTIES('external.table.purge'='false')", complexFilePath));
     statement.execute(String.format("CREATE external TABLE hive_table(shortField SMALLINT, intField INT, bigintField BIGINT, doubleField DOUBLE, stringField STRING, timestampField TIMESTAMP, decimalField DECIMAL(18,2), dateField DATE, charField CHAR(5), floatField FLOAT) ROW FORMAT DELIMITED FIELDS TERMINATED BY ',' location '%s' TBLPROPERTIES ('external.table.purge'='false')", csvFilePath));
+    // name and city are string columns with local dictionary, which is enabled by default
+    String vectorSchema = "(id INT, name STRING, city STRING, salary DECIMAL(10,2), "
+        + "joinDate DATE, loginTime TIMESTAMP, score DOUBLE)";
+    statement.execute(String.format("CREATE external TABLE hive_vector_table%s ROW FORMAT "
+        + "DELIMITED FIELDS TERMINATED BY ',' location '%s' "
+        + "TBLPROPERTIES ('external.table.purge'='false')", vectorSchema, vectorFilePath));
+    statement.execute("CREATE TABLE hive_carbon_vector_table" + vectorSchema
+        + " stored by 'org.apache.carbondata.hive.CarbonStorageHandler'");
+    statement.execute("insert into hive_carbon_vector_table select * from hive_vector_table");
   }
 
   @Test
@@ -95,6 +117,109 @@ public class HiveCarbonTest extends HiveTestUtils {
     checkAnswer(carbonResult, hiveResult);
   }
 
+  @Test
+  public void testVectorizedQueryPlan() throws Exception {
+    String[] conf = enableVectorizedRead();
+    try {
+      ResultSet resultSet = connection.createStatement()
+          .executeQuery("explain select " + VECTOR_COLUMNS + " from hive_carbon_vector_table");
+      StringBuilder plan = new StringBuilder();
+      while (resultSet.next()) {
+        plan.append(resultSet.getString(1)).append('\n');
+      }
+      Assert.assertTrue(plan.toString(), plan.toString().contains("Execution mode: vectorized"));
+    } finally {
+      restoreConf(conf);
+    }
+  }
+
+  @Test
+  public void testVectorizedRead() throws Exception {
+    String[] conf = enableVectorizedRead();
+    try {
+      assertSameRows("select " + VECTOR_COLUMNS + " from %s order by id", 8);
+      assertSameRows("select loginTime, city, id from %s order by id", 8);
+      assertSameRows("select " + VECTOR_COLUMNS + " from %s where city = 'city1' order by id", 3);
+      assertSameRows("select " + VECTOR_COLUMNS + " from %s where salary < 0 order by id", 2);
+      assertSameRows("select " + VECTOR_COLUMNS
+          + " from %s where loginTime < '1970-01-01 00:00:00' order by id", 4);
+      ResultSet resultSet = connection.createStatement().executeQuery(
+          "select loginTime, joinDate from hive_carbon_vector_table where id = 2");
+      Assert.assertTrue(resultSet.next());
+      Assert.assertEquals("1969-12-31 23:59:59.5", resultSet.getString(1));
+      Assert.assertEquals("1960-05-01", resultSet.getString(2));
+      Assert.assertFalse(resultSet.next());
+    } finally {
+      restoreConf(conf);
+    }
+  }
+
+  @Test
+  public void testVectorizedReadOfTimestampBeforeEpoch() {
+    TimestampColumnVector hiveVector = new TimestampColumnVector(3);
+    CarbonHiveColumnVector vector = new CarbonHiveColumnVector(hiveVector, DataTypes.TIMESTAMP, 3);
+    // 1969-12-31 23:59:59.5, 1969-12-31 23:59:59.999 and 1970-01-01 00:00:00.001 in micros
+    vector.putLong(0, -500000L);
+    vector.putLong(1, -1000L);
+    vector.putLong(2, 1000L);
+    Assert.assertEquals(-500L, hiveVector.time[0]);
+    Assert.assertEquals(500000000, hiveVector.nanos[0]);
+    Assert.assertEquals(-1L, hiveVector.time[1]);
+    Assert.assertEquals(999000000, hiveVector.nanos[1]);
+    Assert.assertEquals(1L, hiveVector.time[2]);
+    Assert.assertEquals(1000000, hiveVector.nanos[2]);
+  }
+
+  /**
+   * run the queries in a map task with vectorized execution, the fetch task is not vectorized.
+   * Returns the settings to restore
+   */
+  private static String[] enableVectorizedRead() throws SQLException {
+    String[] conf = { getConf("hive.vectorized.execution.enabled"),
+        getConf("hive.fetch.task.conversion") };
+    statement.execute("set hive.vectorized.execution.enabled=true");
+    statement.execute("set hive.fetch.task.conversion=none");
+    return conf;
+  }
+
+  private static void restoreConf(String[] conf) throws SQLException {
+    for (String keyValue : conf) {
+      statement.execute("set " + keyValue);
+    }
+  }
+
+  /**
+   * "set key" returns a single row of key=value
+   */
+  private static String getConf(String key) throws SQLException {
+    ResultSet resultSet = statement.executeQuery("set " + key);
+    Assert.assertTrue(resultSet.next());
+    return resultSet.getString(1);
+  }
+
+  /**
+   * run the query on the carbon table and the hive table, and compare the rows in order
+   */
+  private static void assertSameRows(String query, int expectedRowCount) throws SQLException {
+    ResultSet expected = connection.createStatement()
+        .executeQuery(String.format(query, "hive_vector_table"));
+    ResultSet actual = connection.createStatement()
+        .executeQuery(String.format(query, "hive_carbon_vector_table"));
+    int columnCount = expected.getMetaData().getColumnCount();
+    Assert.assertEquals(columnCount, actual.getMetaData().getColumnCount());
+    int rowCount = 0;
+    while (expected.next()) {
+      Assert.assertTrue("row " + rowCount + " is missing", actual.next());
+      for (int i = 1; i <= columnCount; i++) {
+        Assert.assertEquals("row " + rowCount + " column " + i, expected.getString(i),
+            actual.getString(i));
+      }
+      rowCount++;
+    }
+    Assert.assertFalse(actual.next());
+    Assert.assertEquals(expectedRowCount, rowCount);
+  }
+
   @AfterClass
   public static void tearDown() {
     try {
@@ -214,53 +214,70 @@ class CarbonMergerRDD[K, V](
             queryStartTime
           )
         }
-        try {
-          // fire a query and get the results.
-          var expr: expression.Expression = null
-          if (null != expressionMapForRangeCol) {
-            expr = expressionMapForRangeCol
-              .get(theSplit.asInstanceOf[CarbonSparkPartition].idx)
-          }
-          rawResultIteratorMap = exec.processTableBlocks(FileFactory.getConfiguration, expr)
-        } catch {
-          case e: Throwable =>
-            LOGGER.error(e)
-            if (null != e.getMessage) {
-              CarbonException.analysisException(
-                s"Exception occurred in query execution :: ${ e.getMessage }")
-            } else {
-              CarbonException.analysisException(
-                "Exception occurred in query execution.Please check logs.")
-            }
+        // blocklets can be copied as is only when all the blocks of the task are merged
+        val blocksToCopy = if (null == expressionMapForRangeCol) {
+          BlockletCopyProcessor.getBlocksToCopy(carbonTable, tableBlockInfoList,
+            carbonMergerMapping.campactionType, restructuredBlockExists)
+        } else {
+          null
         }
-
         val tempStoreLoc = CarbonDataProcessorUtil.getLocalDataFolderLocation(
           carbonTable, carbonLoadModel.getTaskNo, mergeNumber, true, false)
 
-        if (carbonTable.getSortScope == SortScopeOptions.SortScope.NO_SORT ||
-          rawResultIteratorMap.get(CarbonCompactionUtil.UNSORTED_IDX).size() == 0) {
-
-          LOGGER.info("RowResultMergerProcessor flow is selected")
-          processor = new RowResultMergerProcessor(
-            databaseName,
-            factTableName,
+        if (null != blocksToCopy) {
+          LOGGER.info("BlockletCopyProcessor flow is selected")
+          processor = new BlockletCopyProcessor(
+            carbonLoadModel,
             segmentProperties,
             tempStoreLoc,
-            carbonLoadModel,
             carbonMergerMapping.campactionType,
-            partitionSpec)
-
+            blocksToCopy)
         } else {
+          try {
+            // fire a query and get the results.
+            var expr: expression.Expression = null
+            if (null != expressionMapForRangeCol) {
+              expr = expressionMapForRangeCol
+                .get(theSplit.asInstanceOf[CarbonSparkPartition].idx)
+            }
+            rawResultIteratorMap = exec.processTableBlocks(FileFactory.getConfiguration, expr)
+          } catch {
+            case e: Throwable =>
+              LOGGER.error(e)
+              if (null != e.getMessage) {
+                CarbonException.analysisException(
+                  s"Exception occurred in query execution :: ${ e.getMessage }")
+              } else {
+                CarbonException.analysisException(
+                  "Exception occurred in query execution.Please check logs.")
+              }
+          }
 
-          LOGGER.info("CompactionResultSortProcessor flow is selected")
-          processor = new CompactionResultSortProcessor(
-            carbonLoadModel,
-            carbonTable,
-            segmentProperties,
-            carbonMergerMapping.campactionType,
-            factTableName,
-            partitionSpec)
+          if (carbonTable.getSortScope == SortScopeOptions.SortScope.NO_SORT ||
+            rawResultIteratorMap.get(CarbonCompactionUtil.UNSORTED_IDX).size() == 0) {
+
+            LOGGER.info("RowResultMergerProcessor flow is selected")
+            processor = new RowResultMergerProcessor(
+              databaseName,
+              factTableName,
+              segmentProperties,
+              tempStoreLoc,
+              carbonLoadModel,
+              carbonMergerMapping.campactionType,
+              partitionSpec)
+
+          } else {
+
+            LOGGER.info("CompactionResultSortProcessor flow is selected")
+            processor = new CompactionResultSortProcessor(
+              carbonLoadModel,
+              carbonTable,
+              segmentProperties,
+              carbonMergerMapping.campactionType,
+              factTableName,
+              partitionSpec)
 
+          }
         }
 
         mergeStatus = processor.execute(
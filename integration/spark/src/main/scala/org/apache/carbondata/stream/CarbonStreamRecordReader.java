@@ -140,7 +140,7 @@ public class CarbonStreamRecordReader extends StreamRecordReader {
       return rowNums > 0;
     }
 
-    input.readBlockletData(header);
+    readBlockletData(header);
     vectorProxy =
         new CarbonVectorProxy(MemoryMode.OFF_HEAP, outputSchema, input.getRowNums(), false);
     int rowNum = 0;
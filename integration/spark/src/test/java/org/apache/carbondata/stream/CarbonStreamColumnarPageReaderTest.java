@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.stream;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.carbondata.converter.SparkDataTypeConverterImpl;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.index.IndexFilter;
+import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
+import org.apache.carbondata.core.metadata.CarbonTableIdentifier;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.core.scan.expression.ColumnExpression;
+import org.apache.carbondata.core.scan.expression.Expression;
+import org.apache.carbondata.core.scan.expression.LiteralExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanEqualToExpression;
+import org.apache.carbondata.core.scan.model.QueryModelBuilder;
+import org.apache.carbondata.core.util.DataTypeUtil;
+import org.apache.carbondata.format.BlockletHeader;
+import org.apache.carbondata.hadoop.testutil.StoreCreator;
+import org.apache.carbondata.hadoop.util.CarbonInputFormatUtil;
+import org.apache.carbondata.processing.loading.model.CarbonLoadModel;
+import org.apache.carbondata.streaming.CarbonStreamOutputFormat;
+import org.apache.carbondata.streaming.CarbonStreamRecordWriter;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapreduce.JobID;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.TaskID;
+import org.apache.hadoop.mapreduce.TaskType;
+import org.apache.hadoop.mapreduce.lib.input.FileSplit;
+import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
+import org.apache.spark.sql.catalyst.InternalRow;
+import org.apache.spark.sql.catalyst.expressions.GenericInternalRow;
+import org.apache.spark.sql.vectorized.ColumnarBatch;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Spark vector reader and handoff reader of the streaming segment written as column pages
+ */
+public class CarbonStreamColumnarPageReaderTest {
+
+  private static final String STORE_PATH =
+      new File("target/stream_page_reader").getAbsolutePath();
+
+  private static final int ROW_COUNT = 1000;
+
+  private static final int BLOCKLET_ROW_NUMS = 400;
+
+  private static final int PAGE_ROW_NUMS = 100;
+
+  private static final String[] PROJECTION = { "salary", "name", "country", "id" };
+
+  private static TaskAttemptContext taskAttemptContext;
+
+  private static StreamFile rowStream;
+
+  private static StreamFile pageStream;
+
+  @BeforeClass public static void setUp() throws Exception {
+    FileFactory.deleteAllFilesOfDir(new File(STORE_PATH));
+    DataTypeUtil.setDataTypeConverter(new SparkDataTypeConverterImpl());
+    JobID jobId = CarbonInputFormatUtil.getJobId(new Date(), 0);
+    TaskAttemptID taskAttemptId = new TaskAttemptID(new TaskID(jobId, TaskType.MAP, 0), 0);
+    Configuration hadoopConf = new Configuration();
+    hadoopConf.set("mapred.job.id", jobId.toString());
+    hadoopConf.set("mapred.tip.id", taskAttemptId.getTaskID().toString());
+    hadoopConf.set("mapred.task.id", taskAttemptId.toString());
+    hadoopConf.setBoolean("mapred.task.is.map", true);
+    hadoopConf.setInt("mapred.task.partition", 0);
+    hadoopConf.setInt(CarbonStreamOutputFormat.CARBON_STREAM_BLOCKLET_ROW_NUMS,
+        BLOCKLET_ROW_NUMS);
+    taskAttemptContext = new TaskAttemptContextImpl(hadoopConf, taskAttemptId);
+    rowStream = writeStream("stream_row", 0);
+    pageStream = writeStream("stream_page", PAGE_ROW_NUMS);
+  }
+
+  @AfterClass public static void tearDown() throws Exception {
+    FileFactory.deleteAllFilesOfDir(new File(STORE_PATH));
+  }
+
+  @Test public void testVectorReader() throws Exception {
+    List<InternalRow> rows = rowStream.read(PROJECTION, null, false, false);
+    Assert.assertEquals(ROW_COUNT, rows.size());
+    assertSameRows(rows, rowStream.read(PROJECTION, null, true, false));
+    assertSameRows(rows, pageStream.read(PROJECTION, null, true, false));
+  }
+
+  @Test public void testVectorReaderWithFilterPrunesPages() throws Exception {
+    // only the last page of the last blocklet has salary >= 15950
+    Expression expression = new GreaterThanEqualToExpression(
+        new ColumnExpression("salary", DataTypes.INT),
+        new LiteralExpression(15000 + ROW_COUNT - 50, DataTypes.INT));
+    List<InternalRow> rows = rowStream.read(PROJECTION, expression, false, false);
+    // salary of 957, 968, 979 and 990 is null
+    Assert.assertEquals(46, rows.size());
+    assertSameRows(rows, pageStream.read(PROJECTION, expression, true, false));
+    Assert.assertEquals(PAGE_ROW_NUMS, pageStream.scannedRowCount);
+  }
+
+  @Test public void testHandoffReadsRawRow() throws Exception {
+    // handoff reads all the columns in the order they are stored in the streaming segment
+    List<CarbonColumn> columns = rowStream.table.getStreamStorageOrderColumn();
+    String[] projection = new String[columns.size()];
+    for (int i = 0; i < projection.length; i++) {
+      projection[i] = columns.get(i).getColName();
+    }
+    List<InternalRow> rows = rowStream.read(projection, null, false, true);
+    List<InternalRow> pageRows = pageStream.read(projection, null, false, true);
+    Assert.assertEquals(ROW_COUNT, rows.size());
+    Assert.assertEquals(rows.size(), pageRows.size());
+    for (int i = 0; i < rows.size(); i++) {
+      // no dictionary values of the raw row are bytes
+      Assert.assertArrayEquals("row " + i, ((GenericInternalRow) rows.get(i)).values(),
+          ((GenericInternalRow) pageRows.get(i)).values());
+    }
+  }
+
+  private static void assertSameRows(List<InternalRow> expected, List<InternalRow> actual) {
+    Assert.assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      Assert.assertEquals("row " + i, expected.get(i), actual.get(i));
+    }
+  }
+
+  private static StreamFile writeStream(String tableName, int pageRowNums) throws Exception {
+    String tablePath = STORE_PATH + "/" + tableName;
+    AbsoluteTableIdentifier identifier = AbsoluteTableIdentifier.from(tablePath,
+        new CarbonTableIdentifier("default", tableName, UUID.randomUUID().toString()));
+    String factFilePath =
+        new File("../../hadoop/src/test/resources/data.csv").getCanonicalPath();
+    CarbonTable table = new StoreCreator(STORE_PATH + "/store", factFilePath)
+        .createTable(identifier);
+    CarbonLoadModel loadModel = StoreCreator.buildCarbonLoadModel(table, factFilePath, identifier);
+    Configuration hadoopConf = taskAttemptContext.getConfiguration();
+    CarbonStreamOutputFormat.setCarbonLoadModel(hadoopConf, loadModel);
+    CarbonStreamOutputFormat.setSegmentId(hadoopConf, "0");
+    hadoopConf.setInt(CarbonStreamOutputFormat.CARBON_STREAM_PAGE_ROW_NUMS, pageRowNums);
+    CarbonStreamRecordWriter writer = (CarbonStreamRecordWriter) new CarbonStreamOutputFormat()
+        .getRecordWriter(taskAttemptContext);
+    new File(writer.getSegmentDir()).mkdirs();
+    for (int i = 0; i < ROW_COUNT; i++) {
+      writer.write(null, new Object[] { String.valueOf(i), "2015/7/" + (i % 28 + 1),
+          i % 7 == 0 ? null : "country" + (i % 3), "aaa" + i, "phone" + (i % 13), "ASD" + i,
+          i % 11 == 0 ? null : String.valueOf(15000 + i) });
+    }
+    writer.close(taskAttemptContext);
+    StreamFile streamFile = new StreamFile();
+    streamFile.table = table;
+    streamFile.path = new Path(writer.getSegmentDir() + File.separator + writer.getFileName());
+    return streamFile;
+  }
+
+  /**
+   * streaming data file of the table
+   */
+  private static class StreamFile {
+
+    private CarbonTable table;
+
+    private Path path;
+
+    // number of rows of the blocklets and pages which are scanned by the last read
+    private int scannedRowCount;
+
+    /**
+     * read the rows of the file with the row reader, or the rows of the batches of the vector
+     * reader
+     */
+    private List<InternalRow> read(String[] projection, Expression expression,
+        boolean isVectorReader, boolean useRawRow) throws IOException, InterruptedException {
+      QueryModelBuilder builder = new QueryModelBuilder(table).projectColumns(projection);
+      if (null != expression) {
+        builder.filterExpression(new IndexFilter(table, expression));
+      }
+      scannedRowCount = 0;
+      CarbonStreamRecordReader reader =
+          new CarbonStreamRecordReader(isVectorReader, null, builder.build(), useRawRow) {
+            @Override
+            protected void readBlockletData(BlockletHeader header) throws IOException {
+              super.readBlockletData(header);
+              scannedRowCount += input.getRowNums();
+            }
+          };
+      List<InternalRow> rows = new ArrayList<>();
+      try {
+        long length = new File(path.toString()).length();
+        reader.initialize(new FileSplit(path, 0, length, null), taskAttemptContext);
+        while (reader.nextKeyValue()) {
+          if (isVectorReader) {
+            Iterator<InternalRow> iterator = ((ColumnarBatch) reader.getCurrentValue())
+                .rowIterator();
+            while (iterator.hasNext()) {
+              rows.add(iterator.next().copy());
+            }
+          } else {
+            // the values of the row are reused by the reader
+            rows.add(new GenericInternalRow(
+                ((GenericInternalRow) reader.getCurrentValue()).values().clone()));
+          }
+        }
+      } finally {
+        reader.close();
+      }
+      return rows;
+    }
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.spark.testsuite.datacompaction
+
+import org.apache.spark.sql.{CarbonEnv, Row}
+import org.apache.spark.sql.test.util.QueryTest
+import org.scalatest.{BeforeAndAfterAll, BeforeAndAfterEach}
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants
+import org.apache.carbondata.core.datastore.impl.FileFactory
+import org.apache.carbondata.core.reader.CarbonFooterReaderV3
+import org.apache.carbondata.core.util.CarbonProperties
+import org.apache.carbondata.core.util.path.CarbonTablePath
+
+/**
+ * Test compaction by copying the blocklets of the segments, against compaction by merging
+ * the rows of the segments
+ */
+class BlockletCopyCompactionTest
+  extends QueryTest with BeforeAndAfterAll with BeforeAndAfterEach {
+
+  override def beforeAll: Unit = {
+    dropTables()
+  }
+
+  override def beforeEach: Unit = {
+    dropTables()
+  }
+
+  override def afterAll {
+    dropTables()
+    CarbonProperties.getInstance()
+      .addProperty(CarbonCommonConstants.CARBON_ENABLE_BLOCKLET_COPY_IN_COMPACTION,
+        CarbonCommonConstants.CARBON_ENABLE_BLOCKLET_COPY_IN_COMPACTION_DEFAULT)
+  }
+
+  test("test compaction of no sort segments copies the blocklets") {
+    createTables("NO_SORT")
+    loadSegments(Seq(Seq("c", "a", "b"), Seq("b", "d", "a")))
+    val sourceBlocklets = getBlockletCount("copy_table", "0") +
+                          getBlockletCount("copy_table", "1")
+    compactTables()
+    assertResult(sourceBlocklets)(getBlockletCount("copy_table", "0.1"))
+    checkAnswer(sql("select count(*) from copy_table"), Seq(Row(60)))
+    checkAnswer(sql("select * from copy_table"), sql("select * from merge_table"))
+  }
+
+  test("test compaction of sorted segments with non overlapping ranges copies the blocklets") {
+    createTables("LOCAL_SORT")
+    // the second segment is loaded first in sort order
+    loadSegments(Seq(Seq("m", "n"), Seq("a", "b")))
+    val sourceBlocklets = getBlockletCount("copy_table", "0") +
+                          getBlockletCount("copy_table", "1")
+    compactTables()
+    assertResult(sourceBlocklets)(getBlockletCount("copy_table", "0.1"))
+    checkAnswer(sql("select count(*) from copy_table"), Seq(Row(40)))
+    checkAnswer(sql("select * from copy_table"), sql("select * from merge_table"))
+    // blocklets are copied in the order of the sort column
+    val names = sql("select name from copy_table").collect().map(_.getString(0)).toSeq
+    assertResult(names.sorted)(names)
+  }
+
+  test("test compaction of sorted segments with overlapping ranges merges the rows") {
+    createTables("LOCAL_SORT")
+    loadSegments(Seq(Seq("a", "m"), Seq("b", "n")))
+    val sourceBlocklets = getBlockletCount("copy_table", "0") +
+                          getBlockletCount("copy_table", "1")
+    compactTables()
+    assert(getBlockletCount("copy_table", "0.1") < sourceBlocklets)
+    checkAnswer(sql("select count(*) from copy_table"), Seq(Row(40)))
+    checkAnswer(sql("select * from copy_table"), sql("select * from merge_table"))
+    val names = sql("select name from copy_table").collect().map(_.getString(0)).toSeq
+    assertResult(names.sorted)(names)
+  }
+
+  test("test compaction of segments with delete delta merges the rows") {
+    createTables("NO_SORT")
+    loadSegments(Seq(Seq("a", "b"), Seq("c", "d")))
+    Seq("copy_table", "merge_table").foreach { table =>
+      sql(s"delete from $table where name in ('a1', 'c2', 'd5')").collect()
+    }
+    val sourceBlocklets = getBlockletCount("copy_table", "0") +
+                          getBlockletCount("copy_table", "1")
+    compactTables()
+    assert(getBlockletCount("copy_table", "0.1") < sourceBlocklets)
+    checkAnswer(sql("select count(*) from copy_table"), Seq(Row(37)))
+    checkAnswer(sql("select count(*) from copy_table where name in ('a1', 'c2', 'd5')"),
+      Seq(Row(0)))
+    checkAnswer(sql("select * from copy_table"), sql("select * from merge_table"))
+  }
+
+  private def dropTables(): Unit = {
+    sql("drop table if exists copy_table")
+    sql("drop table if exists merge_table")
+  }
+
+  private def createTables(sortScope: String): Unit = {
+    Seq("copy_table", "merge_table").foreach { table =>
+      sql(
+        s"""
+           | CREATE TABLE $table(name STRING, city STRING, age INT, salary DOUBLE)
+           | STORED AS carbondata
+           | TBLPROPERTIES('SORT_COLUMNS'='name', 'SORT_SCOPE'='$sortScope')
+         """.stripMargin)
+    }
+  }
+
+  /**
+   * load one segment for each sequence of name prefixes, with 10 rows for each prefix
+   */
+  private def loadSegments(segments: Seq[Seq[String]]): Unit = {
+    segments.foreach { prefixes =>
+      val values = prefixes.flatMap { prefix =>
+        (0 until 10).map { i =>
+          s"('$prefix$i', 'city${ i % 3 }', ${ 20 + i }, ${ i * 1000.5 })"
+        }
+      }.mkString(", ")
+      Seq("copy_table", "merge_table").foreach { table =>
+        sql(s"insert into $table values $values")
+      }
+    }
+  }
+
+  private def compactTables(): Unit = {
+    try {
+      CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_ENABLE_BLOCKLET_COPY_IN_COMPACTION, "true")
+      sql("ALTER TABLE copy_table COMPACT 'MAJOR'")
+      CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_ENABLE_BLOCKLET_COPY_IN_COMPACTION, "false")
+      sql("ALTER TABLE merge_table COMPACT 'MAJOR'")
+    } finally {
+      CarbonProperties.getInstance()
+        .addProperty(CarbonCommonConstants.CARBON_ENABLE_BLOCKLET_COPY_IN_COMPACTION,
+          CarbonCommonConstants.CARBON_ENABLE_BLOCKLET_COPY_IN_COMPACTION_DEFAULT)
+    }
+  }
+
+  /**
+   * read the footer of each data file of the segment and count the blocklets
+   */
+  private def getBlockletCount(tableName: String, segmentId: String): Int = {
+    val table = CarbonEnv.getCarbonTable(None, tableName)(sqlContext.sparkSession)
+    val segmentPath = CarbonTablePath.getSegmentPath(table.getTablePath, segmentId)
+    val dataFiles = FileFactory.getCarbonFile(segmentPath).listFiles()
+      .filter(_.getName.endsWith(CarbonTablePath.CARBON_DATA_EXT))
+    assert(dataFiles.nonEmpty)
+    dataFiles.map { dataFile =>
+      val fileReader = FileFactory.getFileHolder(FileFactory.getFileType(dataFile.getPath))
+      try {
+        val buffer = fileReader
+          .readByteBuffer(FileFactory.getUpdatedFilePath(dataFile.getPath), dataFile.getSize - 8, 8)
+        val footerReader = new CarbonFooterReaderV3(dataFile.getAbsolutePath, buffer.getLong)
+        footerReader.readFooterVersion3.blocklet_info_list3.size
+      } finally {
+        fileReader.finish()
+      }
+    }.sum
+  }
+}
@@ -110,8 +110,8 @@ public final class DataLoadProcessBuilder {
   private AbstractDataLoadProcessorStep buildInternalForNoSort(CarbonIterator[] inputIterators,
       CarbonDataLoadConfiguration configuration) {
     // 1. Reads the data input iterators and parses the data.
-    AbstractDataLoadProcessorStep inputProcessorStep =
-        new InputProcessorStepImpl(configuration, inputIterators);
+    AbstractDataLoadProcessorStep inputProcessorStep = new InputProcessorStepImpl(
+        configuration, inputIterators, isColumnarBatchSupported(configuration));
     // 2. Converts the data like dictionary or non dictionary or complex objects depends on
     // data types and configurations.
     AbstractDataLoadProcessorStep converterProcessorStep =
@@ -120,6 +120,29 @@ public final class DataLoadProcessBuilder {
     return new CarbonRowDataWriterProcessorStepImpl(configuration, converterProcessorStep);
   }
 
+  /**
+   * Columnar batch is used for no sort load if it is enabled, and if the rows need not be
+   * handled one by one: complex columns are flattened and spatial columns are generated per row,
+   * page size in MB cuts the page by the size of the rows, and partitioner needs each row.
+   */
+  private boolean isColumnarBatchSupported(CarbonDataLoadConfiguration configuration) {
+    if (!CarbonProperties.getInstance().isLoadColumnarBatchEnabled()) {
+      return false;
+    }
+    CarbonTable carbonTable = configuration.getTableSpec().getCarbonTable();
+    boolean isSupported = configuration.getComplexDictionaryColumnCount() == 0
+        && configuration.getComplexNonDictionaryColumnCount() == 0
+        && !configuration.isNonSchemaColumnsPresent()
+        && configuration.getSortColumnRangeInfo() == null
+        && null == carbonTable.getTableInfo().getFactTable().getTableProperties()
+            .get(CarbonCommonConstants.TABLE_PAGE_SIZE_INMB);
+    if (!isSupported) {
+      LOGGER.info("Columnar batch is not supported for the load of table "
+          + carbonTable.getTableName() + ", rows are loaded one by one");
+    }
+    return isSupported;
+  }
+
   /**
    * Build pipe line for Load without Conversion Step.
    */
@@ -19,6 +19,7 @@ package org.apache.carbondata.processing.loading.converter;
 
 import org.apache.carbondata.core.datastore.row.CarbonRow;
 import org.apache.carbondata.processing.loading.exception.CarbonDataLoadingException;
+import org.apache.carbondata.processing.loading.row.CarbonColumnarRowBatch;
 
 /**
  * convert the row
@@ -30,6 +31,12 @@ public interface RowConverter {
 
   CarbonRow convert(CarbonRow row) throws CarbonDataLoadingException;
 
+  /**
+   * convert the batch one column at a time, bad rows which are not to be loaded are removed
+   * from the batch
+   */
+  void convert(CarbonColumnarRowBatch batch) throws CarbonDataLoadingException;
+
   RowConverter createCopyForNewThread();
 
   FieldConverter[] getFieldConverters();
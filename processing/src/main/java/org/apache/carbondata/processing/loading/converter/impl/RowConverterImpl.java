@@ -18,6 +18,7 @@
 package org.apache.carbondata.processing.loading.converter.impl;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 import org.apache.carbondata.common.logging.LogServiceFactory;
@@ -33,6 +34,7 @@ import org.apache.carbondata.processing.loading.converter.FieldConverter;
 import org.apache.carbondata.processing.loading.converter.RowConverter;
 import org.apache.carbondata.processing.loading.exception.BadRecordFoundException;
 import org.apache.carbondata.processing.loading.exception.CarbonDataLoadingException;
+import org.apache.carbondata.processing.loading.row.CarbonColumnarRowBatch;
 
 import org.apache.log4j.Logger;
 
@@ -122,16 +124,7 @@ public class RowConverterImpl implements RowConverter {
       fieldConverters[i].convert(row, logHolder);
       if (!logHolder.isLogged() && logHolder.isBadRecordNotAdded()) {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-1249
-        badRecordLogger.addBadRecordsToBuilder(row.getRawData(), logHolder.getReason());
-        if (badRecordLogger.isDataLoadFail()) {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-794
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-1439
-          String error = "Data load failed due to bad record: " + logHolder.getReason();
-          if (!badRecordLogger.isBadRecordLoggerEnable()) {
-            error += "Please enable bad record logger to know the detail reason.";
-          }
-          throw new BadRecordFoundException(error);
-        }
+        addBadRecord(row.getRawData(), logHolder.getReason());
         logHolder.clear();
         logHolder.setLogged(true);
         if (badRecordLogger.isBadRecordConvertNullDisable()) {
@@ -145,6 +138,66 @@ public class RowConverterImpl implements RowConverter {
     return row;
   }
 
+  @Override
+  public void convert(CarbonColumnarRowBatch batch) throws CarbonDataLoadingException {
+    int size = batch.getSize();
+    // rows with bad value and the reason of the first bad value of each row, bad records are
+    // added in the order of rows after all the columns are converted
+    BitSet badRows = new BitSet(size);
+    String[] badRecordReasons = new String[size];
+    BitSet removedRows = new BitSet(size);
+    for (int i = 0; i < fieldConverters.length; i++) {
+      FieldConverter fieldConverter = fieldConverters[i];
+      Object[] values = batch.getColumn(i);
+      int[] keys = null;
+      if (fieldConverter instanceof DirectDictionaryFieldConverterImpl) {
+        keys = new int[size];
+      }
+      for (int rowId = 0; rowId < size; rowId++) {
+        if (removedRows.get(rowId)) {
+          continue;
+        }
+        logHolder.clear();
+        Object value = fieldConverter.convert(values[rowId], logHolder);
+        if (null != keys) {
+          keys[rowId] = (int) value;
+        } else {
+          values[rowId] = value;
+        }
+        if (logHolder.isBadRecordNotAdded() && !badRows.get(rowId)) {
+          badRows.set(rowId);
+          badRecordReasons[rowId] = logHolder.getReason();
+          if (badRecordLogger.isBadRecordConvertNullDisable()) {
+            removedRows.set(rowId);
+          }
+        }
+      }
+      if (null != keys) {
+        batch.setDictionaryKeys(i, keys);
+      }
+    }
+    logHolder.clear();
+    for (int rowId = badRows.nextSetBit(0); rowId >= 0; rowId = badRows.nextSetBit(rowId + 1)) {
+      addBadRecord(batch.getRawRow(rowId), badRecordReasons[rowId]);
+    }
+    if (!removedRows.isEmpty()) {
+      batch.removeRows(removedRows);
+    }
+  }
+
+  private void addBadRecord(Object[] rawData, String reason) {
+    badRecordLogger.addBadRecordsToBuilder(rawData, reason);
+    if (badRecordLogger.isDataLoadFail()) {
+//IC see: https://issues.apache.org/jira/browse/CARBONDATA-794
+//IC see: https://issues.apache.org/jira/browse/CARBONDATA-1439
+      String error = "Data load failed due to bad record: " + reason;
+      if (!badRecordLogger.isBadRecordLoggerEnable()) {
+        error += "Please enable bad record logger to know the detail reason.";
+      }
+      throw new BadRecordFoundException(error);
+    }
+  }
+
   @Override
   public void finish() {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3591
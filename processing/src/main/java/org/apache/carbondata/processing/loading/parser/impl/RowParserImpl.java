@@ -25,6 +25,7 @@ import org.apache.carbondata.processing.loading.constants.DataLoadProcessorConst
 import org.apache.carbondata.processing.loading.parser.CarbonParserFactory;
 import org.apache.carbondata.processing.loading.parser.GenericParser;
 import org.apache.carbondata.processing.loading.parser.RowParser;
+import org.apache.carbondata.processing.loading.row.CarbonColumnarRowBatch;
 
 public class RowParserImpl implements RowParser {
 
@@ -127,4 +128,29 @@ public class RowParserImpl implements RowParser {
     return out;
   }
 
+  /**
+   * Parse row and add the parsed values to the columns of the batch.
+   * @param row input row to be parsed.
+   * @param batch batch to add the row.
+   */
+  public void parseRow(Object[] row, CarbonColumnarRowBatch batch) {
+    if (row == null) {
+      batch.completeRow(null);
+      return;
+    }
+    for (int i = 0; i < genericParsers.length; i++) {
+      if (inputMapping[i] == -1 || inputMapping[i] >= row.length) {
+        // non-schema columns and missing columns of the row are null
+        continue;
+      }
+      Object obj = row[inputMapping[i]];
+      if (skipParsing) {
+        batch.setValue(outputMapping[i], genericParsers[i].parseRaw(obj));
+      } else {
+        batch.setValue(outputMapping[i], genericParsers[i].parse(obj));
+      }
+    }
+    batch.completeRow(row);
+  }
+
 }
@@ -0,0 +1,283 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.row;
+
+import java.util.BitSet;
+import java.util.NoSuchElementException;
+
+import org.apache.carbondata.core.datastore.row.CarbonRow;
+
+/**
+ * Batch of rows stored column wise, the values of each column are in one array.
+ * The input step fills the parsed values of each column, the converter step converts one column
+ * at a time and keeps the surrogate keys of direct dictionary columns in int arrays, and the
+ * no sort writer adds the columns to the column pages, so that no CarbonRow is created per row.
+ * It can still be used as a batch of rows by the steps which process one row at a time, rows
+ * are created from the column values while iterating and set back to the columns.
+ */
+public class CarbonColumnarRowBatch extends CarbonRowBatch {
+
+  /**
+   * values of each column, in the order of the data fields
+   */
+  private Object[][] columns;
+
+  /**
+   * surrogate keys of each direct dictionary column after conversion, null for other columns
+   */
+  private int[][] dictionaryKeys;
+
+  /**
+   * input rows, only kept if they are required for bad record logging
+   */
+  private Object[][] rawRows;
+
+  /**
+   * range id of each row, only created when the rows are set with range id by the partitioner
+   */
+  private short[] rangeIds;
+
+  private int batchSize;
+
+  private int size;
+
+  private int index;
+
+  public CarbonColumnarRowBatch(int numberOfColumns, int batchSize, boolean isRawDataRequired) {
+    super(0);
+    this.batchSize = batchSize;
+    this.columns = new Object[numberOfColumns][batchSize];
+    this.dictionaryKeys = new int[numberOfColumns][];
+    if (isRawDataRequired) {
+      this.rawRows = new Object[batchSize][];
+    }
+  }
+
+  /**
+   * Add the row of parsed values of all the columns
+   */
+  public void addRow(Object[] row, Object[] rawRow) {
+    for (int i = 0; i < columns.length; i++) {
+      columns[i][size] = row[i];
+    }
+    completeRow(rawRow);
+  }
+
+  /**
+   * Set the parsed value of the column in the row being added, the row is added to the batch
+   * by {@link #completeRow(Object[])}
+   */
+  public void setValue(int column, Object value) {
+    columns[column][size] = value;
+  }
+
+  /**
+   * Add the row whose values are set by {@link #setValue(int, Object)}
+   */
+  public void completeRow(Object[] rawRow) {
+    if (null != rawRows) {
+      rawRows[size] = rawRow;
+    }
+    size++;
+  }
+
+  public int getNumberOfColumns() {
+    return columns.length;
+  }
+
+  /**
+   * Values of the column, the array can be longer than the size of the batch
+   */
+  public Object[] getColumn(int column) {
+    return columns[column];
+  }
+
+  /**
+   * Surrogate keys of the direct dictionary column, null if it is not converted yet
+   */
+  public int[] getDictionaryKeys(int column) {
+    return dictionaryKeys[column];
+  }
+
+  public void setDictionaryKeys(int column, int[] keys) {
+    dictionaryKeys[column] = keys;
+    // the parsed values are not required anymore
+    columns[column] = null;
+  }
+
+  /**
+   * Input row, null if raw data is not kept in the batch
+   */
+  public Object[] getRawRow(int rowId) {
+    return null == rawRows ? null : rawRows[rowId];
+  }
+
+  /**
+   * Set the value of the column in the row which is already added. Value of direct dictionary
+   * column which is converted to int array can only be a surrogate key, otherwise the column is
+   * kept as values again
+   */
+  private void updateValue(int rowId, int column, Object value) {
+    int[] keys = dictionaryKeys[column];
+    if (null != keys) {
+      if (value instanceof Integer) {
+        keys[rowId] = (Integer) value;
+        return;
+      }
+      Object[] values = new Object[batchSize];
+      for (int i = 0; i < size; i++) {
+        values[i] = keys[i];
+      }
+      columns[column] = values;
+      dictionaryKeys[column] = null;
+    }
+    columns[column][rowId] = value;
+  }
+
+  public Object getValue(int rowId, int column) {
+    if (null != dictionaryKeys[column]) {
+      return dictionaryKeys[column][rowId];
+    }
+    return columns[column][rowId];
+  }
+
+  /**
+   * Rearrange the columns of the batch, column i of the batch becomes the column order[i]
+   */
+  public void rearrangeColumns(int[] order) {
+    Object[][] newColumns = new Object[order.length][];
+    int[][] newDictionaryKeys = new int[order.length][];
+    for (int i = 0; i < order.length; i++) {
+      newColumns[i] = columns[order[i]];
+      newDictionaryKeys[i] = dictionaryKeys[order[i]];
+    }
+    columns = newColumns;
+    dictionaryKeys = newDictionaryKeys;
+  }
+
+  /**
+   * Remove the rows from the batch, remaining rows are moved to keep the order
+   */
+  public void removeRows(BitSet rowIds) {
+    int newSize = 0;
+    for (int rowId = 0; rowId < size; rowId++) {
+      if (rowIds.get(rowId)) {
+        continue;
+      }
+      if (newSize != rowId) {
+        for (int i = 0; i < columns.length; i++) {
+          if (null != dictionaryKeys[i]) {
+            dictionaryKeys[i][newSize] = dictionaryKeys[i][rowId];
+          } else {
+            columns[i][newSize] = columns[i][rowId];
+          }
+        }
+        if (null != rawRows) {
+          rawRows[newSize] = rawRows[rowId];
+        }
+        if (null != rangeIds) {
+          rangeIds[newSize] = rangeIds[rowId];
+        }
+      }
+      newSize++;
+    }
+    for (int i = 0; i < columns.length; i++) {
+      if (null == dictionaryKeys[i]) {
+        for (int rowId = newSize; rowId < size; rowId++) {
+          columns[i][rowId] = null;
+        }
+      }
+    }
+    size = newSize;
+  }
+
+  @Override
+  public void addRow(CarbonRow carbonRow) {
+    addRow(carbonRow.getData(), carbonRow.getRawData());
+  }
+
+  @Override
+  public int getSize() {
+    return size;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return index < size;
+  }
+
+  @Override
+  public CarbonRow next() throws NoSuchElementException {
+    if (!hasNext()) {
+      throw new NoSuchElementException("no more elements to iterate");
+    }
+    Object[] row = new Object[columns.length];
+    for (int i = 0; i < row.length; i++) {
+      row[i] = getValue(index, i);
+    }
+    CarbonRow carbonRow = new CarbonRow(row, getRawRow(index));
+    if (null != rangeIds) {
+      carbonRow.setRangeId(rangeIds[index]);
+    }
+    index++;
+    return carbonRow;
+  }
+
+  /**
+   * remove the row returned by the last call of next
+   */
+  @Override
+  public void remove() {
+    if (index == 0) {
+      throw new IllegalStateException("Unable to remove a row in RowBatch before index 0");
+    }
+    BitSet rowIds = new BitSet(size);
+    rowIds.set(index - 1);
+    removeRows(rowIds);
+    --index;
+  }
+
+  /**
+   * set the values of the row returned by the last call of next
+   */
+  @Override
+  public void setPreviousRow(CarbonRow row) {
+    if (index == 0) {
+      throw new RuntimeException("Unable to set a row in RowBatch before index 0");
+    }
+    int rowId = index - 1;
+    Object[] data = row.getData();
+    for (int i = 0; i < columns.length; i++) {
+      updateValue(rowId, i, data[i]);
+    }
+    if (null != rawRows && null != row.getRawData()) {
+      rawRows[rowId] = row.getRawData();
+    }
+    if (null == rangeIds && row.getRangeId() != 0) {
+      rangeIds = new short[batchSize];
+    }
+    if (null != rangeIds) {
+      rangeIds[rowId] = row.getRangeId();
+    }
+  }
+
+  @Override
+  public void rewind() {
+    index = 0;
+  }
+}
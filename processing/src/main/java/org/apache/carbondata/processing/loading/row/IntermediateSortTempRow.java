@@ -35,6 +35,11 @@ public class IntermediateSortTempRow {
    * for final merger keep the measures
    */
   private Object[] measures;
+  /**
+   * normalized prefix of the first sort column, computed on first use during merge
+   */
+  private long sortKeyPrefix;
+  private boolean isSortKeyPrefixSet;
 
   public IntermediateSortTempRow(int[] dictSortDims, Object[] noDictSortDims,
       byte[] noSortDimsAndMeasures) {
@@ -70,9 +75,40 @@ public class IntermediateSortTempRow {
   public void setNoDictData(Object[] noDictSortDims) {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3335
     this.noDictSortDims = noDictSortDims;
+    this.isSortKeyPrefixSet = false;
   }
 
   public void setDictData(int[] dictData) {
     this.dictSortDims = dictData;
+    this.isSortKeyPrefixSet = false;
+  }
+
+  /**
+   * Get the prefix of the first sort column. If prefix of one row is less than the prefix of
+   * other row then the first sort column of that row is also less, if prefixes are equal then
+   * the column values have to be compared.
+   *
+   * @param isNoDictionary true if the first sort column is a no dictionary column stored as
+   *                       byte array, false if it is a dictionary column
+   * @return prefix which can be compared as signed long
+   */
+  public long getSortKeyPrefix(boolean isNoDictionary) {
+    if (!isSortKeyPrefixSet) {
+      if (isNoDictionary) {
+        // first 8 bytes in big endian order, flip the sign bit so that unsigned byte order
+        // is same as signed long order
+        byte[] value = (byte[]) noDictSortDims[0];
+        long prefix = 0;
+        int length = Math.min(value.length, 8);
+        for (int i = 0; i < length; i++) {
+          prefix |= (value[i] & 0xFFL) << (56 - 8 * i);
+        }
+        sortKeyPrefix = prefix ^ Long.MIN_VALUE;
+      } else {
+        sortKeyPrefix = dictSortDims[0];
+      }
+      isSortKeyPrefixSet = true;
+    }
+    return sortKeyPrefix;
   }
 }
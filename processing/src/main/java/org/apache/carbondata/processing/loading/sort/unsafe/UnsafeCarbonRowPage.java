@@ -19,6 +19,7 @@ package org.apache.carbondata.processing.loading.sort.unsafe;
 
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.apache.carbondata.core.memory.IntPointerBuffer;
 import org.apache.carbondata.core.memory.MemoryBlock;
@@ -28,6 +29,7 @@ import org.apache.carbondata.core.memory.UnsafeSortMemoryManager;
 import org.apache.carbondata.core.util.ReUsableByteArrayDataOutputStream;
 import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
 import org.apache.carbondata.processing.loading.sort.SortStepRowHandler;
+import org.apache.carbondata.processing.loading.sort.unsafe.sort.UnsafeRowPrefixGenerator;
 import org.apache.carbondata.processing.sort.SortTempRowUpdater;
 import org.apache.carbondata.processing.sort.sortdata.TableFieldStat;
 
@@ -55,6 +57,13 @@ public class UnsafeCarbonRowPage {
 
   private boolean isSaveToDisk;
 
+  private UnsafeRowPrefixGenerator prefixGenerator;
+
+  /**
+   * sort prefix of each row in the order of the row pointers, null if prefix sort is not used
+   */
+  private long[] prefixes;
+
   public UnsafeCarbonRowPage(TableFieldStat tableFieldStat, MemoryBlock memoryBlock,
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3680
       String taskId, boolean isSaveToDisk) {
@@ -80,6 +89,14 @@ public class UnsafeCarbonRowPage {
       ReUsableByteArrayDataOutputStream reUsableByteArrayDataOutputStream)
       throws MemoryException, IOException {
     int size = addRow(row, dataBlock.getBaseOffset() + lastSize, reUsableByteArrayDataOutputStream);
+    if (null != prefixes) {
+      int rowId = buffer.getActualSize();
+      if (rowId == prefixes.length) {
+        prefixes = Arrays.copyOf(prefixes, rowId + rowId / 4);
+      }
+      prefixes[rowId] = prefixGenerator
+          .getPrefix(dataBlock.getBaseObject(), dataBlock.getBaseOffset() + lastSize);
+    }
     buffer.set(lastSize);
     lastSize = lastSize + size;
     return size;
@@ -181,6 +198,30 @@ public class UnsafeCarbonRowPage {
     this.convertNoSortFields = true;
   }
 
+  /**
+   * generate the sort prefix of the rows added to the page, so that the page can be sorted by
+   * the prefix
+   */
+  public void setPrefixGenerator(UnsafeRowPrefixGenerator prefixGenerator) {
+    this.prefixGenerator = prefixGenerator;
+    this.prefixes = new long[1024];
+  }
+
+  public long[] getPrefixes() {
+    return prefixes;
+  }
+
+  public UnsafeRowPrefixGenerator getPrefixGenerator() {
+    return prefixGenerator;
+  }
+
+  /**
+   * free the sort prefixes once the page is sorted
+   */
+  public void freePrefixes() {
+    this.prefixes = null;
+  }
+
   public void makeCanAddFail() {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2927
     this.lastSize = (int) sizeToBeUsed;
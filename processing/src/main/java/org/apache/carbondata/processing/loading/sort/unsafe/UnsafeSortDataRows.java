@@ -21,6 +21,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.util.Comparator;
 import java.util.Random;
 
 import org.apache.carbondata.common.logging.LogServiceFactory;
@@ -32,6 +33,7 @@ import org.apache.carbondata.core.memory.MemoryBlock;
 import org.apache.carbondata.core.memory.MemoryException;
 import org.apache.carbondata.core.memory.UnsafeMemoryManager;
 import org.apache.carbondata.core.memory.UnsafeSortMemoryManager;
+import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.core.util.ReUsableByteArrayDataOutputStream;
 import org.apache.carbondata.core.util.ThreadLocalTaskInfo;
@@ -41,6 +43,8 @@ import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeCarbonR
 import org.apache.carbondata.processing.loading.sort.unsafe.merger.UnsafeIntermediateMerger;
 import org.apache.carbondata.processing.loading.sort.unsafe.sort.TimSort;
 import org.apache.carbondata.processing.loading.sort.unsafe.sort.UnsafeIntSortDataFormat;
+import org.apache.carbondata.processing.loading.sort.unsafe.sort.UnsafeRadixSort;
+import org.apache.carbondata.processing.loading.sort.unsafe.sort.UnsafeRowPrefixGenerator;
 import org.apache.carbondata.processing.sort.exception.CarbonSortKeyAndGroupByException;
 import org.apache.carbondata.processing.sort.sortdata.SortParameters;
 import org.apache.carbondata.processing.sort.sortdata.TableFieldStat;
@@ -64,6 +68,11 @@ public class UnsafeSortDataRows {
 
   private int instanceId;
 
+  /**
+   * generator of the sort prefix of the rows, null if pages are sorted only by the comparator
+   */
+  private UnsafeRowPrefixGenerator prefixGenerator;
+
   public UnsafeSortDataRows(SortParameters parameters,
       UnsafeIntermediateMerger unsafeInMemoryIntermediateFileMerger, int inMemoryChunkSize) {
     this.parameters = parameters;
@@ -81,6 +90,19 @@ public class UnsafeSortDataRows {
     this.threadStatusObserver = new ThreadStatusObserver();
     this.taskId = ThreadLocalTaskInfo.getCarbonTaskInfo().getTaskId();
     this.inMemoryChunkSize = inMemoryChunkSize * 1024L * 1024L;
+    if (CarbonProperties.getInstance().isUnsafeSortPrefixEnabled()) {
+      this.prefixGenerator = createPrefixGenerator(tableFieldStat);
+    }
+  }
+
+  /**
+   * @return generator of the sort prefix, null if the sort columns do not support the prefix
+   */
+  static UnsafeRowPrefixGenerator createPrefixGenerator(TableFieldStat tableFieldStat) {
+    UnsafeRowPrefixGenerator prefixGenerator = new UnsafeRowPrefixGenerator(
+        tableFieldStat.getIsSortColNoDictFlags(), tableFieldStat.getNoDictDataType(),
+        tableFieldStat.getDictSortDimCnt());
+    return prefixGenerator.isPrefixSupported() ? prefixGenerator : null;
   }
 
   public void setInstanceId(int instanceId) {
@@ -95,6 +117,9 @@ public class UnsafeSortDataRows {
     boolean isMemoryAvailable =
         UnsafeSortMemoryManager.INSTANCE.isMemoryAvailable(baseBlock.size());
     this.rowPage = new UnsafeCarbonRowPage(tableFieldStat, baseBlock, taskId, isMemoryAvailable);
+    if (null != prefixGenerator) {
+      this.rowPage.setPrefixGenerator(prefixGenerator);
+    }
   }
 
   private UnsafeCarbonRowPage createUnsafeRowPage() {
@@ -107,7 +132,11 @@ public class UnsafeSortDataRows {
       // merge and spill in-memory pages to disk if memory is not enough
       unsafeInMemoryIntermediateFileMerger.tryTriggerInMemoryMerging(true);
     }
-    return new UnsafeCarbonRowPage(tableFieldStat, baseBlock, taskId, true);
+    UnsafeCarbonRowPage rowPage = new UnsafeCarbonRowPage(tableFieldStat, baseBlock, taskId, true);
+    if (null != prefixGenerator) {
+      rowPage.setPrefixGenerator(prefixGenerator);
+    }
+    return rowPage;
   }
 
   public void addRowBatch(Object[][] rowBatch, int size) throws CarbonSortKeyAndGroupByException {
@@ -198,23 +227,37 @@ public class UnsafeSortDataRows {
     LOGGER.info("Unsafe based sorting will be used");
     if (this.rowPage.getUsedSize() > 0) {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3680
-      TimSort<UnsafeCarbonRow, IntPointerBuffer> timSort = new TimSort<>(
-          new UnsafeIntSortDataFormat(rowPage));
-      if (parameters.getNumberOfNoDictSortColumns() > 0) {
-        timSort.sort(rowPage.getBuffer(), 0, rowPage.getBuffer().getActualSize(),
-            new UnsafeRowComparator(rowPage));
-      } else {
-        timSort.sort(rowPage.getBuffer(), 0, rowPage.getBuffer().getActualSize(),
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-2018
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-2018
-            new UnsafeRowComparatorForNormalDims(rowPage));
-      }
+      sortPage(rowPage, parameters.getNumberOfNoDictSortColumns() > 0);
       unsafeInMemoryIntermediateFileMerger.addDataChunkToMerge(rowPage);
     } else {
       rowPage.freeMemory();
     }
   }
 
+  /**
+   * sort the row pointers of the current page. If the rows have sort prefix, the page is sorted
+   * by the prefix with radix sort and only the rows with equal prefix are compared
+   */
+  static void sortPage(UnsafeCarbonRowPage rowPage, boolean hasNoDictSortColumns) {
+    TimSort<UnsafeCarbonRow, IntPointerBuffer> timSort = new TimSort<>(
+        new UnsafeIntSortDataFormat(rowPage));
+    // if sort_columns is not none, sort by sort_columns
+    Comparator<UnsafeCarbonRow> comparator;
+    if (hasNoDictSortColumns) {
+      comparator = new UnsafeRowComparator(rowPage);
+    } else {
+      comparator = new UnsafeRowComparatorForNormalDims(rowPage);
+    }
+    if (null != rowPage.getPrefixes()) {
+      UnsafeRadixSort.sort(rowPage.getBuffer(), rowPage.getPrefixes(),
+          rowPage.getBuffer().getActualSize(), rowPage.getPrefixGenerator().isPrefixComplete(),
+          timSort, comparator);
+      rowPage.freePrefixes();
+    } else {
+      timSort.sort(rowPage.getBuffer(), 0, rowPage.getBuffer().getActualSize(), comparator);
+    }
+  }
+
   /**
    * write a page to sort temp file
    * @param rowPage page
@@ -276,16 +319,7 @@ public class UnsafeSortDataRows {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3679
     try {
       long startTime = System.currentTimeMillis();
-      TimSort<UnsafeCarbonRow, IntPointerBuffer> timSort = new TimSort<>(
-              new UnsafeIntSortDataFormat(rowPage));
-      // if sort_columns is not none, sort by sort_columns
-      if (parameters.getNumberOfNoDictSortColumns() > 0) {
-        timSort.sort(rowPage.getBuffer(), 0, rowPage.getBuffer().getActualSize(),
-                new UnsafeRowComparator(rowPage));
-      } else {
-        timSort.sort(rowPage.getBuffer(), 0, rowPage.getBuffer().getActualSize(),
-                new UnsafeRowComparatorForNormalDims(rowPage));
-      }
+      sortPage(rowPage, parameters.getNumberOfNoDictSortColumns() > 0);
       // get sort storage memory block if memory is available in sort storage manager
       // if space is available then store it in memory, if memory is not available
       // then spill to disk
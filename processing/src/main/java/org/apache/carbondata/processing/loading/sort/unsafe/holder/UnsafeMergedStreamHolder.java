@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort.unsafe.holder;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
+import org.apache.carbondata.processing.sort.exception.CarbonSortKeyAndGroupByException;
+import org.apache.carbondata.processing.sort.sortdata.LoserTreeQueue;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Holder of the rows merged from a group of holders in a background thread. It is used in
+ * final merge to merge the groups in parallel. Merged rows are handed over in batches through
+ * a bounded queue, so memory held by a group is limited to few batches.
+ */
+public class UnsafeMergedStreamHolder implements SortTempChunkHolder {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(UnsafeMergedStreamHolder.class.getName());
+
+  /**
+   * number of merged batches which can be kept ready for the consumer
+   */
+  private static final int MAX_READY_BATCHES = 2;
+
+  private BlockingQueue<IntermediateSortTempRow[]> batchQueue;
+
+  private Comparator<IntermediateSortTempRow> comparator;
+
+  private Future<Void> mergeFuture;
+
+  private int totalRows;
+
+  private int rowsRead;
+
+  private IntermediateSortTempRow[] currentBatch;
+
+  private int batchIndex;
+
+  private IntermediateSortTempRow currentRow;
+
+  /**
+   * @param holders         holders to be merged, the first row of each holder should be read
+   * @param comparator      comparator of the rows, same as used by the holders
+   * @param batchSize       number of rows handed over at a time
+   * @param executorService executor to run the merge
+   */
+  public UnsafeMergedStreamHolder(List<SortTempChunkHolder> holders,
+      Comparator<IntermediateSortTempRow> comparator, int batchSize,
+      ExecutorService executorService) {
+    for (SortTempChunkHolder holder : holders) {
+      totalRows += holder.numberOfRows();
+    }
+    this.comparator = comparator;
+    this.batchQueue = new ArrayBlockingQueue<>(MAX_READY_BATCHES);
+    LOGGER.info("Merging " + holders.size() + " sorted inputs with rows : " + totalRows
+        + " in background");
+    this.mergeFuture = executorService.submit(new MergeTask(holders, batchSize));
+  }
+
+  public boolean hasNext() {
+    return rowsRead < totalRows;
+  }
+
+  public void readRow() throws CarbonSortKeyAndGroupByException {
+    if (null == currentBatch || batchIndex == currentBatch.length) {
+      currentBatch = takeBatch();
+      batchIndex = 0;
+    }
+    currentRow = currentBatch[batchIndex++];
+    rowsRead++;
+  }
+
+  private IntermediateSortTempRow[] takeBatch() throws CarbonSortKeyAndGroupByException {
+    try {
+      while (true) {
+        IntermediateSortTempRow[] batch = batchQueue.poll(100, TimeUnit.MILLISECONDS);
+        if (null != batch) {
+          return batch;
+        }
+        if (mergeFuture.isDone()) {
+          // throws the failure of merge if any
+          mergeFuture.get();
+          batch = batchQueue.poll();
+          if (null != batch) {
+            return batch;
+          }
+          throw new CarbonSortKeyAndGroupByException(
+              "Merged rows are less than expected rows: " + totalRows);
+        }
+      }
+    } catch (InterruptedException | ExecutionException e) {
+      throw new CarbonSortKeyAndGroupByException("Problem while merging sorted inputs", e);
+    }
+  }
+
+  public IntermediateSortTempRow getRow() {
+    return currentRow;
+  }
+
+  @Override
+  public int compareTo(SortTempChunkHolder o) {
+    return comparator.compare(currentRow, o.getRow());
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+
+    if (!(obj instanceof UnsafeMergedStreamHolder)) {
+      return false;
+    }
+
+    UnsafeMergedStreamHolder o = (UnsafeMergedStreamHolder) obj;
+    return this == o;
+  }
+
+  @Override
+  public int hashCode() {
+    return super.hashCode();
+  }
+
+  public int numberOfRows() {
+    return totalRows;
+  }
+
+  public void close() {
+    // interrupt the merge if it is still running, merge task closes its holders
+    mergeFuture.cancel(true);
+    batchQueue.clear();
+  }
+
+  /**
+   * merges the holders of the group and adds the merged rows to the batch queue
+   */
+  private final class MergeTask implements Callable<Void> {
+
+    private List<SortTempChunkHolder> holders;
+
+    private int batchSize;
+
+    private MergeTask(List<SortTempChunkHolder> holders, int batchSize) {
+      this.holders = holders;
+      this.batchSize = batchSize;
+    }
+
+    @Override
+    public Void call() throws Exception {
+      LoserTreeQueue<SortTempChunkHolder> recordHolderHeap =
+          new LoserTreeQueue<>(holders.size());
+      recordHolderHeap.addAll(holders);
+      try {
+        IntermediateSortTempRow[] batch = new IntermediateSortTempRow[batchSize];
+        int batchRowCount = 0;
+        while (!recordHolderHeap.isEmpty()) {
+          SortTempChunkHolder poll = recordHolderHeap.poll();
+          batch[batchRowCount++] = poll.getRow();
+          if (poll.hasNext()) {
+            try {
+              poll.readRow();
+            } catch (CarbonSortKeyAndGroupByException e) {
+              poll.close();
+              throw e;
+            }
+            recordHolderHeap.add(poll);
+          } else {
+            poll.close();
+          }
+          if (batchRowCount == batchSize) {
+            batchQueue.put(batch);
+            batch = new IntermediateSortTempRow[batchSize];
+            batchRowCount = 0;
+          }
+        }
+        if (batchRowCount > 0) {
+          batchQueue.put(Arrays.copyOf(batch, batchRowCount));
+        }
+      } catch (Exception e) {
+        if (!(e instanceof InterruptedException)) {
+          LOGGER.error("Problem while merging sorted inputs", e);
+        }
+        throw e;
+      } finally {
+        for (SortTempChunkHolder holder : recordHolderHeap) {
+          holder.close();
+        }
+      }
+      return null;
+    }
+  }
+}
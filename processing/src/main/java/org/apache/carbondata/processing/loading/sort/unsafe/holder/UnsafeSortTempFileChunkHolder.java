@@ -22,10 +22,6 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.Comparator;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
@@ -39,6 +35,7 @@ import org.apache.carbondata.processing.sort.exception.CarbonSortKeyAndGroupByEx
 import org.apache.carbondata.processing.sort.sortdata.FileMergeSortComparator;
 import org.apache.carbondata.processing.sort.sortdata.IntermediateSortTempRowComparator;
 import org.apache.carbondata.processing.sort.sortdata.SortParameters;
+import org.apache.carbondata.processing.sort.sortdata.SortTempFileRowReader;
 import org.apache.carbondata.processing.sort.sortdata.TableFieldStat;
 
 import org.apache.log4j.Logger;
@@ -71,30 +68,14 @@ public class UnsafeSortTempFileChunkHolder implements SortTempChunkHolder {
   private IntermediateSortTempRow returnRow;
   private int readBufferSize;
   private String compressorName;
-  private IntermediateSortTempRow[] currentBuffer;
-
-  private IntermediateSortTempRow[] backupBuffer;
-
-  private boolean isBackupFilled;
-
   private boolean prefetch;
 
   private int bufferSize;
 
-  private int bufferRowCounter;
-
-  private ExecutorService executorService;
-
-  private Future<Void> submit;
-
-  private int prefetchRecordsProceesed;
-
   /**
-   * totalRecordFetch
+   * reader of the rows of the temp file
    */
-  private int totalRecordFetch;
-
-  private int numberOfObjectRead;
+  private SortTempFileRowReader rowReader;
 
   private TableFieldStat tableFieldStat;
   private SortStepRowHandler sortStepRowHandler;
@@ -114,7 +95,6 @@ public class UnsafeSortTempFileChunkHolder implements SortTempChunkHolder {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3552
     this.tableFieldStat = tableFieldStat;
     this.sortStepRowHandler = new SortStepRowHandler(tableFieldStat);
-    this.executorService = Executors.newFixedThreadPool(1);
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2836
     this.convertNoSortFields = convertNoSortFields;
     this.sortTempRowUpdater = tableFieldStat.getSortTempRowUpdater();
@@ -146,6 +126,7 @@ public class UnsafeSortTempFileChunkHolder implements SortTempChunkHolder {
   }
 
   private void initialise() {
+    DataInputStream stream = null;
     try {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2863
       stream = FileFactory.getDataInputStream(tempFile.getPath(),
@@ -153,23 +134,16 @@ public class UnsafeSortTempFileChunkHolder implements SortTempChunkHolder {
       this.entryCount = stream.readInt();
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2220
       LOGGER.info("Processing unsafe mode file rows with size : " + entryCount);
-      if (prefetch) {
-        new DataFetcher(false).call();
-        totalRecordFetch += currentBuffer.length;
-        if (totalRecordFetch < this.entryCount) {
-          submit = executorService.submit(new DataFetcher(true));
-        }
-      }
+      this.rowReader = new SortTempFileRowReader(stream, entryCount, new RowDecoder(),
+          prefetch, bufferSize, "UnsafeSortTempChunkHolderPool:" + tempFile.getName());
     } catch (FileNotFoundException e) {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3107
       LOGGER.error(e.getMessage(), e);
       throw new RuntimeException(tempFile + " No Found", e);
     } catch (IOException e) {
       LOGGER.error(e.getMessage(), e);
+      CarbonUtil.closeStreams(stream);
       throw new RuntimeException(tempFile + " No Found", e);
-    } catch (Exception e) {
-      LOGGER.error(e.getMessage(), e);
-      throw new RuntimeException(tempFile + " Problem while reading", e);
     }
   }
 
@@ -180,85 +154,7 @@ public class UnsafeSortTempFileChunkHolder implements SortTempChunkHolder {
    */
   @Override
   public void readRow() throws CarbonSortKeyAndGroupByException {
-    if (prefetch) {
-      fillDataForPrefetch();
-    } else {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-2018
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-2018
-      try {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-2836
-        if (convertNoSortFields) {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-3335
-          IntermediateSortTempRow intermediateSortTempRow =
-              sortStepRowHandler.readWithNoSortFieldConvert(stream);
-          sortTempRowUpdater
-              .updateSortTempRow(intermediateSortTempRow);
-          this.returnRow = intermediateSortTempRow;
-        } else {
-          this.returnRow = sortStepRowHandler.readWithoutNoSortFieldConvert(stream);
-        }
-        this.numberOfObjectRead++;
-      } catch (IOException e) {
-        throw new CarbonSortKeyAndGroupByException("Problems while reading row", e);
-      }
-    }
-  }
-
-  private void fillDataForPrefetch() {
-    if (bufferRowCounter >= bufferSize) {
-      if (isBackupFilled) {
-        bufferRowCounter = 0;
-        currentBuffer = backupBuffer;
-        totalRecordFetch += currentBuffer.length;
-        isBackupFilled = false;
-        if (totalRecordFetch < this.entryCount) {
-          submit = executorService.submit(new DataFetcher(true));
-        }
-      } else {
-        try {
-          submit.get();
-        } catch (Exception e) {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-3107
-          LOGGER.error(e.getMessage(), e);
-        }
-        bufferRowCounter = 0;
-        currentBuffer = backupBuffer;
-        isBackupFilled = false;
-        totalRecordFetch += currentBuffer.length;
-        if (totalRecordFetch < this.entryCount) {
-          submit = executorService.submit(new DataFetcher(true));
-        }
-      }
-    }
-    prefetchRecordsProceesed++;
-    returnRow = currentBuffer[bufferRowCounter++];
-  }
-
-  /**
-   * get a batch of row, this interface is used in reading compressed sort temp files
-   *
-   * @param expected expected number in a batch
-   * @return a batch of row
-   * @throws IOException if error occurs while reading from stream
-   */
-  private IntermediateSortTempRow[] readBatchedRowFromStream(int expected)
-      throws IOException {
-    IntermediateSortTempRow[] holders = new IntermediateSortTempRow[expected];
-    for (int i = 0; i < expected; i++) {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-2836
-      if (convertNoSortFields) {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-3335
-        IntermediateSortTempRow intermediateSortTempRow =
-            sortStepRowHandler.readWithNoSortFieldConvert(stream);
-        sortTempRowUpdater
-            .updateSortTempRow(intermediateSortTempRow);
-        holders[i] = intermediateSortTempRow;
-      } else {
-        holders[i] = sortStepRowHandler.readWithoutNoSortFieldConvert(stream);
-      }
-    }
-    this.numberOfObjectRead += expected;
-    return holders;
+    this.returnRow = rowReader.next();
   }
 
   /**
@@ -277,21 +173,15 @@ public class UnsafeSortTempFileChunkHolder implements SortTempChunkHolder {
    * @return more row present in file
    */
   public boolean hasNext() {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-1839
-    if (prefetch) {
-      return this.prefetchRecordsProceesed < this.entryCount;
-    }
-    return this.numberOfObjectRead < this.entryCount;
+    return rowReader.hasNext();
   }
 
   /**
    * Below method will be used to close streams
    */
   public void close() {
-    CarbonUtil.closeStreams(stream);
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-1410
-    if (null != executorService && !executorService.isShutdown()) {
-      executorService.shutdownNow();
+    if (null != rowReader) {
+      rowReader.close();
     }
   }
 
@@ -333,51 +223,19 @@ public class UnsafeSortTempFileChunkHolder implements SortTempChunkHolder {
     return hash;
   }
 
-  private final class DataFetcher implements Callable<Void> {
-    private boolean isBackUpFilling;
-
-    private int numberOfRecords;
-
-    private DataFetcher(boolean backUp) {
-      isBackUpFilling = backUp;
-      calculateNumberOfRecordsToBeFetched();
-    }
-
-    private void calculateNumberOfRecordsToBeFetched() {
-      int numberOfRecordsLeftToBeRead = entryCount - totalRecordFetch;
-      numberOfRecords =
-          bufferSize < numberOfRecordsLeftToBeRead ? bufferSize : numberOfRecordsLeftToBeRead;
-    }
-
+  /**
+   * decodes the rows of the temp file, it is called by the prefetch thread of the reader
+   */
+  private final class RowDecoder implements SortTempFileRowReader.RowDecoder {
     @Override
-    public Void call() {
-      try {
-        if (isBackUpFilling) {
-          backupBuffer = prefetchRecordsFromFile(numberOfRecords);
-          isBackupFilled = true;
-        } else {
-          currentBuffer = prefetchRecordsFromFile(numberOfRecords);
-        }
-      } catch (Exception e) {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-3107
-        LOGGER.error(e.getMessage(), e);
+    public IntermediateSortTempRow decode(DataInputStream stream) throws IOException {
+      if (convertNoSortFields) {
+        IntermediateSortTempRow intermediateSortTempRow =
+            sortStepRowHandler.readWithNoSortFieldConvert(stream);
+        sortTempRowUpdater.updateSortTempRow(intermediateSortTempRow);
+        return intermediateSortTempRow;
       }
-      return null;
+      return sortStepRowHandler.readWithoutNoSortFieldConvert(stream);
     }
-
-  }
-
-  /**
-   * This method will read the records from sort temp file and keep it in a buffer
-   *
-   * @param numberOfRecords number of records to be read
-   * @return batch of intermediate sort temp row
-   * @throws IOException if error occurs reading records from file
-   */
-  private IntermediateSortTempRow[] prefetchRecordsFromFile(int numberOfRecords)
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-2018
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-2018
-      throws IOException {
-    return readBatchedRowFromStream(numberOfRecords);
   }
 }
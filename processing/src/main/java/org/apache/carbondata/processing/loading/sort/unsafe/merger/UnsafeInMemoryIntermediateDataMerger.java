@@ -22,7 +22,6 @@ import java.io.File;
 import java.io.IOException;
 import java.util.AbstractQueue;
 import java.util.NoSuchElementException;
-import java.util.PriorityQueue;
 import java.util.Random;
 import java.util.concurrent.Callable;
 
@@ -35,6 +34,7 @@ import org.apache.carbondata.processing.loading.sort.SortStepRowHandler;
 import org.apache.carbondata.processing.loading.sort.unsafe.UnsafeCarbonRowPage;
 import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeCarbonRowForMerge;
 import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeInmemoryMergeHolder;
+import org.apache.carbondata.processing.sort.sortdata.LoserTreeQueue;
 import org.apache.carbondata.processing.sort.sortdata.SortParameters;
 
 import org.apache.log4j.Logger;
@@ -205,7 +205,7 @@ public class UnsafeInMemoryIntermediateDataMerger implements Callable<Void> {
    */
   private void createRecordHolderQueue(UnsafeCarbonRowPage[] pages) {
     // creating record holder heap
-    this.recordHolderHeap = new PriorityQueue<UnsafeInmemoryMergeHolder>(pages.length);
+    this.recordHolderHeap = new LoserTreeQueue<UnsafeInmemoryMergeHolder>(pages.length);
   }
 
   /**
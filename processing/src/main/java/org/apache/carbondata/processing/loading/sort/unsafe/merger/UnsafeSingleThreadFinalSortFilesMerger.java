@@ -25,18 +25,26 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.apache.carbondata.common.CarbonIterator;
 import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.exception.CarbonDataWriterException;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonThreadFactory;
 import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
 import org.apache.carbondata.processing.loading.sort.SortStepRowHandler;
 import org.apache.carbondata.processing.loading.sort.unsafe.UnsafeCarbonRowPage;
 import org.apache.carbondata.processing.loading.sort.unsafe.holder.SortTempChunkHolder;
 import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeFinalMergePageHolder;
 import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeInmemoryHolder;
+import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeMergedStreamHolder;
 import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeSortTempFileChunkHolder;
+import org.apache.carbondata.processing.sort.exception.CarbonSortKeyAndGroupByException;
+import org.apache.carbondata.processing.sort.sortdata.FileMergeSortComparator;
+import org.apache.carbondata.processing.sort.sortdata.LoserTreeQueue;
 import org.apache.carbondata.processing.sort.sortdata.SortParameters;
 import org.apache.carbondata.processing.sort.sortdata.TableFieldStat;
 
@@ -49,6 +57,11 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
   private static final Logger LOGGER =
       LogServiceFactory.getLogService(UnsafeSingleThreadFinalSortFilesMerger.class.getName());
 
+  /**
+   * minimum number of holders to be merged by a thread in parallel final merge
+   */
+  private static final int MIN_HOLDERS_PER_MERGE_GROUP = 2;
+
   /**
    * fileCounter
    */
@@ -70,6 +83,11 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
 
   private boolean isStopProcess;
 
+  /**
+   * executor to merge the groups of holders in parallel, null if merge is single threaded
+   */
+  private ExecutorService executorService;
+
   public UnsafeSingleThreadFinalSortFilesMerger(SortParameters parameters,
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-1281
       String[] tempFileLocation) {
@@ -123,8 +141,7 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
           + ", sort temp files: %d, intermediate merges: %d",
           this.fileCounter, rowPages.length, filesToMergeSort.size(), merges.size()));
 
-      // create record holder heap
-      createRecordHolderQueue();
+      List<SortTempChunkHolder> holders = new ArrayList<>(fileCounter);
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3552
       TableFieldStat tableFieldStat = new TableFieldStat(parameters);
       // iterate over file list and create chunk holder and add to heap
@@ -138,7 +155,7 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
         // initialize
         sortTempFileChunkHolder.readRow();
 
-        recordHolderHeapLocal.add(sortTempFileChunkHolder);
+        holders.add(sortTempFileChunkHolder);
       }
 
       for (final UnsafeInMemoryIntermediateDataMerger merger : merges) {
@@ -150,7 +167,7 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
         // initialize
         sortTempFileChunkHolder.readRow();
 
-        recordHolderHeapLocal.add(sortTempFileChunkHolder);
+        holders.add(sortTempFileChunkHolder);
       }
 
       for (final File file : filesToMergeSort) {
@@ -162,11 +179,12 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
         // initialize
         sortTempFileChunkHolder.readRow();
 
-        recordHolderHeapLocal.add(sortTempFileChunkHolder);
+        holders.add(sortTempFileChunkHolder);
       }
 
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2018
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2018
+      addHoldersToQueue(holders, tableFieldStat);
       LOGGER.info("Heap Size: " + this.recordHolderHeapLocal.size());
     } catch (Exception e) {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3107
@@ -198,13 +216,61 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
     return files;
   }
 
+  /**
+   * Add the holders to the heap. If final merge threads are configured then the holders are
+   * split into groups which are merged in parallel and heap holds the merged stream of
+   * each group.
+   */
+  private void addHoldersToQueue(List<SortTempChunkHolder> holders,
+      TableFieldStat tableFieldStat) throws CarbonSortKeyAndGroupByException {
+    int numberOfGroups = Math.min(CarbonProperties.getInstance().getSortFinalMergeThreads(),
+        holders.size() / MIN_HOLDERS_PER_MERGE_GROUP);
+    if (numberOfGroups > 1) {
+      LOGGER.info("Final merge will be done in parallel with groups: " + numberOfGroups);
+      List<List<SortTempChunkHolder>> groups = new ArrayList<>(numberOfGroups);
+      for (int i = 0; i < numberOfGroups; i++) {
+        groups.add(new ArrayList<SortTempChunkHolder>());
+      }
+      for (int i = 0; i < holders.size(); i++) {
+        groups.get(i % numberOfGroups).add(holders.get(i));
+      }
+      int batchSize = Integer.parseInt(CarbonProperties.getInstance()
+          .getProperty(CarbonCommonConstants.CARBON_PREFETCH_BUFFERSIZE,
+              CarbonCommonConstants.CARBON_PREFETCH_BUFFERSIZE_DEFAULT));
+      executorService = Executors.newFixedThreadPool(numberOfGroups,
+          new CarbonThreadFactory("UnsafeFinalMergePool:" + tableName, true));
+      // same comparator as used by the holders of final merge
+      FileMergeSortComparator comparator =
+          new FileMergeSortComparator(tableFieldStat.getIsSortColNoDictFlags(),
+              tableFieldStat.getNoDictDataType(),
+              tableFieldStat.getNoDictSortColumnSchemaOrderMapping());
+      holders = new ArrayList<>(numberOfGroups);
+      for (List<SortTempChunkHolder> group : groups) {
+        SortTempChunkHolder mergedHolder =
+            new UnsafeMergedStreamHolder(group, comparator, batchSize, executorService);
+        // like the other holders, the first row should be read before adding to the heap
+        if (mergedHolder.hasNext()) {
+          mergedHolder.readRow();
+          holders.add(mergedHolder);
+        } else {
+          mergedHolder.close();
+        }
+      }
+    }
+    this.fileCounter = holders.size();
+    createRecordHolderQueue();
+    for (SortTempChunkHolder holder : holders) {
+      recordHolderHeapLocal.add(holder);
+    }
+  }
+
   /**
    * This method will be used to create the heap which will be used to hold
    * the chunk of data
    */
   private void createRecordHolderQueue() {
     // creating record holder heap
-    this.recordHolderHeapLocal = new PriorityQueue<SortTempChunkHolder>(fileCounter);
+    this.recordHolderHeapLocal = new LoserTreeQueue<SortTempChunkHolder>(fileCounter);
   }
 
   /**
@@ -281,6 +347,9 @@ public class UnsafeSingleThreadFinalSortFilesMerger extends CarbonIterator<Objec
   }
 
   public void clear() {
+    if (null != executorService) {
+      executorService.shutdownNow();
+    }
     if (null != recordHolderHeapLocal) {
       for (SortTempChunkHolder pageHolder : recordHolderHeapLocal) {
         pageHolder.close();
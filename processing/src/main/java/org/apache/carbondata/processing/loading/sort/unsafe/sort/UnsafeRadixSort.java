@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort.unsafe.sort;
+
+import java.util.Comparator;
+
+import org.apache.carbondata.core.memory.IntPointerBuffer;
+import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeCarbonRow;
+
+/**
+ * Sorts the row pointers of a page by the prefix of the rows with LSD radix sort, one pass for
+ * each byte of the prefix. Passes of the bytes which are same for all the rows are skipped. Then
+ * the rows with equal prefix are sorted by the comparator.
+ */
+public final class UnsafeRadixSort {
+
+  private static final int BITS_PER_PASS = 8;
+
+  private static final int NUMBER_OF_PASSES = Long.SIZE / BITS_PER_PASS;
+
+  private static final int RADIX = 1 << BITS_PER_PASS;
+
+  private UnsafeRadixSort() {
+
+  }
+
+  /**
+   * @param pointers         row pointers of the page, on heap
+   * @param prefixes         prefix of the row of each pointer, sorted with the pointers
+   * @param size             number of rows
+   * @param isPrefixComplete true if rows with equal prefix are equal, so that they are not
+   *                         compared by the comparator
+   * @param timSort          sort for rows with equal prefix
+   * @param comparator       comparator of the rows
+   */
+  public static void sort(IntPointerBuffer pointers, long[] prefixes, int size,
+      boolean isPrefixComplete, TimSort<UnsafeCarbonRow, IntPointerBuffer> timSort,
+      Comparator<UnsafeCarbonRow> comparator) {
+    if (size < 2) {
+      return;
+    }
+    int[] pointerBlock = pointers.getPointerBlock();
+    // count the rows of each byte value of each pass in a single scan
+    int[][] counts = new int[NUMBER_OF_PASSES][RADIX];
+    for (int i = 0; i < size; i++) {
+      long prefix = prefixes[i];
+      for (int pass = 0; pass < NUMBER_OF_PASSES; pass++) {
+        counts[pass][(int) (prefix >>> (pass * BITS_PER_PASS)) & (RADIX - 1)]++;
+      }
+    }
+    long[] sourcePrefixes = prefixes;
+    int[] sourcePointers = pointerBlock;
+    long[] targetPrefixes = null;
+    int[] targetPointers = null;
+    for (int pass = 0; pass < NUMBER_OF_PASSES; pass++) {
+      int shift = pass * BITS_PER_PASS;
+      int[] offsets = counts[pass];
+      if (offsets[(int) (sourcePrefixes[0] >>> shift) & (RADIX - 1)] == size) {
+        // all the rows have the same byte
+        continue;
+      }
+      int offset = 0;
+      for (int i = 0; i < RADIX; i++) {
+        int count = offsets[i];
+        offsets[i] = offset;
+        offset += count;
+      }
+      if (targetPrefixes == null) {
+        targetPrefixes = new long[size];
+        targetPointers = new int[size];
+      }
+      for (int i = 0; i < size; i++) {
+        long prefix = sourcePrefixes[i];
+        int position = offsets[(int) (prefix >>> shift) & (RADIX - 1)]++;
+        targetPrefixes[position] = prefix;
+        targetPointers[position] = sourcePointers[i];
+      }
+      long[] tempPrefixes = sourcePrefixes;
+      sourcePrefixes = targetPrefixes;
+      targetPrefixes = tempPrefixes;
+      int[] tempPointers = sourcePointers;
+      sourcePointers = targetPointers;
+      targetPointers = tempPointers;
+    }
+    if (sourcePrefixes != prefixes) {
+      System.arraycopy(sourcePrefixes, 0, prefixes, 0, size);
+      System.arraycopy(sourcePointers, 0, pointerBlock, 0, size);
+    }
+    if (isPrefixComplete) {
+      return;
+    }
+    int start = 0;
+    while (start < size) {
+      int end = start + 1;
+      while (end < size && prefixes[end] == prefixes[start]) {
+        end++;
+      }
+      if (end - start > 1) {
+        timSort.sort(pointers, start, end, comparator);
+      }
+      start = end;
+    }
+  }
+}
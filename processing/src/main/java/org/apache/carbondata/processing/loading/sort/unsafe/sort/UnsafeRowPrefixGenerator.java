@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort.unsafe.sort;
+
+import org.apache.carbondata.core.memory.CarbonUnsafe;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.util.DataTypeUtil;
+
+/**
+ * Generates a normalized 8 byte prefix of the sort columns of a row in unsafe memory. The prefix
+ * compared as unsigned long is ordered like the rows compared by UnsafeRowComparator, so that
+ * rows with different prefix need not be compared by the comparator:
+ *   dictionary column : 4 bytes of the surrogate key with the sign bit flipped
+ *   no dictionary short, int, long and timestamp column : 1 byte null flag (null first) and the
+ *   value with the sign bit flipped
+ *   other no dictionary column : first bytes of the value padded with 0
+ * Columns are added till the prefix is full, the last column may be truncated. As the bytes of
+ * a variable length column are padded, no column is added after it.
+ */
+public class UnsafeRowPrefixGenerator {
+
+  private static final int PREFIX_SIZE = 8;
+
+  private boolean[] isSortColNoDictFlags;
+
+  private DataType[] noDictDataTypes;
+
+  private int dictSizeInMemory;
+
+  /**
+   * true if the prefix holds all the sort columns, so that rows with equal prefix are equal
+   */
+  private boolean isPrefixComplete;
+
+  /**
+   * @param isSortColNoDictFlags no dictionary flag of the sort columns
+   * @param noDictDataTypes      data type of the no dictionary columns
+   * @param dictSortDimCnt       number of dictionary sort columns
+   */
+  public UnsafeRowPrefixGenerator(boolean[] isSortColNoDictFlags, DataType[] noDictDataTypes,
+      int dictSortDimCnt) {
+    this.isSortColNoDictFlags = isSortColNoDictFlags;
+    this.noDictDataTypes = noDictDataTypes;
+    this.dictSizeInMemory = dictSortDimCnt * 4;
+    int size = 0;
+    int noDictIndex = 0;
+    boolean isFixedSize = true;
+    for (boolean isNoDictionary : isSortColNoDictFlags) {
+      if (!isNoDictionary) {
+        size += 4;
+      } else {
+        int valueSize = getPrimitiveSize(noDictDataTypes[noDictIndex++]);
+        if (valueSize == 0) {
+          isFixedSize = false;
+          break;
+        }
+        size += 1 + valueSize;
+      }
+    }
+    this.isPrefixComplete = isFixedSize && size <= PREFIX_SIZE;
+  }
+
+  /**
+   * @return true if the first sort column can be added to the prefix
+   */
+  public boolean isPrefixSupported() {
+    if (isSortColNoDictFlags.length == 0) {
+      return false;
+    }
+    // a no dictionary primitive column whose order is not by its bytes stops the prefix
+    return !isSortColNoDictFlags[0] || !DataTypeUtil.isPrimitiveColumn(noDictDataTypes[0])
+        || getPrimitiveSize(noDictDataTypes[0]) > 0;
+  }
+
+  public boolean isPrefixComplete() {
+    return isPrefixComplete;
+  }
+
+  /**
+   * Returns the prefix of the row at the address
+   */
+  public long getPrefix(Object baseObject, long address) {
+    long prefix = 0;
+    int remaining = PREFIX_SIZE;
+    int sizeInDictPart = 0;
+    int sizeInNonDictPart = 0;
+    int noDictIndex = 0;
+    for (boolean isNoDictionary : isSortColNoDictFlags) {
+      if (remaining == 0) {
+        break;
+      }
+      if (!isNoDictionary) {
+        int value = CarbonUnsafe.getUnsafe().getInt(baseObject, address + sizeInDictPart);
+        sizeInDictPart += 4;
+        prefix = append(prefix, remaining, (value ^ Integer.MIN_VALUE) & 0xFFFFFFFFL, 4);
+        remaining -= Math.min(remaining, 4);
+        continue;
+      }
+      long lengthAddress = address + dictSizeInMemory + sizeInNonDictPart;
+      short length = CarbonUnsafe.getUnsafe().getShort(baseObject, lengthAddress);
+      sizeInNonDictPart += 2 + length;
+      DataType dataType = noDictDataTypes[noDictIndex++];
+      if (DataTypeUtil.isPrimitiveColumn(dataType)) {
+        int valueSize = getPrimitiveSize(dataType);
+        if (valueSize == 0) {
+          break;
+        }
+        // null is empty and is before all the values
+        prefix = append(prefix, remaining, length == 0 ? 0 : 1, 1);
+        remaining--;
+        long value = length == 0 ? 0 : getNormalizedValue(dataType, baseObject, lengthAddress + 2);
+        prefix = append(prefix, remaining, value, valueSize);
+        remaining -= Math.min(remaining, valueSize);
+      } else {
+        int numberOfBytes = Math.min(length, remaining);
+        for (int i = 0; i < numberOfBytes; i++) {
+          prefix = (prefix << 8)
+              | (CarbonUnsafe.getUnsafe().getByte(baseObject, lengthAddress + 2 + i) & 0xFF);
+        }
+        remaining -= numberOfBytes;
+        break;
+      }
+    }
+    return shiftLeft(prefix, remaining * 8);
+  }
+
+  /**
+   * append the value of valueSize bytes to the prefix, the value is truncated to the remaining
+   * bytes of the prefix
+   */
+  private static long append(long prefix, int remaining, long value, int valueSize) {
+    if (remaining == 0) {
+      return prefix;
+    } else if (remaining >= valueSize) {
+      return shiftLeft(prefix, valueSize * 8) | value;
+    }
+    return shiftLeft(prefix, remaining * 8) | (value >>> ((valueSize - remaining) * 8));
+  }
+
+  private static long shiftLeft(long value, int bits) {
+    return bits >= Long.SIZE ? 0 : value << bits;
+  }
+
+  /**
+   * size of the primitive value ordered as signed integer, 0 if the data type is not supported
+   */
+  private static int getPrimitiveSize(DataType dataType) {
+    if (dataType == DataTypes.SHORT) {
+      return 2;
+    } else if (dataType == DataTypes.INT) {
+      return 4;
+    } else if (dataType == DataTypes.LONG || dataType == DataTypes.TIMESTAMP) {
+      return 8;
+    }
+    return 0;
+  }
+
+  private static long getNormalizedValue(DataType dataType, Object baseObject, long address) {
+    if (dataType == DataTypes.SHORT) {
+      return (CarbonUnsafe.getUnsafe().getShort(baseObject, address) ^ Short.MIN_VALUE) & 0xFFFFL;
+    } else if (dataType == DataTypes.INT) {
+      return (CarbonUnsafe.getUnsafe().getInt(baseObject, address) ^ Integer.MIN_VALUE)
+          & 0xFFFFFFFFL;
+    }
+    return CarbonUnsafe.getUnsafe().getLong(baseObject, address) ^ Long.MIN_VALUE;
+  }
+}
@@ -47,6 +47,7 @@ import org.apache.carbondata.processing.loading.DataField;
 import org.apache.carbondata.processing.loading.constants.DataLoadProcessorConstants;
 import org.apache.carbondata.processing.loading.exception.BadRecordFoundException;
 import org.apache.carbondata.processing.loading.exception.CarbonDataLoadingException;
+import org.apache.carbondata.processing.loading.row.CarbonColumnarRowBatch;
 import org.apache.carbondata.processing.loading.row.CarbonRowBatch;
 import org.apache.carbondata.processing.store.CarbonFactDataHandlerModel;
 import org.apache.carbondata.processing.store.CarbonFactHandler;
@@ -97,6 +98,9 @@ public class CarbonRowDataWriterProcessorStepImpl extends AbstractDataLoadProces
 
   private ArrayList<Integer> measureIndex = new ArrayList<>();
 
+  // order of the columns of columnar batch in dictionary, no dictionary and measure category
+  private int[] columnarBatchOrder;
+
   public CarbonRowDataWriterProcessorStepImpl(CarbonDataLoadConfiguration configuration,
       AbstractDataLoadProcessorStep child) {
     super(configuration, child);
@@ -141,6 +145,7 @@ public class CarbonRowDataWriterProcessorStepImpl extends AbstractDataLoadProces
       isNoDictionaryDimensionColumn =
           CarbonDataProcessorUtil.getNoDictionaryMapping(configuration.getDataFields());
       measureCount = configuration.getMeasureCount();
+      columnarBatchOrder = getColumnarBatchOrder();
       CarbonTimeStatisticsFactory.getLoadStatisticsInstance()
           .recordDictionaryValue2MdkAdd2FileTime(CarbonTablePath.DEPRECATED_PARTITION_ID,
               System.currentTimeMillis());
@@ -184,6 +189,25 @@ public class CarbonRowDataWriterProcessorStepImpl extends AbstractDataLoadProces
     return null;
   }
 
+  private int[] getColumnarBatchOrder() {
+    int[] order = new int[dimensionWithComplexCount + measureCount];
+    int index = 0;
+    for (int i = 0; i < isNoDictionaryDimensionColumn.length; i++) {
+      if (!isNoDictionaryDimensionColumn[i]) {
+        order[index++] = i;
+      }
+    }
+    for (int i = 0; i < dimensionWithComplexCount; i++) {
+      if (i >= isNoDictionaryDimensionColumn.length || isNoDictionaryDimensionColumn[i]) {
+        order[index++] = i;
+      }
+    }
+    for (int i = 0; i < measureCount; i++) {
+      order[index++] = dimensionWithComplexCount + i;
+    }
+    return order;
+  }
+
   private void initializeNoReArrangeIndexes() {
     // Data might have partition columns in the end in new insert into flow.
     // But when convert to 3 parts, just keep in internal order. so derive index for that.
@@ -398,7 +422,13 @@ public class CarbonRowDataWriterProcessorStepImpl extends AbstractDataLoadProces
       throws CarbonDataLoadingException {
     try {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3728
-      if (configuration.getDataLoadProperty(
+      if (batch instanceof CarbonColumnarRowBatch) {
+        // columns are added to the pages without converting to rows
+        CarbonColumnarRowBatch columnarBatch = (CarbonColumnarRowBatch) batch;
+        columnarBatch.rearrangeColumns(columnarBatchOrder);
+        dataHandler.addDataToStore(columnarBatch);
+        readCounter[iteratorIndex] += batch.getSize();
+      } else if (configuration.getDataLoadProperty(
           DataLoadProcessorConstants.NO_REARRANGE_OF_ROWS) != null) {
         // convert without re-arrange
         while (batch.hasNext()) {
@@ -44,6 +44,7 @@ import org.apache.carbondata.processing.loading.partition.impl.HashPartitionerIm
 import org.apache.carbondata.processing.loading.partition.impl.RangePartitionerImpl;
 import org.apache.carbondata.processing.loading.partition.impl.RawRowComparator;
 import org.apache.carbondata.processing.loading.partition.impl.SparkHashExpressionPartitionerImpl;
+import org.apache.carbondata.processing.loading.row.CarbonColumnarRowBatch;
 import org.apache.carbondata.processing.loading.row.CarbonRowBatch;
 import org.apache.carbondata.processing.util.CarbonBadRecordUtil;
 import org.apache.carbondata.processing.util.CarbonDataProcessorUtil;
@@ -226,6 +227,12 @@ public class DataConverterProcessorStepImpl extends AbstractDataLoadProcessorSte
    * @return processed row.
    */
   protected CarbonRowBatch processRowBatch(CarbonRowBatch rowBatch, RowConverter localConverter) {
+    if (rowBatch instanceof CarbonColumnarRowBatch) {
+      // converted column by column, columnar batch is used only when no partitioner is required
+      localConverter.convert((CarbonColumnarRowBatch) rowBatch);
+      rowCounter.getAndAdd(rowBatch.getSize());
+      return rowBatch;
+    }
     while (rowBatch.hasNext()) {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-1837
       CarbonRow convertRow = localConverter.convert(rowBatch.next());
@@ -36,6 +36,7 @@ import org.apache.carbondata.processing.loading.CarbonDataLoadConfiguration;
 import org.apache.carbondata.processing.loading.DataField;
 import org.apache.carbondata.processing.loading.parser.RowParser;
 import org.apache.carbondata.processing.loading.parser.impl.RowParserImpl;
+import org.apache.carbondata.processing.loading.row.CarbonColumnarRowBatch;
 import org.apache.carbondata.processing.loading.row.CarbonRowBatch;
 import org.apache.carbondata.processing.util.CarbonDataProcessorUtil;
 
@@ -44,7 +45,7 @@ import org.apache.carbondata.processing.util.CarbonDataProcessorUtil;
  */
 public class InputProcessorStepImpl extends AbstractDataLoadProcessorStep {
 
-  private RowParser rowParser;
+  private RowParserImpl rowParser;
 
   private CarbonIterator<Object[]>[] inputIterators;
 
@@ -56,6 +57,10 @@ public class InputProcessorStepImpl extends AbstractDataLoadProcessorStep {
    */
   public ExecutorService executorService;
   boolean isRawDataRequired = false;
+
+  // true if the rows are sent in columnar batches
+  private boolean isColumnarBatch;
+
   public InputProcessorStepImpl(CarbonDataLoadConfiguration configuration,
       CarbonIterator<Object[]>[] inputIterators) {
     super(configuration, null);
@@ -63,6 +68,12 @@ public class InputProcessorStepImpl extends AbstractDataLoadProcessorStep {
     this.sdkWriterCores = configuration.getWritingCoresCount();
   }
 
+  public InputProcessorStepImpl(CarbonDataLoadConfiguration configuration,
+      CarbonIterator<Object[]>[] inputIterators, boolean isColumnarBatch) {
+    this(configuration, inputIterators);
+    this.isColumnarBatch = isColumnarBatch;
+  }
+
   @Override
   public DataField[] getOutput() {
     return configuration.getDataFields();
@@ -91,7 +102,8 @@ public class InputProcessorStepImpl extends AbstractDataLoadProcessorStep {
       outIterators[i] =
           new InputProcessorIterator(readerIterators[i], rowParser, batchSize,
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-1249
-              configuration.isPreFetch(), executorService, rowCounter, isRawDataRequired);
+              configuration.isPreFetch(), executorService, rowCounter, isRawDataRequired,
+              isColumnarBatch, getOutput().length);
     }
     return outIterators;
   }
@@ -145,6 +157,11 @@ public class InputProcessorStepImpl extends AbstractDataLoadProcessorStep {
 
     private boolean isRawDataRequired = false;
 
+    // parser which adds the rows to columnar batch, null if the rows are sent in row batches
+    private RowParserImpl columnarRowParser;
+
+    private int numberOfColumns;
+
     public InputProcessorIterator(List<CarbonIterator<Object[]>> inputIterators,
         RowParser rowParser, int batchSize, boolean preFetch, ExecutorService executorService,
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-1249
@@ -164,6 +181,18 @@ public class InputProcessorStepImpl extends AbstractDataLoadProcessorStep {
       this.isRawDataRequired = isRawDataRequired;
     }
 
+    public InputProcessorIterator(List<CarbonIterator<Object[]>> inputIterators,
+        RowParserImpl rowParser, int batchSize, boolean preFetch, ExecutorService executorService,
+        AtomicLong rowCounter, boolean isRawDataRequired, boolean isColumnarBatch,
+        int numberOfColumns) {
+      this(inputIterators, rowParser, batchSize, preFetch, executorService, rowCounter,
+          isRawDataRequired);
+      if (isColumnarBatch) {
+        this.columnarRowParser = rowParser;
+      }
+      this.numberOfColumns = numberOfColumns;
+    }
+
     @Override
     public boolean hasNext() {
       return nextBatch || internalHasNext();
@@ -231,6 +260,9 @@ public class InputProcessorStepImpl extends AbstractDataLoadProcessorStep {
     }
 
     private CarbonRowBatch getBatch() {
+      if (null != columnarRowParser) {
+        return getColumnarBatch();
+      }
       // Create batch and fill it.
       CarbonRowBatch carbonRowBatch = new CarbonRowBatch(batchSize);
       int count = 0;
@@ -250,6 +282,19 @@ public class InputProcessorStepImpl extends AbstractDataLoadProcessorStep {
       rowCounter.getAndAdd(carbonRowBatch.getSize());
       return carbonRowBatch;
     }
+
+    private CarbonRowBatch getColumnarBatch() {
+      // parser adds the values to the columns of the batch, no row is created
+      CarbonColumnarRowBatch batch =
+          new CarbonColumnarRowBatch(numberOfColumns, batchSize, isRawDataRequired);
+      int count = 0;
+      while (internalHasNext() && count < batchSize) {
+        columnarRowParser.parseRow(currentIterator.next(), batch);
+        count++;
+      }
+      rowCounter.getAndAdd(batch.getSize());
+      return batch;
+    }
   }
 
 }
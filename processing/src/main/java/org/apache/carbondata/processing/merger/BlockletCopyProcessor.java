@@ -0,0 +1,315 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.merger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.datastore.FileReader;
+import org.apache.carbondata.core.datastore.block.SegmentProperties;
+import org.apache.carbondata.core.datastore.block.TableBlockInfo;
+import org.apache.carbondata.core.datastore.exception.CarbonDataWriterException;
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
+import org.apache.carbondata.core.metadata.blocklet.DataFileFooter;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.mutate.SegmentUpdateDetails;
+import org.apache.carbondata.core.reader.CarbonFooterReaderV3;
+import org.apache.carbondata.core.scan.result.iterator.RawResultIterator;
+import org.apache.carbondata.core.statusmanager.SegmentUpdateStatusManager;
+import org.apache.carbondata.core.util.ByteUtil;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.CarbonUtil;
+import org.apache.carbondata.format.BlockletIndex;
+import org.apache.carbondata.format.BlockletInfo3;
+import org.apache.carbondata.format.BlockletMinMaxIndex;
+import org.apache.carbondata.format.FileFooter3;
+import org.apache.carbondata.processing.loading.model.CarbonLoadModel;
+import org.apache.carbondata.processing.store.CarbonFactDataHandlerModel;
+import org.apache.carbondata.processing.store.writer.CarbonFactDataWriter;
+import org.apache.carbondata.processing.store.writer.v3.CarbonFactDataWriterImplV3;
+import org.apache.carbondata.processing.util.CarbonDataProcessorUtil;
+
+import static org.apache.carbondata.core.constants.SortScopeOptions.SortScope.NO_SORT;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Compaction processor which copies the encoded blocklets of the carbondata files of the
+ * segments to the merged segment, without decoding, merging and encoding the rows again. Only
+ * the footer of the merged files and the index file are written.
+ *
+ * It is used only when the merged data is same as the copied data, which is checked by
+ * getBlocksToCopy. For a no sort table, all the blocks can be copied. For a sort table, copied
+ * blocks should be sorted by the current sort columns and their ranges of the first sort column
+ * should not overlap, so that the blocks copied in the order of the range are sorted.
+ */
+public class BlockletCopyProcessor extends AbstractResultProcessor {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(BlockletCopyProcessor.class.getName());
+
+  private CarbonFactDataHandlerModel carbonFactDataHandlerModel;
+
+  /**
+   * blocks to be copied, in the order of copy
+   */
+  private List<TableBlockInfo> blockInfos;
+
+  private CarbonFactDataWriter dataWriter;
+
+  public BlockletCopyProcessor(CarbonLoadModel loadModel, SegmentProperties segProp,
+      String[] tempStoreLocation, CompactionType compactionType, List<TableBlockInfo> blockInfos)
+      throws IOException {
+    CarbonTable carbonTable = loadModel.getCarbonDataLoadSchema().getCarbonTable();
+    CarbonDataProcessorUtil.createLocations(tempStoreLocation);
+    String carbonStoreLocation =
+        CarbonDataProcessorUtil.createCarbonStoreLocation(carbonTable, loadModel.getSegmentId());
+    carbonFactDataHandlerModel = CarbonFactDataHandlerModel
+        .getCarbonFactDataHandlerModel(loadModel, carbonTable, segProp,
+            carbonTable.getTableName(), tempStoreLocation, carbonStoreLocation);
+    setDataFileAttributesInModel(loadModel, compactionType, carbonFactDataHandlerModel);
+    carbonFactDataHandlerModel.setCompactionFlow(true);
+    carbonFactDataHandlerModel.setSegmentId(loadModel.getSegmentId());
+    carbonFactDataHandlerModel.setBucketId(loadModel.getBucketId());
+    this.blockInfos = blockInfos;
+  }
+
+  /**
+   * Returns the blocks of a compaction task in the order in which they can be copied to the
+   * merged segment, or null if the rows have to be merged. Footers of the blocks should be
+   * filled in the block infos, see CarbonCompactionUtil.createDataFileFooterMappingForSegments.
+   *
+   * @param carbonTable table to be compacted
+   * @param tableBlockInfos blocks of the compaction task
+   * @param compactionType type of compaction
+   * @param restructuredBlockExists whether any block is written with the older schema
+   * @return blocks in the order of copy, or null if blocklets cannot be copied
+   */
+  public static List<TableBlockInfo> getBlocksToCopy(CarbonTable carbonTable,
+      List<TableBlockInfo> tableBlockInfos, CompactionType compactionType,
+      boolean restructuredBlockExists) throws IOException {
+    if (!CarbonProperties.isEnableBlockletCopyInCompaction()
+        || compactionType == CompactionType.IUD_UPDDEL_DELTA || restructuredBlockExists
+        || tableBlockInfos.isEmpty() || carbonTable.hasColumnDrift()
+        || carbonTable.isHivePartitionTable() || carbonTable.isIndexTable()
+        || !carbonTable.getIndexesMap().isEmpty()) {
+      return null;
+    }
+    // deleted and updated rows are removed only while merging the rows
+    Set<String> segmentIds = new HashSet<>();
+    for (TableBlockInfo blockInfo : tableBlockInfos) {
+      segmentIds.add(blockInfo.getSegment().getSegmentNo());
+    }
+    for (SegmentUpdateDetails updateDetails : new SegmentUpdateStatusManager(carbonTable)
+        .getUpdateStatusDetails()) {
+      if (segmentIds.contains(updateDetails.getSegmentName())) {
+        return null;
+      }
+    }
+    List<ColumnSchema> tableSchema = CarbonUtil
+        .getColumnSchemaList(carbonTable.getVisibleDimensions(), carbonTable.getVisibleMeasures());
+    for (TableBlockInfo blockInfo : tableBlockInfos) {
+      DataFileFooter footer = blockInfo.getDataFileFooter();
+      if (blockInfo.getVersion() != ColumnarFormatVersion.V3 || null == footer
+          || !isSameSchema(tableSchema, footer.getColumnInTable())) {
+        return null;
+      }
+    }
+    if (carbonTable.getSortScope() == NO_SORT) {
+      return tableBlockInfos;
+    }
+    return getBlocksInSortOrder(carbonTable, tableBlockInfos);
+  }
+
+  private static boolean isSameSchema(List<ColumnSchema> tableSchema,
+      List<ColumnSchema> blockSchema) {
+    if (null == blockSchema || tableSchema.size() != blockSchema.size()) {
+      return false;
+    }
+    for (int i = 0; i < tableSchema.size(); i++) {
+      if (!tableSchema.get(i).equalsWithStrictCheck(blockSchema.get(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Orders the blocks of a sort table by the first sort column. Only string column is
+   * supported, as the min and max of a string column are compared as bytes same as the rows
+   * are compared while merging.
+   *
+   * @return blocks ordered by the range of the first sort column, null if any block is not
+   * sorted or the ranges overlap
+   */
+  private static List<TableBlockInfo> getBlocksInSortOrder(CarbonTable carbonTable,
+      List<TableBlockInfo> tableBlockInfos) throws IOException {
+    List<CarbonDimension> dimensions = carbonTable.getVisibleDimensions();
+    if (dimensions.isEmpty() || !dimensions.get(0).isSortColumn()
+        || dimensions.get(0).getDataType() != DataTypes.STRING) {
+      return null;
+    }
+    final List<byte[][]> ranges = new ArrayList<>(tableBlockInfos.size());
+    List<Integer> order = new ArrayList<>(tableBlockInfos.size());
+    FileReader fileReader = FileFactory.getFileHolder(
+        FileFactory.getFileType(tableBlockInfos.get(0).getFilePath()));
+    try {
+      for (TableBlockInfo blockInfo : tableBlockInfos) {
+        if (!CarbonCompactionUtil
+            .isSortedByCurrentSortColumns(carbonTable, blockInfo.getDataFileFooter())) {
+          return null;
+        }
+        // min and max of the first dimension in all the blocklets of the block
+        byte[][] range = null;
+        FileFooter3 footer = readFooter(fileReader, blockInfo.getFilePath());
+        for (BlockletIndex blockletIndex : footer.getBlocklet_index_list()) {
+          BlockletMinMaxIndex minMaxIndex = blockletIndex.getMin_max_index();
+          if (minMaxIndex.isSetMin_max_presence() && !minMaxIndex.getMin_max_presence().get(0)) {
+            // min max is not stored for long values
+            return null;
+          }
+          byte[] min = getBytes(minMaxIndex.getMin_values().get(0));
+          byte[] max = getBytes(minMaxIndex.getMax_values().get(0));
+          if (null == range) {
+            range = new byte[][] { min, max };
+          } else {
+            if (ByteUtil.UnsafeComparer.INSTANCE.compareTo(min, range[0]) < 0) {
+              range[0] = min;
+            }
+            if (ByteUtil.UnsafeComparer.INSTANCE.compareTo(max, range[1]) > 0) {
+              range[1] = max;
+            }
+          }
+        }
+        if (null == range) {
+          return null;
+        }
+        order.add(ranges.size());
+        ranges.add(range);
+      }
+    } finally {
+      fileReader.finish();
+    }
+    Collections.sort(order, new Comparator<Integer>() {
+      @Override
+      public int compare(Integer o1, Integer o2) {
+        return ByteUtil.UnsafeComparer.INSTANCE.compareTo(ranges.get(o1)[0], ranges.get(o2)[0]);
+      }
+    });
+    List<TableBlockInfo> blocksInOrder = new ArrayList<>(tableBlockInfos.size());
+    for (int i = 0; i < order.size(); i++) {
+      if (i > 0 && ByteUtil.UnsafeComparer.INSTANCE
+          .compareTo(ranges.get(order.get(i - 1))[1], ranges.get(order.get(i))[0]) >= 0) {
+        // ranges overlap, rows have to be merged
+        return null;
+      }
+      blocksInOrder.add(tableBlockInfos.get(order.get(i)));
+    }
+    return blocksInOrder;
+  }
+
+  private static byte[] getBytes(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return bytes;
+  }
+
+  private static FileFooter3 readFooter(FileReader fileReader, String filePath)
+      throws IOException {
+    long fileSize = FileFactory.getCarbonFile(filePath).getSize();
+    long footerOffset =
+        fileReader.readLong(filePath, fileSize - CarbonCommonConstants.LONG_SIZE_IN_BYTE);
+    return new CarbonFooterReaderV3(filePath, footerOffset).readFooterVersion3();
+  }
+
+  /**
+   * Copies the blocklets of the blocks given while creating the processor, the result
+   * iterators are not used as the rows are not read.
+   */
+  @Override
+  public boolean execute(List<RawResultIterator> unsortedResultIteratorList,
+      List<RawResultIterator> sortedResultIteratorList) throws Exception {
+    FileReader fileReader =
+        FileFactory.getFileHolder(FileFactory.getFileType(blockInfos.get(0).getFilePath()));
+    try {
+      for (TableBlockInfo blockInfo : blockInfos) {
+        copyBlocklets(fileReader, blockInfo.getFilePath());
+      }
+      if (null != dataWriter) {
+        dataWriter.writeFooter();
+      }
+    } catch (Exception e) {
+      LOGGER.error(e.getLocalizedMessage(), e);
+      throw e;
+    } finally {
+      fileReader.finish();
+      closeWriter();
+    }
+    return true;
+  }
+
+  private void copyBlocklets(FileReader fileReader, String filePath)
+      throws IOException, CarbonDataWriterException {
+    FileFooter3 footer = readFooter(fileReader, filePath);
+    List<BlockletInfo3> blockletInfos = footer.getBlocklet_info_list3();
+    LOGGER.info("Copying " + blockletInfos.size() + " blocklets of file " + filePath);
+    for (int i = 0; i < blockletInfos.size(); i++) {
+      BlockletInfo3 blockletInfo = blockletInfos.get(i);
+      // column chunks of a blocklet are written one after another, from the first dimension
+      // chunk to the end of the last measure chunk
+      long offset = blockletInfo.getColumn_data_chunks_offsets().get(0);
+      int length = (int) (blockletInfo.getMeasure_offsets() - offset);
+      ByteBuffer blockletData = fileReader.readByteBuffer(filePath, offset, length);
+      if (null == dataWriter) {
+        dataWriter = new CarbonFactDataWriterImplV3(carbonFactDataHandlerModel);
+        dataWriter.initializeWriter();
+      }
+      dataWriter.writeEncodedBlocklet(blockletData, blockletInfo,
+          footer.getBlocklet_index_list().get(i));
+    }
+  }
+
+  private void closeWriter() throws CarbonDataWriterException {
+    if (null != dataWriter) {
+      CarbonFactDataWriter writer = dataWriter;
+      dataWriter = null;
+      writer.closeWriter();
+    }
+  }
+
+  @Override
+  public void close() {
+    try {
+      closeWriter();
+    } catch (CarbonDataWriterException e) {
+      LOGGER.error("Problem while closing the writer", e);
+    }
+  }
+}
@@ -31,6 +31,8 @@ public class FileMergeSortComparator implements Comparator<IntermediateSortTempR
 
   private DataType[] noDicSortDataTypes;
 
+  private SortKeyPrefixType prefixType;
+
   /**
    * Index of the no dict Sort columns in the carbonRow for final merge step of sorting.
    */
@@ -46,10 +48,20 @@ public class FileMergeSortComparator implements Comparator<IntermediateSortTempR
     this.isSortColumnNoDictionary = isSortColumnNoDictionary;
     this.noDicSortDataTypes = noDicSortDataTypes;
     this.noDictPrimitiveIndex = columnIdBasedOnSchemaInRow;
+    this.prefixType = SortKeyPrefixType.of(isSortColumnNoDictionary, noDicSortDataTypes);
   }
 
   @Override
   public int compare(IntermediateSortTempRow rowA, IntermediateSortTempRow rowB) {
+    if (prefixType != SortKeyPrefixType.NONE) {
+      // most of the rows differ in the first sort column, compare its cached prefix first
+      boolean isNoDictionary = prefixType == SortKeyPrefixType.NO_DICTIONARY;
+      long prefixA = rowA.getSortKeyPrefix(isNoDictionary);
+      long prefixB = rowB.getSortKeyPrefix(isNoDictionary);
+      if (prefixA != prefixB) {
+        return prefixA < prefixB ? -1 : 1;
+      }
+    }
     int diff = 0;
     int dictIndex = 0;
     int nonDictIndex = 0;
@@ -36,6 +36,8 @@ public class IntermediateSortTempRowComparator implements Comparator<Intermediat
 
   private DataType[] noDicSortDataTypes;
 
+  private SortKeyPrefixType prefixType;
+
   /**
    * @param isSortColumnNoDictionary isSortColumnNoDictionary
    */
@@ -44,12 +46,22 @@ public class IntermediateSortTempRowComparator implements Comparator<Intermediat
       DataType[] noDicSortDataTypes) {
     this.isSortColumnNoDictionary = isSortColumnNoDictionary;
     this.noDicSortDataTypes = noDicSortDataTypes;
+    this.prefixType = SortKeyPrefixType.of(isSortColumnNoDictionary, noDicSortDataTypes);
   }
 
   /**
    * Below method will be used to compare two sort temp row
    */
   public int compare(IntermediateSortTempRow rowA, IntermediateSortTempRow rowB) {
+    if (prefixType != SortKeyPrefixType.NONE) {
+      // most of the rows differ in the first sort column, compare its cached prefix first
+      boolean isNoDictionary = prefixType == SortKeyPrefixType.NO_DICTIONARY;
+      long prefixA = rowA.getSortKeyPrefix(isNoDictionary);
+      long prefixB = rowB.getSortKeyPrefix(isNoDictionary);
+      if (prefixA != prefixB) {
+        return prefixA < prefixB ? -1 : 1;
+      }
+    }
     int diff = 0;
     int dictIndex = 0;
     int nonDictIndex = 0;
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.sort.sortdata;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Queue based on a tournament (loser) tree for k-way merge of sorted holders.
+ *
+ * Merge polls the smallest holder, reads the next row of the holder and adds the same holder
+ * back. Binary heap needs about 2 * log(k) comparisons for this, whereas the loser tree replays
+ * only the path from the holder's leaf to the root, which is log(k) comparisons.
+ *
+ * Holder added back after poll is replayed from its leaf. If the polled holder is not added
+ * back, it is considered exhausted on the next operation. Adding a new holder after polling
+ * is started rebuilds the tree.
+ */
+public class LoserTreeQueue<T extends Comparable<? super T>> extends AbstractQueue<T> {
+
+  /**
+   * holders, index in the list is the leaf of the holder
+   */
+  private List<T> players;
+
+  /**
+   * whether the holder of the leaf does not have any more rows
+   */
+  private boolean[] exhausted;
+
+  /**
+   * tree[0] is the index of the winner and tree[1..k-1] are the losers of internal nodes
+   */
+  private int[] tree;
+
+  private boolean isBuilt;
+
+  /**
+   * index of the holder returned by last poll, -1 if it is already settled
+   */
+  private int polledPlayer = -1;
+
+  private int size;
+
+  public LoserTreeQueue(int initialCapacity) {
+    this.players = new ArrayList<>(initialCapacity);
+    this.exhausted = new boolean[initialCapacity];
+  }
+
+  @Override
+  public boolean offer(T holder) {
+    if (polledPlayer >= 0 && players.get(polledPlayer) == holder) {
+      int player = polledPlayer;
+      polledPlayer = -1;
+      size++;
+      replay(player);
+      return true;
+    }
+    settlePolledPlayer();
+    players.add(holder);
+    if (exhausted.length < players.size()) {
+      exhausted = Arrays.copyOf(exhausted, Math.max(players.size(), exhausted.length * 2));
+    }
+    size++;
+    isBuilt = false;
+    return true;
+  }
+
+  @Override
+  public T poll() {
+    T winner = peek();
+    if (null != winner) {
+      polledPlayer = tree[0];
+      size--;
+    }
+    return winner;
+  }
+
+  @Override
+  public T peek() {
+    settlePolledPlayer();
+    if (size == 0) {
+      return null;
+    }
+    if (!isBuilt) {
+      build();
+    }
+    return players.get(tree[0]);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * @return iterator over the holders present in the queue, it does not support remove
+   */
+  @Override
+  public Iterator<T> iterator() {
+    List<T> holders = new ArrayList<>(size);
+    for (int i = 0; i < players.size(); i++) {
+      if (!exhausted[i] && i != polledPlayer) {
+        holders.add(players.get(i));
+      }
+    }
+    return Collections.unmodifiableList(holders).iterator();
+  }
+
+  /**
+   * mark the holder which is polled and not added back as exhausted
+   */
+  private void settlePolledPlayer() {
+    if (polledPlayer >= 0) {
+      int player = polledPlayer;
+      polledPlayer = -1;
+      exhausted[player] = true;
+      replay(player);
+    }
+  }
+
+  private void build() {
+    int numberOfPlayers = players.size();
+    tree = new int[numberOfPlayers];
+    tree[0] = numberOfPlayers == 1 ? 0 : build(1);
+    isBuilt = true;
+  }
+
+  /**
+   * internal nodes are 1 to k-1 and leaves are k to 2k-1, children of node n are 2n and 2n+1
+   *
+   * @return winner of the sub tree
+   */
+  private int build(int node) {
+    int numberOfPlayers = players.size();
+    if (node >= numberOfPlayers) {
+      return node - numberOfPlayers;
+    }
+    int left = build(2 * node);
+    int right = build(2 * node + 1);
+    if (isLess(left, right)) {
+      tree[node] = right;
+      return left;
+    }
+    tree[node] = left;
+    return right;
+  }
+
+  /**
+   * play the matches from the leaf of the player to the root
+   */
+  private void replay(int player) {
+    if (!isBuilt) {
+      return;
+    }
+    int winner = player;
+    for (int node = (player + players.size()) >>> 1; node > 0; node >>>= 1) {
+      int loser = tree[node];
+      if (isLess(loser, winner)) {
+        tree[node] = winner;
+        winner = loser;
+      }
+    }
+    tree[0] = winner;
+  }
+
+  private boolean isLess(int player1, int player2) {
+    if (exhausted[player1]) {
+      return false;
+    }
+    if (exhausted[player2]) {
+      return true;
+    }
+    int compare = players.get(player1).compareTo(players.get(player2));
+    return compare < 0 || (compare == 0 && player1 < player2);
+  }
+}
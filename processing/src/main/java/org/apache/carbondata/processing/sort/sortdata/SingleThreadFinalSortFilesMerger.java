@@ -24,7 +24,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.PriorityQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -251,7 +250,7 @@ public class SingleThreadFinalSortFilesMerger extends CarbonIterator<Object[]> {
   private void createRecordHolderQueue(int size) {
     // creating record holder heap
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3200
-    this.recordHolderHeapLocal = new PriorityQueue<SortTempFileChunkHolder>(size);
+    this.recordHolderHeapLocal = new LoserTreeQueue<SortTempFileChunkHolder>(size);
   }
 
   private synchronized void notifyFailure(Throwable throwable) {
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.sort.sortdata;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.util.DataTypeUtil;
+
+/**
+ * Type of the prefix of the first sort column used by sort temp row comparators
+ */
+enum SortKeyPrefixType {
+  /**
+   * first sort column is a dictionary column, prefix is the surrogate key
+   */
+  DICTIONARY,
+  /**
+   * first sort column is a no dictionary column stored as byte array, prefix is its first
+   * 8 bytes
+   */
+  NO_DICTIONARY,
+  /**
+   * no sort column or first sort column is a primitive no dictionary column which is compared
+   * based on data type, so prefix is not used
+   */
+  NONE;
+
+  static SortKeyPrefixType of(boolean[] isSortColumnNoDictionary,
+      DataType[] noDicSortDataTypes) {
+    if (null == isSortColumnNoDictionary || isSortColumnNoDictionary.length == 0) {
+      return NONE;
+    }
+    if (!isSortColumnNoDictionary[0]) {
+      return DICTIONARY;
+    }
+    if (DataTypeUtil.isPrimitiveColumn(noDicSortDataTypes[0])) {
+      return NONE;
+    }
+    return NO_DICTIONARY;
+  }
+}
@@ -22,16 +22,11 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.Comparator;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
 
 import org.apache.carbondata.common.logging.LogServiceFactory;
 import org.apache.carbondata.core.constants.CarbonCommonConstants;
 import org.apache.carbondata.core.datastore.impl.FileFactory;
 import org.apache.carbondata.core.util.CarbonProperties;
-import org.apache.carbondata.core.util.CarbonThreadFactory;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
 import org.apache.carbondata.processing.loading.sort.SortStepRowHandler;
@@ -54,21 +49,11 @@ public class SortTempFileChunkHolder implements Comparable<SortTempFileChunkHold
    */
   private File tempFile;
 
-  /**
-   * read stream
-   */
-  private DataInputStream stream;
-
   /**
    * entry count
    */
   private int entryCount;
 
-  /**
-   * number record read
-   */
-  private int numberOfObjectRead;
-
   /**
    * return row
    */
@@ -76,28 +61,16 @@ public class SortTempFileChunkHolder implements Comparable<SortTempFileChunkHold
   private int readBufferSize;
   private String compressorName;
 
-  private IntermediateSortTempRow[] currentBuffer;
-
-  private IntermediateSortTempRow[] backupBuffer;
-
-  private boolean isBackupFilled;
+  private String tableName;
 
   private boolean prefetch;
 
   private int bufferSize;
 
-  private int bufferRowCounter;
-
-  private ExecutorService executorService;
-
-  private Future<Void> submit;
-
-  private int prefetchRecordsProceesed;
-
   /**
-   * totalRecordFetch
+   * reader of the rows of the temp file
    */
-  private int totalRecordFetch;
+  private SortTempFileRowReader rowReader;
   protected TableFieldStat tableFieldStat;
   private SortStepRowHandler sortStepRowHandler;
   protected Comparator<IntermediateSortTempRow> comparator;
@@ -128,10 +101,7 @@ public class SortTempFileChunkHolder implements Comparable<SortTempFileChunkHold
     this.readBufferSize = sortParameters.getBufferSize();
     this.compressorName = sortParameters.getSortTempCompressorName();
     this.sortStepRowHandler = new SortStepRowHandler(tableFieldStat);
-    this.executorService = Executors
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-3304
-        .newFixedThreadPool(1, new CarbonThreadFactory("SafeSortTempChunkHolderPool:" + tableName,
-                true));
+    this.tableName = tableName;
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2836
     this.convertToActualField = convertToActualField;
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3552
@@ -163,28 +133,22 @@ public class SortTempFileChunkHolder implements Comparable<SortTempFileChunkHold
   }
 
   private void initialise() throws CarbonSortKeyAndGroupByException {
+    DataInputStream stream = null;
     try {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2863
       stream = FileFactory.getDataInputStream(tempFile.getPath(),
           readBufferSize, compressorName);
       this.entryCount = stream.readInt();
-      if (prefetch) {
-        new DataFetcher(false).call();
-        totalRecordFetch += currentBuffer.length;
-        if (totalRecordFetch < this.entryCount) {
-          submit = executorService.submit(new DataFetcher(true));
-        }
-      }
+      this.rowReader = new SortTempFileRowReader(stream, entryCount, new RowDecoder(),
+          prefetch, bufferSize, "SafeSortTempChunkHolderPool:" + tableName);
     } catch (FileNotFoundException e) {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3107
       LOGGER.error(e.getMessage(), e);
       throw new CarbonSortKeyAndGroupByException(tempFile + " No Found", e);
     } catch (IOException e) {
       LOGGER.error(e.getMessage(), e);
+      CarbonUtil.closeStreams(stream);
       throw new CarbonSortKeyAndGroupByException(tempFile + " No Found", e);
-    } catch (Exception e) {
-      LOGGER.error(e.getMessage(), e);
-      throw new CarbonSortKeyAndGroupByException(tempFile + " Problem while reading", e);
     }
   }
 
@@ -194,83 +158,7 @@ public class SortTempFileChunkHolder implements Comparable<SortTempFileChunkHold
    * @throws CarbonSortKeyAndGroupByException problem while reading
    */
   public void readRow() throws CarbonSortKeyAndGroupByException {
-    if (prefetch) {
-      fillDataForPrefetch();
-    } else {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-2018
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-2018
-      try {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-2836
-        if (convertToActualField) {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-3335
-          IntermediateSortTempRow intermediateSortTempRow =
-              sortStepRowHandler.readWithNoSortFieldConvert(stream);
-          this.sortTempRowUpdater
-              .updateSortTempRow(intermediateSortTempRow);
-          this.returnRow = intermediateSortTempRow;
-        } else {
-          this.returnRow = sortStepRowHandler.readWithoutNoSortFieldConvert(stream);
-        }
-        this.numberOfObjectRead++;
-      } catch (IOException e) {
-        throw new CarbonSortKeyAndGroupByException("Problem while reading rows", e);
-      }
-    }
-  }
-
-  private void fillDataForPrefetch() {
-    if (bufferRowCounter >= bufferSize) {
-      if (isBackupFilled) {
-        bufferRowCounter = 0;
-        currentBuffer = backupBuffer;
-        totalRecordFetch += currentBuffer.length;
-        isBackupFilled = false;
-        if (totalRecordFetch < this.entryCount) {
-          submit = executorService.submit(new DataFetcher(true));
-        }
-      } else {
-        try {
-          submit.get();
-        } catch (Exception e) {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-3107
-          LOGGER.error(e.getMessage(), e);
-        }
-        bufferRowCounter = 0;
-        currentBuffer = backupBuffer;
-        isBackupFilled = false;
-        totalRecordFetch += currentBuffer.length;
-        if (totalRecordFetch < this.entryCount) {
-          submit = executorService.submit(new DataFetcher(true));
-        }
-      }
-    }
-    prefetchRecordsProceesed++;
-    returnRow = currentBuffer[bufferRowCounter++];
-  }
-
-  /**
-   * Read a batch of row from stream
-   *
-   * @return Object[]
-   * @throws IOException if error occurs while reading from stream
-   */
-  private IntermediateSortTempRow[] readBatchedRowFromStream(int expected) throws IOException {
-    IntermediateSortTempRow[] holders = new IntermediateSortTempRow[expected];
-    for (int i = 0; i < expected; i++) {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-2836
-      if (convertToActualField) {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-3335
-        IntermediateSortTempRow intermediateSortTempRow =
-            sortStepRowHandler.readWithNoSortFieldConvert(stream);
-        this.sortTempRowUpdater
-            .updateSortTempRow(intermediateSortTempRow);
-        holders[i] = intermediateSortTempRow;
-      } else {
-        holders[i] = sortStepRowHandler.readWithoutNoSortFieldConvert(stream);
-      }
-    }
-    this.numberOfObjectRead += expected;
-    return holders;
+    this.returnRow = rowReader.next();
   }
 
   /**
@@ -289,24 +177,16 @@ public class SortTempFileChunkHolder implements Comparable<SortTempFileChunkHold
    * @return more row present in file
    */
   public boolean hasNext() {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-1839
-    if (prefetch) {
-      return this.prefetchRecordsProceesed < this.entryCount;
-    }
-    return this.numberOfObjectRead < this.entryCount;
+    return rowReader.hasNext();
   }
 
   /**
    * Below method will be used to close streams
    */
   public void closeStream() {
-    CarbonUtil.closeStreams(stream);
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-1410
-    if (null != executorService) {
-      executorService.shutdownNow();
+    if (null != rowReader) {
+      rowReader.close();
     }
-    this.backupBuffer = null;
-    this.currentBuffer = null;
   }
 
   /**
@@ -349,51 +229,19 @@ public class SortTempFileChunkHolder implements Comparable<SortTempFileChunkHold
     return hash;
   }
 
-  private final class DataFetcher implements Callable<Void> {
-    private boolean isBackUpFilling;
-
-    private int numberOfRecords;
-
-    private DataFetcher(boolean backUp) {
-      isBackUpFilling = backUp;
-      calculateNumberOfRecordsToBeFetched();
-    }
-
-    private void calculateNumberOfRecordsToBeFetched() {
-      int numberOfRecordsLeftToBeRead = entryCount - totalRecordFetch;
-      numberOfRecords =
-          bufferSize < numberOfRecordsLeftToBeRead ? bufferSize : numberOfRecordsLeftToBeRead;
-    }
-
+  /**
+   * decodes the rows of the temp file, it is called by the prefetch thread of the reader
+   */
+  private final class RowDecoder implements SortTempFileRowReader.RowDecoder {
     @Override
-    public Void call() {
-      try {
-        if (isBackUpFilling) {
-          backupBuffer = prefetchRecordsFromFile(numberOfRecords);
-          isBackupFilled = true;
-        } else {
-          currentBuffer = prefetchRecordsFromFile(numberOfRecords);
-        }
-      } catch (Exception e) {
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-3107
-        LOGGER.error(e.getMessage(), e);
+    public IntermediateSortTempRow decode(DataInputStream stream) throws IOException {
+      if (convertToActualField) {
+        IntermediateSortTempRow intermediateSortTempRow =
+            sortStepRowHandler.readWithNoSortFieldConvert(stream);
+        sortTempRowUpdater.updateSortTempRow(intermediateSortTempRow);
+        return intermediateSortTempRow;
       }
-      return null;
+      return sortStepRowHandler.readWithoutNoSortFieldConvert(stream);
     }
-
-  }
-
-  /**
-   * This method will read the records from sort temp file and keep it in a buffer
-   *
-   * @param numberOfRecords number of records to be read
-   * @return batch of intermediate sort temp row
-   * @throws IOException if error occurs while reading reading records
-   */
-  private IntermediateSortTempRow[] prefetchRecordsFromFile(int numberOfRecords)
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-2018
-//IC see: https://issues.apache.org/jira/browse/CARBONDATA-2018
-      throws IOException {
-    return readBatchedRowFromStream(numberOfRecords);
   }
 }
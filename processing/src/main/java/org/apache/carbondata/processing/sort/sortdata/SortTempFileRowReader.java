@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.sort.sortdata;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.carbondata.common.logging.LogServiceFactory;
+import org.apache.carbondata.core.util.CarbonThreadFactory;
+import org.apache.carbondata.core.util.CarbonUtil;
+import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
+import org.apache.carbondata.processing.sort.exception.CarbonSortKeyAndGroupByException;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Reader of the rows of a sort temp file, used by the sort temp file holders of all mergers.
+ *
+ * With prefetch, rows are read in batches and the next batch is decompressed and decoded in a
+ * background thread while the merge thread consumes the current batch, so at most two batches
+ * are held per file. The first batch is also read in background, so that the holders of all
+ * the files to be merged start reading together. Without prefetch, rows are read one by one
+ * in the caller thread.
+ */
+public class SortTempFileRowReader {
+
+  private static final Logger LOGGER =
+      LogServiceFactory.getLogService(SortTempFileRowReader.class.getName());
+
+  /**
+   * decodes one row from the stream of sort temp file
+   */
+  public interface RowDecoder {
+    IntermediateSortTempRow decode(DataInputStream stream) throws IOException;
+  }
+
+  private DataInputStream stream;
+
+  private int entryCount;
+
+  private RowDecoder rowDecoder;
+
+  private int batchSize;
+
+  /**
+   * executor to read the next batch, null if prefetch is disabled
+   */
+  private ExecutorService executorService;
+
+  private Future<IntermediateSortTempRow[]> nextBatch;
+
+  private IntermediateSortTempRow[] currentBatch;
+
+  private int batchIndex;
+
+  /**
+   * number of rows submitted for reading
+   */
+  private int numberOfRowsFetched;
+
+  /**
+   * number of rows returned to the caller
+   */
+  private int numberOfRowsRead;
+
+  /**
+   * @param stream         stream of the sort temp file positioned after the entry count
+   * @param entryCount     number of rows in the file
+   * @param rowDecoder     decoder of the rows
+   * @param prefetch       whether to read the batches in background
+   * @param batchSize      number of rows in a batch
+   * @param threadPoolName name of the prefetch thread
+   */
+  public SortTempFileRowReader(DataInputStream stream, int entryCount, RowDecoder rowDecoder,
+      boolean prefetch, int batchSize, String threadPoolName) {
+    this.stream = stream;
+    this.entryCount = entryCount;
+    this.rowDecoder = rowDecoder;
+    this.batchSize = batchSize;
+    if (prefetch && entryCount > 0) {
+      this.executorService =
+          Executors.newSingleThreadExecutor(new CarbonThreadFactory(threadPoolName, true));
+      submitNextBatch();
+    }
+  }
+
+  public boolean hasNext() {
+    return numberOfRowsRead < entryCount;
+  }
+
+  /**
+   * @return next row of the file
+   * @throws CarbonSortKeyAndGroupByException if problem while reading the file
+   */
+  public IntermediateSortTempRow next() throws CarbonSortKeyAndGroupByException {
+    IntermediateSortTempRow row;
+    if (null == executorService) {
+      try {
+        row = rowDecoder.decode(stream);
+      } catch (IOException e) {
+        throw new CarbonSortKeyAndGroupByException("Problem while reading rows", e);
+      }
+    } else {
+      if (null == currentBatch || batchIndex == currentBatch.length) {
+        currentBatch = takeNextBatch();
+        batchIndex = 0;
+      }
+      row = currentBatch[batchIndex++];
+    }
+    numberOfRowsRead++;
+    return row;
+  }
+
+  private IntermediateSortTempRow[] takeNextBatch() throws CarbonSortKeyAndGroupByException {
+    IntermediateSortTempRow[] batch;
+    try {
+      batch = nextBatch.get();
+    } catch (InterruptedException | ExecutionException e) {
+      throw new CarbonSortKeyAndGroupByException("Problem while reading rows", e);
+    }
+    if (numberOfRowsFetched < entryCount) {
+      // decode the next batch while the current batch is merged
+      submitNextBatch();
+    } else {
+      nextBatch = null;
+    }
+    return batch;
+  }
+
+  private void submitNextBatch() {
+    final int numberOfRows = Math.min(batchSize, entryCount - numberOfRowsFetched);
+    numberOfRowsFetched += numberOfRows;
+    nextBatch = executorService.submit(new Callable<IntermediateSortTempRow[]>() {
+      @Override
+      public IntermediateSortTempRow[] call() throws IOException {
+        IntermediateSortTempRow[] batch = new IntermediateSortTempRow[numberOfRows];
+        for (int i = 0; i < numberOfRows; i++) {
+          batch[i] = rowDecoder.decode(stream);
+        }
+        return batch;
+      }
+    });
+  }
+
+  /**
+   * stops the prefetch and closes the stream
+   */
+  public void close() {
+    if (null != executorService) {
+      if (null != nextBatch) {
+        // wait for the batch read ahead, so that the stream is not closed while reading.
+        // The batch is not used, so failure of this read does not fail the merge
+        try {
+          nextBatch.get();
+        } catch (InterruptedException | ExecutionException e) {
+          LOGGER.warn("Failed to read rows ahead: " + e.getMessage());
+        }
+        nextBatch = null;
+      }
+      executorService.shutdownNow();
+    }
+    CarbonUtil.closeStreams(stream);
+    currentBatch = null;
+  }
+}
@@ -50,6 +50,7 @@ import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
 import org.apache.carbondata.core.util.CarbonProperties;
 import org.apache.carbondata.core.util.CarbonThreadFactory;
 import org.apache.carbondata.processing.datatypes.GenericDataType;
+import org.apache.carbondata.processing.loading.row.CarbonColumnarRowBatch;
 import org.apache.carbondata.processing.store.writer.CarbonFactDataWriter;
 
 import org.apache.log4j.Logger;
@@ -89,6 +90,8 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
   private ExecutorService consumerExecutorService;
   private List<Future<Void>> consumerExecutorServiceTaskList;
   private List<CarbonRow> dataRows;
+  // rows of the page added from columnar batches
+  private List<ColumnarRows> dataBatches;
   private int[] noDictColumnPageSize;
   /**
    * semaphore which will used for managing node holder objects
@@ -242,7 +245,8 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-1015
         producerExecutorServiceTaskList.add(
             producerExecutorService.submit(
-                new Producer(tablePageList, dataRows, ++writerTaskSequenceCounter, false)
+                new Producer(tablePageList, dataRows, dataBatches, ++writerTaskSequenceCounter,
+                    false)
             )
         );
         blockletProcessingCount.incrementAndGet();
@@ -253,6 +257,7 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
           LOGGER.debug("Total Number Of records added to store: " + processedDataCount);
         }
         dataRows = new ArrayList<>(this.pageSize);
+        dataBatches = new ArrayList<>();
         this.entryCount = 0;
         // re-init the complexIndexMap
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3001
@@ -269,6 +274,43 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
     }
   }
 
+  /**
+   * below method will be used to add the rows of the columnar batch to store, the columns are
+   * added to the column pages of the table page without creating a row for each
+   *
+   * @param batch converted rows
+   * @throws CarbonDataWriterException
+   */
+  public void addDataToStore(CarbonColumnarRowBatch batch) throws CarbonDataWriterException {
+    int startRowId = 0;
+    while (startRowId < batch.getSize()) {
+      // a batch can be split in two pages
+      int numberOfRows = Math.min(batch.getSize() - startRowId, this.pageSize - this.entryCount);
+      dataBatches.add(new ColumnarRows(batch, startRowId, numberOfRows));
+      startRowId += numberOfRows;
+      this.entryCount += numberOfRows;
+      if (this.entryCount == this.pageSize) {
+        try {
+          semaphore.acquire();
+          producerExecutorServiceTaskList.add(producerExecutorService.submit(
+              new Producer(tablePageList, dataRows, dataBatches, ++writerTaskSequenceCounter,
+                  false)));
+          blockletProcessingCount.incrementAndGet();
+          processedDataCount += entryCount;
+          if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Total Number Of records added to store: " + processedDataCount);
+          }
+          dataRows = new ArrayList<>(this.pageSize);
+          dataBatches = new ArrayList<>();
+          this.entryCount = 0;
+        } catch (InterruptedException e) {
+          LOGGER.error(e.getMessage(), e);
+          throw new CarbonDataWriterException(e);
+        }
+      }
+    }
+  }
+
   /**
    * Check if column page can be added more rows after adding this row to page.
    * only few no-dictionary dimensions columns (string, varchar,
@@ -395,26 +437,34 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
   /**
    * generate the EncodedTablePage from the input rows (one page in case of V3 format)
    */
-  private TablePage processDataRows(List<CarbonRow> dataRows)
+  private TablePage processDataRows(List<CarbonRow> dataRows, List<ColumnarRows> dataBatches)
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3575
       throws CarbonDataWriterException, IOException {
-    if (dataRows.size() == 0) {
+    int numberOfRows = dataRows.size();
+    for (ColumnarRows rows : dataBatches) {
+      numberOfRows += rows.numberOfRows;
+    }
+    if (numberOfRows == 0) {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-1363
       return new TablePage(model, 0);
     }
-    TablePage tablePage = new TablePage(model, dataRows.size());
+    TablePage tablePage = new TablePage(model, numberOfRows);
     int rowId = 0;
 
     // convert row to columnar data
     for (CarbonRow row : dataRows) {
       tablePage.addRow(rowId++, row);
     }
+    for (ColumnarRows rows : dataBatches) {
+      tablePage.addColumns(rowId, rows.batch, rows.startRowId, rows.numberOfRows);
+      rowId += rows.numberOfRows;
+    }
 
     tablePage.encode();
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-1363
 
     if (LOGGER.isDebugEnabled()) {
-      LOGGER.debug("Number Of records processed: " + dataRows.size());
+      LOGGER.debug("Number Of records processed: " + numberOfRows);
     }
     return tablePage;
   }
@@ -440,7 +490,8 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
       semaphore.acquire();
       producerExecutorServiceTaskList.add(producerExecutorService
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-1363
-          .submit(new Producer(tablePageList, dataRows, ++writerTaskSequenceCounter, true)));
+          .submit(new Producer(tablePageList, dataRows, dataBatches,
+              ++writerTaskSequenceCounter, true)));
       blockletProcessingCount.incrementAndGet();
       processedDataCount += entryCount;
       if (LOGGER.isDebugEnabled()) {
@@ -550,6 +601,7 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
       LOGGER.debug("Number of rows per column page is configured as pageSize = " + pageSize);
     }
     dataRows = new ArrayList<>(this.pageSize);
+    dataBatches = new ArrayList<>();
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3684
     setComplexMapSurrogateIndex(model.getDictDimensionCount());
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-1363
@@ -639,6 +691,22 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
     }
   }
 
+  /**
+   * Rows of a columnar batch which are added to a page
+   */
+  private static final class ColumnarRows {
+
+    private CarbonColumnarRowBatch batch;
+    private int startRowId;
+    private int numberOfRows;
+
+    private ColumnarRows(CarbonColumnarRowBatch batch, int startRowId, int numberOfRows) {
+      this.batch = batch;
+      this.startRowId = startRowId;
+      this.numberOfRows = numberOfRows;
+    }
+  }
+
   /**
    * Producer which will process data equivalent to 1 blocklet size
    */
@@ -646,14 +714,16 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
 
     private TablePageList tablePageList;
     private List<CarbonRow> dataRows;
+    private List<ColumnarRows> dataBatches;
     private int pageId;
     private boolean isLastPage;
 
     private Producer(TablePageList tablePageList, List<CarbonRow> dataRows,
-        int pageId, boolean isLastPage) {
+        List<ColumnarRows> dataBatches, int pageId, boolean isLastPage) {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-1363
       this.tablePageList = tablePageList;
       this.dataRows = dataRows;
+      this.dataBatches = dataBatches;
       this.pageId = pageId;
       this.isLastPage = isLastPage;
     }
@@ -667,9 +737,10 @@ public class CarbonFactDataHandlerColumnar implements CarbonFactHandler {
     public Void call() {
       try {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-1363
-        TablePage tablePage = processDataRows(dataRows);
+        TablePage tablePage = processDataRows(dataRows, dataBatches);
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2168
         dataRows = null;
+        dataBatches = null;
         tablePage.setIsLastPage(isLastPage);
         // insert the object in array according to sequence number
         int indexInNodeHolderArray = (pageId - 1) % numberOfCores;
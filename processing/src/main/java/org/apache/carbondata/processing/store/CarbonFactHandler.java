@@ -19,12 +19,15 @@ package org.apache.carbondata.processing.store;
 
 import org.apache.carbondata.core.datastore.exception.CarbonDataWriterException;
 import org.apache.carbondata.core.datastore.row.CarbonRow;
+import org.apache.carbondata.processing.loading.row.CarbonColumnarRowBatch;
 
 public interface CarbonFactHandler {
   void initialise() throws CarbonDataWriterException;
 
   void addDataToStore(CarbonRow row) throws CarbonDataWriterException;
 
+  void addDataToStore(CarbonColumnarRowBatch batch) throws CarbonDataWriterException;
+
   void finish() throws CarbonDataWriterException;
 
   void closeHandler() throws CarbonDataWriterException;
@@ -48,6 +48,7 @@ import org.apache.carbondata.core.metadata.datatype.DataTypes;
 import org.apache.carbondata.core.util.ByteUtil;
 import org.apache.carbondata.core.util.DataTypeUtil;
 import org.apache.carbondata.processing.datatypes.GenericDataType;
+import org.apache.carbondata.processing.loading.row.CarbonColumnarRowBatch;
 
 import org.apache.log4j.Logger;
 
@@ -292,6 +293,42 @@ public class TablePage {
     }
   }
 
+  /**
+   * Add the rows of the columnar batch to the column pages, one column at a time. The columns of
+   * the batch should be ordered as dictionary dimensions, no dictionary dimensions and measures,
+   * and there should be no complex column
+   *
+   * @param rowId        Id of the first row in this page
+   * @param batch        converted rows
+   * @param startRowId   Id of the first row in the batch
+   * @param numberOfRows number of rows to add
+   */
+  public void addColumns(int rowId, CarbonColumnarRowBatch batch, int startRowId,
+      int numberOfRows) {
+    int column = 0;
+    for (ColumnPage page : dictDimensionPages) {
+      int[] keys = batch.getDictionaryKeys(column);
+      Object[] values = batch.getColumn(column++);
+      for (int i = 0; i < numberOfRows; i++) {
+        int key = null != keys ? keys[startRowId + i] : (int) values[startRowId + i];
+        page.putData(rowId + i, ByteUtil.toBytes(key));
+      }
+    }
+    for (ColumnPage page : noDictDimensionPages) {
+      addColumn(page, batch.getColumn(column++), rowId, startRowId, numberOfRows);
+    }
+    for (ColumnPage page : measurePages) {
+      addColumn(page, batch.getColumn(column++), rowId, startRowId, numberOfRows);
+    }
+  }
+
+  private void addColumn(ColumnPage page, Object[] values, int rowId, int startRowId,
+      int numberOfRows) {
+    for (int i = 0; i < numberOfRows; i++) {
+      page.putData(rowId + i, values[startRowId + i]);
+    }
+  }
+
   /**
    * add a complex column into internal member complexDimensionPage
    *
@@ -18,8 +18,11 @@
 package org.apache.carbondata.processing.store.writer;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import org.apache.carbondata.core.datastore.exception.CarbonDataWriterException;
+import org.apache.carbondata.format.BlockletIndex;
+import org.apache.carbondata.format.BlockletInfo3;
 import org.apache.carbondata.processing.store.TablePage;
 
 public interface CarbonFactDataWriter {
@@ -31,6 +34,15 @@ public interface CarbonFactDataWriter {
   void writeTablePage(TablePage tablePage) throws CarbonDataWriterException, IOException;
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-1371
 
+  /**
+   * write a blocklet of another carbondata file as it is, without decoding its pages
+   * @param blockletData data of all the column chunks of the blocklet
+   * @param blockletInfo blocklet info in the footer of the other file
+   * @param blockletIndex blocklet index in the footer of the other file
+   */
+  void writeEncodedBlocklet(ByteBuffer blockletData, BlockletInfo3 blockletInfo,
+      BlockletIndex blockletIndex) throws CarbonDataWriterException;
+
   /**
    * Below method will be used to write the leaf meta data to file
    *
@@ -256,6 +256,42 @@ public class CarbonFactDataWriterImplV3 extends AbstractFactDataWriter {
 
   }
 
+  /**
+   * Write the blocklet of another file after the blocklets written so far. Column chunks are
+   * copied as they are, so only the offsets of the blocklet info are moved to the position of
+   * the blocklet in this file.
+   */
+  @Override
+  public void writeEncodedBlocklet(ByteBuffer blockletData, BlockletInfo3 blockletInfo,
+      org.apache.carbondata.format.BlockletIndex index) throws CarbonDataWriterException {
+    createNewFileIfReachThreshold(blockletData.remaining());
+    try {
+      if (currentOffsetInFile == 0) {
+        // write the header if file is empty
+        writeHeaderToFile();
+      }
+      long shift = currentOffsetInFile - blockletInfo.getColumn_data_chunks_offsets().get(0);
+      while (blockletData.hasRemaining()) {
+        currentOffsetInFile += fileChannel.write(blockletData);
+      }
+      BlockletInfo3 copiedBlockletInfo = blockletInfo.deepCopy();
+      List<Long> dataChunksOffset =
+          new ArrayList<>(blockletInfo.getColumn_data_chunks_offsets().size());
+      for (long offset : blockletInfo.getColumn_data_chunks_offsets()) {
+        dataChunksOffset.add(offset + shift);
+      }
+      copiedBlockletInfo.setColumn_data_chunks_offsets(dataChunksOffset);
+      copiedBlockletInfo.setDimension_offsets(blockletInfo.getDimension_offsets() + shift);
+      copiedBlockletInfo.setMeasure_offsets(blockletInfo.getMeasure_offsets() + shift);
+      blockletMetadata.add(copiedBlockletInfo);
+      blockletIndex.add(index);
+      blockletId++;
+    } catch (IOException e) {
+      LOGGER.error("Problem while writing file", e);
+      throw new CarbonDataWriterException("Problem while writing file", e);
+    }
+  }
+
   /**
    * Fill dataChunkBytes and return total size of page metadata
    */
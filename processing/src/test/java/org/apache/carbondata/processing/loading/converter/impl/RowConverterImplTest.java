@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.converter.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.carbondata.core.datastore.row.CarbonRow;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.datatype.StructField;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.TableSchema;
+import org.apache.carbondata.core.metadata.schema.table.TableSchemaBuilder;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.processing.loading.BadRecordsLogger;
+import org.apache.carbondata.processing.loading.CarbonDataLoadConfiguration;
+import org.apache.carbondata.processing.loading.DataField;
+import org.apache.carbondata.processing.loading.constants.DataLoadProcessorConstants;
+import org.apache.carbondata.processing.loading.exception.BadRecordFoundException;
+import org.apache.carbondata.processing.loading.row.CarbonColumnarRowBatch;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Converting a columnar batch should give the same values and bad records as converting the
+ * rows one by one
+ */
+public class RowConverterImplTest {
+
+  // columns are day (direct dictionary), name (no dictionary) and salary (measure)
+  private static final Object[][] INPUT = {
+      { "2020-01-01", "a", "10" },
+      { "not a date", "b", "20" },
+      { "2020-01-03", "c", "not a number" },
+      { "\\N", "d", "\\N" },
+      { "2020-01-05", "e", "50" },
+      // only the first bad value of the row is added as bad record
+      { "not a date", "f", "not a number" },
+      { "2020-01-07", "g", "70" } };
+
+  private static final int[] BAD_ROWS = { 1, 2, 5 };
+
+  @Test public void testBatchIsConvertedAsRows() {
+    assertSameAsRows(false);
+  }
+
+  @Test public void testBadRowsAreRemovedFromBatch() {
+    CarbonColumnarRowBatch batch = assertSameAsRows(true);
+    Assert.assertEquals(INPUT.length - BAD_ROWS.length, batch.getSize());
+    // raw rows are moved with the rows which are kept
+    Assert.assertSame(INPUT[3], batch.getRawRow(1));
+    Assert.assertSame(INPUT[6], batch.getRawRow(3));
+  }
+
+  @Test(expected = BadRecordFoundException.class)
+  public void testBadRecordFailsBatch() {
+    RowConverterImpl converter =
+        createConverter(new TestBadRecordsLogger(true, true), createFields());
+    converter.convert(createBatch());
+  }
+
+  /**
+   * convert the batch and the rows with two converters, and compare the converted values and
+   * bad records
+   */
+  private static CarbonColumnarRowBatch assertSameAsRows(boolean isBadRowRemoved) {
+    DataField[] fields = createFields();
+    TestBadRecordsLogger rowLogger = new TestBadRecordsLogger(isBadRowRemoved, false);
+    RowConverterImpl rowConverter = createConverter(rowLogger, fields);
+    List<CarbonRow> rows = new ArrayList<>();
+    for (Object[] input : INPUT) {
+      CarbonRow row = new CarbonRow(input.clone(), input);
+      row = rowConverter.convert(row);
+      if (null != row) {
+        rows.add(row);
+      }
+    }
+    TestBadRecordsLogger batchLogger = new TestBadRecordsLogger(isBadRowRemoved, false);
+    RowConverterImpl batchConverter = createConverter(batchLogger, fields);
+    CarbonColumnarRowBatch batch = createBatch();
+    batchConverter.convert(batch);
+
+    Assert.assertEquals(rows.size(), batch.getSize());
+    // direct dictionary keys are kept in int array
+    Assert.assertNotNull(batch.getDictionaryKeys(0));
+    Assert.assertNull(batch.getColumn(0));
+    Assert.assertNull(batch.getDictionaryKeys(1));
+    Assert.assertNull(batch.getDictionaryKeys(2));
+    for (int rowId = 0; rowId < rows.size(); rowId++) {
+      for (int column = 0; column < fields.length; column++) {
+        Assert.assertTrue("row " + rowId + " column " + column,
+            Objects.deepEquals(rows.get(rowId).getObject(column), batch.getValue(rowId, column)));
+      }
+    }
+    Assert.assertEquals(BAD_ROWS.length, batchLogger.badRows.size());
+    Assert.assertEquals(rowLogger.badRows, batchLogger.badRows);
+    for (int i = 0; i < BAD_ROWS.length; i++) {
+      Assert.assertSame(INPUT[BAD_ROWS[i]], batchLogger.badRows.get(i));
+    }
+    return batch;
+  }
+
+  private static CarbonColumnarRowBatch createBatch() {
+    CarbonColumnarRowBatch batch = new CarbonColumnarRowBatch(3, INPUT.length, true);
+    for (Object[] input : INPUT) {
+      batch.addRow(input.clone(), input);
+    }
+    return batch;
+  }
+
+  private static DataField[] createFields() {
+    TableSchemaBuilder builder = TableSchema.builder();
+    AtomicInteger valIndex = new AtomicInteger(0);
+    builder.addColumn(new StructField("day", DataTypes.DATE), valIndex, false, false);
+    builder.addColumn(new StructField("name", DataTypes.STRING), valIndex, false, false);
+    builder.addColumn(new StructField("salary", DataTypes.INT), valIndex, false, false);
+    TableSchema schema = builder.tableName("converter_test").build();
+    CarbonTable table = CarbonTable.builder().tableName("converter_test")
+        .databaseName("default").tablePath("./converter_test").tableSchema(schema).build();
+    List<CarbonColumn> columns = table.getCreateOrderColumn();
+    DataField[] fields = new DataField[columns.size()];
+    for (int i = 0; i < fields.length; i++) {
+      fields[i] = new DataField(columns.get(i));
+    }
+    return fields;
+  }
+
+  private static RowConverterImpl createConverter(BadRecordsLogger badRecordsLogger,
+      DataField[] fields) {
+    CarbonDataLoadConfiguration configuration = new CarbonDataLoadConfiguration();
+    configuration.setDataLoadProperty(DataLoadProcessorConstants.SERIALIZATION_NULL_FORMAT, "\\N");
+    configuration.setDataLoadProperty(DataLoadProcessorConstants.IS_EMPTY_DATA_BAD_RECORD, "false");
+    RowConverterImpl converter = new RowConverterImpl(fields, configuration, badRecordsLogger);
+    converter.initialize();
+    return converter;
+  }
+
+  /**
+   * Keeps the input rows which are added as bad record
+   */
+  private static class TestBadRecordsLogger extends BadRecordsLogger {
+
+    private List<Object[]> badRows = new ArrayList<>();
+
+    private TestBadRecordsLogger(boolean badRecordConvertNullDisable, boolean isDataLoadFail) {
+      super("converter_test", "converter_test", "./converter_test", false, false,
+          badRecordConvertNullDisable, isDataLoadFail);
+    }
+
+    @Override
+    public void addBadRecordsToBuilder(Object[] row, String reason) {
+      badRows.add(row);
+      super.addBadRecordsToBuilder(row, reason);
+    }
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.row;
+
+import java.util.BitSet;
+
+import org.apache.carbondata.core.datastore.row.CarbonRow;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CarbonColumnarRowBatchTest {
+
+  @Test public void testRowsAreAddedColumnWise() {
+    CarbonColumnarRowBatch batch = new CarbonColumnarRowBatch(3, 10, true);
+    Object[] rawRow = new Object[] { "raw" };
+    batch.addRow(new Object[] { "a", "1", "x" }, rawRow);
+    batch.setValue(0, "b");
+    batch.setValue(2, "y");
+    batch.completeRow(null);
+    Assert.assertEquals(2, batch.getSize());
+    Assert.assertEquals(3, batch.getNumberOfColumns());
+    Assert.assertEquals("b", batch.getColumn(0)[1]);
+    // value which is not set is null
+    Assert.assertNull(batch.getColumn(1)[1]);
+    Assert.assertSame(rawRow, batch.getRawRow(0));
+    Assert.assertNull(batch.getRawRow(1));
+    Assert.assertNull(new CarbonColumnarRowBatch(1, 1, false).getRawRow(0));
+  }
+
+  @Test public void testIterateConvertedRows() {
+    CarbonColumnarRowBatch batch = new CarbonColumnarRowBatch(2, 10, false);
+    batch.addRow(new Object[] { "2020-01-01", 10L }, null);
+    batch.addRow(new Object[] { "2020-01-02", 20L }, null);
+    batch.setDictionaryKeys(0, new int[] { 5, 6 });
+    Assert.assertNull(batch.getColumn(0));
+    Assert.assertArrayEquals(new int[] { 5, 6 }, batch.getDictionaryKeys(0));
+    Assert.assertNull(batch.getDictionaryKeys(1));
+    CarbonRow row = batch.next();
+    Assert.assertArrayEquals(new Object[] { 5, 10L }, row.getData());
+    Assert.assertTrue(batch.hasNext());
+    Assert.assertEquals(20L, batch.next().getObject(1));
+    Assert.assertFalse(batch.hasNext());
+    batch.rewind();
+    Assert.assertTrue(batch.hasNext());
+  }
+
+  @Test public void testRemoveRows() {
+    CarbonColumnarRowBatch batch = new CarbonColumnarRowBatch(2, 5, true);
+    for (int i = 0; i < 5; i++) {
+      batch.addRow(new Object[] { null, "v" + i }, new Object[] { i });
+    }
+    batch.setDictionaryKeys(0, new int[] { 0, 1, 2, 3, 4 });
+    BitSet removed = new BitSet();
+    removed.set(0);
+    removed.set(3);
+    batch.removeRows(removed);
+    Assert.assertEquals(3, batch.getSize());
+    Assert.assertEquals(1, batch.getValue(0, 0));
+    Assert.assertEquals("v2", batch.getValue(1, 1));
+    Assert.assertEquals(4, batch.getValue(2, 0));
+    Assert.assertEquals(4, batch.getRawRow(2)[0]);
+    // removed values are not kept in the batch
+    Assert.assertNull(batch.getColumn(1)[3]);
+  }
+
+  @Test public void testRearrangeColumns() {
+    CarbonColumnarRowBatch batch = new CarbonColumnarRowBatch(3, 1, false);
+    batch.addRow(new Object[] { "a", "b", "c" }, null);
+    batch.setDictionaryKeys(1, new int[] { 7 });
+    batch.rearrangeColumns(new int[] { 1, 2, 0 });
+    Assert.assertArrayEquals(new int[] { 7 }, batch.getDictionaryKeys(0));
+    Assert.assertEquals("c", batch.getValue(0, 1));
+    Assert.assertEquals("a", batch.getValue(0, 2));
+  }
+
+  @Test public void testRowsAreConvertedOneByOne() {
+    CarbonColumnarRowBatch batch = new CarbonColumnarRowBatch(2, 5, true);
+    for (int i = 0; i < 5; i++) {
+      batch.addRow(new Object[] { "2020-01-0" + (i + 1), "v" + i }, new Object[] { i });
+    }
+    // same as the row loop of the converter step, bad rows are removed and the converted
+    // rows are set back with their range id
+    while (batch.hasNext()) {
+      CarbonRow row = batch.next();
+      int id = (Integer) row.getRawData()[0];
+      if (id % 2 == 1) {
+        batch.remove();
+      } else {
+        CarbonRow convertedRow = new CarbonRow(new Object[] { id + 10, row.getObject(1) + "c" },
+            row.getRawData());
+        convertedRow.setRangeId((short) id);
+        batch.setPreviousRow(convertedRow);
+      }
+    }
+    Assert.assertEquals(3, batch.getSize());
+    batch.rewind();
+    for (int id = 0; id < 5; id += 2) {
+      CarbonRow row = batch.next();
+      Assert.assertArrayEquals(new Object[] { id + 10, "v" + id + "c" }, row.getData());
+      Assert.assertEquals(id, row.getRawData()[0]);
+      Assert.assertEquals(id, row.getRangeId());
+    }
+    Assert.assertFalse(batch.hasNext());
+  }
+
+  @Test public void testConvertedDictionaryColumnIsUpdated() {
+    CarbonColumnarRowBatch batch = new CarbonColumnarRowBatch(1, 3, false);
+    for (int i = 0; i < 3; i++) {
+      batch.addRow(new Object[] { "d" + i }, null);
+    }
+    batch.setDictionaryKeys(0, new int[] { 2, 3, 4 });
+    batch.next();
+    // surrogate key is kept in the int array
+    batch.setPreviousRow(new CarbonRow(new Object[] { 7 }));
+    Assert.assertArrayEquals(new int[] { 7, 3, 4 }, batch.getDictionaryKeys(0));
+    batch.next();
+    // any other value changes the column back to values
+    batch.setPreviousRow(new CarbonRow(new Object[] { "x" }));
+    Assert.assertNull(batch.getDictionaryKeys(0));
+    Assert.assertEquals(7, batch.getValue(0, 0));
+    Assert.assertEquals("x", batch.getValue(1, 0));
+    Assert.assertEquals(4, batch.getValue(2, 0));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testRowCannotBeRemovedBeforeIterating() {
+    CarbonColumnarRowBatch batch = new CarbonColumnarRowBatch(1, 1, false);
+    batch.addRow(new Object[] { "a" }, null);
+    batch.remove();
+  }
+}
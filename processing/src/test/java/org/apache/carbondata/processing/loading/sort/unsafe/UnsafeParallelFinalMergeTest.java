@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort.unsafe;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.memory.UnsafeMemoryManager;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.datatype.StructField;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.TableSchema;
+import org.apache.carbondata.core.metadata.schema.table.TableSchemaBuilder;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.util.CarbonProperties;
+import org.apache.carbondata.core.util.ReUsableByteArrayDataOutputStream;
+import org.apache.carbondata.core.util.ThreadLocalTaskInfo;
+import org.apache.carbondata.processing.loading.sort.unsafe.merger.UnsafeInMemoryIntermediateDataMerger;
+import org.apache.carbondata.processing.loading.sort.unsafe.merger.UnsafeSingleThreadFinalSortFilesMerger;
+import org.apache.carbondata.processing.sort.sortdata.SortParameters;
+import org.apache.carbondata.processing.sort.sortdata.TableFieldStat;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Final merge of the sorted pages in parallel groups should give the same rows as the single
+ * threaded final merge
+ */
+public class UnsafeParallelFinalMergeTest {
+
+  private static final int PAGE_COUNT = 7;
+
+  private static final int ROWS_PER_PAGE = 500;
+
+  @After public void tearDown() {
+    CarbonProperties.getInstance().addProperty(
+        CarbonCommonConstants.CARBON_LOAD_SORT_FINAL_MERGE_THREADS,
+        CarbonCommonConstants.CARBON_LOAD_SORT_FINAL_MERGE_THREADS_DEFAULT);
+  }
+
+  @Test public void testParallelFinalMerge() throws Exception {
+    List<Object[]> rows = merge(1);
+    Assert.assertEquals(PAGE_COUNT * ROWS_PER_PAGE, rows.size());
+    // 7 pages are merged in 3 groups
+    assertSameRows(rows, merge(3));
+    // more threads than groups of at least two pages
+    assertSameRows(rows, merge(8));
+  }
+
+  /**
+   * rows of equal sort key can be merged in any order, so compare the sort keys in order and
+   * the row ids as a set
+   */
+  private static void assertSameRows(List<Object[]> expected, List<Object[]> actual) {
+    Assert.assertEquals(expected.size(), actual.size());
+    Set<Object> expectedIds = new HashSet<>();
+    Set<Object> actualIds = new HashSet<>();
+    for (int i = 0; i < expected.size(); i++) {
+      // rows are in 3 parts: dictionary dimensions, no dictionary dimensions and measures
+      Assert.assertArrayEquals("row " + i, (Object[]) expected.get(i)[1],
+          (Object[]) actual.get(i)[1]);
+      expectedIds.add(((Object[]) expected.get(i)[2])[0]);
+      actualIds.add(((Object[]) actual.get(i)[2])[0]);
+    }
+    Assert.assertEquals(expected.size(), expectedIds.size());
+    Assert.assertEquals(expectedIds, actualIds);
+  }
+
+  /**
+   * sort the pages and merge them with the given number of final merge threads
+   */
+  private static List<Object[]> merge(int finalMergeThreads) throws Exception {
+    CarbonProperties.getInstance().addProperty(
+        CarbonCommonConstants.CARBON_LOAD_SORT_FINAL_MERGE_THREADS,
+        String.valueOf(finalMergeThreads));
+    CarbonTable table = createTable();
+    SortParameters parameters = createSortParameters(table);
+    TableFieldStat tableFieldStat = new TableFieldStat(parameters);
+    ReUsableByteArrayDataOutputStream outputStream =
+        new ReUsableByteArrayDataOutputStream(new ByteArrayOutputStream());
+    Random random = new Random(7);
+    UnsafeCarbonRowPage[] pages = new UnsafeCarbonRowPage[PAGE_COUNT];
+    for (int i = 0; i < PAGE_COUNT; i++) {
+      pages[i] = createPage(tableFieldStat);
+      for (int j = 0; j < ROWS_PER_PAGE; j++) {
+        // sort column with duplicate values and nulls, and row id as measure
+        Object[] row = { random.nextInt(20) == 0 ? null : random.nextInt(1000) - 500,
+            i * ROWS_PER_PAGE + j };
+        pages[i].addRow(row, outputStream);
+      }
+      UnsafeSortDataRows.sortPage(pages[i], true);
+    }
+    UnsafeSingleThreadFinalSortFilesMerger merger = new UnsafeSingleThreadFinalSortFilesMerger(
+        parameters, new String[] { new File("target/final_merge_test").getAbsolutePath() });
+    List<Object[]> rows = new ArrayList<>();
+    try {
+      merger.startFinalMerge(pages, new ArrayList<UnsafeInMemoryIntermediateDataMerger>());
+      while (merger.hasNext()) {
+        rows.add(merger.next());
+      }
+    } finally {
+      merger.clear();
+    }
+    return rows;
+  }
+
+  private static UnsafeCarbonRowPage createPage(TableFieldStat tableFieldStat) {
+    String taskId = ThreadLocalTaskInfo.getCarbonTaskInfo().getTaskId();
+    return new UnsafeCarbonRowPage(tableFieldStat,
+        UnsafeMemoryManager.allocateMemoryWithRetry(taskId, 1024 * 1024), taskId, true);
+  }
+
+  private static CarbonTable createTable() {
+    TableSchemaBuilder builder = TableSchema.builder();
+    AtomicInteger valIndex = new AtomicInteger(0);
+    List<ColumnSchema> sortColumns = new ArrayList<>();
+    sortColumns.add(
+        builder.addColumn(new StructField("c0", DataTypes.INT), valIndex, true, false));
+    builder.setSortColumns(sortColumns);
+    builder.addColumn(new StructField("id", DataTypes.INT), valIndex, false, false);
+    TableSchema schema = builder.tableName("final_merge_test").build();
+    return CarbonTable.builder().tableName("final_merge_test").databaseName("default")
+        .tablePath("./final_merge_test").tableSchema(schema).build();
+  }
+
+  private static SortParameters createSortParameters(CarbonTable table) {
+    return SortParameters.createSortParameters(table, "default", "final_merge_test", 1, 0,
+        table.getVisibleMeasures().size(), 1, "0", "0", new boolean[] { true },
+        new boolean[] { true }, new boolean[1], false, 1);
+  }
+}
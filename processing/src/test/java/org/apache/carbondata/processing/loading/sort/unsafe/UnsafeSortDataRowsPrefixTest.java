@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort.unsafe;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.memory.UnsafeMemoryManager;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.datatype.StructField;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.TableSchema;
+import org.apache.carbondata.core.metadata.schema.table.TableSchemaBuilder;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.util.ReUsableByteArrayDataOutputStream;
+import org.apache.carbondata.core.util.ThreadLocalTaskInfo;
+import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
+import org.apache.carbondata.processing.loading.sort.unsafe.sort.UnsafeRowPrefixGenerator;
+import org.apache.carbondata.processing.sort.sortdata.SortParameters;
+import org.apache.carbondata.processing.sort.sortdata.TableFieldStat;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Sorting a page by the sort prefix should give the same row order as sorting it only by
+ * comparing the rows
+ */
+public class UnsafeSortDataRowsPrefixTest {
+
+  private static final int ROW_COUNT = 3000;
+
+  @Test public void testShortAndStringSortColumns() throws Exception {
+    assertSameOrder(DataTypes.SHORT, DataTypes.STRING);
+  }
+
+  @Test public void testIntAndLongSortColumns() throws Exception {
+    assertSameOrder(DataTypes.INT, DataTypes.LONG);
+  }
+
+  @Test public void testLongAndIntSortColumns() throws Exception {
+    assertSameOrder(DataTypes.LONG, DataTypes.INT);
+  }
+
+  @Test public void testTimestampAndStringSortColumns() throws Exception {
+    assertSameOrder(DataTypes.TIMESTAMP, DataTypes.STRING);
+  }
+
+  @Test public void testStringLongerThanPrefix() throws Exception {
+    assertSameOrder(DataTypes.STRING, DataTypes.INT);
+    assertSameOrder(DataTypes.STRING, DataTypes.STRING);
+  }
+
+  @Test public void testDictionarySortColumns() throws Exception {
+    assertSameOrder(DataTypes.DATE, DataTypes.DATE);
+    assertSameOrder(DataTypes.DATE, DataTypes.SHORT);
+  }
+
+  private static void assertSameOrder(DataType... sortColumnTypes) throws Exception {
+    CarbonTable table = createTable(sortColumnTypes);
+    SortParameters parameters = createSortParameters(table);
+    TableFieldStat tableFieldStat = new TableFieldStat(parameters);
+    UnsafeRowPrefixGenerator prefixGenerator =
+        UnsafeSortDataRows.createPrefixGenerator(tableFieldStat);
+    Assert.assertNotNull(prefixGenerator);
+    UnsafeCarbonRowPage prefixPage = createPage(tableFieldStat);
+    prefixPage.setPrefixGenerator(prefixGenerator);
+    UnsafeCarbonRowPage page = createPage(tableFieldStat);
+    ReUsableByteArrayDataOutputStream outputStream =
+        new ReUsableByteArrayDataOutputStream(new ByteArrayOutputStream());
+    Random random = new Random(sortColumnTypes.length * 31 + sortColumnTypes[0].getId());
+    for (int i = 0; i < ROW_COUNT; i++) {
+      Object[] row = new Object[sortColumnTypes.length + 1];
+      for (int j = 0; j < sortColumnTypes.length; j++) {
+        row[j] = createValue(sortColumnTypes[j], random);
+      }
+      // row id as measure, to identify the row after sort
+      row[sortColumnTypes.length] = i;
+      prefixPage.addRow(row, outputStream);
+      page.addRow(row, outputStream);
+    }
+    Assert.assertNotNull(prefixPage.getPrefixes());
+    boolean hasNoDictSortColumns = parameters.getNumberOfNoDictSortColumns() > 0;
+    UnsafeSortDataRows.sortPage(prefixPage, hasNoDictSortColumns);
+    UnsafeSortDataRows.sortPage(page, hasNoDictSortColumns);
+    try {
+      for (int i = 0; i < ROW_COUNT; i++) {
+        IntermediateSortTempRow prefixRow = getRow(prefixPage, i);
+        IntermediateSortTempRow row = getRow(page, i);
+        Assert.assertArrayEquals("row " + i, row.getNoSortDimsAndMeasures(),
+            prefixRow.getNoSortDimsAndMeasures());
+      }
+    } finally {
+      prefixPage.freeMemory();
+      page.freeMemory();
+    }
+  }
+
+  private static Object createValue(DataType dataType, Random random) {
+    boolean isNull = random.nextInt(10) == 0;
+    if (dataType == DataTypes.STRING) {
+      if (isNull) {
+        return CarbonCommonConstants.MEMBER_DEFAULT_VAL_ARRAY;
+      }
+      // strings with common prefix longer than the sort prefix, and bytes above 0x7F
+      String[] values = { "", "a", "abcdefgh", "abcdefghij", "abcdefghijk", "zz", "été" };
+      String value = values[random.nextInt(values.length)];
+      if (random.nextBoolean()) {
+        value = value + random.nextInt(20);
+      }
+      return value.getBytes(StandardCharsets.UTF_8);
+    } else if (dataType == DataTypes.DATE) {
+      // surrogate key of direct dictionary, 1 is null
+      return isNull ? 1 : 2 + random.nextInt(100);
+    }
+    if (isNull) {
+      return null;
+    }
+    int value = random.nextInt(200) - 100;
+    if (dataType == DataTypes.SHORT) {
+      return random.nextInt(20) == 0 ? Short.MIN_VALUE : (short) value;
+    } else if (dataType == DataTypes.INT) {
+      return random.nextInt(20) == 0 ? Integer.MIN_VALUE : value;
+    } else {
+      // long and timestamp
+      return random.nextInt(20) == 0 ? Long.MIN_VALUE : value * 1000000000L;
+    }
+  }
+
+  private static IntermediateSortTempRow getRow(UnsafeCarbonRowPage page, int index) {
+    return page.getRow(page.getBuffer().get(index) + page.getDataBlock().getBaseOffset());
+  }
+
+  private static UnsafeCarbonRowPage createPage(TableFieldStat tableFieldStat) {
+    String taskId = ThreadLocalTaskInfo.getCarbonTaskInfo().getTaskId();
+    return new UnsafeCarbonRowPage(tableFieldStat,
+        UnsafeMemoryManager.allocateMemoryWithRetry(taskId, 1024 * 1024), taskId, true);
+  }
+
+  private static CarbonTable createTable(DataType... sortColumnTypes) {
+    TableSchemaBuilder builder = TableSchema.builder();
+    AtomicInteger valIndex = new AtomicInteger(0);
+    List<ColumnSchema> sortColumns = new ArrayList<>();
+    for (int i = 0; i < sortColumnTypes.length; i++) {
+      sortColumns.add(builder
+          .addColumn(new StructField("c" + i, sortColumnTypes[i]), valIndex, true, false));
+    }
+    builder.setSortColumns(sortColumns);
+    builder.addColumn(new StructField("id", DataTypes.INT), valIndex, false, false);
+    TableSchema schema = builder.tableName("prefix_test").build();
+    return CarbonTable.builder().tableName("prefix_test").databaseName("default")
+        .tablePath("./prefix_test").tableSchema(schema).build();
+  }
+
+  private static SortParameters createSortParameters(CarbonTable table) {
+    List<CarbonDimension> dimensions = table.getVisibleDimensions();
+    boolean[] noDictionaryColMapping = new boolean[dimensions.size()];
+    boolean[] sortColumnMapping = new boolean[dimensions.size()];
+    int noDictionaryCount = 0;
+    for (int i = 0; i < dimensions.size(); i++) {
+      sortColumnMapping[i] = dimensions.get(i).isSortColumn();
+      if (dimensions.get(i).getDataType() != DataTypes.DATE) {
+        noDictionaryColMapping[i] = true;
+        noDictionaryCount++;
+      }
+    }
+    return SortParameters.createSortParameters(table, "default", "prefix_test",
+        dimensions.size(), 0, table.getVisibleMeasures().size(), noDictionaryCount, "0", "0",
+        noDictionaryColMapping, sortColumnMapping, new boolean[dimensions.size()], false, 1);
+  }
+}
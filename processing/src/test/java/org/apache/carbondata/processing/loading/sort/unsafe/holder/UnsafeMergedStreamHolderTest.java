@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort.unsafe.holder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
+import org.apache.carbondata.processing.sort.sortdata.IntermediateSortTempRowComparator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class UnsafeMergedStreamHolderTest {
+
+  private static final Comparator<IntermediateSortTempRow> COMPARATOR =
+      new IntermediateSortTempRowComparator(new boolean[] { false }, new DataType[0]);
+
+  @Test public void testMergedRowsAreSorted() throws Exception {
+    ExecutorService executorService = Executors.newFixedThreadPool(2);
+    try {
+      List<SortTempChunkHolder> group1 = new ArrayList<>();
+      group1.add(createHolder(1, 4, 7, 10));
+      group1.add(createHolder(2, 5, 8));
+      List<SortTempChunkHolder> group2 = new ArrayList<>();
+      group2.add(createHolder(3, 6, 9));
+      group2.add(createHolder(0, 11));
+      // batch size smaller than rows so that rows are handed over in multiple batches
+      SortTempChunkHolder merged1 =
+          new UnsafeMergedStreamHolder(group1, COMPARATOR, 2, executorService);
+      SortTempChunkHolder merged2 =
+          new UnsafeMergedStreamHolder(group2, COMPARATOR, 2, executorService);
+      Assert.assertEquals(7, merged1.numberOfRows());
+      Assert.assertEquals(5, merged2.numberOfRows());
+      List<Integer> values = new ArrayList<>();
+      for (SortTempChunkHolder merged : new SortTempChunkHolder[] { merged1, merged2 }) {
+        int previous = Integer.MIN_VALUE;
+        while (merged.hasNext()) {
+          merged.readRow();
+          int value = merged.getRow().getDictSortDims()[0];
+          Assert.assertTrue(value >= previous);
+          previous = value;
+          values.add(value);
+        }
+        merged.close();
+      }
+      Assert.assertEquals(12, values.size());
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  private static SortTempChunkHolder createHolder(int... sortedValues) throws Exception {
+    SortTempChunkHolder holder = new ArrayChunkHolder(sortedValues);
+    holder.readRow();
+    return holder;
+  }
+
+  /**
+   * holder over sorted values of a dictionary sort column
+   */
+  private static class ArrayChunkHolder implements SortTempChunkHolder {
+
+    private int[] values;
+
+    private int index;
+
+    private IntermediateSortTempRow row;
+
+    ArrayChunkHolder(int[] values) {
+      this.values = values;
+    }
+
+    @Override public boolean hasNext() {
+      return index < values.length;
+    }
+
+    @Override public void readRow() {
+      row = new IntermediateSortTempRow(new int[] { values[index++] }, new Object[0],
+          new byte[0]);
+    }
+
+    @Override public IntermediateSortTempRow getRow() {
+      return row;
+    }
+
+    @Override public int numberOfRows() {
+      return values.length;
+    }
+
+    @Override public void close() {
+    }
+
+    @Override public int compareTo(SortTempChunkHolder o) {
+      return COMPARATOR.compare(row, o.getRow());
+    }
+  }
+}
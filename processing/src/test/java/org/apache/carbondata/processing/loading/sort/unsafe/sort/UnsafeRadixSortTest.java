@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.loading.sort.unsafe.sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.apache.carbondata.core.memory.CarbonUnsafe;
+import org.apache.carbondata.core.memory.IntPointerBuffer;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeCarbonRow;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class UnsafeRadixSortTest {
+
+  @Test public void testRowsAreSortedByPrefixAndComparator() {
+    Random random = new Random(7);
+    int size = 5000;
+    final long[] keys = new long[size];
+    long[] prefixes = new long[size + 10];
+    IntPointerBuffer pointers = new IntPointerBuffer(size + 10);
+    for (int i = 0; i < size; i++) {
+      // few distinct prefixes, so that many rows are compared by the comparator
+      keys[i] = ((long) random.nextInt(50) << 40) | random.nextInt(1000);
+      prefixes[i] = keys[i] >>> 40;
+      pointers.set(i);
+    }
+    sort(pointers, prefixes, size, false, keys);
+    for (int i = 1; i < size; i++) {
+      Assert.assertTrue(keys[pointers.get(i - 1)] <= keys[pointers.get(i)]);
+      Assert.assertEquals(keys[pointers.get(i)] >>> 40, prefixes[i]);
+    }
+  }
+
+  @Test public void testCompletePrefixIsSortedUnsignedAndStable() {
+    Random random = new Random(11);
+    int size = 3000;
+    long[] keys = new long[size];
+    long[] prefixes = new long[size];
+    IntPointerBuffer pointers = new IntPointerBuffer(size);
+    for (int i = 0; i < size; i++) {
+      keys[i] = random.nextInt(4) * 0x4000000000000000L + random.nextInt(3);
+      prefixes[i] = keys[i];
+      pointers.set(i);
+    }
+    sort(pointers, prefixes, size, true, null);
+    for (int i = 1; i < size; i++) {
+      int compare = Long.compareUnsigned(keys[pointers.get(i - 1)], keys[pointers.get(i)]);
+      Assert.assertTrue(compare <= 0);
+      if (compare == 0) {
+        Assert.assertTrue(pointers.get(i - 1) < pointers.get(i));
+      }
+    }
+  }
+
+  @Test public void testPrefixOfDictionaryColumns() {
+    UnsafeRowPrefixGenerator generator =
+        new UnsafeRowPrefixGenerator(new boolean[] { false, false }, new DataType[0], 2);
+    Assert.assertTrue(generator.isPrefixSupported());
+    Assert.assertTrue(generator.isPrefixComplete());
+    byte[] row1 = new RowBuilder().dict(1).dict(7).build();
+    byte[] row2 = new RowBuilder().dict(2).dict(0).build();
+    byte[] row3 = new RowBuilder().dict(2).dict(3).build();
+    assertOrdered(generator, row1, row2, row3);
+    Assert.assertEquals(getPrefix(generator, row3), getPrefix(generator,
+        new RowBuilder().dict(2).dict(3).build()));
+  }
+
+  @Test public void testPrefixOfNoDictionaryColumns() {
+    UnsafeRowPrefixGenerator generator = new UnsafeRowPrefixGenerator(
+        new boolean[] { true, false, true },
+        new DataType[] { DataTypes.INT, DataTypes.STRING }, 1);
+    Assert.assertTrue(generator.isPrefixSupported());
+    Assert.assertFalse(generator.isPrefixComplete());
+    // null, negative and positive values of the int column
+    byte[] row1 = new RowBuilder().dict(5).noDict(null).noDict(bytes("z")).build();
+    byte[] row2 = new RowBuilder().dict(1).noDict(intBytes(-3)).noDict(bytes("a")).build();
+    byte[] row3 = new RowBuilder().dict(1).noDict(intBytes(2)).noDict(bytes("a")).build();
+    byte[] row4 = new RowBuilder().dict(2).noDict(intBytes(2)).noDict(bytes("a")).build();
+    assertOrdered(generator, row1, row2, row3);
+    // dictionary column is truncated to 3 bytes
+    Assert.assertEquals(getPrefix(generator, row3), getPrefix(generator, row4));
+
+    generator = new UnsafeRowPrefixGenerator(new boolean[] { true, true },
+        new DataType[] { DataTypes.STRING, DataTypes.INT }, 0);
+    Assert.assertFalse(generator.isPrefixComplete());
+    byte[] row5 = new RowBuilder().noDict(bytes("ab")).noDict(intBytes(9)).build();
+    byte[] row6 = new RowBuilder().noDict(bytes("abcdefgh1")).noDict(intBytes(1)).build();
+    byte[] row7 = new RowBuilder().noDict(bytes("abcdefgh2")).noDict(intBytes(0)).build();
+    byte[] row8 = new RowBuilder().noDict(new byte[] { (byte) 0xFF }).noDict(intBytes(0)).build();
+    assertOrdered(generator, row5, row6, row8);
+    // equal in the prefix, left to the comparator
+    Assert.assertEquals(getPrefix(generator, row6), getPrefix(generator, row7));
+  }
+
+  @Test public void testPrefixIsNotSupportedForDoubleColumn() {
+    UnsafeRowPrefixGenerator generator = new UnsafeRowPrefixGenerator(new boolean[] { true },
+        new DataType[] { DataTypes.DOUBLE }, 0);
+    Assert.assertFalse(generator.isPrefixSupported());
+    Assert.assertFalse(generator.isPrefixComplete());
+    Assert.assertFalse(
+        new UnsafeRowPrefixGenerator(new boolean[0], new DataType[0], 0).isPrefixSupported());
+  }
+
+  private static void sort(IntPointerBuffer pointers, long[] prefixes, int size,
+      boolean isPrefixComplete, final long[] keys) {
+    TimSort<UnsafeCarbonRow, IntPointerBuffer> timSort =
+        new TimSort<>(new UnsafeIntSortDataFormat(null) {
+          @Override
+          public UnsafeCarbonRow getKey(IntPointerBuffer data, int pos, UnsafeCarbonRow reuse) {
+            reuse.address = data.get(pos);
+            return reuse;
+          }
+        });
+    Comparator<UnsafeCarbonRow> comparator = new Comparator<UnsafeCarbonRow>() {
+      @Override
+      public int compare(UnsafeCarbonRow row1, UnsafeCarbonRow row2) {
+        return Long.compare(keys[(int) row1.address], keys[(int) row2.address]);
+      }
+    };
+    UnsafeRadixSort.sort(pointers, prefixes, size, isPrefixComplete, timSort, comparator);
+  }
+
+  private static void assertOrdered(UnsafeRowPrefixGenerator generator, byte[]... rows) {
+    for (int i = 1; i < rows.length; i++) {
+      Assert.assertTrue("row " + i,
+          Long.compareUnsigned(getPrefix(generator, rows[i - 1]), getPrefix(generator, rows[i]))
+              < 0);
+    }
+  }
+
+  private static long getPrefix(UnsafeRowPrefixGenerator generator, byte[] row) {
+    return generator.getPrefix(row, CarbonUnsafe.BYTE_ARRAY_OFFSET);
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.ISO_8859_1);
+  }
+
+  private static byte[] intBytes(int value) {
+    byte[] bytes = new byte[4];
+    CarbonUnsafe.getUnsafe().putInt(bytes, CarbonUnsafe.BYTE_ARRAY_OFFSET, value);
+    return bytes;
+  }
+
+  /**
+   * writes the sort columns of a row like SortStepRowHandler, dictionary columns first and then
+   * the length and bytes of no dictionary columns
+   */
+  private static class RowBuilder {
+
+    private byte[] row = new byte[0];
+
+    private int dictSize;
+
+    RowBuilder dict(int value) {
+      byte[] bytes = intBytes(value);
+      byte[] newRow = new byte[row.length + 4];
+      System.arraycopy(row, 0, newRow, 0, dictSize);
+      System.arraycopy(bytes, 0, newRow, dictSize, 4);
+      System.arraycopy(row, dictSize, newRow, dictSize + 4, row.length - dictSize);
+      dictSize += 4;
+      row = newRow;
+      return this;
+    }
+
+    RowBuilder noDict(byte[] value) {
+      int length = null == value ? 0 : value.length;
+      byte[] newRow = Arrays.copyOf(row, row.length + 2 + length);
+      CarbonUnsafe.getUnsafe()
+          .putShort(newRow, CarbonUnsafe.BYTE_ARRAY_OFFSET + row.length, (short) length);
+      if (null != value) {
+        System.arraycopy(value, 0, newRow, row.length + 2, length);
+      }
+      row = newRow;
+      return this;
+    }
+
+    byte[] build() {
+      return row;
+    }
+  }
+}
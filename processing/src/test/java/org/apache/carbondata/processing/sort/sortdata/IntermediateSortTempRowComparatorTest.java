@@ -175,4 +175,32 @@ public class IntermediateSortTempRowComparatorTest {
     int res = new_comparator.compare( a1, a);
     Assert.assertTrue(res > 0);
   }
-} 
+
+  @Test public void comparestringwithprefix() {
+    DataType noDicDataTypes[] = { DataTypes.STRING, DataTypes.STRING };
+    boolean noDicSortColumnMapping[] = { true, true };
+    new_comparator = new IntermediateSortTempRowComparator(noDicSortColumnMapping, noDicDataTypes);
+
+    int[] dictSortDims = {};
+    byte[] noSortDimsAndMeasures = {1,2,3};
+    // first 8 bytes are same, so prefix is equal and full value is compared
+    IntermediateSortTempRow a = new IntermediateSortTempRow(dictSortDims,
+        new Object[] { "abcdefgh1".getBytes(), "b".getBytes() }, noSortDimsAndMeasures);
+    IntermediateSortTempRow b = new IntermediateSortTempRow(dictSortDims,
+        new Object[] { "abcdefgh2".getBytes(), "a".getBytes() }, noSortDimsAndMeasures);
+    Assert.assertTrue(new_comparator.compare(a, b) < 0);
+    Assert.assertTrue(new_comparator.compare(b, a) > 0);
+    // shorter value which is prefix of other value is less
+    IntermediateSortTempRow c = new IntermediateSortTempRow(dictSortDims,
+        new Object[] { "abc".getBytes(), "z".getBytes() }, noSortDimsAndMeasures);
+    Assert.assertTrue(new_comparator.compare(c, a) < 0);
+    // bytes are compared as unsigned
+    IntermediateSortTempRow d = new IntermediateSortTempRow(dictSortDims,
+        new Object[] { new byte[] { (byte) 0xC3, 0x41 }, "a".getBytes() }, noSortDimsAndMeasures);
+    Assert.assertTrue(new_comparator.compare(a, d) < 0);
+    // prefix is same, second sort column decides
+    IntermediateSortTempRow e = new IntermediateSortTempRow(dictSortDims,
+        new Object[] { "abcdefgh1".getBytes(), "a".getBytes() }, noSortDimsAndMeasures);
+    Assert.assertTrue(new_comparator.compare(a, e) > 0);
+  }
+}
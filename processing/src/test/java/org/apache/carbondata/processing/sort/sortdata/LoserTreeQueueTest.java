@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.sort.sortdata;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LoserTreeQueueTest {
+
+  @Test public void testMergeOfSortedHolders() {
+    Random random = new Random(7);
+    // different number of holders to cover trees which are not complete
+    for (int numberOfHolders = 1; numberOfHolders <= 9; numberOfHolders++) {
+      LoserTreeQueue<Holder> queue = new LoserTreeQueue<>(2);
+      int totalValues = 0;
+      for (int i = 0; i < numberOfHolders; i++) {
+        int[] values = new int[1 + random.nextInt(20)];
+        int value = random.nextInt(10);
+        for (int j = 0; j < values.length; j++) {
+          value += random.nextInt(5);
+          values[j] = value;
+        }
+        totalValues += values.length;
+        queue.add(new Holder(values));
+      }
+      List<Integer> merged = new ArrayList<>();
+      while (!queue.isEmpty()) {
+        Holder holder = queue.poll();
+        merged.add(holder.current());
+        if (holder.next()) {
+          queue.add(holder);
+        }
+      }
+      Assert.assertEquals(totalValues, merged.size());
+      for (int i = 1; i < merged.size(); i++) {
+        Assert.assertTrue(merged.get(i - 1) <= merged.get(i));
+      }
+    }
+  }
+
+  @Test public void testIteratorAndAddAfterPoll() {
+    LoserTreeQueue<Holder> queue = new LoserTreeQueue<>(3);
+    queue.add(new Holder(new int[] { 5 }));
+    queue.add(new Holder(new int[] { 1, 9 }));
+    Holder polled = queue.poll();
+    Assert.assertEquals(1, polled.current());
+    // polled holder is not added back, so it is not present in the queue
+    Iterator<Holder> iterator = queue.iterator();
+    Assert.assertEquals(5, iterator.next().current());
+    Assert.assertFalse(iterator.hasNext());
+    // new holder added after polling is started
+    queue.add(new Holder(new int[] { 3 }));
+    Assert.assertEquals(2, queue.size());
+    Assert.assertEquals(3, queue.poll().current());
+    Assert.assertEquals(5, queue.poll().current());
+    Assert.assertNull(queue.poll());
+    Assert.assertEquals(0, queue.size());
+  }
+
+  private static class Holder implements Comparable<Holder> {
+
+    private int[] values;
+
+    private int index;
+
+    Holder(int[] values) {
+      this.values = values;
+    }
+
+    int current() {
+      return values[index];
+    }
+
+    boolean next() {
+      return ++index < values.length;
+    }
+
+    @Override public int compareTo(Holder o) {
+      return Integer.compare(current(), o.current());
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.processing.sort.sortdata;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.carbondata.processing.loading.row.IntermediateSortTempRow;
+import org.apache.carbondata.processing.sort.exception.CarbonSortKeyAndGroupByException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SortTempFileRowReaderTest {
+
+  private static final SortTempFileRowReader.RowDecoder DECODER =
+      new SortTempFileRowReader.RowDecoder() {
+        @Override
+        public IntermediateSortTempRow decode(DataInputStream stream) throws IOException {
+          return new IntermediateSortTempRow(new int[] { stream.readInt() }, new Object[0],
+              new byte[0]);
+        }
+      };
+
+  @Test public void testReadWithPrefetch() throws Exception {
+    // batch size which does not divide the rows, so that last batch is partial
+    assertRows(new SortTempFileRowReader(createStream(10), 10, DECODER, true, 3, "test"), 10);
+    assertRows(new SortTempFileRowReader(createStream(10), 10, DECODER, true, 20, "test"), 10);
+    assertRows(new SortTempFileRowReader(createStream(0), 0, DECODER, true, 3, "test"), 0);
+  }
+
+  @Test public void testReadWithoutPrefetch() throws Exception {
+    assertRows(new SortTempFileRowReader(createStream(10), 10, DECODER, false, 3, "test"), 10);
+  }
+
+  @Test(expected = CarbonSortKeyAndGroupByException.class)
+  public void testFailureOfPrefetchIsThrown() throws Exception {
+    // stream has less rows than the entry count
+    SortTempFileRowReader reader =
+        new SortTempFileRowReader(createStream(4), 10, DECODER, true, 3, "test");
+    try {
+      while (reader.hasNext()) {
+        reader.next();
+      }
+    } finally {
+      reader.close();
+    }
+  }
+
+  @Test public void testCloseWaitsForPrefetch() throws Exception {
+    final CountDownLatch decodeStarted = new CountDownLatch(1);
+    final AtomicBoolean streamClosed = new AtomicBoolean();
+    final AtomicBoolean readAfterClose = new AtomicBoolean();
+    DataInputStream stream = new DataInputStream(createStream(10)) {
+      @Override
+      public void close() throws IOException {
+        streamClosed.set(true);
+        super.close();
+      }
+    };
+    SortTempFileRowReader.RowDecoder slowDecoder = new SortTempFileRowReader.RowDecoder() {
+      @Override
+      public IntermediateSortTempRow decode(DataInputStream stream) throws IOException {
+        decodeStarted.countDown();
+        try {
+          Thread.sleep(10);
+        } catch (InterruptedException e) {
+          // continue reading, as the reader does not interrupt the prefetch
+        }
+        if (streamClosed.get()) {
+          readAfterClose.set(true);
+        }
+        return DECODER.decode(stream);
+      }
+    };
+    SortTempFileRowReader reader =
+        new SortTempFileRowReader(stream, 10, slowDecoder, true, 10, "test");
+    decodeStarted.await();
+    reader.close();
+    Assert.assertTrue(streamClosed.get());
+    Assert.assertFalse(readAfterClose.get());
+  }
+
+  private static void assertRows(SortTempFileRowReader reader, int expectedRows)
+      throws CarbonSortKeyAndGroupByException {
+    int rows = 0;
+    while (reader.hasNext()) {
+      Assert.assertEquals(rows, reader.next().getDictSortDims()[0]);
+      rows++;
+    }
+    reader.close();
+    Assert.assertEquals(expectedRows, rows);
+  }
+
+  private static DataInputStream createStream(int numberOfRows) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream stream = new DataOutputStream(bytes);
+    for (int i = 0; i < numberOfRows; i++) {
+      stream.writeInt(i);
+    }
+    stream.close();
+    return new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+  }
+}
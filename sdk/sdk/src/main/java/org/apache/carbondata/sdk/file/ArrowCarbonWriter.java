@@ -0,0 +1,333 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.sdk.file;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.UUID;
+
+import org.apache.carbondata.common.annotations.InterfaceAudience;
+import org.apache.carbondata.common.annotations.InterfaceStability;
+import org.apache.carbondata.core.constants.CarbonCommonConstants;
+import org.apache.carbondata.core.keygenerator.directdictionary.timestamp.DateDirectDictionaryGenerator;
+import org.apache.carbondata.core.memory.CarbonUnsafe;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.Field;
+import org.apache.carbondata.hadoop.api.CarbonTableOutputFormat;
+import org.apache.carbondata.hadoop.internal.ObjectArrayWritable;
+import org.apache.carbondata.processing.loading.model.CarbonLoadModel;
+import org.apache.carbondata.sdk.file.arrow.ArrowUtils;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.SmallIntVector;
+import org.apache.arrow.vector.TimeStampMicroTZVector;
+import org.apache.arrow.vector.TinyIntVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorLoader;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.util.ByteArrayReadableSeekableByteChannel;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapreduce.JobID;
+import org.apache.hadoop.mapreduce.RecordWriter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.TaskID;
+import org.apache.hadoop.mapreduce.TaskType;
+import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
+
+/**
+ * Writer to write apache arrow batches to carbondata file.
+ * The values of each arrow vector are read column wise into the java objects of the carbon data
+ * type, so the rows are loaded without parsing and converting the values like AvroCarbonWriter.
+ * Complex columns are not supported.
+ */
+@InterfaceAudience.User
+@InterfaceStability.Evolving
+public class ArrowCarbonWriter extends CarbonWriter {
+
+  private RecordWriter<NullWritable, ObjectArrayWritable> recordWriter;
+  private TaskAttemptContext context;
+  private ObjectArrayWritable writable;
+  private Field[] fields;
+  private BufferAllocator allocator;
+
+  ArrowCarbonWriter(CarbonLoadModel loadModel, Configuration hadoopConf, Schema schema)
+      throws IOException {
+    CarbonTableOutputFormat.setLoadModel(hadoopConf, loadModel);
+    CarbonTableOutputFormat format = new CarbonTableOutputFormat();
+    JobID jobId = new JobID(UUID.randomUUID().toString(), 0);
+    Random random = new Random();
+    TaskID task = new TaskID(jobId, TaskType.MAP, random.nextInt());
+    TaskAttemptID attemptID = new TaskAttemptID(task, random.nextInt());
+    TaskAttemptContextImpl context = new TaskAttemptContextImpl(hadoopConf, attemptID);
+    this.recordWriter = format.getRecordWriter(context);
+    this.context = context;
+    this.writable = new ObjectArrayWritable();
+    this.fields = schema.getFields();
+    for (Field field : fields) {
+      if (field.getDataType().isComplexType()) {
+        throw new UnsupportedOperationException(
+            "Complex column " + field.getFieldName() + " is not supported with arrow input");
+      }
+    }
+    this.allocator =
+        ArrowUtils.rootAllocator.newChildAllocator("fromArrowBuffer", 0, Long.MAX_VALUE);
+  }
+
+  /**
+   * Write arrow batch, input is of type VectorSchemaRoot or ArrowRecordBatch.
+   * Vectors are matched to the columns of the schema by name, ArrowRecordBatch should be of
+   * the arrow schema of the carbon schema, like the batch read by ArrowCarbonReader.
+   * IOException is thrown if the arrow type of a vector is not the arrow type of its column.
+   * The input is not closed by the writer.
+   */
+  @Override
+  public void write(Object object) throws IOException {
+    if (object instanceof VectorSchemaRoot) {
+      writeVectors((VectorSchemaRoot) object);
+    } else if (object instanceof ArrowRecordBatch) {
+      VectorSchemaRoot root = VectorSchemaRoot.create(
+          ArrowUtils.toArrowSchema(new Schema(fields), TimeZone.getDefault().getID()), allocator);
+      try {
+        new VectorLoader(root).load((ArrowRecordBatch) object);
+        writeVectors(root);
+      } finally {
+        root.close();
+      }
+    } else {
+      throw new IOException("Unsupported input for arrow writer: "
+          + (object == null ? null : object.getClass().getName()));
+    }
+  }
+
+  /**
+   * Write the batches of the serialized arrow file, like the byte[] returned by
+   * ArrowCarbonReader.readArrowBatch
+   *
+   * @param batchBytes serialized arrow file
+   * @throws IOException
+   */
+  public void writeArrowBatch(byte[] batchBytes) throws IOException {
+    ArrowFileReader reader =
+        new ArrowFileReader(new ByteArrayReadableSeekableByteChannel(batchBytes), allocator);
+    try {
+      VectorSchemaRoot root = reader.getVectorSchemaRoot();
+      while (reader.loadNextBatch()) {
+        writeVectors(root);
+      }
+    } finally {
+      reader.close();
+    }
+  }
+
+  /**
+   * Write the batches of the serialized arrow file in unsafe memory, the length of the arrow
+   * file followed by its content, like the address returned by
+   * ArrowCarbonReader.readArrowBatchAddress. So that python or c modules can send the arrow
+   * batches to the writer. The memory is not freed by the writer.
+   *
+   * @param address address of the unsafe memory where arrow buffer is stored
+   * @throws IOException
+   */
+  public void writeArrowBatchAddress(long address) throws IOException {
+    int length = CarbonUnsafe.getUnsafe().getInt(address);
+    byte[] batchBytes = new byte[length];
+    CarbonUnsafe.getUnsafe().copyMemory(null, address + CarbonCommonConstants.INT_SIZE_IN_BYTE,
+        batchBytes, CarbonUnsafe.BYTE_ARRAY_OFFSET, length);
+    writeArrowBatch(batchBytes);
+  }
+
+  private void writeVectors(VectorSchemaRoot root) throws IOException {
+    int rowCount = root.getRowCount();
+    if (rowCount == 0) {
+      return;
+    }
+    Object[][] columns = new Object[fields.length][];
+    for (int i = 0; i < fields.length; i++) {
+      FieldVector vector = root.getVector(fields[i].getFieldName());
+      if (vector == null) {
+        throw new IOException("Column " + fields[i].getFieldName() + " is not in arrow batch");
+      }
+      checkVectorType(vector, fields[i]);
+      columns[i] = readColumn(vector, fields[i].getDataType(), rowCount);
+    }
+    try {
+      for (int rowId = 0; rowId < rowCount; rowId++) {
+        Object[] row = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+          row[i] = columns[i][rowId];
+        }
+        writable.set(row);
+        recordWriter.write(NullWritable.get(), writable);
+      }
+    } catch (Exception e) {
+      throw new IOException(e);
+    }
+  }
+
+  /**
+   * Check the arrow type of the vector is the arrow type of the column, like the vector read by
+   * ArrowCarbonReader. The time zone of the timestamp vector is not checked, as the values are
+   * microseconds from epoch in UTC for any time zone.
+   */
+  private static void checkVectorType(FieldVector vector, Field field) throws IOException {
+    ArrowType vectorType = vector.getField().getType();
+    ArrowType columnType =
+        ArrowUtils.toArrowType(field.getDataType(), TimeZone.getDefault().getID());
+    boolean isMatched;
+    if (vectorType instanceof ArrowType.Timestamp && columnType instanceof ArrowType.Timestamp) {
+      ArrowType.Timestamp timestampType = (ArrowType.Timestamp) vectorType;
+      isMatched = timestampType.getUnit() == TimeUnit.MICROSECOND
+          && timestampType.getTimezone() != null;
+    } else {
+      isMatched = columnType.equals(vectorType);
+    }
+    if (!isMatched) {
+      throw new IOException("Column " + field.getFieldName() + " of type "
+          + field.getDataType().getName() + " can not be written from arrow vector of type "
+          + vectorType + ", expected arrow type is " + columnType);
+    }
+  }
+
+  /**
+   * Read the values of the vector as the objects which are loaded without converter,
+   * date as milliseconds of the day and timestamp as milliseconds
+   */
+  private static Object[] readColumn(FieldVector vector, DataType dataType, int rowCount) {
+    Object[] column = new Object[rowCount];
+    if (vector instanceof VarCharVector) {
+      VarCharVector varCharVector = (VarCharVector) vector;
+      Charset charset = Charset.forName(CarbonCommonConstants.DEFAULT_CHARSET);
+      for (int i = 0; i < rowCount; i++) {
+        if (!varCharVector.isNull(i)) {
+          column[i] = new String(varCharVector.get(i), charset);
+        }
+      }
+    } else if (vector instanceof VarBinaryVector) {
+      VarBinaryVector varBinaryVector = (VarBinaryVector) vector;
+      for (int i = 0; i < rowCount; i++) {
+        if (!varBinaryVector.isNull(i)) {
+          column[i] = varBinaryVector.get(i);
+        }
+      }
+    } else if (vector instanceof BitVector) {
+      BitVector bitVector = (BitVector) vector;
+      for (int i = 0; i < rowCount; i++) {
+        if (!bitVector.isNull(i)) {
+          column[i] = bitVector.get(i) == 1;
+        }
+      }
+    } else if (vector instanceof TinyIntVector) {
+      TinyIntVector tinyIntVector = (TinyIntVector) vector;
+      for (int i = 0; i < rowCount; i++) {
+        if (!tinyIntVector.isNull(i)) {
+          column[i] = tinyIntVector.get(i);
+        }
+      }
+    } else if (vector instanceof SmallIntVector) {
+      SmallIntVector smallIntVector = (SmallIntVector) vector;
+      for (int i = 0; i < rowCount; i++) {
+        if (!smallIntVector.isNull(i)) {
+          column[i] = smallIntVector.get(i);
+        }
+      }
+    } else if (vector instanceof IntVector) {
+      IntVector intVector = (IntVector) vector;
+      for (int i = 0; i < rowCount; i++) {
+        if (!intVector.isNull(i)) {
+          column[i] = intVector.get(i);
+        }
+      }
+    } else if (vector instanceof BigIntVector) {
+      BigIntVector bigIntVector = (BigIntVector) vector;
+      for (int i = 0; i < rowCount; i++) {
+        if (!bigIntVector.isNull(i)) {
+          column[i] = bigIntVector.get(i);
+        }
+      }
+    } else if (vector instanceof Float4Vector) {
+      Float4Vector float4Vector = (Float4Vector) vector;
+      for (int i = 0; i < rowCount; i++) {
+        if (!float4Vector.isNull(i)) {
+          column[i] = float4Vector.get(i);
+        }
+      }
+    } else if (vector instanceof Float8Vector) {
+      Float8Vector float8Vector = (Float8Vector) vector;
+      for (int i = 0; i < rowCount; i++) {
+        if (!float8Vector.isNull(i)) {
+          column[i] = float8Vector.get(i);
+        }
+      }
+    } else if (vector instanceof DecimalVector) {
+      DecimalVector decimalVector = (DecimalVector) vector;
+      for (int i = 0; i < rowCount; i++) {
+        column[i] = decimalVector.getObject(i);
+      }
+    } else if (vector instanceof DateDayVector) {
+      DateDayVector dateDayVector = (DateDayVector) vector;
+      for (int i = 0; i < rowCount; i++) {
+        if (!dateDayVector.isNull(i)) {
+          column[i] = dateDayVector.get(i) * DateDirectDictionaryGenerator.MILLIS_PER_DAY;
+        }
+      }
+    } else if (vector instanceof TimeStampMicroTZVector) {
+      TimeStampMicroTZVector timeStampVector = (TimeStampMicroTZVector) vector;
+      for (int i = 0; i < rowCount; i++) {
+        if (!timeStampVector.isNull(i)) {
+          // round down, so that timestamp before epoch is not moved to the next millisecond
+          column[i] = Math.floorDiv(timeStampVector.get(i), 1000L);
+        }
+      }
+    } else {
+      throw new UnsupportedOperationException("Arrow vector " + vector.getClass().getSimpleName()
+          + " is not supported for " + dataType.getName() + " column");
+    }
+    return column;
+  }
+
+  /**
+   * Flush and close the writer
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      recordWriter.close(context);
+    } catch (InterruptedException e) {
+      throw new IOException(e);
+    } finally {
+      allocator.close();
+    }
+  }
+}
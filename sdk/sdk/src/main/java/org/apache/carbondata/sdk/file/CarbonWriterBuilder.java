@@ -86,7 +86,7 @@ public class CarbonWriterBuilder {
   private String[] invertedIndexColumns;
   private enum WRITER_TYPE {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2961
-    CSV, AVRO, JSON
+    CSV, AVRO, JSON, ARROW
   }
 
   private WRITER_TYPE writerType;
@@ -643,6 +643,33 @@ public class CarbonWriterBuilder {
     return this;
   }
 
+  /**
+   * to build a {@link CarbonWriter}, which accepts apache arrow batch
+   *
+   * @param carbonSchema carbon Schema object
+   * @return CarbonWriterBuilder
+   */
+  public CarbonWriterBuilder withArrowInput(Schema carbonSchema) {
+    Objects.requireNonNull(carbonSchema, "schema should not be null");
+    if (this.schema != null) {
+      throw new IllegalArgumentException("schema should be set only once");
+    }
+    this.schema = carbonSchema;
+    this.writerType = WRITER_TYPE.ARROW;
+    return this;
+  }
+
+  /**
+   * to build a {@link CarbonWriter}, which accepts apache arrow batch
+   *
+   * @param jsonSchema json Schema string
+   * @return CarbonWriterBuilder
+   */
+  public CarbonWriterBuilder withArrowInput(String jsonSchema) {
+    Objects.requireNonNull(jsonSchema, "schema should not be null");
+    return withArrowInput(Schema.parseJson(jsonSchema));
+  }
+
   public CarbonWriterBuilder withSchemaFile(String schemaFilePath) throws IOException {
     Objects.requireNonNull(schemaFilePath, "schema file path should not be null");
     if (path == null) {
@@ -664,7 +691,8 @@ public class CarbonWriterBuilder {
    * This writer is not thread safe,
    * use withThreadSafe() configuration in multi thread environment
    *
-   * @return CarbonWriter {AvroCarbonWriter/CSVCarbonWriter/JsonCarbonWriter based on Input Type }
+   * @return CarbonWriter {AvroCarbonWriter/CSVCarbonWriter/JsonCarbonWriter/ArrowCarbonWriter based
+   * on Input Type }
    * @throws IOException
    * @throws InvalidLoadOptionException
    */
@@ -673,8 +701,8 @@ public class CarbonWriterBuilder {
     if (this.writerType == null) {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-3553
       throw new RuntimeException(
-          "'writerType' must be set, use withCsvInput() or withAvroInput() or withJsonInput()  "
-              + "API based on input");
+          "'writerType' must be set, use withCsvInput() or withAvroInput() or withJsonInput() "
+              + "or withArrowInput() API based on input");
     }
     if (this.writtenByApp == null || this.writtenByApp.isEmpty()) {
       throw new RuntimeException(
@@ -711,6 +739,11 @@ public class CarbonWriterBuilder {
     } else if (this.writerType == WRITER_TYPE.JSON) {
       loadModel.setJsonFileLoad(true);
       return new JsonCarbonWriter(loadModel, hadoopConf);
+    } else if (this.writerType == WRITER_TYPE.ARROW) {
+      // arrow values are read as java objects of the column data type like AVRO records, so
+      // converter step is skipped
+      loadModel.setLoadWithoutConverterStep(true);
+      return new ArrowCarbonWriter(loadModel, hadoopConf, schema);
     } else {
       // CSV
       return new CSVCarbonWriter(loadModel, hadoopConf);
@@ -0,0 +1,390 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.sdk.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.datatype.Field;
+import org.apache.carbondata.sdk.file.arrow.ArrowConverter;
+import org.apache.carbondata.sdk.file.arrow.ArrowUtils;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampMicroTZVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.message.ArrowRecordBatch;
+import org.apache.commons.io.FileUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test suite for {@link ArrowCarbonWriter}
+ */
+public class ArrowCarbonWriterTest {
+
+  private static final int DATA_TYPE_ROW_COUNT = 20;
+
+  private static final String[] DATA_TYPE_COLUMNS =
+      { "id", "name", "flag", "day", "time", "amount", "photo" };
+
+  @Test
+  public void testWriteArrowVectors() throws Exception {
+    String path = "./testWriteArrowFiles";
+    FileUtils.deleteDirectory(new File(path));
+
+    Field[] fields = new Field[3];
+    fields[0] = new Field("name", DataTypes.STRING);
+    fields[1] = new Field("age", DataTypes.INT);
+    fields[2] = new Field("height", DataTypes.DOUBLE);
+    Schema schema = new Schema(fields);
+
+    BufferAllocator allocator =
+        ArrowUtils.rootAllocator.newChildAllocator("testArrowWriter", 0, Long.MAX_VALUE);
+    VectorSchemaRoot root = VectorSchemaRoot
+        .create(ArrowUtils.toArrowSchema(schema, TimeZone.getDefault().getID()), allocator);
+    VarCharVector nameVector = (VarCharVector) root.getVector("name");
+    IntVector ageVector = (IntVector) root.getVector("age");
+    Float8Vector heightVector = (Float8Vector) root.getVector("height");
+    int rowCount = 100;
+    nameVector.allocateNew();
+    ageVector.allocateNew(rowCount);
+    heightVector.allocateNew(rowCount);
+    for (int i = 0; i < rowCount; i++) {
+      nameVector.setSafe(i, ("robot" + i).getBytes(StandardCharsets.UTF_8));
+      if (i % 10 == 0) {
+        ageVector.setNull(i);
+      } else {
+        ageVector.set(i, i);
+      }
+      heightVector.set(i, (double) i / 2);
+    }
+    nameVector.setValueCount(rowCount);
+    ageVector.setValueCount(rowCount);
+    heightVector.setValueCount(rowCount);
+    root.setRowCount(rowCount);
+
+    CarbonWriter writer = CarbonWriter.builder()
+        .outputPath(path)
+        .withArrowInput(schema)
+        .writtenBy("ArrowCarbonWriterTest")
+        .build();
+    Assert.assertTrue(writer instanceof ArrowCarbonWriter);
+    // write the same batch twice
+    writer.write(root);
+    writer.write(root);
+    writer.close();
+    root.close();
+    allocator.close();
+
+    CarbonReader reader = CarbonReader.builder(path, "_temp")
+        .projection(new String[]{"name", "age", "height"})
+        .build();
+    int i = 0;
+    while (reader.hasNext()) {
+      Object[] row = (Object[]) reader.readNextRow();
+      int index = i % rowCount;
+      Assert.assertEquals("robot" + index, row[0]);
+      if (index % 10 == 0) {
+        Assert.assertNull(row[1]);
+      } else {
+        Assert.assertEquals(index, row[1]);
+      }
+      Assert.assertEquals((double) index / 2, row[2]);
+      i++;
+    }
+    Assert.assertEquals(2 * rowCount, i);
+    reader.close();
+
+    FileUtils.deleteDirectory(new File(path));
+  }
+
+  @Test(expected = IOException.class)
+  public void testWriteUnsupportedInput() throws Exception {
+    String path = "./testWriteArrowFiles";
+    FileUtils.deleteDirectory(new File(path));
+    Field[] fields = new Field[1];
+    fields[0] = new Field("name", DataTypes.STRING);
+    CarbonWriter writer = CarbonWriter.builder()
+        .outputPath(path)
+        .withArrowInput(new Schema(fields))
+        .writtenBy("ArrowCarbonWriterTest")
+        .build();
+    try {
+      writer.write(new String[]{"robot"});
+    } finally {
+      writer.close();
+      FileUtils.deleteDirectory(new File(path));
+    }
+  }
+
+  @Test
+  public void testWriteAllDataTypes() throws Exception {
+    String path = "./testWriteArrowDataTypes";
+    FileUtils.deleteDirectory(new File(path));
+    try {
+      writeAllDataTypes(path);
+      List<Object[]> rows = readRows(path);
+      Assert.assertEquals(DATA_TYPE_ROW_COUNT, rows.size());
+      for (int i = 0; i < DATA_TYPE_ROW_COUNT; i++) {
+        Object[] row = rows.get(i);
+        Assert.assertEquals(i, row[0]);
+        if (i % 5 == 4) {
+          for (int j = 1; j < row.length; j++) {
+            Assert.assertNull("row " + i + " column " + j, row[j]);
+          }
+          continue;
+        }
+        Assert.assertEquals("robot" + i, row[1]);
+        Assert.assertEquals(i % 3 == 0, row[2]);
+        // date is read as the days from epoch
+        Assert.assertEquals(getDay(i), row[3]);
+        // timestamp is stored in milliseconds and read as microseconds, it is rounded down
+        // also before epoch
+        Assert.assertEquals(Math.floorDiv(getTime(i), 1000L) * 1000L, row[4]);
+        Assert.assertEquals(0, getDecimal(i).compareTo((BigDecimal) row[5]));
+        Assert.assertArrayEquals(getBinary(i), (byte[]) row[6]);
+      }
+      // the values are rounded down before epoch
+      Assert.assertEquals(-86400000000L + 1000L, rows.get(0)[4]);
+    } finally {
+      FileUtils.deleteDirectory(new File(path));
+    }
+  }
+
+  @Test
+  public void testWriteArrowBatchReadByArrowReader() throws Exception {
+    String path = "./testWriteArrowBatch";
+    FileUtils.deleteDirectory(new File(path));
+    String sourcePath = path + "/source";
+    try {
+      writeAllDataTypes(sourcePath);
+      List<Object[]> rows = readRows(sourcePath);
+      Schema schema = CarbonSchemaReader.readSchema(sourcePath);
+
+      // serialized arrow file
+      String bytesPath = path + "/bytes";
+      ArrowCarbonWriter writer = buildWriter(bytesPath, schema);
+      ArrowCarbonReader reader = buildArrowReader(sourcePath);
+      try {
+        writer.writeArrowBatch(reader.readArrowBatch(schema));
+      } finally {
+        reader.close();
+        writer.close();
+      }
+      assertSameRows(rows, readRows(bytesPath));
+
+      // serialized arrow file in unsafe memory
+      String addressPath = path + "/address";
+      writer = buildWriter(addressPath, schema);
+      reader = buildArrowReader(sourcePath);
+      long address = reader.readArrowBatchAddress(schema);
+      try {
+        writer.writeArrowBatchAddress(address);
+      } finally {
+        reader.freeArrowBatchMemory(address);
+        reader.close();
+        writer.close();
+      }
+      assertSameRows(rows, readRows(addressPath));
+
+      // arrow record batch
+      String batchPath = path + "/batch";
+      writer = buildWriter(batchPath, schema);
+      reader = buildArrowReader(sourcePath);
+      BufferAllocator allocator =
+          ArrowUtils.rootAllocator.newChildAllocator("testArrowBatch", 0, Long.MAX_VALUE);
+      ArrowRecordBatch batch =
+          ArrowConverter.byteArrayToArrowBatch(reader.readArrowBatch(schema), allocator);
+      try {
+        writer.write(batch);
+      } finally {
+        batch.close();
+        reader.close();
+        writer.close();
+        allocator.close();
+      }
+      assertSameRows(rows, readRows(batchPath));
+    } finally {
+      FileUtils.deleteDirectory(new File(path));
+    }
+  }
+
+  @Test
+  public void testWriteVectorOfOtherType() throws Exception {
+    String path = "./testWriteArrowFiles";
+    FileUtils.deleteDirectory(new File(path));
+    // vector of long for int column
+    Field[] vectorFields = new Field[] { new Field("age", DataTypes.LONG) };
+    BufferAllocator allocator =
+        ArrowUtils.rootAllocator.newChildAllocator("testArrowWriter", 0, Long.MAX_VALUE);
+    VectorSchemaRoot root = VectorSchemaRoot.create(
+        ArrowUtils.toArrowSchema(new Schema(vectorFields), TimeZone.getDefault().getID()),
+        allocator);
+    BigIntVector ageVector = (BigIntVector) root.getVector("age");
+    ageVector.allocateNew(1);
+    ageVector.set(0, 1L);
+    ageVector.setValueCount(1);
+    root.setRowCount(1);
+    CarbonWriter writer = buildWriter(path,
+        new Schema(new Field[] { new Field("age", DataTypes.INT) }));
+    try {
+      writer.write(root);
+      Assert.fail("vector of other type should not be written");
+    } catch (IOException e) {
+      Assert.assertTrue(e.getMessage(), e.getMessage().contains("Column age of type INT"));
+    } finally {
+      writer.close();
+      root.close();
+      allocator.close();
+      FileUtils.deleteDirectory(new File(path));
+    }
+  }
+
+  /**
+   * write the rows of all the data types supported by arrow writer, every 5th row is null
+   * except id
+   */
+  private static void writeAllDataTypes(String path) throws Exception {
+    Field[] fields = new Field[7];
+    fields[0] = new Field("id", DataTypes.INT);
+    fields[1] = new Field("name", DataTypes.STRING);
+    fields[2] = new Field("flag", DataTypes.BOOLEAN);
+    fields[3] = new Field("day", DataTypes.DATE);
+    fields[4] = new Field("time", DataTypes.TIMESTAMP);
+    fields[5] = new Field("amount", DataTypes.createDecimalType(8, 2));
+    fields[6] = new Field("photo", DataTypes.BINARY);
+    Schema schema = new Schema(fields);
+    BufferAllocator allocator =
+        ArrowUtils.rootAllocator.newChildAllocator("testArrowWriter", 0, Long.MAX_VALUE);
+    VectorSchemaRoot root = VectorSchemaRoot
+        .create(ArrowUtils.toArrowSchema(schema, TimeZone.getDefault().getID()), allocator);
+    IntVector idVector = (IntVector) root.getVector("id");
+    VarCharVector nameVector = (VarCharVector) root.getVector("name");
+    BitVector flagVector = (BitVector) root.getVector("flag");
+    DateDayVector dayVector = (DateDayVector) root.getVector("day");
+    TimeStampMicroTZVector timeVector = (TimeStampMicroTZVector) root.getVector("time");
+    DecimalVector amountVector = (DecimalVector) root.getVector("amount");
+    VarBinaryVector photoVector = (VarBinaryVector) root.getVector("photo");
+    idVector.allocateNew(DATA_TYPE_ROW_COUNT);
+    nameVector.allocateNew();
+    flagVector.allocateNew(DATA_TYPE_ROW_COUNT);
+    dayVector.allocateNew(DATA_TYPE_ROW_COUNT);
+    timeVector.allocateNew(DATA_TYPE_ROW_COUNT);
+    amountVector.allocateNew(DATA_TYPE_ROW_COUNT);
+    photoVector.allocateNew();
+    for (int i = 0; i < DATA_TYPE_ROW_COUNT; i++) {
+      idVector.set(i, i);
+      if (i % 5 == 4) {
+        // the variable width vectors are null if the value is not set
+        flagVector.setNull(i);
+        dayVector.setNull(i);
+        timeVector.setNull(i);
+        amountVector.setNull(i);
+        continue;
+      }
+      nameVector.setSafe(i, ("robot" + i).getBytes(StandardCharsets.UTF_8));
+      flagVector.set(i, i % 3 == 0 ? 1 : 0);
+      dayVector.set(i, getDay(i));
+      timeVector.set(i, getTime(i));
+      amountVector.set(i, getDecimal(i));
+      photoVector.setSafe(i, getBinary(i));
+    }
+    idVector.setValueCount(DATA_TYPE_ROW_COUNT);
+    nameVector.setValueCount(DATA_TYPE_ROW_COUNT);
+    flagVector.setValueCount(DATA_TYPE_ROW_COUNT);
+    dayVector.setValueCount(DATA_TYPE_ROW_COUNT);
+    timeVector.setValueCount(DATA_TYPE_ROW_COUNT);
+    amountVector.setValueCount(DATA_TYPE_ROW_COUNT);
+    photoVector.setValueCount(DATA_TYPE_ROW_COUNT);
+    root.setRowCount(DATA_TYPE_ROW_COUNT);
+    CarbonWriter writer = buildWriter(path, schema);
+    try {
+      writer.write(root);
+    } finally {
+      writer.close();
+      root.close();
+      allocator.close();
+    }
+  }
+
+  // days from epoch, before epoch for the first rows
+  private static int getDay(int i) {
+    return (i - 5) * 400;
+  }
+
+  // microseconds from epoch, before epoch for the first rows and not in whole milliseconds
+  private static long getTime(int i) {
+    return (i - 1) * 86400000000L + 1500L;
+  }
+
+  private static BigDecimal getDecimal(int i) {
+    return BigDecimal.valueOf(i * 12345L - 100000L, 2);
+  }
+
+  private static byte[] getBinary(int i) {
+    return ("photo" + i).getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static ArrowCarbonWriter buildWriter(String path, Schema schema) throws Exception {
+    return (ArrowCarbonWriter) CarbonWriter.builder()
+        .outputPath(path)
+        .withArrowInput(schema)
+        .writtenBy("ArrowCarbonWriterTest")
+        .build();
+  }
+
+  private static ArrowCarbonReader buildArrowReader(String path) throws Exception {
+    return CarbonReader.builder(path, "_temp").withRowRecordReader().buildArrowReader();
+  }
+
+  private static List<Object[]> readRows(String path) throws Exception {
+    CarbonReader reader = CarbonReader.builder(path, "_temp")
+        .projection(DATA_TYPE_COLUMNS)
+        .build();
+    List<Object[]> rows = new ArrayList<>();
+    try {
+      while (reader.hasNext()) {
+        rows.add((Object[]) reader.readNextRow());
+      }
+    } finally {
+      reader.close();
+    }
+    return rows;
+  }
+
+  private static void assertSameRows(List<Object[]> expected, List<Object[]> actual) {
+    Assert.assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      Assert.assertArrayEquals("row " + i, expected.get(i), actual.get(i));
+    }
+  }
+}
@@ -49,6 +49,14 @@ public class CarbonStreamOutputFormat extends FileOutputFormat<Void, Object> {
 
   public static final int CARBON_STREAM_CACHE_SIZE_DEFAULT = 32 * 1024 * 1024;
 
+  /**
+   * number of rows of the column pages in the blocklet. If it is more than 0, the blocklets are
+   * stored as column pages with page level min/max, otherwise they are stored row by row
+   */
+  public static final String CARBON_STREAM_PAGE_ROW_NUMS = "carbon.stream.page.row.nums";
+
+  public static final int CARBON_STREAM_PAGE_ROW_NUMS_DEFAULT = 0;
+
   private static final String LOAD_Model = "mapreduce.output.carbon.load.model";
 
   private static final String SEGMENT_ID = "carbon.segment.id";
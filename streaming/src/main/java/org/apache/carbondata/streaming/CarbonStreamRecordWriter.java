@@ -33,6 +33,7 @@ import org.apache.carbondata.core.metadata.blocklet.index.BlockletMinMaxIndex;
 import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
 import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
 import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
 import org.apache.carbondata.core.reader.CarbonHeaderReader;
 import org.apache.carbondata.core.util.ByteUtil;
@@ -77,6 +78,7 @@ public class CarbonStreamRecordWriter extends RecordWriter<Void, Object> {
   private CarbonTable carbonTable;
   private int maxRowNums;
   private int maxCacheSize;
+  private int pageRowNums;
 
   // parser and converter
   private RowParser rowParser;
@@ -139,6 +141,8 @@ public class CarbonStreamRecordWriter extends RecordWriter<Void, Object> {
         CarbonStreamOutputFormat.CARBON_STREAM_BLOCKLET_ROW_NUMS_DEFAULT) - 1;
     maxCacheSize = hadoopConf.getInt(CarbonStreamOutputFormat.CARBON_STREAM_CACHE_SIZE,
         CarbonStreamOutputFormat.CARBON_STREAM_CACHE_SIZE_DEFAULT);
+    pageRowNums = hadoopConf.getInt(CarbonStreamOutputFormat.CARBON_STREAM_PAGE_ROW_NUMS,
+        CarbonStreamOutputFormat.CARBON_STREAM_PAGE_ROW_NUMS_DEFAULT);
 
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2025
     segmentDir = CarbonTablePath.getSegmentPath(
@@ -209,9 +213,13 @@ public class CarbonStreamRecordWriter extends RecordWriter<Void, Object> {
     nullBitSet = new BitSet(dataFields.length);
     int rowBufferSize = hadoopConf.getInt(CarbonStreamOutputFormat.CARBON_ENCODER_ROW_BUFFER_SIZE,
         CarbonStreamOutputFormat.CARBON_ENCODER_ROW_BUFFER_SIZE_DEFAULT);
+    CarbonColumn[] columns = new CarbonColumn[dataFields.length];
+    for (int i = 0; i < dataFields.length; i++) {
+      columns[i] = dataFields[i].getColumn();
+    }
     output = new StreamBlockletWriter(maxCacheSize, maxRowNums, rowBufferSize,
         isNoDictionaryDimensionColumn.length, measureCount,
-        measureDataTypes, compressorName);
+        measureDataTypes, compressorName, columns, pageRowNums);
 
     isFirstRow = false;
   }
@@ -232,6 +240,9 @@ public class CarbonStreamRecordWriter extends RecordWriter<Void, Object> {
     if (updatedCarbonRow == null) {
       output.skipRow();
       currentRow.clearData();
+    } else if (output.isColumnar()) {
+      output.nextRow();
+      output.writeColumnarRow(currentRow.getData(), dimensionsIsVarcharTypeMap);
     } else {
       for (int i = 0; i < dataFields.length; i++) {
         if (null == currentRow.getObject(i)) {
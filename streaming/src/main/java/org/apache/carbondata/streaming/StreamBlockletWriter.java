@@ -19,6 +19,10 @@ package org.apache.carbondata.streaming;
 
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.apache.carbondata.core.datastore.compression.Compressor;
 import org.apache.carbondata.core.datastore.compression.CompressorFactory;
@@ -29,12 +33,16 @@ import org.apache.carbondata.core.datastore.page.statistics.SimpleStatsResult;
 import org.apache.carbondata.core.metadata.blocklet.index.BlockletMinMaxIndex;
 import org.apache.carbondata.core.metadata.datatype.DataType;
 import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.core.util.ByteUtil;
 import org.apache.carbondata.core.util.CarbonMetadataUtil;
 import org.apache.carbondata.core.util.CarbonUtil;
 import org.apache.carbondata.format.BlockletHeader;
 import org.apache.carbondata.format.BlockletIndex;
 import org.apache.carbondata.format.BlockletInfo;
+import org.apache.carbondata.format.DataChunk;
 import org.apache.carbondata.format.MutationType;
+import org.apache.carbondata.hadoop.stream.StreamColumnarBlocklet;
 import org.apache.carbondata.streaming.segment.StreamSegment;
 
 /**
@@ -60,9 +68,23 @@ public class StreamBlockletWriter {
   // blocklet level Min/Max
   private BlockletMinMaxIndex blockletMinMaxIndex;
 
+  // columnar blocklet, it is null if the blocklet is stored row by row
+  private StreamColumnarBlocklet columnarBlocklet;
+  private int pageRowNums;
+  private Object[][] columnValues;
+
   StreamBlockletWriter(int maxSize, int maxRowNum, int rowSize, int dimCountWithoutComplex,
-      int measureCount, DataType[] measureDataTypes, String compressorName) {
-    buffer = new byte[maxSize];
+      int measureCount, DataType[] measureDataTypes, String compressorName,
+      CarbonColumn[] columns, int pageRowNums) {
+    if (pageRowNums > 0) {
+      // the values are kept in the columns until the blocklet is full
+      buffer = new byte[0];
+      this.pageRowNums = pageRowNums;
+      columnarBlocklet = new StreamColumnarBlocklet(columns, compressorName);
+      columnValues = new Object[columns.length][maxRowNum + 1];
+    } else {
+      buffer = new byte[maxSize];
+    }
     this.maxSize = maxSize;
     this.maxRowNum = maxRowNum;
     this.rowSize = rowSize;
@@ -110,6 +132,11 @@ public class StreamBlockletWriter {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2853
     initializeStatsCollector();
     blockletMinMaxIndex = null;
+    if (null != columnValues) {
+      for (Object[] values : columnValues) {
+        Arrays.fill(values, null);
+      }
+    }
   }
 
   byte[] getBytes() {
@@ -133,6 +160,10 @@ public class StreamBlockletWriter {
     maxRowNum--;
   }
 
+  boolean isColumnar() {
+    return null != columnarBlocklet;
+  }
+
   boolean isFull() {
     return rowIndex == maxRowNum || count >= maxSize;
   }
@@ -186,6 +217,65 @@ public class StreamBlockletWriter {
     count += len;
   }
 
+  /**
+   * add the converted values of the row to the columns and update the blocklet level stats,
+   * the count is increased by the size of the values as they are written in the row blocklet
+   */
+  void writeColumnarRow(Object[] row, boolean[] dimensionsIsVarcharTypeMap) throws IOException {
+    for (int i = 0; i < row.length; i++) {
+      columnValues[i][rowIndex] = row[i];
+    }
+    int dimCount = 0;
+    // primitive type dimension
+    for (; dimCount < dimCountWithoutComplex; dimCount++) {
+      Object value = row[dimCount];
+      if (null == value) {
+        dimStatsCollectors[dimCount].updateNull(0);
+      } else if (value instanceof byte[]) {
+        dimStatsCollectors[dimCount].update((byte[]) value);
+        // same size as the row blocklet, length of varchar is int and others short
+        count += ((byte[]) value).length + (dimensionsIsVarcharTypeMap[dimCount] ? 4 : 2);
+      } else {
+        dimStatsCollectors[dimCount].update(ByteUtil.toBytes((int) value));
+        count += 4;
+      }
+    }
+    // complex type dimension
+    for (; dimCount < row.length - measureCount; dimCount++) {
+      if (null != row[dimCount]) {
+        count += ((byte[]) row[dimCount]).length + 2;
+      }
+    }
+    // measure
+    for (int msrCount = 0; msrCount < measureCount; msrCount++) {
+      Object value = row[dimCount + msrCount];
+      DataType dataType = measureDataTypes[msrCount];
+      if (null == value) {
+        msrStatsCollectors[msrCount].updateNull(0);
+      } else if (dataType == DataTypes.BOOLEAN) {
+        msrStatsCollectors[msrCount].update((byte) ((boolean) value ? 1 : 0));
+        count += 1;
+      } else if (dataType == DataTypes.SHORT) {
+        msrStatsCollectors[msrCount].update((short) value);
+        count += 2;
+      } else if (dataType == DataTypes.INT) {
+        msrStatsCollectors[msrCount].update((int) value);
+        count += 4;
+      } else if (dataType == DataTypes.LONG) {
+        msrStatsCollectors[msrCount].update((long) value);
+        count += 8;
+      } else if (dataType == DataTypes.DOUBLE) {
+        msrStatsCollectors[msrCount].update((double) value);
+        count += 8;
+      } else if (DataTypes.isDecimal(dataType)) {
+        msrStatsCollectors[msrCount].update((BigDecimal) value);
+        count += 16;
+      } else {
+        throw new IOException("unsupported data type:" + dataType.getName());
+      }
+    }
+  }
+
   private SimpleStatsResult[] getDimStats() {
 //IC see: https://issues.apache.org/jira/browse/CARBONDATA-2853
     if (dimStatsCollectors == null) {
@@ -223,7 +313,18 @@ public class StreamBlockletWriter {
     BlockletInfo blockletInfo = new BlockletInfo();
     blockletInfo.setNum_rows(getRowIndex() + 1);
     BlockletHeader blockletHeader = new BlockletHeader();
-    blockletHeader.setBlocklet_length(getCount());
+    byte[] data;
+    if (null == columnarBlocklet) {
+      blockletHeader.setBlocklet_length(getCount());
+      data = compressor.compressByte(getBytes(), getCount());
+    } else {
+      // the column pages are compressed by their encoders
+      List<DataChunk> columnChunks = new ArrayList<>();
+      data = columnarBlocklet
+          .encode(columnValues, blockletInfo.getNum_rows(), pageRowNums, columnChunks);
+      blockletInfo.setColumn_data_chunks(columnChunks);
+      blockletHeader.setBlocklet_length(data.length);
+    }
     blockletHeader.setMutation(MutationType.INSERT);
     blockletHeader.setBlocklet_info(blockletInfo);
     // add blocklet level min/max
@@ -238,9 +339,8 @@ public class StreamBlockletWriter {
     outputStream.writeInt(headerBytes.length);
     outputStream.write(headerBytes);
 
-    byte[] compressed = compressor.compressByte(getBytes(), getCount());
-    outputStream.writeInt(compressed.length);
-    outputStream.write(compressed);
+    outputStream.writeInt(data.length);
+    outputStream.write(data);
   }
 
   void close() {
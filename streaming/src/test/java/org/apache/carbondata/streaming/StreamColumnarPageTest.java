@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.streaming;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.carbondata.core.datastore.impl.FileFactory;
+import org.apache.carbondata.core.index.IndexFilter;
+import org.apache.carbondata.core.metadata.AbsoluteTableIdentifier;
+import org.apache.carbondata.core.metadata.CarbonTableIdentifier;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonColumn;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonDimension;
+import org.apache.carbondata.core.metadata.schema.table.column.CarbonMeasure;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.scan.expression.ColumnExpression;
+import org.apache.carbondata.core.scan.expression.Expression;
+import org.apache.carbondata.core.scan.expression.LiteralExpression;
+import org.apache.carbondata.core.scan.expression.conditional.EqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanEqualToExpression;
+import org.apache.carbondata.core.scan.model.QueryModelBuilder;
+import org.apache.carbondata.format.BlockletHeader;
+import org.apache.carbondata.hadoop.stream.StreamRecordReader;
+import org.apache.carbondata.hadoop.testutil.StoreCreator;
+import org.apache.carbondata.hadoop.util.CarbonInputFormatUtil;
+import org.apache.carbondata.processing.loading.model.CarbonLoadModel;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapreduce.JobID;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.TaskID;
+import org.apache.hadoop.mapreduce.TaskType;
+import org.apache.hadoop.mapreduce.lib.input.FileSplit;
+import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Streaming segment written as column pages should be read as the same rows as the streaming
+ * segment written row by row
+ */
+public class StreamColumnarPageTest {
+
+  private static final String STORE_PATH = new File("target/stream_page").getAbsolutePath();
+
+  private static final int ROW_COUNT = 1000;
+
+  private static final int BLOCKLET_ROW_NUMS = 400;
+
+  private static final int PAGE_ROW_NUMS = 100;
+
+  private static TaskAttemptContext taskAttemptContext;
+
+  private static StreamFile rowStream;
+
+  private static StreamFile pageStream;
+
+  @BeforeClass public static void setUp() throws Exception {
+    FileFactory.deleteAllFilesOfDir(new File(STORE_PATH));
+    JobID jobId = CarbonInputFormatUtil.getJobId(new Date(), 0);
+    TaskAttemptID taskAttemptId = new TaskAttemptID(new TaskID(jobId, TaskType.MAP, 0), 0);
+    Configuration hadoopConf = new Configuration();
+    hadoopConf.set("mapred.job.id", jobId.toString());
+    hadoopConf.set("mapred.tip.id", taskAttemptId.getTaskID().toString());
+    hadoopConf.set("mapred.task.id", taskAttemptId.toString());
+    hadoopConf.setBoolean("mapred.task.is.map", true);
+    hadoopConf.setInt("mapred.task.partition", 0);
+    hadoopConf.setInt(CarbonStreamOutputFormat.CARBON_STREAM_BLOCKLET_ROW_NUMS,
+        BLOCKLET_ROW_NUMS);
+    taskAttemptContext = new TaskAttemptContextImpl(hadoopConf, taskAttemptId);
+    rowStream = writeStream("stream_row", 0);
+    pageStream = writeStream("stream_page", PAGE_ROW_NUMS);
+  }
+
+  @AfterClass public static void tearDown() throws Exception {
+    FileFactory.deleteAllFilesOfDir(new File(STORE_PATH));
+  }
+
+  @Test public void testReadAllColumns() throws Exception {
+    String[] projection = { "id", "date", "country", "name", "phonetype", "serialname", "salary" };
+    List<Object[]> rows = assertSameRows(projection, null, false);
+    Assert.assertEquals(ROW_COUNT, rows.size());
+  }
+
+  @Test public void testReadPartialProjection() throws Exception {
+    // the projection is not in the order of the columns and skips some pages of each blocklet
+    List<Object[]> rows = assertSameRows(new String[] { "salary", "name" }, null, false);
+    Assert.assertEquals(ROW_COUNT, rows.size());
+    Assert.assertEquals(2, rows.get(0).length);
+  }
+
+  @Test public void testFilterOnMeasurePrunesPages() throws Exception {
+    // only the last page of the last blocklet has salary >= 15950
+    Expression expression = new GreaterThanEqualToExpression(
+        new ColumnExpression("salary", DataTypes.INT),
+        new LiteralExpression(15000 + ROW_COUNT - 50, DataTypes.INT));
+    List<Object[]> rows =
+        assertSameRows(new String[] { "id", "name" }, expression, false);
+    // the salary of every 11th row is null
+    int expectedRows = 0;
+    for (int i = ROW_COUNT - 50; i < ROW_COUNT; i++) {
+      if (i % 11 != 0) {
+        expectedRows++;
+      }
+    }
+    Assert.assertEquals(expectedRows, rows.size());
+    Assert.assertEquals(PAGE_ROW_NUMS, pageStream.scannedRowCount);
+    Assert.assertEquals(ROW_COUNT - 2 * BLOCKLET_ROW_NUMS, rowStream.scannedRowCount);
+  }
+
+  @Test public void testFilterOnDimensionPrunesPages() throws Exception {
+    // only the first page of the first blocklet has the name between aaa0 and aaa99
+    Expression expression = new EqualToExpression(
+        new ColumnExpression("name", DataTypes.STRING),
+        new LiteralExpression("aaa5", DataTypes.STRING));
+    List<Object[]> rows =
+        assertSameRows(new String[] { "id", "country", "salary" }, expression, false);
+    Assert.assertEquals(1, rows.size());
+    Assert.assertEquals(PAGE_ROW_NUMS, pageStream.scannedRowCount);
+    Assert.assertTrue(rowStream.scannedRowCount > PAGE_ROW_NUMS);
+  }
+
+  @Test public void testReadRawRowForHandoff() throws Exception {
+    // handoff reads all the columns in the order they are stored in the streaming segment
+    List<CarbonColumn> columns = rowStream.table.getStreamStorageOrderColumn();
+    String[] projection = new String[columns.size()];
+    for (int i = 0; i < projection.length; i++) {
+      projection[i] = columns.get(i).getColName();
+    }
+    List<Object[]> rows = assertSameRows(projection, null, true);
+    Assert.assertEquals(ROW_COUNT, rows.size());
+    // no dictionary value is kept in bytes and null dictionary value is empty bytes
+    Assert.assertTrue(rows.get(1)[0] instanceof byte[]);
+  }
+
+  @Test public void testVarcharSizeIsSameAsRowBlocklet() throws Exception {
+    CarbonColumn[] columns = new CarbonColumn[] {
+        new CarbonDimension(createColumnSchema("name", DataTypes.STRING, true), 0, -1),
+        new CarbonDimension(createColumnSchema("note", DataTypes.VARCHAR, true), 1, -1),
+        new CarbonMeasure(createColumnSchema("salary", DataTypes.INT, false), 0) };
+    StreamBlockletWriter writer = new StreamBlockletWriter(1024, 10, 1024, 2, 1,
+        new DataType[] { DataTypes.INT }, "snappy", columns, 5);
+    byte[] value = "0123456789".getBytes(StandardCharsets.UTF_8);
+    writer.nextRow();
+    writer.writeColumnarRow(new Object[] { value, value, 1 }, new boolean[] { false, true });
+    // length of string is short, length of varchar is int
+    Assert.assertEquals(2 + value.length + 4 + value.length + 4, writer.getCount());
+  }
+
+  /**
+   * read the rows from both streams and check they are the same
+   */
+  private static List<Object[]> assertSameRows(String[] projection, Expression expression,
+      boolean useRawRow) throws Exception {
+    List<Object[]> rows = rowStream.read(projection, expression, useRawRow);
+    List<Object[]> pageRows = pageStream.read(projection, expression, useRawRow);
+    Assert.assertEquals(rows.size(), pageRows.size());
+    for (int i = 0; i < rows.size(); i++) {
+      Assert.assertEquals(projection.length, rows.get(i).length);
+      Assert.assertArrayEquals("row " + i, rows.get(i), pageRows.get(i));
+    }
+    return pageRows;
+  }
+
+  private static StreamFile writeStream(String tableName, int pageRowNums) throws Exception {
+    String tablePath = STORE_PATH + "/" + tableName;
+    AbsoluteTableIdentifier identifier = AbsoluteTableIdentifier.from(tablePath,
+        new CarbonTableIdentifier("default", tableName, UUID.randomUUID().toString()));
+    String factFilePath = new File("../hadoop/src/test/resources/data.csv").getCanonicalPath();
+    CarbonTable table = new StoreCreator(STORE_PATH + "/store", factFilePath)
+        .createTable(identifier);
+    CarbonLoadModel loadModel = StoreCreator.buildCarbonLoadModel(table, factFilePath, identifier);
+    Configuration hadoopConf = taskAttemptContext.getConfiguration();
+    CarbonStreamOutputFormat.setCarbonLoadModel(hadoopConf, loadModel);
+    CarbonStreamOutputFormat.setSegmentId(hadoopConf, "0");
+    hadoopConf.setInt(CarbonStreamOutputFormat.CARBON_STREAM_PAGE_ROW_NUMS, pageRowNums);
+    CarbonStreamRecordWriter writer = (CarbonStreamRecordWriter) new CarbonStreamOutputFormat()
+        .getRecordWriter(taskAttemptContext);
+    new File(writer.getSegmentDir()).mkdirs();
+    for (int i = 0; i < ROW_COUNT; i++) {
+      writer.write(null, new Object[] { String.valueOf(i), "2015/7/" + (i % 28 + 1),
+          i % 7 == 0 ? null : "country" + (i % 3), "aaa" + i, "phone" + (i % 13), "ASD" + i,
+          i % 11 == 0 ? null : String.valueOf(15000 + i) });
+    }
+    writer.close(taskAttemptContext);
+    StreamFile streamFile = new StreamFile();
+    streamFile.table = table;
+    streamFile.path = new Path(writer.getSegmentDir() + File.separator + writer.getFileName());
+    return streamFile;
+  }
+
+  private static ColumnSchema createColumnSchema(String name, DataType dataType,
+      boolean isDimension) {
+    ColumnSchema columnSchema = new ColumnSchema();
+    columnSchema.setColumnName(name);
+    columnSchema.setColumnUniqueId(name);
+    columnSchema.setDataType(dataType);
+    columnSchema.setDimensionColumn(isDimension);
+    return columnSchema;
+  }
+
+  /**
+   * streaming data file of the table
+   */
+  private static class StreamFile {
+
+    private CarbonTable table;
+
+    private Path path;
+
+    // number of rows of the blocklets and pages which are scanned by the last read
+    private int scannedRowCount;
+
+    private List<Object[]> read(String[] projection, Expression expression, boolean useRawRow)
+        throws IOException, InterruptedException {
+      QueryModelBuilder builder = new QueryModelBuilder(table).projectColumns(projection);
+      if (null != expression) {
+        builder.filterExpression(new IndexFilter(table, expression));
+      }
+      scannedRowCount = 0;
+      StreamRecordReader reader = new StreamRecordReader(builder.build(), useRawRow) {
+        @Override
+        protected void readBlockletData(BlockletHeader header) throws IOException {
+          super.readBlockletData(header);
+          scannedRowCount += input.getRowNums();
+        }
+      };
+      List<Object[]> rows = new ArrayList<>();
+      try {
+        long length = new File(path.toString()).length();
+        reader.initialize(new FileSplit(path, 0, length, null), taskAttemptContext);
+        while (reader.nextKeyValue()) {
+          rows.add(((Object[]) reader.getCurrentValue()).clone());
+        }
+      } finally {
+        reader.close();
+      }
+      return rows;
+    }
+  }
+}
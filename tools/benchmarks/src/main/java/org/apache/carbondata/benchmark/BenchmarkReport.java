@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.benchmark;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Compares two JMH result files written with "-rf json", a baseline run and a run of the
+ * change to be checked, and prints the change of the score of every benchmark. A benchmark is
+ * reported as regressed when its score got worse by more than the threshold percentage and by
+ * more than the error of the two runs. The exit code is 1 when any benchmark regressed.
+ *
+ * Usage: BenchmarkReport baseline.json current.json [thresholdPercent]
+ */
+public class BenchmarkReport {
+
+  private static final double DEFAULT_THRESHOLD_PERCENT = 5;
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("Usage: BenchmarkReport baseline.json current.json [thresholdPercent]");
+      System.exit(2);
+    }
+    double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+    Map<String, Result> baseline = readResults(args[0]);
+    Map<String, Result> current = readResults(args[1]);
+    int regressions = 0;
+    System.out.println(String.format("%-90s %14s %14s %9s  %s", "Benchmark", "Baseline",
+        "Current", "Change", "Unit"));
+    for (Map.Entry<String, Result> entry : current.entrySet()) {
+      Result result = entry.getValue();
+      Result base = baseline.get(entry.getKey());
+      if (base == null) {
+        System.out.println(String.format("%-90s %14s %14.3f %9s  %s", entry.getKey(), "-",
+            result.score, "new", result.unit));
+        continue;
+      }
+      double change = (result.score - base.score) * 100 / base.score;
+      // for the time modes a bigger score is worse, for throughput a smaller one
+      double worsening = result.higherIsBetter ? -change : change;
+      boolean regressed = worsening > threshold
+          && Math.abs(result.score - base.score) > result.error + base.error;
+      if (regressed) {
+        regressions++;
+      }
+      System.out.println(String.format("%-90s %14.3f %14.3f %+8.1f%%  %s%s", entry.getKey(),
+          base.score, result.score, change, result.unit, regressed ? "  REGRESSION" : ""));
+    }
+    for (String key : baseline.keySet()) {
+      if (!current.containsKey(key)) {
+        System.out.println(String.format("%-90s %14.3f %14s %9s", key, baseline.get(key).score,
+            "-", "removed"));
+      }
+    }
+    System.out.println(regressions + " of " + current.size() + " benchmarks regressed by more"
+        + " than " + threshold + "%");
+    if (regressions > 0) {
+      System.exit(1);
+    }
+  }
+
+  /**
+   * @return results by benchmark name with its parameters, in name order
+   */
+  private static Map<String, Result> readResults(String file) throws IOException {
+    Map<String, Result> results = new TreeMap<>();
+    try (Reader reader = Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8)) {
+      for (JsonElement element : new JsonParser().parse(reader).getAsJsonArray()) {
+        JsonObject benchmark = element.getAsJsonObject();
+        StringBuilder name = new StringBuilder(benchmark.get("benchmark").getAsString()
+            .replace("org.apache.carbondata.", ""));
+        if (benchmark.has("params")) {
+          Map<String, String> params = new LinkedHashMap<>();
+          for (Map.Entry<String, JsonElement> param :
+              benchmark.getAsJsonObject("params").entrySet()) {
+            params.put(param.getKey(), param.getValue().getAsString());
+          }
+          name.append(params);
+        }
+        JsonObject metric = benchmark.getAsJsonObject("primaryMetric");
+        String mode = benchmark.get("mode").getAsString();
+        JsonElement error = metric.get("scoreError");
+        results.put(name.toString(), new Result(metric.get("score").getAsDouble(),
+            error.isJsonPrimitive() && !"NaN".equals(error.getAsString()) ?
+                error.getAsDouble() : 0, metric.get("scoreUnit").getAsString(),
+            "thrpt".equals(mode)));
+      }
+    }
+    return results;
+  }
+
+  private static class Result {
+
+    private final double score;
+
+    private final double error;
+
+    private final String unit;
+
+    private final boolean higherIsBetter;
+
+    Result(double score, double error, String unit, boolean higherIsBetter) {
+      this.score = score;
+      this.error = error;
+      this.unit = unit;
+      this.higherIsBetter = higherIsBetter;
+    }
+  }
+}
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.carbondata.core.datastore.block.SegmentProperties;
+import org.apache.carbondata.core.datastore.block.SegmentPropertiesAndSchemaHolder;
+import org.apache.carbondata.core.datastore.block.TableBlockInfo;
+import org.apache.carbondata.core.index.IndexFilter;
+import org.apache.carbondata.core.indexstore.BlockMetaInfo;
+import org.apache.carbondata.core.indexstore.Blocklet;
+import org.apache.carbondata.core.indexstore.blockletindex.BlockIndex;
+import org.apache.carbondata.core.indexstore.blockletindex.BlockletIndexModel;
+import org.apache.carbondata.core.metadata.ColumnarFormatVersion;
+import org.apache.carbondata.core.metadata.blocklet.DataFileFooter;
+import org.apache.carbondata.core.metadata.blocklet.index.BlockletIndex;
+import org.apache.carbondata.core.metadata.blocklet.index.BlockletMinMaxIndex;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.datatype.StructField;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.TableSchema;
+import org.apache.carbondata.core.metadata.schema.table.TableSchemaBuilder;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.scan.expression.ColumnExpression;
+import org.apache.carbondata.core.scan.expression.Expression;
+import org.apache.carbondata.core.scan.expression.LiteralExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanEqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.LessThanExpression;
+import org.apache.carbondata.core.scan.expression.logical.AndExpression;
+import org.apache.carbondata.core.scan.filter.FilterUtil;
+import org.apache.carbondata.core.scan.filter.executer.FilterExecuter;
+import org.apache.carbondata.core.scan.filter.resolver.FilterResolverIntf;
+import org.apache.carbondata.core.util.CarbonUtil;
+import org.apache.carbondata.core.util.path.CarbonTablePath;
+
+import org.apache.hadoop.conf.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Pruning the blocks of one index file with a range filter on the sort column. The index is
+ * loaded from synthetic file footers, the min and max of each block being taken from the data
+ * distribution, so no carbon files are needed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlockIndexPruneBenchmark {
+
+  private static final String SEGMENT_ID = "0";
+
+  private static final long ROWS_PER_BLOCK = 1000000L;
+
+  @Param({ "UNIFORM", "SORTED", "LOW_CARDINALITY", "SMALL_RANGE" })
+  public DataDistribution distribution;
+
+  @Param({ "1000", "10000" })
+  public int numberOfBlocks;
+
+  private CarbonTable table;
+
+  private BlockIndex blockIndex;
+
+  private SegmentProperties segmentProperties;
+
+  private FilterResolverIntf filterResolver;
+
+  private FilterExecuter filterExecuter;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    TableSchemaBuilder builder = TableSchema.builder();
+    AtomicInteger valIndex = new AtomicInteger(0);
+    ColumnSchema sortColumn =
+        builder.addColumn(new StructField("name", DataTypes.STRING), valIndex, true, false);
+    builder.addColumn(new StructField("amount", DataTypes.LONG), valIndex, false, false);
+    builder.setSortColumns(Arrays.asList(sortColumn));
+    String tablePath = System.getProperty("java.io.tmpdir") + "/benchmark/prune";
+    table = CarbonTable.builder()
+        .databaseName("benchmark")
+        .tableName("prune")
+        .tablePath(tablePath)
+        .tableSchema(builder.tableName("prune").build())
+        .build();
+    List<ColumnSchema> columns = table.getTableInfo().getFactTable().getListOfColumns();
+
+    // each block holds the range starting at its value and spanning the next two values
+    long[] values = distribution.generateLongs(numberOfBlocks + 2);
+    long[] sortedValues = values.clone();
+    Arrays.sort(sortedValues);
+    String segmentPath = CarbonTablePath.getSegmentPath(tablePath, SEGMENT_ID);
+    List<DataFileFooter> footers = new ArrayList<>(numberOfBlocks);
+    Map<String, BlockMetaInfo> blockMetaInfoMap = new HashMap<>();
+    for (int i = 0; i < numberOfBlocks; i++) {
+      String filePath = segmentPath + "/part-0-" + i + "_batchno0-0-0-1577836800000.carbondata";
+      long min = Math.min(values[i], Math.min(values[i + 1], values[i + 2]));
+      long max = Math.max(values[i], Math.max(values[i + 1], values[i + 2]));
+      BlockletMinMaxIndex minMaxIndex = new BlockletMinMaxIndex();
+      minMaxIndex.setMinValues(new byte[][] { toName(min), CarbonUtil.getValueAsBytes(
+          DataTypes.LONG, min) });
+      minMaxIndex.setMaxValues(new byte[][] { toName(max), CarbonUtil.getValueAsBytes(
+          DataTypes.LONG, max) });
+      minMaxIndex.setIsMinMaxSet(new boolean[] { true, true });
+      BlockletIndex index = new BlockletIndex();
+      index.setMinMaxIndex(minMaxIndex);
+      DataFileFooter footer = new DataFileFooter();
+      footer.setBlockInfo(new TableBlockInfo(filePath, 0, SEGMENT_ID, new String[0],
+          ROWS_PER_BLOCK, ColumnarFormatVersion.V3, null));
+      footer.setBlockletIndex(index);
+      footer.setColumnInTable(columns);
+      footer.setNumberOfRows(ROWS_PER_BLOCK);
+      footer.setVersionId(ColumnarFormatVersion.V3);
+      footers.add(footer);
+      blockMetaInfoMap.put(filePath, new BlockMetaInfo(new String[] { "localhost" },
+          ROWS_PER_BLOCK));
+    }
+    BlockletIndexModel model = new BlockletIndexModel(table, segmentPath + "/0.carbonindex",
+        null, blockMetaInfoMap, SEGMENT_ID, new Configuration(false));
+    model.setIndexInfos(footers);
+    blockIndex = new BlockIndex();
+    blockIndex.init(model);
+
+    segmentProperties = SegmentPropertiesAndSchemaHolder.getInstance()
+        .addSegmentProperties(table, columns, SEGMENT_ID).getSegmentProperties();
+    // range covering a tenth of the values
+    ColumnExpression column = new ColumnExpression("name", DataTypes.STRING);
+    Expression expression = new AndExpression(
+        new GreaterThanEqualToExpression(column, new LiteralExpression(
+            new String(toName(sortedValues[sortedValues.length / 2]), StandardCharsets.UTF_8),
+            DataTypes.STRING)),
+        new LessThanExpression(column, new LiteralExpression(new String(
+            toName(sortedValues[sortedValues.length * 6 / 10]), StandardCharsets.UTF_8),
+            DataTypes.STRING)));
+    filterResolver = new IndexFilter(table, expression).getResolver();
+    filterExecuter = FilterUtil.getFilterExecuterTree(filterResolver, segmentProperties, null,
+        table.getMinMaxCacheColumns(segmentProperties), false);
+  }
+
+  /**
+   * value as a string sorting in the same order as the numbers
+   */
+  private static byte[] toName(long value) {
+    return String.format("name%020d", value - Long.MIN_VALUE / 2)
+        .getBytes(StandardCharsets.UTF_8);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    blockIndex.clear();
+  }
+
+  @Benchmark
+  public List<Blocklet> prune() {
+    return blockIndex.prune(filterResolver, segmentProperties, filterExecuter, table);
+  }
+}
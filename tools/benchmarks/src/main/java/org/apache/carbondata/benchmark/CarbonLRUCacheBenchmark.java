@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.core.cache.Cacheable;
+import org.apache.carbondata.core.cache.CarbonLRUCache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Concurrent lookups in the CarbonLRUCache shared by the tasks of an executor. A lookup missing
+ * the cache loads the entry and puts it, so with a bounded cache the threads also contend on
+ * eviction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CarbonLRUCacheBenchmark {
+
+  /**
+   * size property which is never configured, so the cache takes the size given as default
+   */
+  private static final String CACHE_SIZE_PROPERTY = "carbon.benchmark.lru.cache.size";
+
+  private static final long ENTRY_SIZE = 4 * 1024;
+
+  @Param({ "10000" })
+  public int numberOfKeys;
+
+  /**
+   * cache size in MB, -1 for a cache without eviction
+   */
+  @Param({ "-1", "10" })
+  public String cacheSizeInMB;
+
+  private CarbonLRUCache cache;
+
+  private String[] keys;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    cache = new CarbonLRUCache(CACHE_SIZE_PROPERTY, cacheSizeInMB);
+    keys = new String[numberOfKeys];
+    for (int i = 0; i < numberOfKeys; i++) {
+      keys[i] = "/store/benchmark/table/Fact/Part0/Segment_0/part-0-" + i + ".carbonindex";
+      cache.put(keys[i], new Entry(), ENTRY_SIZE, 0);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    cache.clear();
+  }
+
+  private Cacheable getOrLoad() {
+    String key = keys[ThreadLocalRandom.current().nextInt(numberOfKeys)];
+    Cacheable value = cache.get(key);
+    if (null == value) {
+      value = new Entry();
+      cache.put(key, value, ENTRY_SIZE, 0);
+    }
+    return value;
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Cacheable singleThread() {
+    return getOrLoad();
+  }
+
+  @Benchmark
+  @Threads(8)
+  public Cacheable eightThreads() {
+    return getOrLoad();
+  }
+
+  @Benchmark
+  @Threads(32)
+  public Cacheable thirtyTwoThreads() {
+    return getOrLoad();
+  }
+
+  private static class Entry implements Cacheable {
+
+    @Override
+    public int getAccessCount() {
+      return 0;
+    }
+
+    @Override
+    public long getMemorySize() {
+      return ENTRY_SIZE;
+    }
+
+    @Override
+    public void invalidate() {
+    }
+  }
+}
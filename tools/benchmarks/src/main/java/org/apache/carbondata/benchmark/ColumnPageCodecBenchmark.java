@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.benchmark;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.core.datastore.ColumnType;
+import org.apache.carbondata.core.datastore.TableSpec;
+import org.apache.carbondata.core.datastore.page.ColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageCodec;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageDecoder;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoder;
+import org.apache.carbondata.core.datastore.page.encoding.ColumnPageEncoderMeta;
+import org.apache.carbondata.core.datastore.page.encoding.DefaultEncodingFactory;
+import org.apache.carbondata.core.datastore.page.encoding.EncodedColumnPage;
+import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveDeltaFloatingCodec;
+import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveDeltaIntegralCodec;
+import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveFloatingCodec;
+import org.apache.carbondata.core.datastore.page.encoding.adaptive.AdaptiveIntegralCodec;
+import org.apache.carbondata.core.datastore.page.encoding.adaptive.BitPackedIntegralCodec;
+import org.apache.carbondata.core.datastore.page.encoding.adaptive.DeltaOfDeltaIntegralCodec;
+import org.apache.carbondata.core.datastore.page.encoding.adaptive.XorFloatingCodec;
+import org.apache.carbondata.core.datastore.page.encoding.compress.DirectCompressCodec;
+import org.apache.carbondata.core.datastore.page.statistics.PrimitivePageStatsCollector;
+import org.apache.carbondata.core.datastore.page.statistics.SimpleStatsResult;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.result.vector.ColumnVectorInfo;
+import org.apache.carbondata.core.scan.result.vector.impl.CarbonColumnVectorImpl;
+import org.apache.carbondata.format.DataChunk2;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encode and decode of one measure page by every numeric ColumnPageCodec. Integral codecs
+ * encode a long page and floating codecs encode a double page having two decimal digits.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColumnPageCodecBenchmark {
+
+  private static final int DECIMAL_COUNT = 2;
+
+  @Param({ "DIRECT_COMPRESS", "ADAPTIVE_INTEGRAL", "ADAPTIVE_DELTA_INTEGRAL", "BIT_PACKED",
+      "DELTA_OF_DELTA_INTEGRAL", "ADAPTIVE_FLOATING", "ADAPTIVE_DELTA_FLOATING", "XOR_FLOATING" })
+  public String codecName;
+
+  @Param({ "UNIFORM", "SORTED", "LOW_CARDINALITY", "SMALL_RANGE" })
+  public DataDistribution distribution;
+
+  @Param({ "snappy" })
+  public String compressorName;
+
+  @Param({ "32000" })
+  public int pageSize;
+
+  private ColumnPage page;
+
+  private DataType dataType;
+
+  private ColumnPageDecoder decoder;
+
+  private byte[] encoded;
+
+  private ColumnVectorInfo vectorInfo;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    boolean floating = codecName.endsWith("FLOATING");
+    dataType = floating ? DataTypes.DOUBLE : DataTypes.LONG;
+    page = ColumnPage.newPage(new ColumnPageEncoderMeta(
+        TableSpec.ColumnSpec.newInstance("benchmark", dataType, ColumnType.MEASURE), dataType,
+        compressorName), pageSize);
+    page.setStatsCollector(PrimitivePageStatsCollector.newInstance(dataType));
+    if (floating) {
+      double[] values = distribution.generateDoubles(pageSize, DECIMAL_COUNT);
+      for (int i = 0; i < pageSize; i++) {
+        page.putData(i, values[i]);
+      }
+    } else {
+      long[] values = distribution.generateLongs(pageSize);
+      for (int i = 0; i < pageSize; i++) {
+        page.putData(i, values[i]);
+      }
+    }
+    EncodedColumnPage encodedPage = createEncoder().encode(page);
+    ByteBuffer encodedData = encodedPage.getEncodedData();
+    encoded = new byte[encodedData.remaining()];
+    encodedData.duplicate().get(encoded);
+    encodedPage.cleanBuffer();
+    DataChunk2 pageMetadata = encodedPage.getPageMetadata();
+    decoder = DefaultEncodingFactory.getInstance().createDecoder(pageMetadata.getEncoders(),
+        pageMetadata.getEncoder_meta(), compressorName);
+    vectorInfo = new ColumnVectorInfo();
+    vectorInfo.vector = new CarbonColumnVectorImpl(pageSize, dataType);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    page.freeMemory();
+  }
+
+  /**
+   * adaptive codecs keep the encoded page, so a new codec is needed for every encode
+   */
+  private ColumnPageEncoder createEncoder() {
+    return createCodec(codecName, dataType, page.getStatistics()).createEncoder(null);
+  }
+
+  private static ColumnPageCodec createCodec(String codecName, DataType dataType,
+      SimpleStatsResult stats) {
+    switch (codecName) {
+      case "DIRECT_COMPRESS":
+        return new DirectCompressCodec(dataType);
+      case "ADAPTIVE_INTEGRAL":
+        return new AdaptiveIntegralCodec(dataType,
+            fitLongMinMax((long) stats.getMax(), (long) stats.getMin()), stats, false);
+      case "ADAPTIVE_DELTA_INTEGRAL":
+        return new AdaptiveDeltaIntegralCodec(dataType,
+            fitLongMinMax((long) stats.getMax() - (long) stats.getMin(), 0), stats, false);
+      case "BIT_PACKED":
+        return new BitPackedIntegralCodec(dataType, stats, Math.max(1, BitPackedIntegralCodec
+            .getBitWidth((long) stats.getMax(), (long) stats.getMin())));
+      case "DELTA_OF_DELTA_INTEGRAL":
+        return new DeltaOfDeltaIntegralCodec(dataType);
+      case "ADAPTIVE_FLOATING": {
+        double factor = Math.pow(10, stats.getDecimalCount());
+        return new AdaptiveFloatingCodec(dataType,
+            fitLongMinMax((long) ((double) stats.getMax() * factor),
+                (long) ((double) stats.getMin() * factor)), stats, false);
+      }
+      case "ADAPTIVE_DELTA_FLOATING": {
+        double factor = Math.pow(10, stats.getDecimalCount());
+        return new AdaptiveDeltaFloatingCodec(dataType, fitLongMinMax(
+            (long) (((double) stats.getMax() - (double) stats.getMin()) * factor), 0), stats,
+            false);
+      }
+      case "XOR_FLOATING":
+        return new XorFloatingCodec(dataType);
+      default:
+        throw new IllegalArgumentException("unknown codec: " + codecName);
+    }
+  }
+
+  /**
+   * smallest integral type holding both the values, as chosen by the encoding factory
+   */
+  private static DataType fitLongMinMax(long max, long min) {
+    if (max <= Byte.MAX_VALUE && min >= Byte.MIN_VALUE) {
+      return DataTypes.BYTE;
+    } else if (max <= Short.MAX_VALUE && min >= Short.MIN_VALUE) {
+      return DataTypes.SHORT;
+    } else if (max <= 8388607 && min >= -8388608) {
+      return DataTypes.SHORT_INT;
+    } else if (max <= Integer.MAX_VALUE && min >= Integer.MIN_VALUE) {
+      return DataTypes.INT;
+    } else {
+      return DataTypes.LONG;
+    }
+  }
+
+  @Benchmark
+  public int encode() throws IOException {
+    EncodedColumnPage encodedPage = createEncoder().encode(page);
+    int size = encodedPage.getTotalSerializedSize();
+    encodedPage.cleanBuffer();
+    return size;
+  }
+
+  @Benchmark
+  public ColumnPage decode() throws IOException {
+    ColumnPage decodedPage = decoder.decode(encoded, 0, encoded.length);
+    decodedPage.freeMemory();
+    return decodedPage;
+  }
+
+  @Benchmark
+  public Object decodeAndFillVector() throws IOException {
+    vectorInfo.vector.reset();
+    decoder.decodeAndFillVector(encoded, 0, encoded.length, vectorInfo, page.getNullBits(),
+        false, pageSize, null);
+    return vectorInfo.vector;
+  }
+}
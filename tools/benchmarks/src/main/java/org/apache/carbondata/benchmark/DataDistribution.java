@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.benchmark;
+
+import java.util.Random;
+
+/**
+ * Distribution of the synthetic values used by the benchmarks. The values are generated with a
+ * fixed seed so that runs to be compared use the same data.
+ */
+public enum DataDistribution {
+
+  /**
+   * values spread over the non negative int range, so that every integral codec can encode them
+   */
+  UNIFORM,
+
+  /**
+   * increasing values, as in a sort column or a timestamp column
+   */
+  SORTED,
+
+  /**
+   * few distinct values repeated in random order
+   */
+  LOW_CARDINALITY,
+
+  /**
+   * values in a small range, as in an age or a quantity column
+   */
+  SMALL_RANGE;
+
+  private static final long SEED = 20200101L;
+
+  private static final int LOW_CARDINALITY_VALUES = 16;
+
+  private static final int SMALL_RANGE_SIZE = 1000;
+
+  public long[] generateLongs(int size) {
+    Random random = new Random(SEED);
+    long[] values = new long[size];
+    long current = 1500000000000L;
+    for (int i = 0; i < size; i++) {
+      switch (this) {
+        case UNIFORM:
+          values[i] = random.nextInt(Integer.MAX_VALUE);
+          break;
+        case SORTED:
+          current += random.nextInt(1000);
+          values[i] = current;
+          break;
+        case LOW_CARDINALITY:
+          values[i] = 1000L * random.nextInt(LOW_CARDINALITY_VALUES);
+          break;
+        default:
+          values[i] = random.nextInt(SMALL_RANGE_SIZE);
+      }
+    }
+    return values;
+  }
+
+  /**
+   * @return values having the given number of decimal digits
+   */
+  public double[] generateDoubles(int size, int decimalCount) {
+    long[] longs = generateLongs(size);
+    double factor = Math.pow(10, decimalCount);
+    double[] values = new double[size];
+    for (int i = 0; i < size; i++) {
+      values[i] = longs[i] / factor;
+    }
+    return values;
+  }
+
+  /**
+   * @return dictionary surrogate like values starting from 1, taking at most the given number of
+   * distinct values
+   */
+  public int[] generateSurrogates(int size, int cardinality) {
+    long[] longs = generateLongs(size);
+    long min = Long.MAX_VALUE;
+    long max = Long.MIN_VALUE;
+    for (long value : longs) {
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+    }
+    double scale = (double) (cardinality - 1) / Math.max(1, max - min);
+    int[] surrogates = new int[size];
+    for (int i = 0; i < size; i++) {
+      surrogates[i] = 1 + (int) ((longs[i] - min) * scale);
+    }
+    return surrogates;
+  }
+}
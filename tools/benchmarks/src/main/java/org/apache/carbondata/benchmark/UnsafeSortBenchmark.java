@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.carbondata.core.memory.IntPointerBuffer;
+import org.apache.carbondata.core.memory.MemoryBlock;
+import org.apache.carbondata.core.memory.MemoryException;
+import org.apache.carbondata.core.memory.UnsafeMemoryManager;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.metadata.datatype.StructField;
+import org.apache.carbondata.core.metadata.schema.table.CarbonTable;
+import org.apache.carbondata.core.metadata.schema.table.TableSchema;
+import org.apache.carbondata.core.metadata.schema.table.TableSchemaBuilder;
+import org.apache.carbondata.core.metadata.schema.table.column.ColumnSchema;
+import org.apache.carbondata.core.util.ReUsableByteArrayDataOutputStream;
+import org.apache.carbondata.processing.loading.sort.unsafe.UnsafeCarbonRowPage;
+import org.apache.carbondata.processing.loading.sort.unsafe.comparator.UnsafeRowComparator;
+import org.apache.carbondata.processing.loading.sort.unsafe.holder.UnsafeCarbonRow;
+import org.apache.carbondata.processing.loading.sort.unsafe.sort.TimSort;
+import org.apache.carbondata.processing.loading.sort.unsafe.sort.UnsafeIntSortDataFormat;
+import org.apache.carbondata.processing.sort.sortdata.SortParameters;
+import org.apache.carbondata.processing.sort.sortdata.TableFieldStat;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Adding rows to an UnsafeCarbonRowPage and sorting its pointers with TimSort, as done by the
+ * unsafe sort step of data loading. The table sorts on a string and a date column and has one
+ * long measure.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnsafeSortBenchmark {
+
+  private static final long PAGE_MEMORY_SIZE = 64L * 1024 * 1024;
+
+  @Param({ "UNIFORM", "SORTED", "LOW_CARDINALITY", "SMALL_RANGE" })
+  public DataDistribution distribution;
+
+  @Param({ "100000" })
+  public int numberOfRows;
+
+  private String taskId;
+
+  private TableFieldStat tableFieldStat;
+
+  private Object[][] rows;
+
+  private ReUsableByteArrayDataOutputStream outputStream;
+
+  private MemoryBlock addMemoryBlock;
+
+  private UnsafeCarbonRowPage sortPage;
+
+  /**
+   * row pointers of the sort page in the order the rows were added
+   */
+  private int[] addedPointers;
+
+  @Setup(Level.Trial)
+  public void setUp() throws MemoryException, IOException {
+    taskId = UUID.randomUUID().toString();
+    TableSchemaBuilder builder = TableSchema.builder();
+    List<ColumnSchema> sortColumns = new ArrayList<>();
+    AtomicInteger valIndex = new AtomicInteger(0);
+    sortColumns.add(
+        builder.addColumn(new StructField("name", DataTypes.STRING), valIndex, true, false));
+    sortColumns.add(
+        builder.addColumn(new StructField("day", DataTypes.DATE), valIndex, true, false));
+    builder.addColumn(new StructField("amount", DataTypes.LONG), valIndex, false, false);
+    builder.setSortColumns(sortColumns);
+    CarbonTable table = CarbonTable.builder()
+        .databaseName("benchmark")
+        .tableName("sort")
+        .tablePath(System.getProperty("java.io.tmpdir"))
+        .tableSchema(builder.tableName("sort").build())
+        .build();
+    // dimensions in schema order: the no dictionary string and then the dictionary date column
+    SortParameters parameters = SortParameters.createSortParameters(table, "benchmark", "sort",
+        2, 0, 1, 1, "0", "0", new boolean[] { true, false }, new boolean[] { true, true },
+        new boolean[] { false, false }, false, 1);
+    tableFieldStat = new TableFieldStat(parameters);
+
+    long[] values = distribution.generateLongs(numberOfRows);
+    int[] days = distribution.generateSurrogates(numberOfRows, 3650);
+    rows = new Object[numberOfRows][];
+    for (int i = 0; i < numberOfRows; i++) {
+      rows[i] = new Object[] { ("name" + values[i]).getBytes(StandardCharsets.UTF_8), days[i],
+          values[i] };
+    }
+    outputStream = new ReUsableByteArrayDataOutputStream(new ByteArrayOutputStream());
+    addMemoryBlock = UnsafeMemoryManager.allocateMemoryWithRetry(taskId, PAGE_MEMORY_SIZE);
+    sortPage = new UnsafeCarbonRowPage(tableFieldStat,
+        UnsafeMemoryManager.allocateMemoryWithRetry(taskId, PAGE_MEMORY_SIZE), taskId, false);
+    for (Object[] row : rows) {
+      sortPage.addRow(row, outputStream);
+    }
+    IntPointerBuffer buffer = sortPage.getBuffer();
+    addedPointers = new int[buffer.getActualSize()];
+    for (int i = 0; i < addedPointers.length; i++) {
+      addedPointers[i] = buffer.get(i);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    UnsafeMemoryManager.INSTANCE.freeMemory(taskId, addMemoryBlock);
+    sortPage.freeMemory();
+  }
+
+  @Setup(Level.Invocation)
+  public void restoreSortPage() {
+    IntPointerBuffer buffer = sortPage.getBuffer();
+    for (int i = 0; i < addedPointers.length; i++) {
+      buffer.set(i, addedPointers[i]);
+    }
+  }
+
+  @Benchmark
+  public int addRows() throws MemoryException, IOException {
+    UnsafeCarbonRowPage page =
+        new UnsafeCarbonRowPage(tableFieldStat, addMemoryBlock, taskId, false);
+    for (Object[] row : rows) {
+      page.addRow(row, outputStream);
+    }
+    return page.getUsedSize();
+  }
+
+  @Benchmark
+  public IntPointerBuffer sort() {
+    IntPointerBuffer buffer = sortPage.getBuffer();
+    new TimSort<UnsafeCarbonRow, IntPointerBuffer>(new UnsafeIntSortDataFormat(sortPage))
+        .sort(buffer, 0, buffer.getActualSize(), new UnsafeRowComparator(sortPage));
+    return buffer;
+  }
+}
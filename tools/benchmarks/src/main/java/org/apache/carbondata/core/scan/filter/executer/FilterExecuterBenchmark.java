@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.carbondata.core.scan.filter.executer;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.carbondata.benchmark.DataDistribution;
+import org.apache.carbondata.core.datastore.chunk.DimensionColumnPage;
+import org.apache.carbondata.core.datastore.chunk.impl.FixedLengthDimensionColumnPage;
+import org.apache.carbondata.core.metadata.datatype.DataType;
+import org.apache.carbondata.core.metadata.datatype.DataTypes;
+import org.apache.carbondata.core.scan.expression.ColumnExpression;
+import org.apache.carbondata.core.scan.expression.Expression;
+import org.apache.carbondata.core.scan.expression.LiteralExpression;
+import org.apache.carbondata.core.scan.expression.conditional.GreaterThanEqualToExpression;
+import org.apache.carbondata.core.scan.expression.conditional.LessThanExpression;
+import org.apache.carbondata.core.scan.expression.exception.FilterIllegalMemberException;
+import org.apache.carbondata.core.scan.expression.exception.FilterUnsupportedException;
+import org.apache.carbondata.core.scan.expression.logical.AndExpression;
+import org.apache.carbondata.core.scan.filter.intf.RowBatch;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Filter executers applied on one synthetic page. The include and exclude filters run on a
+ * dictionary dimension page, optionally stored sorted with an inverted index so that the binary
+ * search path is taken. The range filter runs on a long measure, compiled against evaluating the
+ * expression row by row.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterExecuterBenchmark {
+
+  private static final int CARDINALITY = 1000;
+
+  private static final int SURROGATE_SIZE = 2;
+
+  @Param({ "UNIFORM", "SORTED", "LOW_CARDINALITY", "SMALL_RANGE" })
+  public DataDistribution distribution;
+
+  @Param({ "1", "10", "100" })
+  public int filterValueCount;
+
+  @Param({ "false", "true" })
+  public boolean invertedIndex;
+
+  @Param({ "32000" })
+  public int pageSize;
+
+  private DimensionColumnPage dimensionPage;
+
+  private IncludeFilterExecuterImpl includeExecuter;
+
+  private ExcludeFilterExecuterImpl excludeExecuter;
+
+  private RowBatch rowBatch;
+
+  private Expression rangeExpression;
+
+  private CompiledFilter compiledRangeFilter;
+
+  private BitSet allRows;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    int[] surrogates = distribution.generateSurrogates(pageSize, CARDINALITY);
+    byte[] data = new byte[pageSize * SURROGATE_SIZE];
+    int[] index = null;
+    int[] reverseIndex = null;
+    if (invertedIndex) {
+      // store the values sorted, as done for a sort column having an inverted index
+      Integer[] rows = new Integer[pageSize];
+      for (int i = 0; i < pageSize; i++) {
+        rows[i] = i;
+      }
+      Arrays.sort(rows, (row1, row2) -> Integer.compare(surrogates[row1], surrogates[row2]));
+      index = new int[pageSize];
+      reverseIndex = new int[pageSize];
+      for (int i = 0; i < pageSize; i++) {
+        index[i] = rows[i];
+        reverseIndex[rows[i]] = i;
+        putSurrogate(data, i, surrogates[rows[i]]);
+      }
+    } else {
+      for (int i = 0; i < pageSize; i++) {
+        putSurrogate(data, i, surrogates[i]);
+      }
+    }
+    dimensionPage = new FixedLengthDimensionColumnPage(data, index, reverseIndex, pageSize,
+        SURROGATE_SIZE, data.length);
+
+    // filter values spread over the dictionary, in sorted order as given by the filter resolver
+    byte[][] filterValues = new byte[filterValueCount][];
+    for (int i = 0; i < filterValueCount; i++) {
+      filterValues[i] = new byte[SURROGATE_SIZE];
+      putSurrogate(filterValues[i], 0, 1 + i * (CARDINALITY / filterValueCount));
+    }
+    includeExecuter = new IncludeFilterExecuterImpl(filterValues, invertedIndex);
+    excludeExecuter = new ExcludeFilterExecuterImpl(filterValues, invertedIndex);
+
+    long[] values = distribution.generateLongs(pageSize);
+    rowBatch = new RowBatch(new DataType[] { DataTypes.LONG });
+    rowBatch.reset(pageSize);
+    for (int i = 0; i < pageSize; i++) {
+      rowBatch.putLong(0, i, values[i]);
+    }
+    // range covering the middle half of the values
+    long[] sorted = values.clone();
+    Arrays.sort(sorted);
+    ColumnExpression column = new ColumnExpression("benchmark", DataTypes.LONG);
+    column.setColIndex(0);
+    rangeExpression = new AndExpression(
+        new GreaterThanEqualToExpression(column,
+            new LiteralExpression(sorted[pageSize / 4], DataTypes.LONG)),
+        new LessThanExpression(column,
+            new LiteralExpression(sorted[pageSize * 3 / 4], DataTypes.LONG)));
+    compiledRangeFilter = FilterCompiler.compile(rangeExpression, rowBatch);
+    allRows = new BitSet(pageSize);
+    allRows.set(0, pageSize);
+  }
+
+  private static void putSurrogate(byte[] data, int rowId, int surrogate) {
+    data[rowId * SURROGATE_SIZE] = (byte) (surrogate >> 8);
+    data[rowId * SURROGATE_SIZE + 1] = (byte) surrogate;
+  }
+
+  @Benchmark
+  public BitSet include() {
+    return includeExecuter.getFilteredIndexes(dimensionPage, pageSize, false, null, 0);
+  }
+
+  @Benchmark
+  public BitSet exclude() {
+    return excludeExecuter.getFilteredIndexes(dimensionPage, pageSize, false, null, 0);
+  }
+
+  @Benchmark
+  public BitSet compiledRange() throws FilterUnsupportedException {
+    return compiledRangeFilter.apply(rowBatch, allRows);
+  }
+
+  @Benchmark
+  public BitSet rowLevelRange()
+      throws FilterUnsupportedException, FilterIllegalMemberException {
+    BitSet result = new BitSet(pageSize);
+    for (int i = 0; i < pageSize; i++) {
+      if (rangeExpression.evaluate(rowBatch.getRow(i)).getBoolean()) {
+        result.set(i);
+      }
+    }
+    return result;
+  }
+}